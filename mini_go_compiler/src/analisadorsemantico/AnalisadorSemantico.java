@@ -1,11 +1,25 @@
 package analisadorsemantico;
 
 import analisadorsintatico.Comando;
+import analisadorsintatico.ComandoSelado;
+import analisadorsintatico.ConversaoSelada;
+import analisadorsintatico.DeslocamentoTrechos;
 import analisadorsintatico.Expressao;
-import scanner.Token;
+import analisadorsintatico.ExpressaoSelada;
+import analisadorsintatico.FabricaExpressoes;
+import analisadorsintatico.PercursoIterativo;
+import analisadorsintatico.TabelaPosicoes;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.Fase;
+import diagnostico.LimiteErrosAtingido;
+import diagnostico.Severidade;
+import scanner.MapaLinhas;
 import scanner.TokenType;
+import scanner.Trecho;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -17,13 +31,36 @@ import java.util.List;
  * 3. Validar tipos em condições (devem ser booleanas)
  * 4. Detectar redeclaração de variáveis
  * 5. Gerenciar escopos de blocos
+ * 6. Resolver os nomes: cada declaração, uso, atribuição e leitura é
+ *    vinculada no {@link Quadro} ao slot do símbolo a que se refere,
+ *    aproveitando a busca que a verificação já faz (os nós não mudam)
  * 
- * Implementa o padrão Visitor para percorrer a AST.
+ * Implementa o padrão Visitor para percorrer a AST. A recursão vai até
+ * {@link PercursoIterativo#LIMITE_RECURSAO} níveis; abaixo disso o percurso
+ * segue numa pilha explícita, então programas muito aninhados não estouram
+ * a pilha de chamadas.
  */
 public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Visitor<Void> {
     
     private final TabelaSimbolos tabela;
     private final List<ErroSemantico> erros;
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos(); // Destino de erros e avisos
+    private final Verificacao verificacao = new Verificacao();     // Percurso iterativo das subárvores fundas
+    private int profundidade;                                      // Níveis de recursão em andamento
+    
+    // Memorização por nó canônico (ver setFabrica)
+    private FabricaExpressoes fabrica;                             // Origem dos nós compartilhados (null: desligada)
+    private Tipo[] memoTipos = new Tipo[64];                       // Id canônico -> tipo calculado (null: nenhum)
+    private int[] memoEpocas = new int[64];                        // Id canônico -> época do cálculo
+    private int[] alteradoEm = new int[64];                        // Id do nome -> época da última mudança de símbolo
+    private int epoca;                                             // Conta as mudanças nome -> símbolo
+    private int relatos;                                           // Erros e avisos reportados até agora
+    private MapaLinhas mapa;                                       // Resolve os trechos tardios dos nós (ver setMapaLinhas)
+    private TabelaPosicoes posicoes;                               // Posições de cada ocorrência (null: sem fábrica)
+    private long ultimaOcorrencia;                                 // Trecho da última ocorrência vista (ver ocorrencia)
+    private int[] cursores = new int[64];                          // Id canônico -> ocorrência seguinte à última vista
+    private DeslocamentoTrechos deslocamentos;                     // Correção dos trechos de nós reaproveitados (null: nenhuma)
+    private long deslocamento;                                     // Correção acumulada nos comandos em andamento, no início do trecho
     
     /**
      * Construtor do analisador semântico.
@@ -41,23 +78,91 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
      */
     public boolean analisar(List<Comando> comandos) {
         erros.clear();
+        ultimaOcorrencia = Long.MIN_VALUE;
         
         if (comandos == null || comandos.isEmpty()) {
             return true;
         }
         
-        for (Comando comando : comandos) {
-            try {
-                comando.accept(this);
-            } catch (Exception e) {
-                // Captura erros para não parar a análise
-                System.err.println("Erro na análise semântica: " + e.getMessage());
+        try {
+            for (Comando comando : comandos) {
+                analisarProtegido(comando);
             }
+        } catch (LimiteErrosAtingido e) {
+            // Limite de erros atingido: não adianta continuar
         }
         
         return erros.isEmpty();
     }
     
+    /**
+     * Analisa um comando de nível superior, continuando do estado deixado
+     * pelos anteriores (tabela de símbolos e lista de erros). Usado quando
+     * o Parser entrega os comandos um a um.
+     * 
+     * @param comando comando de nível superior
+     * @return true se este comando não gerou erros semânticos
+     * @throws LimiteErrosAtingido se o limite de erros dos diagnósticos foi atingido
+     */
+    public boolean analisarComando(Comando comando) {
+        int antes = erros.size();
+        analisarProtegido(comando);
+        return erros.size() == antes;
+    }
+    
+    /**
+     * Analisa um programa no AST selado ({@link parser.Parser#parseSelado()}),
+     * com as mesmas regras e os mesmos erros de {@link #analisar(List)}, mas
+     * escolhendo o caso de cada nó por casamento de padrões em vez de
+     * {@code accept}.
+     * 
+     * É um caminho de comparação de desempenho (ver
+     * {@code benchmark.SeladoBenchmark}), não do compilador: os nomes são
+     * vinculados no quadro como no AST de visitors, mas os records do AST
+     * selado não têm id canônico, então não usam a memorização de tipos
+     * por nó canônico.
+     * 
+     * @param comandos comandos de nível superior
+     * @return true se não houver erros semânticos
+     */
+    public boolean analisarSelado(List<ComandoSelado> comandos) {
+        erros.clear();
+        
+        try {
+            for (ComandoSelado comando : comandos) {
+                profundidade = 0;
+                deslocamento = 0;
+                try {
+                    analisar(comando);
+                } catch (LimiteErrosAtingido e) {
+                    throw e;
+                } catch (Exception e) {
+                    diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, 0, 0,
+                            "Erro na análise semântica: " + e.getMessage());
+                }
+            }
+        } catch (LimiteErrosAtingido e) {
+            // Limite de erros atingido: não adianta continuar
+        }
+        
+        return erros.isEmpty();
+    }
+    
+    private void analisarProtegido(Comando comando) {
+        profundidade = 0; // Uma exceção pode ter interrompido o comando anterior
+        deslocamento = 0;
+        entrar(comando);
+        try {
+            comando.accept(this);
+        } catch (LimiteErrosAtingido e) {
+            throw e;
+        } catch (Exception e) {
+            // Captura erros para não parar a análise
+            diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, 0, 0,
+                    "Erro na análise semântica: " + e.getMessage());
+        }
+    }
+    
     /**
      * Retorna a lista de erros semânticos encontrados.
      */
@@ -81,6 +186,106 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
     }
     
     // ======================== VISITANTES DE COMANDOS =========================
+    // Recursivos até LIMITE_RECURSAO níveis; abaixo disso a subárvore segue
+    // pelo percurso iterativo ({@link Verificacao}), com as mesmas regras.
+    
+    /**
+     * Analisa um comando filho, pela recursão ou, se ela já está funda
+     * demais, pelo percurso iterativo.
+     */
+    private void analisar(Comando comando) {
+        if (profundidade >= PercursoIterativo.LIMITE_RECURSAO) {
+            verificacao.percorrer(comando);
+            return;
+        }
+        entrar(comando);
+        profundidade++;
+        comando.accept(this);
+        profundidade--;
+        sair(comando);
+    }
+    
+    /**
+     * Tipo de uma expressão filha (ver {@link #analisar(Comando)}).
+     */
+    private Tipo tipo(Expressao expressao) {
+        if (fabrica != null) {
+            return tipoMemorizado(expressao);
+        }
+        return calcularTipo(expressao);
+    }
+    
+    private Tipo calcularTipo(Expressao expressao) {
+        if (profundidade >= PercursoIterativo.LIMITE_RECURSAO) {
+            return verificacao.percorrer(expressao);
+        }
+        profundidade++;
+        Tipo tipo = expressao.accept(this);
+        profundidade--;
+        return tipo;
+    }
+    
+    /**
+     * Com expressões compartilhadas, um nó canônico já visto reaproveita o
+     * tipo calculado, desde que nenhuma das variáveis que ele lê tenha
+     * mudado de símbolo desde então (declaração ou saída de escopo). Nós
+     * que reportaram erros ou avisos não são memorizados: cada ocorrência
+     * reporta de novo.
+     */
+    private Tipo tipoMemorizado(Expressao expressao) {
+        int id = expressao.getIdCanonico();
+        if (id < 0) {
+            return calcularTipo(expressao);
+        }
+        if (id < memoTipos.length && memoTipos[id] != null && valido(expressao, memoEpocas[id])) {
+            pular(expressao);
+            return memoTipos[id];
+        }
+        int relatosAntes = relatos;
+        Tipo tipo = calcularTipo(expressao);
+        if (relatos == relatosAntes && fabrica.variaveis(expressao) != null) {
+            if (id >= memoTipos.length) {
+                memoTipos = Arrays.copyOf(memoTipos, Math.max(id + 1, memoTipos.length * 2));
+                memoEpocas = Arrays.copyOf(memoEpocas, memoTipos.length);
+            }
+            memoTipos[id] = tipo;
+            memoEpocas[id] = epoca;
+        }
+        return tipo;
+    }
+    
+    private boolean valido(Expressao expressao, int epocaCalculo) {
+        for (int id : fabrica.variaveis(expressao)) {
+            if (id < alteradoEm.length && alteradoEm[id] > epocaCalculo) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * O nome passou a indicar outro símbolo: invalida os tipos memorizados
+     * das expressões que o leem.
+     */
+    private void mudouSimbolo(int id) {
+        if (fabrica == null || id < 0) {
+            return;
+        }
+        if (id >= alteradoEm.length) {
+            alteradoEm = Arrays.copyOf(alteradoEm, Math.max(id + 1, alteradoEm.length * 2));
+        }
+        alteradoEm[id] = ++epoca;
+    }
+    
+    private void sairEscopo() {
+        if (fabrica != null) {
+            for (Simbolo simbolo : tabela.getSimbolosEscopoAtual()) {
+                mudouSimbolo(simbolo.getId());
+            }
+        }
+        tabela.sairEscopo();
+    }
+
     
     @Override
     public Void visitBloco(Comando.Bloco bloco) {
@@ -89,35 +294,23 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
         
         // Analisa cada comando do bloco
         for (Comando comando : bloco.comandos) {
-            comando.accept(this);
+            analisar(comando);
         }
         
         // Sai do escopo
-        tabela.sairEscopo();
+        sairEscopo();
         return null;
     }
     
     @Override
     public Void visitDeclaracao(Comando.Declaracao decl) {
-        // Converte TokenType para Tipo
-        Tipo tipo = converterTokenParaTipo(decl.tipo);
-        
-        // Verifica se já existe no escopo atual
-        if (!tabela.declarar(decl.nome.getLexema(), tipo, decl.inicializador != null)) {
-            registrarErro(decl.nome, 
-                        ErroSemantico.TipoErro.VARIAVEL_JA_DECLARADA,
-                        "Variável '" + decl.nome.getLexema() + "' já foi declarada neste escopo.");
-        }
+        long trecho = corrigir(decl.trecho);
+        Tipo tipo = converterTokenParaTipo(decl.tipo, trecho, mapa);
+        vincular(trecho, declarar(decl.nome, decl.idNome, trecho, mapa, tipo, decl.inicializador != null));
         
         // Se tem inicializador, verifica compatibilidade de tipos
         if (decl.inicializador != null) {
-            Tipo tipoExpr = decl.inicializador.accept(this);
-            
-            if (!tipo.isCompativelCom(tipoExpr)) {
-                registrarErro(decl.nome,
-                            ErroSemantico.TipoErro.TIPO_INVALIDO_ATRIBUICAO,
-                            "Não é possível atribuir " + tipoExpr + " a uma variável do tipo " + tipo + ".");
-            }
+            verificarInicializador(trecho, mapa, tipo, tipo(decl.inicializador));
         }
         
         return null;
@@ -125,48 +318,29 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
     
     @Override
     public Void visitAtribuicao(Comando.Atribuicao atrib) {
-        // Verifica se a variável foi declarada
-        Simbolo simbolo = tabela.buscar(atrib.nome.getLexema());
+        long trecho = corrigir(atrib.trecho);
+        Simbolo simbolo = alvoAtribuicao(atrib.nome, atrib.idNome, trecho, mapa);
+        vincular(trecho, simbolo);
         
-        if (simbolo == null) {
-            registrarErro(atrib.nome,
-                        ErroSemantico.TipoErro.VARIAVEL_NAO_DECLARADA,
-                        "Variável '" + atrib.nome.getLexema() + "' não foi declarada.");
-            return null;
+        if (simbolo != null) {
+            verificarAtribuicao(trecho, mapa, simbolo, tipo(atrib.valor));
+        } else {
+            pular(atrib.valor); // O valor não é analisado
         }
         
-        // Verifica compatibilidade de tipos
-        Tipo tipoValor = atrib.valor.accept(this);
-        
-        if (!simbolo.getTipo().isCompativelCom(tipoValor)) {
-            registrarErro(atrib.nome,
-                        ErroSemantico.TipoErro.TIPO_INVALIDO_ATRIBUICAO,
-                        "Não é possível atribuir " + tipoValor + " a uma variável do tipo " + simbolo.getTipo() + ".");
-        }
-        
-        // Marca como inicializada
-        tabela.marcarInicializada(atrib.nome.getLexema());
-        
         return null;
     }
     
     @Override
     public Void visitSe(Comando.Se comando) {
-        // Verifica tipo da condição (deve ser booleana)
-    	Tipo tipoCondicao = comando.condicao.accept(this);
-        
-        if (tipoCondicao != Tipo.BOOLEANO && tipoCondicao != Tipo.ERRO) {
-            registrarErro(null,
-                        ErroSemantico.TipoErro.TIPO_INVALIDO_CONDICAO,
-                        "Condição do 'se' deve ser do tipo booleano, mas é " + tipoCondicao + ".");
-        }
+        verificarCondicao(tipo(comando.condicao), "se");
         
         // Analisa ramo then
-        comando.ramoThen.accept(this);
+        analisar(comando.ramoThen);
         
         // Analisa ramo else (se existir)
         if (comando.ramoElse != null) {
-            comando.ramoElse.accept(this);
+            analisar(comando.ramoElse);
         }
         
         return null;
@@ -180,31 +354,24 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
     	
         // Para clássico: cria escopo para a inicialização
         if (comando.inicializacao != null) {
-            comando.inicializacao.accept(this);
+            analisar(comando.inicializacao);
         }
         
         // Verifica tipo da condição (deve ser booleana, se existir)
         if (comando.condicao != null) {
-            Tipo tipoCondicao = comando.condicao.accept(this);
-            
-            if (tipoCondicao != Tipo.BOOLEANO && tipoCondicao != Tipo.ERRO) {
-                registrarErro(null,
-                            ErroSemantico.TipoErro.TIPO_INVALIDO_CONDICAO,
-                            "Condição do 'para' deve ser do tipo booleano, mas é " + tipoCondicao + ".");
-            }
+            verificarCondicao(tipo(comando.condicao), "para");
         }
         
         // Analisa incremento (se existir)
         if (comando.incremento != null) {
-            comando.incremento.accept(this);
+            analisar(comando.incremento);
         }
         
         // Analisa corpo
-        comando.corpo.accept(this);
-        
+        analisar(comando.corpo);
         
         // Fecha o escopo
-        tabela.sairEscopo();
+        sairEscopo();
         
         return null;
     }
@@ -213,26 +380,14 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
     public Void visitImprimir(Comando.Imprimir comando) {
         // Apenas verifica os tipos das expressões (qualquer tipo pode ser impresso)
         for (Expressao expr : comando.expressoes) {
-            expr.accept(this);
+            tipo(expr);
         }
         return null;
     }
     
     @Override
     public Void visitLer(Comando.Ler comando) {
-        // Verifica se todas as variáveis foram declaradas
-        for (Token var : comando.variaveis) {
-            Simbolo simbolo = tabela.buscar(var.getLexema());
-            
-            if (simbolo == null) {
-                registrarErro(var,
-                            ErroSemantico.TipoErro.VARIAVEL_NAO_DECLARADA,
-                            "Variável '" + var.getLexema() + "' não foi declarada.");
-            } else {
-                // Marca como inicializada (ler inicializa a variável)
-                tabela.marcarInicializada(var.getLexema());
-            }
-        }
+        verificarLer(comando.variaveis, comando.idsVariaveis, comando.trechos, mapa);
         return null;
     }
     
@@ -240,19 +395,437 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
     
     @Override
     public Tipo visitBinaria(Expressao.Binaria expressao) {
-        Tipo esquerda = expressao.esquerda.accept(this);
-        Tipo direita = expressao.direita.accept(this);
+        Tipo esquerda = tipo(expressao.esquerda);
+        long trecho = ocorrencia(expressao, corrigir(expressao.trecho)); // O operador vem entre os operandos
+        Tipo direita = tipo(expressao.direita);
+        return tipoBinaria(expressao.operador, trecho, mapa, esquerda, direita);
+    }
+    
+    @Override
+    public Tipo visitLogica(Expressao.Logica expressao) {
+        Tipo esquerda = tipo(expressao.esquerda);
+        long trecho = ocorrencia(expressao, corrigir(expressao.trecho));
+        Tipo direita = tipo(expressao.direita);
+        return tipoLogica(expressao.operador, trecho, mapa, esquerda, direita);
+    }
+    
+    @Override
+    public Tipo visitUnaria(Expressao.Unaria expressao) {
+        long trecho = ocorrencia(expressao, corrigir(expressao.trecho));
+        return tipoUnaria(expressao.operador, trecho, mapa, tipo(expressao.direita));
+    }
+    
+    @Override
+    public Tipo visitLiteral(Expressao.Literal expressao) {
+        return tipoLiteral(expressao);
+    }
+    
+    @Override
+    public Tipo visitLiteralInteiro(Expressao.LiteralInteiro expressao) {
+        return Tipo.INTEIRO;
+    }
+    
+    @Override
+    public Tipo visitLiteralReal(Expressao.LiteralReal expressao) {
+        return Tipo.REAL;
+    }
+    
+    @Override
+    public Tipo visitLiteralTexto(Expressao.LiteralTexto expressao) {
+        return Tipo.TEXTO;
+    }
+    
+    @Override
+    public Tipo visitAgrupamento(Expressao.Agrupamento expressao) {
+        return tipo(expressao.expressao);
+    }
+    
+    @Override
+    public Tipo visitVariavelAcesso(Expressao.VariavelAcesso expressao) {
+        return tipoVariavel(expressao);
+    }
+    
+    // ============================ AST SELADO ================================
+    // Os mesmos casos dos visitantes, escolhidos por 'switch' de padrões
+    // sobre as interfaces seladas (os mais frequentes primeiro); sem
+    // 'default', o compilador exige todos os casos. Abaixo do limite de
+    // recursão, a subárvore é convertida e segue pelo percurso iterativo.
+    
+    private void analisar(ComandoSelado comando) {
+        if (profundidade >= PercursoIterativo.LIMITE_RECURSAO) {
+            verificacao.percorrer(ConversaoSelada.comando(comando));
+            return;
+        }
+        profundidade++;
+        switch (comando) {
+            case ComandoSelado.Atribuicao atrib -> {
+                Simbolo simbolo = alvoAtribuicao(atrib.nome(), atrib.idNome(), atrib.trecho(), mapa);
+                vincular(atrib.trecho(), simbolo);
+                if (simbolo != null) {
+                    verificarAtribuicao(atrib.trecho(), mapa, simbolo, tipo(atrib.valor()));
+                }
+            }
+            case ComandoSelado.Declaracao decl -> {
+                Tipo tipo = converterTokenParaTipo(decl.tipo(), decl.trecho(), mapa);
+                vincular(decl.trecho(), declarar(decl.nome(), decl.idNome(), decl.trecho(), mapa, tipo,
+                        decl.inicializador() != null));
+                if (decl.inicializador() != null) {
+                    verificarInicializador(decl.trecho(), mapa, tipo, tipo(decl.inicializador()));
+                }
+            }
+            case ComandoSelado.Imprimir imprimir -> {
+                for (ExpressaoSelada expr : imprimir.expressoes()) {
+                    tipo(expr);
+                }
+            }
+            case ComandoSelado.Bloco bloco -> {
+                tabela.entrarEscopo();
+                for (ComandoSelado filho : bloco.comandos()) {
+                    analisar(filho);
+                }
+                sairEscopo();
+            }
+            case ComandoSelado.Se se -> {
+                verificarCondicao(tipo(se.condicao()), "se");
+                analisar(se.ramoThen());
+                if (se.ramoElse() != null) {
+                    analisar(se.ramoElse());
+                }
+            }
+            case ComandoSelado.Para para -> {
+                tabela.entrarEscopo();
+                if (para.inicializacao() != null) {
+                    analisar(para.inicializacao());
+                }
+                if (para.condicao() != null) {
+                    verificarCondicao(tipo(para.condicao()), "para");
+                }
+                if (para.incremento() != null) {
+                    analisar(para.incremento());
+                }
+                analisar(para.corpo());
+                sairEscopo();
+            }
+            case ComandoSelado.Ler ler -> verificarLer(ler.variaveis(), ler.idsVariaveis(), ler.trechos(), mapa);
+        }
+        profundidade--;
+    }
+    
+    private Tipo tipo(ExpressaoSelada expressao) {
+        if (profundidade >= PercursoIterativo.LIMITE_RECURSAO) {
+            return verificacao.percorrer(ConversaoSelada.expressao(expressao));
+        }
+        profundidade++;
+        Tipo tipo = switch (expressao) {
+            case ExpressaoSelada.VariavelAcesso variavel -> {
+                Simbolo simbolo = variavel(variavel.nome(), variavel.idNome(), variavel.trecho(), mapa);
+                vincular(variavel.trecho(), simbolo);
+                yield tipoDe(simbolo);
+            }
+            case ExpressaoSelada.LiteralInteiro literal -> Tipo.INTEIRO;
+            case ExpressaoSelada.Binaria binaria -> {
+                Tipo esquerda = tipo(binaria.esquerda());
+                yield tipoBinaria(binaria.operador(), binaria.trecho(), mapa, esquerda, tipo(binaria.direita()));
+            }
+            case ExpressaoSelada.Logica logica -> {
+                Tipo esquerda = tipo(logica.esquerda());
+                yield tipoLogica(logica.operador(), logica.trecho(), mapa, esquerda, tipo(logica.direita()));
+            }
+            case ExpressaoSelada.Unaria unaria -> tipoUnaria(unaria.operador(), unaria.trecho(), mapa, tipo(unaria.direita()));
+            case ExpressaoSelada.Agrupamento agrupamento -> tipo(agrupamento.expressao());
+            case ExpressaoSelada.LiteralReal literal -> Tipo.REAL;
+            case ExpressaoSelada.LiteralTexto literal -> Tipo.TEXTO;
+        };
+        profundidade--;
+        return tipo;
+    }
+    
+    /**
+     * A mesma análise em etapas ({@link PercursoIterativo}), para as
+     * subárvores abaixo do limite de recursão: cada expressão produz o seu
+     * tipo; comandos não produzem valor.
+     */
+    private final class Verificacao extends PercursoIterativo<Tipo> {
+        
+        @Override
+        protected void entrar(Comando comando) {
+            AnalisadorSemantico.this.entrar(comando);
+        }
+        
+        @Override
+        protected void sair(Comando comando) {
+            AnalisadorSemantico.this.sair(comando);
+        }
+        
+        @Override
+        public Object visitBloco(Comando.Bloco bloco) {
+            if (etapa() == 0) {
+                tabela.entrarEscopo();
+            }
+            if (etapa() < bloco.comandos.size()) {
+                return bloco.comandos.get(etapa());
+            }
+            sairEscopo();
+            return fim();
+        }
+        
+        @Override
+        public Object visitDeclaracao(Comando.Declaracao decl) {
+            long trecho = corrigir(decl.trecho);
+            if (etapa() == 0) {
+                Tipo tipo = converterTokenParaTipo(decl.tipo, trecho, mapa);
+                vincular(trecho, declarar(decl.nome, decl.idNome, trecho, mapa, tipo, decl.inicializador != null));
+                if (decl.inicializador == null) {
+                    return fim();
+                }
+                guardar(tipo);
+                return decl.inicializador;
+            }
+            verificarInicializador(trecho, mapa, (Tipo) guardado(), valor());
+            return fim();
+        }
+        
+        @Override
+        public Object visitAtribuicao(Comando.Atribuicao atrib) {
+            long trecho = corrigir(atrib.trecho);
+            if (etapa() == 0) {
+                Simbolo simbolo = alvoAtribuicao(atrib.nome, atrib.idNome, trecho, mapa);
+                vincular(trecho, simbolo);
+                if (simbolo == null) {
+                    pular(atrib.valor); // O valor não é analisado
+                    return fim();
+                }
+                guardar(simbolo);
+                return atrib.valor;
+            }
+            verificarAtribuicao(trecho, mapa, (Simbolo) guardado(), valor());
+            return fim();
+        }
+        
+        @Override
+        public Object visitSe(Comando.Se comando) {
+            switch (etapa()) {
+                case 0:
+                    return comando.condicao;
+                case 1:
+                    verificarCondicao(valor(), "se");
+                    return comando.ramoThen;
+                case 2:
+                    return comando.ramoElse; // null (sem 'senao') é pulado
+                default:
+                    return fim();
+            }
+        }
+        
+        @Override
+        public Object visitPara(Comando.Para comando) {
+            switch (etapa()) {
+                case 0:
+                    tabela.entrarEscopo();
+                    return comando.inicializacao;
+                case 1:
+                    return comando.condicao;
+                case 2:
+                    if (comando.condicao != null) {
+                        verificarCondicao(valor(), "para");
+                    }
+                    return comando.incremento;
+                case 3:
+                    return comando.corpo;
+                default:
+                    sairEscopo();
+                    return fim();
+            }
+        }
+        
+        @Override
+        public Object visitImprimir(Comando.Imprimir comando) {
+            if (etapa() > 0) {
+                valor(); // Descarta o tipo da expressão anterior
+            }
+            if (etapa() < comando.expressoes.size()) {
+                return comando.expressoes.get(etapa());
+            }
+            return fim();
+        }
+        
+        @Override
+        public Object visitLer(Comando.Ler comando) {
+            verificarLer(comando.variaveis, comando.idsVariaveis, comando.trechos, mapa);
+            return fim();
+        }
+        
+        @Override
+        public Object visitBinaria(Expressao.Binaria expressao) {
+            switch (etapa()) {
+                case 0: return expressao.esquerda;
+                case 1:
+                    guardar(ocorrencia(expressao, corrigir(expressao.trecho)));
+                    return expressao.direita;
+                default:
+                    Tipo direita = valor();
+                    return fim(tipoBinaria(expressao.operador, (Long) guardado(), mapa,
+                            valor(), direita));
+            }
+        }
+        
+        @Override
+        public Object visitLogica(Expressao.Logica expressao) {
+            switch (etapa()) {
+                case 0: return expressao.esquerda;
+                case 1:
+                    guardar(ocorrencia(expressao, corrigir(expressao.trecho)));
+                    return expressao.direita;
+                default:
+                    Tipo direita = valor();
+                    return fim(tipoLogica(expressao.operador, (Long) guardado(), mapa,
+                            valor(), direita));
+            }
+        }
+        
+        @Override
+        public Object visitUnaria(Expressao.Unaria expressao) {
+            if (etapa() == 0) {
+                guardar(ocorrencia(expressao, corrigir(expressao.trecho)));
+                return expressao.direita;
+            }
+            return fim(tipoUnaria(expressao.operador, (Long) guardado(), mapa, valor()));
+        }
+        
+        @Override
+        public Object visitLiteral(Expressao.Literal expressao) {
+            return fim(tipoLiteral(expressao));
+        }
+        
+        @Override
+        public Object visitLiteralInteiro(Expressao.LiteralInteiro expressao) {
+            return fim(Tipo.INTEIRO);
+        }
+        
+        @Override
+        public Object visitLiteralReal(Expressao.LiteralReal expressao) {
+            return fim(Tipo.REAL);
+        }
+        
+        @Override
+        public Object visitLiteralTexto(Expressao.LiteralTexto expressao) {
+            return fim(Tipo.TEXTO);
+        }
+        
+        @Override
+        public Object visitAgrupamento(Expressao.Agrupamento expressao) {
+            if (etapa() == 0) {
+                return expressao.expressao;
+            }
+            return fim(valor());
+        }
+        
+        @Override
+        public Object visitVariavelAcesso(Expressao.VariavelAcesso expressao) {
+            return fim(tipoVariavel(expressao));
+        }
+    }
+    
+    // ======================= REGRAS DOS COMANDOS ============================
+    
+    /**
+     * Declara a variável no escopo atual e retorna o seu símbolo, ou null
+     * (com erro registrado) se o nome já foi declarado neste escopo.
+     */
+    private Simbolo declarar(String nome, int idNome, long trecho, MapaLinhas mapa, Tipo tipo,
+            boolean inicializada) {
+        // Verifica se já existe no escopo atual
+        if (!tabela.declarar(idNome, nome, tipo, inicializada)) {
+            registrarErro(trecho, mapa,
+                        ErroSemantico.TipoErro.VARIAVEL_JA_DECLARADA,
+                        "Variável '" + nome + "' já foi declarada neste escopo.");
+            return null;
+        }
+        mudouSimbolo(idNome);
+        return buscar(idNome, nome);
+    }
+    
+    private void verificarInicializador(long trecho, MapaLinhas mapa, Tipo tipo, Tipo tipoExpr) {
+        if (!tipo.isCompativelCom(tipoExpr)) {
+            registrarErro(trecho, mapa,
+                        ErroSemantico.TipoErro.TIPO_INVALIDO_ATRIBUICAO,
+                        "Não é possível atribuir " + tipoExpr + " a uma variável do tipo " + tipo + ".");
+        }
+    }
+    
+    /**
+     * Símbolo da variável atribuída, ou null (com erro registrado) se ela
+     * não foi declarada.
+     */
+    private Simbolo alvoAtribuicao(String nome, int idNome, long trecho, MapaLinhas mapa) {
+        Simbolo simbolo = buscar(idNome, nome);
+        
+        if (simbolo == null) {
+            registrarErro(trecho, mapa,
+                        ErroSemantico.TipoErro.VARIAVEL_NAO_DECLARADA,
+                        "Variável '" + nome + "' não foi declarada.");
+        }
+        return simbolo;
+    }
+    
+    private void verificarAtribuicao(long trecho, MapaLinhas mapa, Simbolo simbolo, Tipo tipoValor) {
+        // Verifica compatibilidade de tipos
+        if (!simbolo.getTipo().isCompativelCom(tipoValor)) {
+            registrarErro(trecho, mapa,
+                        ErroSemantico.TipoErro.TIPO_INVALIDO_ATRIBUICAO,
+                        "Não é possível atribuir " + tipoValor + " a uma variável do tipo " + simbolo.getTipo() + ".");
+        }
+        
+        // Marca como inicializada
+        simbolo.setInicializada(true);
+    }
+    
+    /**
+     * Condição de 'se' ou 'para': deve ser booleana.
+     */
+    private void verificarCondicao(Tipo tipoCondicao, String comando) {
+        if (tipoCondicao != Tipo.BOOLEANO && tipoCondicao != Tipo.ERRO) {
+            registrarErro(Trecho.NENHUM, null,
+                        ErroSemantico.TipoErro.TIPO_INVALIDO_CONDICAO,
+                        "Condição do '" + comando + "' deve ser do tipo booleano, mas é " + tipoCondicao + ".");
+        }
+    }
+    
+    private void verificarLer(List<String> variaveis, int[] idsVariaveis, long[] trechos, MapaLinhas mapa) {
+        // Verifica se todas as variáveis foram declaradas
+        for (int i = 0; i < variaveis.size(); i++) {
+            long trecho = corrigir(trechos[i]);
+            vincular(trecho, verificarLeitura(variaveis.get(i), idsVariaveis[i], trecho, mapa));
+        }
+    }
+    
+    private Simbolo verificarLeitura(String nome, int idNome, long trecho, MapaLinhas mapa) {
+        Simbolo simbolo = buscar(idNome, nome);
         
-        TokenType op = expressao.operador.getTipo();
+        if (simbolo == null) {
+            registrarErro(trecho, mapa,
+                        ErroSemantico.TipoErro.VARIAVEL_NAO_DECLARADA,
+                        "Variável '" + nome + "' não foi declarada.");
+        } else {
+            // Marca como inicializada (ler inicializa a variável)
+            simbolo.setInicializada(true);
+        }
+        return simbolo;
+    }
+    
+    // ===================== REGRAS DE TIPO DAS EXPRESSÕES =====================
+    
+    private Tipo tipoBinaria(TokenType op, long trecho, MapaLinhas mapa, Tipo esquerda, Tipo direita) {
+
         
         // Operadores aritméticos: +, -, *, /
         if (op == TokenType.MAIS || op == TokenType.MENOS || 
             op == TokenType.MULTIPLICACAO || op == TokenType.DIVISAO) {
             
             if (!esquerda.isNumerico() || !direita.isNumerico()) {
-                registrarErro(expressao.operador,
+                registrarErro(trecho, mapa,
                             ErroSemantico.TipoErro.TIPO_INVALIDO_OPERACAO,
-                            "Operador '" + expressao.operador.getLexema() + 
+                            "Operador '" + op.getLexema() + 
                             "' requer operandos numéricos, mas recebeu " + esquerda + " e " + direita + ".");
                 return Tipo.ERRO;
             }
@@ -266,9 +839,9 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
             op == TokenType.MAIOR || op == TokenType.MAIOR_IGUAL) {
             
             if (!esquerda.isNumerico() || !direita.isNumerico()) {
-                registrarErro(expressao.operador,
+                registrarErro(trecho, mapa,
                             ErroSemantico.TipoErro.TIPO_INVALIDO_OPERACAO,
-                            "Operador '" + expressao.operador.getLexema() + 
+                            "Operador '" + op.getLexema() + 
                             "' requer operandos numéricos, mas recebeu " + esquerda + " e " + direita + ".");
                 return Tipo.ERRO;
             }
@@ -279,7 +852,7 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
         // Operadores de igualdade: ==, !=
         if (op == TokenType.IGUAL_IGUAL || op == TokenType.DIFERENTE) {
             if (!esquerda.isCompativelCom(direita)) {
-                registrarErro(expressao.operador,
+                registrarErro(trecho, mapa,
                             ErroSemantico.TipoErro.INCOMPATIBILIDADE_TIPOS,
                             "Não é possível comparar " + esquerda + " com " + direita + ".");
                 return Tipo.ERRO;
@@ -290,43 +863,37 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
         
         return Tipo.ERRO;
     }
-    
-    @Override
-    public Tipo visitLogica(Expressao.Logica expressao) {
-        Tipo esquerda = expressao.esquerda.accept(this);
-        Tipo direita = expressao.direita.accept(this);
+
+    private Tipo tipoLogica(TokenType op, long trecho, MapaLinhas mapa, Tipo esquerda, Tipo direita) {
         
         Boolean erro = false;
         
         // Operadores lógicos: &&, ||
         if (esquerda != Tipo.BOOLEANO && esquerda != Tipo.ERRO) {
-            registrarErro(expressao.operador,
+            registrarErro(trecho, mapa,
                         ErroSemantico.TipoErro.TIPO_INVALIDO_OPERACAO,
-                        "Operador '" + expressao.operador.getLexema() + 
+                        "Operador '" + op.getLexema() + 
                         "' requer operandos booleanos, mas o lado esquerdo é " + esquerda + ".");
             erro = true;
         }
         
         if (direita != Tipo.BOOLEANO && direita != Tipo.ERRO) {
-            registrarErro(expressao.operador,
+            registrarErro(trecho, mapa,
                         ErroSemantico.TipoErro.TIPO_INVALIDO_OPERACAO,
-                        "Operador '" + expressao.operador.getLexema() + 
+                        "Operador '" + op.getLexema() + 
                         "' requer operandos booleanos, mas o lado direito é " + direita + ".");
             erro = true;
         }
         
         return erro ? Tipo.ERRO : Tipo.BOOLEANO;
     }
-    
-    @Override
-    public Tipo visitUnaria(Expressao.Unaria expressao) {
-        Tipo tipo = expressao.direita.accept(this);
-        TokenType op = expressao.operador.getTipo();
+
+    private Tipo tipoUnaria(TokenType op, long trecho, MapaLinhas mapa, Tipo tipo) {
         
         // Operador de negação lógica: !
         if (op == TokenType.NEGACAO) {
             if (tipo != Tipo.BOOLEANO && tipo != Tipo.ERRO) {
-                registrarErro(expressao.operador,
+                registrarErro(trecho, mapa,
                             ErroSemantico.TipoErro.TIPO_INVALIDO_OPERACAO,
                             "Operador '!' requer operando booleano, mas recebeu " + tipo + ".");
                 return Tipo.ERRO;
@@ -337,7 +904,7 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
         // Operador de negação aritmética: -
         if (op == TokenType.MENOS) {
             if (!tipo.isNumerico() && tipo != Tipo.ERRO) {
-                registrarErro(expressao.operador,
+                registrarErro(trecho, mapa,
                             ErroSemantico.TipoErro.TIPO_INVALIDO_OPERACAO,
                             "Operador '-' (unário) requer operando numérico, mas recebeu " + tipo + ".");
                 return Tipo.ERRO;
@@ -347,9 +914,8 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
         
         return Tipo.ERRO;
     }
-    
-    @Override
-    public Tipo visitLiteral(Expressao.Literal expressao) {
+
+    private Tipo tipoLiteral(Expressao.Literal expressao) {
         Object valor = expressao.valor;
         
         if (valor == null) return Tipo.NULO;
@@ -361,56 +927,246 @@ public class AnalisadorSemantico implements Expressao.Visitor<Tipo>, Comando.Vis
         return Tipo.ERRO;
     }
     
-    @Override
-    public Tipo visitAgrupamento(Expressao.Agrupamento expressao) {
-        return expressao.expressao.accept(this);
+    /**
+     * Tipo de um uso de variável, vinculando-o ao slot do símbolo.
+     */
+    private Tipo tipoVariavel(Expressao.VariavelAcesso expressao) {
+        long trecho = ocorrencia(expressao, corrigir(expressao.trecho));
+        Simbolo simbolo = variavel(expressao.nome, expressao.idNome, trecho, mapa);
+        vincular(corrigir(expressao.trecho), simbolo); // O do nó: um nó compartilhado tem um só símbolo
+        return tipoDe(simbolo);
     }
     
-    @Override
-    public Tipo visitVariavelAcesso(Expressao.VariavelAcesso expressao) {
-        Simbolo simbolo = tabela.buscar(expressao.nome.getLexema());
+    private static Tipo tipoDe(Simbolo simbolo) {
+        return simbolo != null ? simbolo.getTipo() : Tipo.ERRO;
+    }
+    
+    /**
+     * Símbolo de um uso de variável, ou null (com erro registrado) se ela
+     * não foi declarada.
+     */
+    private Simbolo variavel(String nome, int idNome, long trecho, MapaLinhas mapa) {
+        Simbolo simbolo = buscar(idNome, nome);
         
         if (simbolo == null) {
-            registrarErro(expressao.nome,
+            registrarErro(trecho, mapa,
                         ErroSemantico.TipoErro.VARIAVEL_NAO_DECLARADA,
-                        "Variável '" + expressao.nome.getLexema() + "' não foi declarada.");
-            return Tipo.ERRO;
+                        "Variável '" + nome + "' não foi declarada.");
+            return null;
         }
         
         // Usar variável não inicializada não é erro fatal!
-        if (!simbolo.isInicializada()) {
-            System.err.println("Aviso: Variável '" + expressao.nome.getLexema() + 
-                             "' pode estar sendo usada sem ter sido inicializada.");
+        // (a mensagem só é montada se o destino aceitar avisos)
+        if (!simbolo.isInicializada() && diagnosticos.aceita(Severidade.AVISO)) {
+            relatos++;
+            diagnosticos.reportar(Severidade.AVISO, Fase.SEMANTICA,
+                    Trecho.linha(trecho, mapa), Trecho.coluna(trecho, mapa),
+                    "Variável '" + nome + "' pode estar sendo usada sem ter sido inicializada.");
         }
         
-        return simbolo.getTipo();
+        return simbolo;
     }
-    
+
     // =========================== MÉTODOS AUXILIARES =========================
     
+    /**
+     * Trecho desta ocorrência do nó, para os diagnósticos. Um nó
+     * compartilhado pela fábrica guarda só o trecho da primeira ocorrência;
+     * as demais estão na {@link TabelaPosicoes}. A análise percorre o
+     * programa na ordem do código fonte (o operador binário entre os
+     * operandos), então a ocorrência atual é a primeira do nó depois da
+     * última já vista: as anteriores ficaram para trás, e um nó nunca
+     * contém a si mesmo.
+     * 
+     * @return trecho a ser resolvido pelo mapa do programa
+     */
+    private long ocorrencia(Expressao no, long trecho) {
+        if (posicoes == null) {
+            return trecho;
+        }
+        int i = proximaOcorrencia(no);
+        if (i < 0) {
+            return trecho; // Nó que não veio da fábrica (ou fora de ordem): vale o trecho do próprio nó
+        }
+        ultimaOcorrencia = posicoes.trecho(no, i);
+        return ultimaOcorrencia;
+    }
+    
+    /**
+     * Avança a última ocorrência vista sobre uma expressão que não foi
+     * visitada (tipo vindo da memorização, ou valor de uma atribuição a
+     * variável não declarada). A ocorrência atual da raiz é a primeira
+     * depois da última vista, como em {@link #ocorrencia}, e a tabela de
+     * posições guarda onde ela termina: o salto não percorre a subárvore.
+     */
+    private void pular(Expressao raiz) {
+        if (posicoes == null) {
+            return;
+        }
+        Expressao no = raiz;
+        while (no instanceof Expressao.Agrupamento) {
+            no = ((Expressao.Agrupamento) no).expressao; // Parênteses não têm posição
+        }
+        int i = proximaOcorrencia(no);
+        if (i >= 0) {
+            ultimaOcorrencia = posicoes.fim(no, i); // Literais e nós de fora da fábrica não têm posição
+        }
+    }
+
+    /**
+     * Primeira ocorrência do nó depois da última vista, ou -1. Cada nó tem
+     * um cursor que só avança, como a análise: as ocorrências puladas por
+     * um salto ficam para trás na próxima visita, e a busca binária só é
+     * feita se a análise voltou (outro programa com a mesma fábrica).
+     */
+    private int proximaOcorrencia(Expressao no) {
+        int n = posicoes.ocorrencias(no);
+        if (n == 0) {
+            return -1;
+        }
+        int id = no.getIdCanonico();
+        if (id >= cursores.length) {
+            cursores = Arrays.copyOf(cursores, Math.max(id + 1, cursores.length * 2));
+        }
+        int i = cursores[id];
+        if (i > 0 && posicoes.trecho(no, i - 1) > ultimaOcorrencia) {
+            i = posicoes.ocorrenciaApos(no, ultimaOcorrencia);
+        } else {
+            while (i < n && posicoes.trecho(no, i) <= ultimaOcorrencia) {
+                i++;
+            }
+        }
+        if (i < 0 || i >= n) {
+            return -1;
+        }
+        cursores[id] = i + 1;
+        return i;
+    }
+
+    /**
+     * Trecho do nó na versão atual do código fonte (ver
+     * {@link #setDeslocamentos}).
+     */
+    private long corrigir(long trecho) {
+        return deslocamento == 0 || Trecho.isExplicito(trecho) ? trecho : trecho + deslocamento;
+    }
+    
+    private void entrar(Comando comando) {
+        if (deslocamentos != null) {
+            deslocamento += (long) deslocamentos.deslocamento(comando) << 32;
+        }
+    }
+    
+    private void sair(Comando comando) {
+        if (deslocamentos != null) {
+            deslocamento -= (long) deslocamentos.deslocamento(comando) << 32;
+        }
+    }
+    
+    /**
+     * Vincula a ocorrência de nome no trecho ao slot do símbolo, no quadro
+     * (ver {@link Quadro#slot(long)}). Nomes não resolvidos ficam sem slot.
+     */
+    private void vincular(long trecho, Simbolo simbolo) {
+        if (simbolo != null) {
+            tabela.getQuadro().vincular(trecho, simbolo.getSlot());
+        }
+    }
+    
+    /**
+     * Busca uma variável pelo id internado pelo Scanner; tokens criados
+     * sem id (ex: AST montado à mão) caem na busca pelo nome.
+     */
+    private Simbolo buscar(int id, String nome) {
+        return id >= 0 ? tabela.buscar(id) : tabela.buscar(nome);
+    }
+    
     /**
      * Converte TokenType de tipo para o enum Tipo.
      */
-    private Tipo converterTokenParaTipo(Token token) {
-        switch (token.getTipo()) {
+    private Tipo converterTokenParaTipo(TokenType tipo, long trecho, MapaLinhas mapa) {
+        switch (tipo) {
             case INTEIRO: return Tipo.INTEIRO;
             case REAL: return Tipo.REAL;
             case TEXTO: return Tipo.TEXTO;
             default:
-                System.err.println("Tipo desconhecido: " + token.getLexema());
+                diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, Trecho.linha(trecho, mapa),
+                        Trecho.coluna(trecho, mapa), "Tipo desconhecido: " + tipo.getLexema());
                 return Tipo.ERRO;
         }
     }
     
     /**
-     * Registra um erro semântico na lista.
+     * Registra um erro semântico na lista. O erro guarda só o trecho; a
+     * posição é calculada aqui apenas se os diagnósticos aceitam erros.
      */
-    private void registrarErro(Token token, ErroSemantico.TipoErro tipo, String mensagem) {
-        // Se token for null, usa um token dummy para evitar NullPointerException
-        if (token == null) {
-            token = new Token(TokenType.ERRO, "", 0, 0);
+    private void registrarErro(long trecho, MapaLinhas mapa, ErroSemantico.TipoErro tipo, String mensagem) {
+        erros.add(new ErroSemantico(trecho, mapa, tipo, mensagem));
+        relatos++;
+        if (diagnosticos.aceita(Severidade.ERRO)) {
+            diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, Trecho.linha(trecho, mapa),
+                    Trecho.coluna(trecho, mapa), mensagem);
         }
-        erros.add(new ErroSemantico(token, tipo, mensagem));
+    }
+
+    /**
+     * Define onde erros e avisos semânticos são reportados.
+     * Os erros continuam disponíveis em {@link #getErros()}.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+    
+    /**
+     * Define o índice de linhas do código fonte analisado. Os nós só
+     * guardam o {@link Trecho} de cada nome e operador; é este mapa, um
+     * por programa, que dá a linha e a coluna dos erros. Pode ficar null
+     * num AST montado com posições explícitas.
+     */
+    public void setMapaLinhas(MapaLinhas mapa) {
+        this.mapa = mapa;
+    }
+    
+    /**
+     * Corrige os trechos de um AST com nós reaproveitados de versões
+     * anteriores do código fonte ({@link parser.ParserIncremental#getDeslocamentos()}):
+     * os erros saem nas posições atuais e o quadro é indexado por elas.
+     * Null: os trechos dos nós valem como estão.
+     */
+    public void setDeslocamentos(DeslocamentoTrechos deslocamentos) {
+        this.deslocamentos = deslocamentos;
+    }
+    
+    /**
+     * Liga a memorização por nó canônico para ASTs cujas expressões vieram
+     * da fábrica (ver {@link parser.Parser#setFabrica}): cada subexpressão
+     * repetida é verificada uma vez enquanto as suas variáveis não mudam
+     * de símbolo. Null desliga.
+     * 
+     * Um erro numa subexpressão repetida é reportado em cada ocorrência,
+     * na posição dela, tirada de {@link FabricaExpressoes#getPosicoes()}
+     * (o nó canônico só guarda a da primeira). Sem a fábrica, um AST
+     * compartilhado é analisado corretamente, mas todos os erros de um
+     * nó repetido apontam a primeira ocorrência.
+     */
+    public void setFabrica(FabricaExpressoes fabrica) {
+        this.fabrica = fabrica;
+        this.posicoes = fabrica != null ? fabrica.getPosicoes() : null;
+        ultimaOcorrencia = Long.MIN_VALUE;
+        Arrays.fill(memoTipos, null);
+        Arrays.fill(cursores, 0);
+    }
+    
+    /**
+     * Retorna o quadro de variáveis: o slot de cada símbolo declarado e o
+     * de cada ocorrência de nome analisada.
+     */
+    public Quadro getQuadro() {
+        return tabela.getQuadro();
     }
     
     /**
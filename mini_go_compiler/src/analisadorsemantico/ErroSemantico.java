@@ -1,13 +1,19 @@
 package analisadorsemantico;
 
+import scanner.MapaLinhas;
 import scanner.Token;
+import scanner.Trecho;
 
 /**
  * Representa um erro semântico encontrado durante a análise.
  * Armazena informações sobre o tipo de erro e sua localização.
+ * 
+ * A localização é o {@link Trecho} do nó onde o erro ocorreu; linha e
+ * coluna só são calculadas quando pedidas.
  */
 public class ErroSemantico {
-    private final Token token;
+    private final long trecho;     // Posição do nome ou operador
+    private final MapaLinhas mapa; // Resolve o trecho (null se explícito)
     private final String mensagem;
     private final TipoErro tipo;
     
@@ -27,16 +33,32 @@ public class ErroSemantico {
     /**
      * Construtor do ErroSemantico.
      */
-    public ErroSemantico(Token token, TipoErro tipo, String mensagem) {
-        this.token = token;
+    public ErroSemantico(long trecho, MapaLinhas mapa, TipoErro tipo, String mensagem) {
+        this.trecho = trecho;
+        this.mapa = mapa;
         this.tipo = tipo;
         this.mensagem = mensagem;
     }
     
+    /**
+     * Erro na posição de um token.
+     */
+    public ErroSemantico(Token token, TipoErro tipo, String mensagem) {
+        this(Trecho.de(token), token.getMapa(), tipo, mensagem);
+    }
+    
     // Getters
     
-    public Token getToken() {
-        return token;
+    public long getTrecho() {
+        return trecho;
+    }
+    
+    public int getLinha() {
+        return Trecho.linha(trecho, mapa);
+    }
+    
+    public int getColuna() {
+        return Trecho.coluna(trecho, mapa);
     }
     
     public String getMensagem() {
@@ -52,7 +74,7 @@ public class ErroSemantico {
      */
     public String getMensagemFormatada() {
         return String.format("[Linha %d, Coluna %d] Erro Semântico: %s",
-                           token.getLinha(), token.getColuna(), mensagem);
+                           getLinha(), getColuna(), mensagem);
     }
     
     @Override
@@ -0,0 +1,128 @@
+package analisadorsemantico;
+
+import java.util.Arrays;
+
+/**
+ * Quadro de variáveis de um programa: cada símbolo declarado na
+ * {@link TabelaSimbolos} recebe um slot, um índice denso (0, 1, 2, ...)
+ * e único, mesmo quando o nome se repete (variáveis sombreadas em blocos
+ * aninhados, ou blocos irmãos que declaram o mesmo nome).
+ *
+ * A análise semântica vincula aqui cada ocorrência de nome (uso de
+ * variável, atribuição, declaração e leitura) ao slot do símbolo a que
+ * ela se refere. A ocorrência é identificada pelo {@link scanner.Trecho}
+ * do nome no nó, único no código fonte, então os nós do AST continuam
+ * imutáveis. Um nó compartilhado pela
+ * {@link analisadorsintatico.FabricaExpressoes} é vinculado pelo trecho
+ * da sua primeira ocorrência: a fábrica só compartilha acessos à mesma
+ * declaração, então todas as ocorrências têm o mesmo slot.
+ *
+ * As fases seguintes endereçam as variáveis por esse índice, sem buscar
+ * pelo nome: o TACGerador dá a cada slot um nome próprio, e um
+ * interpretador pode guardar os valores num array.
+ */
+public final class Quadro {
+
+    /** Nome não resolvido (não declarado, ou fora do programa analisado). */
+    public static final int SEM_SLOT = -1;
+
+    private Simbolo[] simbolos = new Simbolo[16];
+    private String[] nomes = new String[16]; // Nomes únicos para o código gerado
+    private int tamanho;
+
+    // Vínculos: trecho de cada ocorrência -> slot, em endereçamento aberto
+    private long[] trechos = new long[64];
+    private int[] slotsVinculados = new int[64]; // Slot + 1 (0: posição livre)
+    private int vinculos;
+
+    /**
+     * Quantidade de slots (símbolos declarados até agora).
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Símbolo de um slot.
+     */
+    public Simbolo simbolo(int slot) {
+        return simbolos[slot];
+    }
+
+    /**
+     * Nome único do slot: o nome da variável na primeira declaração desse
+     * nome, e {@code nome.k} na k-ésima redeclaração (o ponto não aparece
+     * em identificadores, então não colide com outra variável).
+     */
+    public String nome(int slot) {
+        return nomes[slot];
+    }
+
+    /**
+     * Registra o símbolo no próximo slot ({@link #tamanho()}).
+     *
+     * @param ocorrencia quantas declarações do mesmo nome vieram antes
+     */
+    void adicionar(Simbolo simbolo, int ocorrencia) {
+        if (tamanho == simbolos.length) {
+            simbolos = Arrays.copyOf(simbolos, tamanho * 2);
+            nomes = Arrays.copyOf(nomes, tamanho * 2);
+        }
+        simbolos[tamanho] = simbolo;
+        nomes[tamanho] = ocorrencia == 0 ? simbolo.getNome() : simbolo.getNome() + "." + ocorrencia;
+        tamanho++;
+    }
+
+    /**
+     * Slot a que a ocorrência de nome no trecho se refere, ou
+     * {@link #SEM_SLOT} se ela não foi resolvida.
+     *
+     * @param trecho trecho do nome no nó (ver {@code trecho} de
+     *        VariavelAcesso, Atribuicao e Declaracao, e {@code trechos} de Ler)
+     */
+    public int slot(long trecho) {
+        return slotsVinculados[posicao(trecho)] - 1;
+    }
+
+    /**
+     * Vincula a ocorrência de nome ao slot; nomes não resolvidos não são
+     * vinculados.
+     */
+    void vincular(long trecho, int slot) {
+        if (slot < 0) {
+            return;
+        }
+        if (2 * (vinculos + 1) > trechos.length) {
+            crescer();
+        }
+        int i = posicao(trecho);
+        if (slotsVinculados[i] == 0) {
+            trechos[i] = trecho;
+            vinculos++;
+        }
+        slotsVinculados[i] = slot + 1;
+    }
+
+    private int posicao(long trecho) {
+        int mascara = trechos.length - 1;
+        int i = (int) ((trecho * 0x9E3779B97F4A7C15L) >>> 32) & mascara;
+        while (slotsVinculados[i] != 0 && trechos[i] != trecho) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    private void crescer() {
+        long[] antigosTrechos = trechos;
+        int[] antigosSlots = slotsVinculados;
+        trechos = new long[antigosTrechos.length * 2];
+        slotsVinculados = new int[trechos.length];
+        for (int j = 0; j < antigosTrechos.length; j++) {
+            if (antigosSlots[j] != 0) {
+                int i = posicao(antigosTrechos[j]);
+                trechos[i] = antigosTrechos[j];
+                slotsVinculados[i] = antigosSlots[j];
+            }
+        }
+    }
+}
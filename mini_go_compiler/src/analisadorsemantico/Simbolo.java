@@ -6,6 +6,8 @@ package analisadorsemantico;
  */
 public class Simbolo {
     private final String nome;
+    private final int id;          // Id do nome no pool do Scanner (-1 se não houver)
+    private final int slot;        // Índice no Quadro da tabela que o criou (-1 se avulso)
     private final Tipo tipo;
     private boolean inicializada;
     
@@ -17,9 +19,36 @@ public class Simbolo {
      * @param inicializada se a variável foi inicializada na declaração
      */
     public Simbolo(String nome, Tipo tipo, boolean inicializada) {
+        this(nome, -1, tipo, inicializada);
+    }
+    
+    /**
+     * Construtor do Símbolo com o id do nome internado.
+     * 
+     * @param nome nome da variável
+     * @param id id do nome na TabelaNomes do Scanner
+     * @param tipo tipo da variável (INTEIRO, REAL, TEXTO)
+     * @param inicializada se a variável foi inicializada na declaração
+     */
+    public Simbolo(String nome, int id, Tipo tipo, boolean inicializada) {
+        this(nome, id, tipo, inicializada, Quadro.SEM_SLOT);
+    }
+    
+    /**
+     * Construtor do Símbolo declarado numa tabela, com o seu slot no quadro.
+     * 
+     * @param nome nome da variável
+     * @param id id do nome na TabelaNomes do Scanner
+     * @param tipo tipo da variável (INTEIRO, REAL, TEXTO)
+     * @param inicializada se a variável foi inicializada na declaração
+     * @param slot índice da variável no {@link Quadro}
+     */
+    public Simbolo(String nome, int id, Tipo tipo, boolean inicializada, int slot) {
         this.nome = nome;
+        this.id = id;
         this.tipo = tipo;
         this.inicializada = inicializada;
+        this.slot = slot;
     }
     
     // Getters
@@ -28,6 +57,14 @@ public class Simbolo {
         return nome;
     }
     
+    public int getId() {
+        return id;
+    }
+    
+    public int getSlot() {
+        return slot;
+    }
+    
     public Tipo getTipo() {
         return tipo;
     }
@@ -4,86 +4,170 @@ import java.util.*;
 
 /**
  * Tabela de Símbolos com suporte a escopos aninhados.
- * 
+ *
  * Responsabilidades:
  * - Rastrear variáveis declaradas em cada escopo
  * - Verificar se variável existe antes do uso
  * - Detectar redeclaração de variáveis no mesmo escopo
  * - Gerenciar escopos aninhados (blocos dentro de blocos)
+ *
+ * Variáveis podem ser buscadas pelo nome ou pelo id denso atribuído
+ * pelo Scanner (TabelaNomes); a busca por id não faz hash de Strings.
+ *
+ * Em vez de um mapa por escopo, há uma única tabela: cada nome já
+ * declarado tem uma entrada (endereçamento aberto pelo nome, e um array
+ * direto pelo id) que aponta para o símbolo visível agora. Declarar num
+ * escopo interno troca esse símbolo e anota o anterior num registro de
+ * desfazer; sair do escopo desfaz exatamente as declarações feitas nele.
+ * Assim a busca custa O(1) qualquer que seja a profundidade, e entrar num
+ * escopo só anota onde o registro estava (não aloca nada).
+ *
+ * O id é apenas um atalho para a entrada do nome: um símbolo declarado
+ * com id também é encontrado pelo nome, e vice-versa.
+ *
+ * Cada símbolo declarado recebe também um slot no {@link Quadro} da
+ * tabela, que não é desfeito ao sair do escopo.
  */
 public class TabelaSimbolos {
-    // Pilha de escopos: cada escopo é um mapa de nome -> símbolo
-    private final Deque<Map<String, Simbolo>> escopos;
-    
+
+    // Entradas: uma por nome distinto já declarado
+    private String[] nomes = new String[16];
+    private int[] hashes = new int[16];
+    private Simbolo[] visiveis = new Simbolo[16]; // Símbolo visível de cada nome (null: nenhum)
+    private int[] niveis = new int[16];           // Escopo onde o símbolo visível foi declarado
+    private int[] ocorrencias = new int[16];      // Declarações do nome até agora (em qualquer escopo)
+    private int quantidadeEntradas;
+
+    private int[] baldes = new int[32];             // Tabela de hash dos nomes: entrada + 1 (0 = vazio)
+    private int[] entradasPorId = new int[16];     // id -> entrada + 1 (0 = nenhuma)
+
+    // Registro de desfazer: uma linha por declaração
+    private int[] registroEntradas = new int[16];
+    private Simbolo[] registroAnteriores = new Simbolo[16]; // Símbolo que estava visível antes
+    private int[] registroNiveis = new int[16];
+    private int tamanhoRegistro;
+
+    // inicios[k] = tamanho do registro quando o escopo k+1 começou
+    private int[] inicios = new int[16];
+    private int nivel;
+
+    private final Quadro quadro = new Quadro();
+
     /**
      * Construtor inicializa com escopo global.
      */
     public TabelaSimbolos() {
-        this.escopos = new ArrayDeque<>();
         entrarEscopo();
     }
-    
+
     /**
      * Entra em um novo escopo (ex: dentro de um bloco { }).
-     * Cria um novo nível na pilha de escopos.
+     * Anota onde o registro de desfazer estava.
      */
     public void entrarEscopo() {
-        escopos.push(new HashMap<>());
+        if (nivel == inicios.length) {
+            inicios = Arrays.copyOf(inicios, nivel * 2);
+        }
+        inicios[nivel++] = tamanhoRegistro;
     }
-    
+
     /**
      * Sai do escopo atual (ex: ao fechar um bloco }).
-     * Remove o nível mais interno da pilha.
+     * Desfaz as declarações do escopo, restaurando os símbolos que elas escondiam.
      */
     public void sairEscopo() {
-        if (escopos.size() > 1) { // Mantém pelo menos o escopo global
-            escopos.pop();
+        if (nivel > 1) { // Mantém pelo menos o escopo global
+            int inicio = inicios[--nivel];
+            while (tamanhoRegistro > inicio) {
+                tamanhoRegistro--;
+                int entrada = registroEntradas[tamanhoRegistro];
+                visiveis[entrada] = registroAnteriores[tamanhoRegistro];
+                niveis[entrada] = registroNiveis[tamanhoRegistro];
+                registroAnteriores[tamanhoRegistro] = null;
+            }
         }
     }
-    
+
     /**
      * Declara uma nova variável no escopo atual.
-     * 
+     *
      * @param nome nome da variável
      * @param tipo tipo da variável
      * @param inicializada se a variável foi inicializada
      * @return true se declarou com sucesso, false se já existe no escopo atual
      */
     public boolean declarar(String nome, Tipo tipo, boolean inicializada) {
-        Map<String, Simbolo> escopoAtual = escopos.peek();
-        
+        return declarar(-1, nome, tipo, inicializada);
+    }
+
+    /**
+     * Declara uma nova variável no escopo atual, indexando-a também pelo id do nome.
+     *
+     * @param id id do nome na TabelaNomes (-1 se não houver)
+     * @param nome nome da variável
+     * @param tipo tipo da variável
+     * @param inicializada se a variável foi inicializada
+     * @return true se declarou com sucesso, false se já existe no escopo atual
+     */
+    public boolean declarar(int id, String nome, Tipo tipo, boolean inicializada) {
+        int entrada = id >= 0 ? entradaPorId(id) : -1;
+        if (entrada < 0 || !nomes[entrada].equals(nome)) { // Ids de outro pool de nomes: vale o nome
+            entrada = entradaPorNome(nome, true);
+            if (id >= 0) {
+                associarId(id, entrada);
+            }
+        }
+
         // Verifica se já existe no escopo ATUAL (não nos pais)
-        if (escopoAtual.containsKey(nome)) {
-            return false; 
+        if (visiveis[entrada] != null && niveis[entrada] == nivel) {
+            return false;
         }
-        
-        escopoAtual.put(nome, new Simbolo(nome, tipo, inicializada));
+
+        if (tamanhoRegistro == registroEntradas.length) {
+            registroEntradas = Arrays.copyOf(registroEntradas, tamanhoRegistro * 2);
+            registroAnteriores = Arrays.copyOf(registroAnteriores, tamanhoRegistro * 2);
+            registroNiveis = Arrays.copyOf(registroNiveis, tamanhoRegistro * 2);
+        }
+        registroEntradas[tamanhoRegistro] = entrada;
+        registroAnteriores[tamanhoRegistro] = visiveis[entrada];
+        registroNiveis[tamanhoRegistro] = niveis[entrada];
+        tamanhoRegistro++;
+
+        visiveis[entrada] = new Simbolo(nome, id, tipo, inicializada, quadro.tamanho());
+        niveis[entrada] = nivel;
+        quadro.adicionar(visiveis[entrada], ocorrencias[entrada]++);
         return true;
     }
-    
+
     /**
-     * Busca uma variável em todos os escopos (do mais interno ao mais externo).
-     * 
+     * Busca a variável visível com esse nome (a do escopo mais interno).
+     *
      * @param nome nome da variável
      * @return símbolo encontrado ou null se não existir
      */
     public Simbolo buscar(String nome) {
-        // Percorre escopos do mais interno para o mais externo
-        for (Map<String, Simbolo> escopo : escopos) {
-            if (escopo.containsKey(nome)) {
-                return escopo.get(nome);
-            }
-        }
-        return null; // Não encontrada
+        int entrada = entradaPorNome(nome, false);
+        return entrada >= 0 ? visiveis[entrada] : null;
+    }
+
+    /**
+     * Busca a variável visível pelo id do nome.
+     *
+     * @param id id do nome na TabelaNomes
+     * @return símbolo encontrado ou null se não existir
+     */
+    public Simbolo buscar(int id) {
+        int entrada = entradaPorId(id);
+        return entrada >= 0 ? visiveis[entrada] : null;
     }
-    
+
     /**
      * Verifica se uma variável existe em algum escopo.
      */
     public boolean existe(String nome) {
         return buscar(nome) != null;
     }
-    
+
     /**
      * Atualiza o status de inicialização de uma variável.
      * Usado após atribuições.
@@ -94,30 +178,142 @@ public class TabelaSimbolos {
             simbolo.setInicializada(true);
         }
     }
-    
+
+    /**
+     * Atualiza o status de inicialização de uma variável pelo id do nome.
+     */
+    public void marcarInicializada(int id) {
+        Simbolo simbolo = buscar(id);
+        if (simbolo != null) {
+            simbolo.setInicializada(true);
+        }
+    }
+
+    /**
+     * Retorna o quadro com os slots de todos os símbolos já declarados.
+     */
+    public Quadro getQuadro() {
+        return quadro;
+    }
+
     /**
      * Retorna o nível de profundidade do escopo atual.
      * Útil para debug.
      */
     public int getNivelEscopo() {
-        return escopos.size();
+        return nivel;
     }
-    
+
     /**
      * Retorna todas as variáveis do escopo atual (para debug).
      */
     public Set<String> getVariaveisEscopoAtual() {
-        return new HashSet<>(escopos.peek().keySet());
+        Set<String> variaveis = new HashSet<>();
+        for (int i = inicios[nivel - 1]; i < tamanhoRegistro; i++) {
+            variaveis.add(nomes[registroEntradas[i]]);
+        }
+        return variaveis;
+    }
+
+    /**
+     * Retorna os símbolos declarados no escopo atual, na ordem de declaração.
+     */
+    public Collection<Simbolo> getSimbolosEscopoAtual() {
+        // Nenhum nome é declarado duas vezes no mesmo escopo: o visível é o declarado aqui
+        List<Simbolo> simbolos = new ArrayList<>(tamanhoRegistro - inicios[nivel - 1]);
+        for (int i = inicios[nivel - 1]; i < tamanhoRegistro; i++) {
+            simbolos.add(visiveis[registroEntradas[i]]);
+        }
+        return simbolos;
     }
-    
+
     @Override
     public String toString() {
+        // Símbolos de cada escopo: os visíveis agora, ou os anotados por uma declaração posterior que os escondeu
+        Simbolo[] declarados = new Simbolo[tamanhoRegistro];
+        Simbolo[] atuais = Arrays.copyOf(visiveis, quantidadeEntradas);
+        for (int i = tamanhoRegistro - 1; i >= 0; i--) {
+            declarados[i] = atuais[registroEntradas[i]];
+            atuais[registroEntradas[i]] = registroAnteriores[i];
+        }
+
         StringBuilder sb = new StringBuilder("TabelaSimbolos{\n");
-        int nivel = escopos.size();
-        for (Map<String, Simbolo> escopo : escopos) {
-            sb.append("  Escopo ").append(nivel--).append(": ").append(escopo.values()).append("\n");
+        for (int k = nivel - 1; k >= 0; k--) {
+            int fim = k + 1 < nivel ? inicios[k + 1] : tamanhoRegistro;
+            sb.append("  Escopo ").append(k + 1).append(": ")
+              .append(Arrays.asList(declarados).subList(inicios[k], fim)).append("\n");
         }
         sb.append("}");
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    // --- Entradas ---
+
+    private int entradaPorId(int id) {
+        return id < entradasPorId.length ? entradasPorId[id] - 1 : -1;
+    }
+
+    private void associarId(int id, int entrada) {
+        if (id >= entradasPorId.length) {
+            entradasPorId = Arrays.copyOf(entradasPorId, Math.max(id + 1, entradasPorId.length * 2));
+        }
+        entradasPorId[id] = entrada + 1;
+    }
+
+    /**
+     * Retorna a entrada do nome, criando-a se pedido.
+     *
+     * @return índice da entrada, ou -1 se o nome não tem entrada e criar é false
+     */
+    private int entradaPorNome(String nome, boolean criar) {
+        int hash = nome.hashCode();
+        int mascara = baldes.length - 1;
+        int slot = espalhar(hash) & mascara;
+        while (baldes[slot] != 0) {
+            int entrada = baldes[slot] - 1;
+            if (hashes[entrada] == hash && nomes[entrada].equals(nome)) {
+                return entrada;
+            }
+            slot = (slot + 1) & mascara;
+        }
+        if (!criar) {
+            return -1;
+        }
+
+        // Nome novo
+        int entrada = quantidadeEntradas;
+        if (entrada == nomes.length) {
+            nomes = Arrays.copyOf(nomes, entrada * 2);
+            hashes = Arrays.copyOf(hashes, entrada * 2);
+            visiveis = Arrays.copyOf(visiveis, entrada * 2);
+            niveis = Arrays.copyOf(niveis, entrada * 2);
+            ocorrencias = Arrays.copyOf(ocorrencias, entrada * 2);
+        }
+        nomes[entrada] = nome;
+        hashes[entrada] = hash;
+        baldes[slot] = entrada + 1;
+        quantidadeEntradas++;
+
+        // Mantém a carga da tabela abaixo de 50%
+        if (quantidadeEntradas * 2 > baldes.length) {
+            redimensionar();
+        }
+        return entrada;
+    }
+
+    private void redimensionar() {
+        baldes = new int[baldes.length * 2];
+        int mascara = baldes.length - 1;
+        for (int entrada = 0; entrada < quantidadeEntradas; entrada++) {
+            int slot = espalhar(hashes[entrada]) & mascara;
+            while (baldes[slot] != 0) {
+                slot = (slot + 1) & mascara;
+            }
+            baldes[slot] = entrada + 1;
+        }
+    }
+
+    private static int espalhar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,423 @@
+package analisadorsintatico;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import scanner.FonteTokens;
+import scanner.Token;
+
+/**
+ * AST guardado numa arena de arrays paralelos (struct-of-arrays), no
+ * estilo do {@link scanner.TokenBuffer}: cada nó é um índice, e em vez de
+ * um objeto por nó (com um {@link Token} por operador e nome) guarda só:
+ * - o tipo do nó
+ * - até três filhos (índices de nós) ou um trecho da lista auxiliar
+ * - o índice do token (operador ou nome) na fonte de tokens
+ * - o valor dos literais (long, ou os bits do double)
+ *
+ * Os nós são gravados em pós-ordem, como o {@link parser.Parser} os
+ * completa ({@link ConstrutorAst}): os filhos vêm antes do pai, a
+ * subárvore de um nó ocupa o intervalo contíguo [primeiro(no), no] e o
+ * último filho é sempre o nó anterior. Por isso o 'para' não precisa de
+ * uma quarta coluna: o corpo é {@code no - 1}.
+ *
+ * Os passes existentes rodam sem mudanças sobre objetos materializados
+ * comando a comando ({@link CursorAst}); só a arena fica viva entre eles.
+ */
+public final class ArenaAst implements ConstrutorAst {
+
+    /**
+     * Tipos de nó da arena (um por subclasse de {@link Expressao} e
+     * {@link Comando} produzida pelo Parser).
+     */
+    public enum TipoNo {
+        BINARIA, LOGICA, UNARIA, LITERAL_INTEIRO, LITERAL_REAL, LITERAL_TEXTO, AGRUPAMENTO, VARIAVEL_ACESSO,
+        BLOCO, DECLARACAO, ATRIBUICAO, SE, PARA, IMPRIMIR, LER
+    }
+
+    private static final TipoNo[] TIPOS = TipoNo.values();
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    /** Bytes das colunas por nó: tipo, primeiro, a, b, c, token e valor. */
+    public static final int BYTES_POR_NO = 1 + 5 * Integer.BYTES + Long.BYTES;
+
+    private final FonteTokens fonte; // Tokens referenciados pelos nós
+    private byte[] tipos;            // Ordinal de TipoNo
+    private int[] primeiros;         // Primeiro nó da subárvore
+    private int[] as;                // Filho 'a' (ou início na lista auxiliar)
+    private int[] bs;                // Filho 'b' (ou quantidade na lista auxiliar, ou token do tipo)
+    private int[] cs;                // Filho 'c'
+    private int[] tokens;            // Operador ou nome (-1 se não houver)
+    private long[] valores;          // Valor do literal (texto: índice em 'textos')
+    private int tamanho;             // Quantidade de nós
+
+    private int[] listas = new int[CAPACIDADE_INICIAL]; // Filhos de blocos e 'imprimir', tokens de 'ler'
+    private int tamanhoListas;
+    private final List<String> textos = new ArrayList<>(); // Valores dos literais de texto
+
+    // Nós já completos e ainda sem pai; ao fim do programa, os comandos de nível superior
+    private int[] pendentes = new int[CAPACIDADE_INICIAL];
+    private int quantidadePendentes;
+
+    /**
+     * Cria uma arena vazia.
+     *
+     * @param fonte tokens cujos índices os nós guardam (a mesma fonte do Parser)
+     */
+    public ArenaAst(FonteTokens fonte) {
+        this(fonte, CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Cria uma arena vazia com espaço para {@code capacidade} nós, evitando
+     * as cópias de crescimento quando o tamanho do programa é conhecido.
+     */
+    public ArenaAst(FonteTokens fonte, int capacidade) {
+        capacidade = Math.max(CAPACIDADE_INICIAL, capacidade);
+        this.fonte = fonte;
+        this.tipos = new byte[capacidade];
+        this.primeiros = new int[capacidade];
+        this.as = new int[capacidade];
+        this.bs = new int[capacidade];
+        this.cs = new int[capacidade];
+        this.tokens = new int[capacidade];
+        this.valores = new long[capacidade];
+    }
+
+    // ========================================================================
+    //                               CONSTRUÇÃO
+    // ========================================================================
+
+    @Override
+    public void literalInteiro(long valor) {
+        folha(TipoNo.LITERAL_INTEIRO, -1, valor);
+    }
+
+    @Override
+    public void literalReal(double valor) {
+        folha(TipoNo.LITERAL_REAL, -1, Double.doubleToRawLongBits(valor));
+    }
+
+    @Override
+    public void literalTexto(String valor) {
+        textos.add(valor);
+        folha(TipoNo.LITERAL_TEXTO, -1, textos.size() - 1);
+    }
+
+    @Override
+    public void variavelAcesso(int nome) {
+        folha(TipoNo.VARIAVEL_ACESSO, nome, 0);
+    }
+
+    @Override
+    public void unaria(int operador) {
+        int direita = retirar();
+        gravar(TipoNo.UNARIA, primeiros[direita], direita, -1, -1, operador);
+    }
+
+    @Override
+    public void binaria(int operador) {
+        int direita = retirar();
+        int esquerda = retirar();
+        gravar(TipoNo.BINARIA, primeiros[esquerda], esquerda, direita, -1, operador);
+    }
+
+    @Override
+    public void logica(int operador) {
+        int direita = retirar();
+        int esquerda = retirar();
+        gravar(TipoNo.LOGICA, primeiros[esquerda], esquerda, direita, -1, operador);
+    }
+
+    @Override
+    public void agrupamento() {
+        int expressao = retirar();
+        gravar(TipoNo.AGRUPAMENTO, primeiros[expressao], expressao, -1, -1, -1);
+    }
+
+    @Override
+    public void bloco(int quantidade) {
+        gravarLista(TipoNo.BLOCO, quantidade);
+    }
+
+    @Override
+    public void declaracao(int nome, int tipo, boolean inicializada) {
+        if (inicializada) {
+            int inicializador = retirar();
+            gravar(TipoNo.DECLARACAO, primeiros[inicializador], inicializador, tipo, -1, nome);
+        } else {
+            gravar(TipoNo.DECLARACAO, tamanho, -1, tipo, -1, nome);
+        }
+    }
+
+    @Override
+    public void atribuicao(int nome) {
+        int valor = retirar();
+        gravar(TipoNo.ATRIBUICAO, primeiros[valor], valor, -1, -1, nome);
+    }
+
+    @Override
+    public void se(boolean temSenao) {
+        int ramoElse = temSenao ? retirar() : -1;
+        int ramoThen = retirar();
+        int condicao = retirar();
+        gravar(TipoNo.SE, primeiros[condicao], condicao, ramoThen, ramoElse, -1);
+    }
+
+    @Override
+    public void para(boolean temInicializacao, boolean temCondicao, boolean temIncremento) {
+        int corpo = retirar(); // Não é gravado: é sempre o nó anterior
+        int incremento = temIncremento ? retirar() : -1;
+        int condicao = temCondicao ? retirar() : -1;
+        int inicializacao = temInicializacao ? retirar() : -1;
+        int primeiro = inicializacao >= 0 ? primeiros[inicializacao]
+                : condicao >= 0 ? primeiros[condicao]
+                : incremento >= 0 ? primeiros[incremento]
+                : primeiros[corpo];
+        gravar(TipoNo.PARA, primeiro, inicializacao, condicao, incremento, -1);
+    }
+
+    @Override
+    public void imprimir(int quantidade) {
+        gravarLista(TipoNo.IMPRIMIR, quantidade);
+    }
+
+    @Override
+    public void ler(int[] variaveis) {
+        int inicio = tamanhoListas;
+        for (int variavel : variaveis) {
+            adicionarLista(variavel);
+        }
+        gravar(TipoNo.LER, tamanho, inicio, variaveis.length, -1, -1);
+    }
+
+    private void folha(TipoNo tipo, int token, long valor) {
+        valores = garantir(valores, tamanho);
+        valores[tamanho] = valor;
+        gravar(tipo, tamanho, -1, -1, -1, token);
+    }
+
+    /**
+     * Bloco ou 'imprimir': os últimos {@code quantidade} pendentes passam
+     * para a lista auxiliar, na ordem.
+     */
+    private void gravarLista(TipoNo tipo, int quantidade) {
+        int inicio = tamanhoListas;
+        int base = quantidadePendentes - quantidade;
+        for (int i = base; i < quantidadePendentes; i++) {
+            adicionarLista(pendentes[i]);
+        }
+        int primeiro = quantidade > 0 ? primeiros[pendentes[base]] : tamanho;
+        quantidadePendentes = base;
+        gravar(tipo, primeiro, inicio, quantidade, -1, -1);
+    }
+
+    private void gravar(TipoNo tipo, int primeiro, int a, int b, int c, int token) {
+        if (tamanho == tipos.length) {
+            int capacidade = Math.max(CAPACIDADE_INICIAL, tamanho * 2);
+            tipos = Arrays.copyOf(tipos, capacidade);
+            primeiros = Arrays.copyOf(primeiros, capacidade);
+            as = Arrays.copyOf(as, capacidade);
+            bs = Arrays.copyOf(bs, capacidade);
+            cs = Arrays.copyOf(cs, capacidade);
+            tokens = Arrays.copyOf(tokens, capacidade);
+        }
+        tipos[tamanho] = (byte) tipo.ordinal();
+        primeiros[tamanho] = primeiro;
+        as[tamanho] = a;
+        bs[tamanho] = b;
+        cs[tamanho] = c;
+        tokens[tamanho] = token;
+        if (quantidadePendentes == pendentes.length) {
+            pendentes = Arrays.copyOf(pendentes, Math.max(CAPACIDADE_INICIAL, quantidadePendentes * 2));
+        }
+        pendentes[quantidadePendentes++] = tamanho++;
+    }
+
+    private int retirar() {
+        return pendentes[--quantidadePendentes];
+    }
+
+    private void adicionarLista(int valor) {
+        if (tamanhoListas == listas.length) {
+            listas = Arrays.copyOf(listas, Math.max(CAPACIDADE_INICIAL, tamanhoListas * 2));
+        }
+        listas[tamanhoListas++] = valor;
+    }
+
+    private static long[] garantir(long[] array, int indice) {
+        return indice < array.length ? array : Arrays.copyOf(array, Math.max(indice + 1, array.length * 2));
+    }
+
+    /**
+     * Libera a folga de capacidade dos arrays (chamado pelo Parser ao fim
+     * do programa; a arena ainda aceita nós depois disso).
+     */
+    public void compactar() {
+        tipos = Arrays.copyOf(tipos, tamanho);
+        primeiros = Arrays.copyOf(primeiros, tamanho);
+        as = Arrays.copyOf(as, tamanho);
+        bs = Arrays.copyOf(bs, tamanho);
+        cs = Arrays.copyOf(cs, tamanho);
+        tokens = Arrays.copyOf(tokens, tamanho);
+        valores = Arrays.copyOf(valores, Math.min(valores.length, tamanho));
+        listas = Arrays.copyOf(listas, tamanhoListas);
+        pendentes = Arrays.copyOf(pendentes, quantidadePendentes);
+    }
+
+    // ========================================================================
+    //                                 LEITURA
+    // ========================================================================
+
+    /**
+     * Quantidade de nós gravados.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Quantidade de comandos de nível superior (depois de o Parser terminar).
+     */
+    public int quantidadeComandos() {
+        return quantidadePendentes;
+    }
+
+    /**
+     * Nó do i-ésimo comando de nível superior.
+     */
+    public int comandoNivelSuperior(int i) {
+        return pendentes[i];
+    }
+
+    public TipoNo tipo(int no) {
+        return TIPOS[tipos[no]];
+    }
+
+    /**
+     * Primeiro nó da subárvore de {@code no}; ela ocupa [primeiro, no].
+     */
+    public int primeiro(int no) {
+        return primeiros[no];
+    }
+
+    /**
+     * Índice do token do operador ou do nome (-1 se o nó não tem).
+     */
+    public int token(int no) {
+        return tokens[no];
+    }
+
+    public long valorInteiro(int no) {
+        return valores[no];
+    }
+
+    public double valorReal(int no) {
+        return Double.longBitsToDouble(valores[no]);
+    }
+
+    public String valorTexto(int no) {
+        return textos.get((int) valores[no]);
+    }
+
+    /**
+     * Bytes ocupados pelos nós e pela lista auxiliar (sem contar a folga
+     * de capacidade dos arrays nem o conteúdo dos textos).
+     */
+    public long bytesUsados() {
+        return (long) tamanho * BYTES_POR_NO + (long) tamanhoListas * Integer.BYTES;
+    }
+
+    // ========================================================================
+    //                             MATERIALIZAÇÃO
+    // ========================================================================
+
+    /**
+     * Monta os objetos {@link Comando} da subárvore de um comando.
+     */
+    public Comando comando(int no) {
+        return (Comando) materializar(no);
+    }
+
+    /**
+     * Monta os objetos {@link Expressao} da subárvore de uma expressão.
+     */
+    public Expressao expressao(int no) {
+        return (Expressao) materializar(no);
+    }
+
+    /**
+     * Percorre o intervalo da subárvore em ordem: como os filhos vêm antes
+     * do pai, cada nó encontra os seus já montados, sem recursão.
+     */
+    private Object materializar(int no) {
+        int inicio = primeiros[no];
+        Object[] nos = new Object[no - inicio + 1];
+        for (int i = inicio; i <= no; i++) {
+            nos[i - inicio] = montar(i, nos, inicio);
+        }
+        return nos[no - inicio];
+    }
+
+    private Object montar(int i, Object[] nos, int inicio) {
+        switch (TIPOS[tipos[i]]) {
+            case BINARIA:
+                return new Expressao.Binaria((Expressao) nos[as[i] - inicio], token(fonte, i), (Expressao) nos[bs[i] - inicio]);
+            case LOGICA:
+                return new Expressao.Logica((Expressao) nos[as[i] - inicio], token(fonte, i), (Expressao) nos[bs[i] - inicio]);
+            case UNARIA:
+                return new Expressao.Unaria(token(fonte, i), (Expressao) nos[as[i] - inicio]);
+            case LITERAL_INTEIRO:
+                return new Expressao.LiteralInteiro(valorInteiro(i));
+            case LITERAL_REAL:
+                return new Expressao.LiteralReal(valorReal(i));
+            case LITERAL_TEXTO:
+                return new Expressao.LiteralTexto(valorTexto(i));
+            case AGRUPAMENTO:
+                return new Expressao.Agrupamento((Expressao) nos[as[i] - inicio]);
+            case VARIAVEL_ACESSO:
+                return new Expressao.VariavelAcesso(token(fonte, i));
+            case BLOCO: {
+                List<Comando> comandos = new ArrayList<>(bs[i]);
+                for (int k = 0; k < bs[i]; k++) {
+                    comandos.add((Comando) nos[listas[as[i] + k] - inicio]);
+                }
+                return new Comando.Bloco(comandos);
+            }
+            case DECLARACAO:
+                return new Comando.Declaracao(token(fonte, i), fonte.token(bs[i]),
+                        as[i] >= 0 ? (Expressao) nos[as[i] - inicio] : null);
+            case ATRIBUICAO:
+                return new Comando.Atribuicao(token(fonte, i), (Expressao) nos[as[i] - inicio]);
+            case SE:
+                return new Comando.Se((Expressao) nos[as[i] - inicio], (Comando) nos[bs[i] - inicio],
+                        cs[i] >= 0 ? (Comando) nos[cs[i] - inicio] : null);
+            case PARA:
+                return new Comando.Para(as[i] >= 0 ? (Comando) nos[as[i] - inicio] : null,
+                        bs[i] >= 0 ? (Expressao) nos[bs[i] - inicio] : null,
+                        cs[i] >= 0 ? (Comando) nos[cs[i] - inicio] : null,
+                        (Comando) nos[i - 1 - inicio]);
+            case IMPRIMIR: {
+                List<Expressao> expressoes = new ArrayList<>(bs[i]);
+                for (int k = 0; k < bs[i]; k++) {
+                    expressoes.add((Expressao) nos[listas[as[i] + k] - inicio]);
+                }
+                return new Comando.Imprimir(expressoes);
+            }
+            case LER: {
+                List<Token> variaveis = new ArrayList<>(bs[i]);
+                for (int k = 0; k < bs[i]; k++) {
+                    variaveis.add(fonte.token(listas[as[i] + k]));
+                }
+                return new Comando.Ler(variaveis);
+            }
+            default:
+                throw new IllegalStateException("Tipo de nó desconhecido: " + tipos[i]);
+        }
+    }
+
+    private Token token(FonteTokens fonte, int no) {
+        return fonte.token(tokens[no]);
+    }
+}
@@ -1,133 +1,325 @@
 package analisadorsintatico;
-import java.util.stream.Collectors;
+
+import scanner.Literais;
 
 /**
  * Classe auxiliar para imprimir a árvore de forma legível (estilo Lisp).
  * Exemplo: (+ 1 (* 2 3))
+ *
+ * A impressão usa um {@link PercursoIterativo}: a profundidade da árvore
+ * não é limitada pela pilha de chamadas.
  */
 
-// Agora implementa AMBOS os Visitors: Expressao e Comando
+// Implementa AMBOS os Visitors: Expressao e Comando
 public class AstPrinter implements Expressao.Visitor<String>, Comando.Visitor<String> {
 
+    private final Impressao impressao = new Impressao();
+
     // Método auxiliar para imprimir qualquer nó (Seja Comando ou Expressao)
     public String print(Object node) {
-        if (node instanceof Expressao) {
-            return ((Expressao) node).accept(this);
-        } else if (node instanceof Comando) {
-            return ((Comando) node).accept(this);
+        if (node instanceof Expressao || node instanceof Comando) {
+            int inicio = impressao.saida.length();
+            try {
+                impressao.percorrer(node);
+                return impressao.saida.substring(inicio);
+            } finally {
+                impressao.saida.setLength(inicio);
+            }
         } else {
             return "nulo";
         }
     }
 
     // ==========================================================
-    // VISITANTES DE EXPRESSÃO (Já existiam, mantidos)
+    // VISITANTES (cada um imprime a subárvore inteira)
     // ==========================================================
 
     @Override
     public String visitBinaria(Expressao.Binaria expressao) {
-        return parenthesize(expressao.operador.getLexema(), expressao.esquerda, expressao.direita);
+        return print(expressao);
     }
 
     @Override
     public String visitLogica(Expressao.Logica expressao) {
-        return parenthesize(expressao.operador.getLexema(), expressao.esquerda, expressao.direita);
+        return print(expressao);
     }
 
     @Override
     public String visitUnaria(Expressao.Unaria expressao) {
-        return parenthesize(expressao.operador.getLexema(), expressao.direita);
+        return print(expressao);
     }
 
     @Override
     public String visitLiteral(Expressao.Literal expressao) {
-        if (expressao.valor == null) return "nulo";
-        // Se for string, coloca aspas para visualizar melhor
-        if (expressao.valor instanceof String) return "\"" + expressao.valor + "\"";
-        return expressao.valor.toString();
+        return print(expressao);
+    }
+
+    @Override
+    public String visitLiteralInteiro(Expressao.LiteralInteiro expressao) {
+        return print(expressao);
+    }
+
+    @Override
+    public String visitLiteralReal(Expressao.LiteralReal expressao) {
+        return print(expressao);
+    }
+
+    @Override
+    public String visitLiteralTexto(Expressao.LiteralTexto expressao) {
+        return print(expressao);
     }
 
     @Override
     public String visitAgrupamento(Expressao.Agrupamento expressao) {
-        return parenthesize("group", expressao.expressao);
+        return print(expressao);
     }
 
     @Override
     public String visitVariavelAcesso(Expressao.VariavelAcesso expressao) {
-        return expressao.nome.getLexema();
+        return print(expressao);
     }
 
-    // ==========================================================
-    // VISITANTES DE COMANDO (Novos! Adicione estes)
-    // ==========================================================
-
     @Override
     public String visitBloco(Comando.Bloco bloco) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("(bloco");
-        for (Comando cmd : bloco.comandos) {
-            sb.append(" ").append(cmd.accept(this));
-        }
-        sb.append(")");
-        return sb.toString();
+        return print(bloco);
     }
 
     @Override
     public String visitDeclaracao(Comando.Declaracao decl) {
-        String init = (decl.inicializador != null) ? " " + decl.inicializador.accept(this) : "";
-        return "(var " + decl.nome.getLexema() + init + ")";
+        return print(decl);
     }
 
     @Override
     public String visitAtribuicao(Comando.Atribuicao atri) {
-        return "(atrib " + atri.nome.getLexema() + " " + atri.valor.accept(this) + ")";
+        return print(atri);
     }
 
     @Override
     public String visitSe(Comando.Se comando) {
-        String elseBranch = (comando.ramoElse != null) ? " " + comando.ramoElse.accept(this) : "";
-        return "(se " + comando.condicao.accept(this) + " " + comando.ramoThen.accept(this) + elseBranch + ")";
+        return print(comando);
     }
 
     @Override
     public String visitPara(Comando.Para comando) {
-        // Exibe de forma simplificada: (para condicao corpo) ou (para init cond inc corpo)
-        String init = (comando.inicializacao != null) ? comando.inicializacao.accept(this) : "nil";
-        String cond = (comando.condicao != null) ? comando.condicao.accept(this) : "true";
-        String inc = (comando.incremento != null) ? comando.incremento.accept(this) : "nil";
-
-        return "(para " + init + " ; " + cond + " ; " + inc + " " + comando.corpo.accept(this) + ")";
+        return print(comando);
     }
 
     @Override
     public String visitImprimir(Comando.Imprimir comando) {
-        // Concatena os argumentos
-        String args = comando.expressoes.stream()
-                .map(e -> e.accept(this))
-                .collect(Collectors.joining(" "));
-        return "(imprimir " + args + ")";
+        return print(comando);
     }
 
     @Override
     public String visitLer(Comando.Ler comando) {
-        String vars = comando.variaveis.stream()
-                .map(t -> t.getLexema())
-                .collect(Collectors.joining(" "));
-        return "(ler " + vars + ")";
+        return print(comando);
     }
 
-    // ==========================================================
-    // HELPER
-    // ==========================================================
+    /**
+     * A impressão em etapas: cada nó escreve o seu texto em ordem, antes,
+     * entre e depois dos filhos, sem copiar o texto já escrito por eles.
+     */
+    private static final class Impressao extends PercursoIterativo<Void> {
+
+        final StringBuilder saida = new StringBuilder();
+
+        // ==========================================================
+        // EXPRESSÕES
+        // ==========================================================
+
+        @Override
+        public Object visitBinaria(Expressao.Binaria expressao) {
+            return binaria(expressao.operador.getLexema(), expressao.esquerda, expressao.direita);
+        }
+
+        @Override
+        public Object visitLogica(Expressao.Logica expressao) {
+            return binaria(expressao.operador.getLexema(), expressao.esquerda, expressao.direita);
+        }
+
+        @Override
+        public Object visitUnaria(Expressao.Unaria expressao) {
+            if (etapa() == 0) {
+                saida.append('(').append(expressao.operador.getLexema()).append(' ');
+                return expressao.direita;
+            }
+            saida.append(')');
+            return fim();
+        }
+
+        @Override
+        public Object visitLiteral(Expressao.Literal expressao) {
+            if (expressao.valor == null) saida.append("nulo");
+            // Se for string, coloca aspas para visualizar melhor
+            else if (expressao.valor instanceof String) saida.append('"').append(expressao.valor).append('"');
+            else saida.append(expressao.valor);
+            return fim();
+        }
+
+        @Override
+        public Object visitLiteralInteiro(Expressao.LiteralInteiro expressao) {
+            saida.append(expressao.valor);
+            return fim();
+        }
+
+        @Override
+        public Object visitLiteralReal(Expressao.LiteralReal expressao) {
+            saida.append(expressao.valor);
+            return fim();
+        }
+
+        @Override
+        public Object visitLiteralTexto(Expressao.LiteralTexto expressao) {
+            saida.append('"').append(Literais.escapar(expressao.valor)).append('"');
+            return fim();
+        }
+
+        @Override
+        public Object visitAgrupamento(Expressao.Agrupamento expressao) {
+            if (etapa() == 0) {
+                saida.append("(group ");
+                return expressao.expressao;
+            }
+            saida.append(')');
+            return fim();
+        }
+
+        @Override
+        public Object visitVariavelAcesso(Expressao.VariavelAcesso expressao) {
+            saida.append(expressao.nome);
+            return fim();
+        }
+
+        // ==========================================================
+        // COMANDOS
+        // ==========================================================
+
+        @Override
+        public Object visitBloco(Comando.Bloco bloco) {
+            saida.append(etapa() == 0 ? "(bloco" : "");
+            if (etapa() < bloco.comandos.size()) {
+                saida.append(' ');
+                return bloco.comandos.get(etapa());
+            }
+            saida.append(')');
+            return fim();
+        }
+
+        @Override
+        public Object visitDeclaracao(Comando.Declaracao decl) {
+            if (etapa() == 0) {
+                saida.append("(var ").append(decl.nome);
+                if (decl.inicializador != null) {
+                    saida.append(' ');
+                    return decl.inicializador;
+                }
+            }
+            saida.append(')');
+            return fim();
+        }
+
+        @Override
+        public Object visitAtribuicao(Comando.Atribuicao atri) {
+            if (etapa() == 0) {
+                saida.append("(atrib ").append(atri.nome).append(' ');
+                return atri.valor;
+            }
+            saida.append(')');
+            return fim();
+        }
+
+        @Override
+        public Object visitSe(Comando.Se comando) {
+            switch (etapa()) {
+                case 0:
+                    saida.append("(se ");
+                    return comando.condicao;
+                case 1:
+                    saida.append(' ');
+                    return comando.ramoThen;
+                case 2:
+                    if (comando.ramoElse != null) {
+                        saida.append(' ');
+                        return comando.ramoElse;
+                    }
+                    saida.append(')'); // Sem 'senao': fecha já
+                    return fim();
+                default:
+                    saida.append(')');
+                    return fim();
+            }
+        }
+
+        @Override
+        public Object visitPara(Comando.Para comando) {
+            // Exibe de forma simplificada: (para init ; cond ; inc corpo), com nil/true nas partes ausentes
+            switch (etapa()) {
+                case 0:
+                    saida.append("(para ");
+                    return parte(comando.inicializacao, "nil");
+                case 1:
+                    saida.append(" ; ");
+                    return parte(comando.condicao, "true");
+                case 2:
+                    saida.append(" ; ");
+                    return parte(comando.incremento, "nil");
+                case 3:
+                    saida.append(' ');
+                    return comando.corpo;
+                default:
+                    saida.append(')');
+                    return fim();
+            }
+        }
+
+        @Override
+        public Object visitImprimir(Comando.Imprimir comando) {
+            saida.append(etapa() == 0 ? "(imprimir " : "");
+            if (etapa() < comando.expressoes.size()) {
+                // Concatena os argumentos
+                saida.append(etapa() > 0 ? " " : "");
+                return comando.expressoes.get(etapa());
+            }
+            saida.append(')');
+            return fim();
+        }
+
+        @Override
+        public Object visitLer(Comando.Ler comando) {
+            saida.append("(ler ");
+            for (int i = 0; i < comando.variaveis.size(); i++) {
+                if (i > 0) saida.append(' ');
+                saida.append(comando.variaveis.get(i));
+            }
+            saida.append(')');
+            return fim();
+        }
+
+        // ==========================================================
+        // HELPERS
+        // ==========================================================
+
+        private Object binaria(String nome, Expressao esquerda, Expressao direita) {
+            switch (etapa()) {
+                case 0:
+                    saida.append('(').append(nome).append(' ');
+                    return esquerda;
+                case 1:
+                    saida.append(' ');
+                    return direita;
+                default:
+                    saida.append(')');
+                    return fim();
+            }
+        }
 
-    private String parenthesize(String name, Expressao... exprs) {
-        StringBuilder builder = new StringBuilder();
-        builder.append("(").append(name);
-        for (Expressao expr : exprs) {
-            builder.append(" ");
-            builder.append(expr.accept(this));
+        /**
+         * Parte opcional de um nó: o filho, ou o texto no lugar dele se ausente.
+         */
+        private Object parte(Object filho, String ausente) {
+            if (filho == null) {
+                saida.append(ausente);
+            }
+            return filho;
         }
-        builder.append(")");
-        return builder.toString();
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,18 @@
 package analisadorsintatico;
 
+import java.util.ArrayList;
 import java.util.List;
 import scanner.Token;
-
+import scanner.TokenType;
+import scanner.Trecho;
+
+/**
+ * Classe base para todos os comandos da linguagem.
+ *
+ * Como em {@link Expressao}, os nomes são guardados como texto, id e
+ * {@link Trecho}, sem o {@link Token}; o trecho de cada nome é também
+ * a chave do seu slot no quadro da análise semântica.
+ */
 public abstract class Comando {
 
     public abstract <R> R accept(Visitor<R> visitor);
@@ -35,12 +45,21 @@ public abstract class Comando {
 
     // var x inteiro = 10;
     public static class Declaracao extends Comando {
-        public final Token nome;
-        public final Token tipo; // INTEIRO, REAL ou TEXTO
+        public final String nome;
+        public final int idNome;       // Id do nome no pool do Scanner (-1 se não internado)
+        public final long trecho;      // Posição do nome (ver Trecho)
+        public final TokenType tipo;   // INTEIRO, REAL ou TEXTO
         public final Expressao inicializador; // Pode ser null se não tiver = ...
 
         public Declaracao(Token nome, Token tipo, Expressao inicializador) {
+            this(nome.getLexema(), nome.getIdSimbolo(), Trecho.de(nome), tipo.getTipo(), inicializador);
+        }
+
+        public Declaracao(String nome, int idNome, long trecho, TokenType tipo,
+                Expressao inicializador) {
             this.nome = nome;
+            this.idNome = idNome;
+            this.trecho = trecho;
             this.tipo = tipo;
             this.inicializador = inicializador;
         }
@@ -53,11 +72,19 @@ public abstract class Comando {
 
     // x = 20;
     public static class Atribuicao extends Comando {
-        public final Token nome;
+        public final String nome;
+        public final int idNome;       // Id do nome no pool do Scanner (-1 se não internado)
+        public final long trecho;      // Posição do nome (ver Trecho)
         public final Expressao valor;
 
         public Atribuicao(Token nome, Expressao valor) {
+            this(nome.getLexema(), nome.getIdSimbolo(), Trecho.de(nome), valor);
+        }
+
+        public Atribuicao(String nome, int idNome, long trecho, Expressao valor) {
             this.nome = nome;
+            this.idNome = idNome;
+            this.trecho = trecho;
             this.valor = valor;
         }
 
@@ -122,11 +149,27 @@ public abstract class Comando {
 
     // ler(a, b)
     public static class Ler extends Comando {
-        // Guardamos Tokens, pois só podemos ler para variáveis (IDs), não expressões
-        public final List<Token> variaveis;
+        // Só podemos ler para variáveis (nomes), não expressões
+        public final List<String> variaveis;
+        public final int[] idsVariaveis; // Ids dos nomes no pool do Scanner (-1 se não internado)
+        public final long[] trechos;     // Posições dos nomes (ver Trecho)
 
         public Ler(List<Token> variaveis) {
+            this.variaveis = new ArrayList<>(variaveis.size());
+            this.idsVariaveis = new int[variaveis.size()];
+            this.trechos = new long[variaveis.size()];
+            for (int i = 0; i < idsVariaveis.length; i++) {
+                Token variavel = variaveis.get(i);
+                this.variaveis.add(variavel.getLexema());
+                idsVariaveis[i] = variavel.getIdSimbolo();
+                trechos[i] = Trecho.de(variavel);
+            }
+        }
+
+        public Ler(List<String> variaveis, int[] idsVariaveis, long[] trechos) {
             this.variaveis = variaveis;
+            this.idsVariaveis = idsVariaveis;
+            this.trechos = trechos;
         }
 
         @Override
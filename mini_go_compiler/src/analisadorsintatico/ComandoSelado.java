@@ -0,0 +1,66 @@
+package analisadorsintatico;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import scanner.Token;
+import scanner.TokenType;
+import scanner.Trecho;
+
+/**
+ * Comandos do AST selado (ver {@link ExpressaoSelada}).
+ *
+ * Os passes percorrem esta árvore sem visitor: em vez de
+ * {@code comando.accept(this)} seguido de {@code visitX}, um
+ * {@code switch} de padrões sobre tipos finais, sem {@code default} (o
+ * compilador exige todos os casos), que o JIT compila em comparações de
+ * classe em vez de chamadas virtuais. É criado pelo
+ * {@link parser.Parser#parseSelado()} e convertido para o AST de
+ * visitors por {@link ConversaoSelada}.
+ */
+public sealed interface ComandoSelado {
+
+    // { comando1; comando2; ... }
+    record Bloco(List<ComandoSelado> comandos) implements ComandoSelado { }
+
+    // var x inteiro = 10; (inicializador pode ser null)
+    record Declaracao(String nome, int idNome, long trecho, TokenType tipo, ExpressaoSelada inicializador)
+            implements ComandoSelado {
+
+        public Declaracao(Token nome, Token tipo, ExpressaoSelada inicializador) {
+            this(nome.getLexema(), nome.getIdSimbolo(), Trecho.de(nome), tipo.getTipo(), inicializador);
+        }
+    }
+
+    // x = 20;
+    record Atribuicao(String nome, int idNome, long trecho, ExpressaoSelada valor) implements ComandoSelado {
+
+        public Atribuicao(Token nome, ExpressaoSelada valor) {
+            this(nome.getLexema(), nome.getIdSimbolo(), Trecho.de(nome), valor);
+        }
+    }
+
+    // se (cond) { ... } senao { ... } (ramoElse pode ser null)
+    record Se(ExpressaoSelada condicao, ComandoSelado ramoThen, ComandoSelado ramoElse) implements ComandoSelado { }
+
+    // para (init; cond; inc) { ... } (só o corpo é obrigatório)
+    record Para(ComandoSelado inicializacao, ExpressaoSelada condicao, ComandoSelado incremento,
+            ComandoSelado corpo) implements ComandoSelado { }
+
+    // imprimir(a, b, "texto")
+    record Imprimir(List<ExpressaoSelada> expressoes) implements ComandoSelado { }
+
+    // ler(a, b)
+    record Ler(List<String> variaveis, int[] idsVariaveis, long[] trechos) implements ComandoSelado {
+
+        public Ler(List<Token> variaveis) {
+            this(new ArrayList<>(variaveis.size()), new int[variaveis.size()], new long[variaveis.size()]);
+            for (int i = 0; i < idsVariaveis.length; i++) {
+                Token variavel = variaveis.get(i);
+                this.variaveis.add(variavel.getLexema());
+                idsVariaveis[i] = variavel.getIdSimbolo();
+                trechos[i] = Trecho.de(variavel);
+            }
+        }
+    }
+}
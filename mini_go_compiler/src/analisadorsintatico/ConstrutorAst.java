@@ -0,0 +1,58 @@
+package analisadorsintatico;
+
+/**
+ * Destino da construção do AST pelo {@link parser.Parser}, como uma
+ * sequência de eventos em pós-ordem: cada nó é anunciado depois de todos
+ * os seus filhos, e cada evento consome os filhos mais recentes ainda sem
+ * pai (o último anunciado é o último filho).
+ *
+ * Tokens são passados pelo índice na fonte de tokens do Parser, de modo
+ * que o destino decide se e quando materializar objetos {@link scanner.Token}.
+ */
+public interface ConstrutorAst {
+
+    // --- Expressões ---
+
+    void literalInteiro(long valor);
+
+    void literalReal(double valor);
+
+    void literalTexto(String valor);
+
+    void variavelAcesso(int nome);
+
+    /** Consome o operando. */
+    void unaria(int operador);
+
+    /** Consome os dois operandos (a esquerda antes). */
+    void binaria(int operador);
+
+    /** Consome os dois operandos (a esquerda antes). */
+    void logica(int operador);
+
+    /** Consome a expressão entre parênteses. */
+    void agrupamento();
+
+    // --- Comandos ---
+
+    /** Consome os comandos do bloco. */
+    void bloco(int quantidade);
+
+    /** Consome o inicializador, se houver. */
+    void declaracao(int nome, int tipo, boolean inicializada);
+
+    /** Consome o valor. */
+    void atribuicao(int nome);
+
+    /** Consome condição, ramo then e, se houver, o ramo senao. */
+    void se(boolean temSenao);
+
+    /** Consome as partes presentes, na ordem, e o corpo. */
+    void para(boolean temInicializacao, boolean temCondicao, boolean temIncremento);
+
+    /** Consome as expressões impressas. */
+    void imprimir(int quantidade);
+
+    /** Não consome nós: as variáveis são tokens. */
+    void ler(int[] variaveis);
+}
@@ -0,0 +1,171 @@
+package analisadorsintatico;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import scanner.FonteTokens;
+import scanner.Token;
+
+/**
+ * Monta o AST selado ({@link ComandoSelado}, {@link ExpressaoSelada}) a
+ * partir dos eventos em pós-ordem do {@link parser.Parser}.
+ *
+ * Os nós completos e ainda sem pai ficam numa pilha; cada evento retira
+ * os seus filhos do topo e empilha o nó novo. Ao fim do programa sobram
+ * na pilha os comandos de nível superior, na ordem.
+ */
+public final class ConstrutorSelado implements ConstrutorAst {
+
+    private final FonteTokens fonte;                     // Tokens cujos índices o Parser passa
+    private Object[] pendentes = new Object[64];         // Nós completos e ainda sem pai
+    private int quantidade;
+
+    /**
+     * @param fonte a mesma fonte de tokens do Parser (com acesso aleatório)
+     */
+    public ConstrutorSelado(FonteTokens fonte) {
+        this.fonte = fonte;
+    }
+
+    /** Comandos de nível superior montados até agora. */
+    public List<ComandoSelado> getComandos() {
+        List<ComandoSelado> comandos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            comandos.add((ComandoSelado) pendentes[i]);
+        }
+        return comandos;
+    }
+
+    // --- Expressões ---
+
+    @Override
+    public void literalInteiro(long valor) {
+        empilhar(new ExpressaoSelada.LiteralInteiro(valor));
+    }
+
+    @Override
+    public void literalReal(double valor) {
+        empilhar(new ExpressaoSelada.LiteralReal(valor));
+    }
+
+    @Override
+    public void literalTexto(String valor) {
+        empilhar(new ExpressaoSelada.LiteralTexto(valor));
+    }
+
+    @Override
+    public void variavelAcesso(int nome) {
+        empilhar(new ExpressaoSelada.VariavelAcesso(fonte.token(nome)));
+    }
+
+    @Override
+    public void unaria(int operador) {
+        ExpressaoSelada direita = expressao();
+        empilhar(new ExpressaoSelada.Unaria(fonte.token(operador), direita));
+    }
+
+    @Override
+    public void binaria(int operador) {
+        ExpressaoSelada direita = expressao();
+        ExpressaoSelada esquerda = expressao();
+        empilhar(new ExpressaoSelada.Binaria(esquerda, fonte.token(operador), direita));
+    }
+
+    @Override
+    public void logica(int operador) {
+        ExpressaoSelada direita = expressao();
+        ExpressaoSelada esquerda = expressao();
+        empilhar(new ExpressaoSelada.Logica(esquerda, fonte.token(operador), direita));
+    }
+
+    @Override
+    public void agrupamento() {
+        empilhar(new ExpressaoSelada.Agrupamento(expressao()));
+    }
+
+    // --- Comandos ---
+
+    @Override
+    public void bloco(int quantidade) {
+        List<ComandoSelado> comandos = new ArrayList<>(quantidade);
+        for (int i = this.quantidade - quantidade; i < this.quantidade; i++) {
+            comandos.add((ComandoSelado) pendentes[i]);
+        }
+        descartar(quantidade);
+        empilhar(new ComandoSelado.Bloco(comandos));
+    }
+
+    @Override
+    public void declaracao(int nome, int tipo, boolean inicializada) {
+        ExpressaoSelada inicializador = inicializada ? expressao() : null;
+        empilhar(new ComandoSelado.Declaracao(fonte.token(nome), fonte.token(tipo), inicializador));
+    }
+
+    @Override
+    public void atribuicao(int nome) {
+        ExpressaoSelada valor = expressao();
+        empilhar(new ComandoSelado.Atribuicao(fonte.token(nome), valor));
+    }
+
+    @Override
+    public void se(boolean temSenao) {
+        ComandoSelado ramoElse = temSenao ? comando() : null;
+        ComandoSelado ramoThen = comando();
+        empilhar(new ComandoSelado.Se(expressao(), ramoThen, ramoElse));
+    }
+
+    @Override
+    public void para(boolean temInicializacao, boolean temCondicao, boolean temIncremento) {
+        ComandoSelado corpo = comando();
+        ComandoSelado incremento = temIncremento ? comando() : null;
+        ExpressaoSelada condicao = temCondicao ? expressao() : null;
+        ComandoSelado inicializacao = temInicializacao ? comando() : null;
+        empilhar(new ComandoSelado.Para(inicializacao, condicao, incremento, corpo));
+    }
+
+    @Override
+    public void imprimir(int quantidade) {
+        List<ExpressaoSelada> expressoes = new ArrayList<>(quantidade);
+        for (int i = this.quantidade - quantidade; i < this.quantidade; i++) {
+            expressoes.add((ExpressaoSelada) pendentes[i]);
+        }
+        descartar(quantidade);
+        empilhar(new ComandoSelado.Imprimir(expressoes));
+    }
+
+    @Override
+    public void ler(int[] variaveis) {
+        List<Token> tokens = new ArrayList<>(variaveis.length);
+        for (int variavel : variaveis) {
+            tokens.add(fonte.token(variavel));
+        }
+        empilhar(new ComandoSelado.Ler(tokens));
+    }
+
+    // --- Pilha de pendentes ---
+
+    private void empilhar(Object no) {
+        if (quantidade == pendentes.length) {
+            pendentes = Arrays.copyOf(pendentes, quantidade * 2);
+        }
+        pendentes[quantidade++] = no;
+    }
+
+    private ExpressaoSelada expressao() {
+        ExpressaoSelada expressao = (ExpressaoSelada) pendentes[--quantidade];
+        pendentes[quantidade] = null;
+        return expressao;
+    }
+
+    private ComandoSelado comando() {
+        ComandoSelado comando = (ComandoSelado) pendentes[--quantidade];
+        pendentes[quantidade] = null;
+        return comando;
+    }
+
+    private void descartar(int n) {
+        Arrays.fill(pendentes, quantidade - n, quantidade, null);
+        quantidade -= n;
+    }
+}
@@ -0,0 +1,183 @@
+package analisadorsintatico;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converte o AST selado ({@link ComandoSelado}, {@link ExpressaoSelada})
+ * para o AST de visitors ({@link Comando}, {@link Expressao}).
+ *
+ * Os passes que percorrem o AST selado entregam a esta classe as
+ * subárvores abaixo do limite de recursão, para seguirem pelo percurso
+ * iterativo dos visitors ({@link PercursoIterativo}). Por isso a conversão
+ * também não usa recursão: os nós são visitados numa pilha explícita e
+ * montados em pós-ordem, com os filhos já convertidos numa segunda pilha.
+ */
+public final class ConversaoSelada {
+
+    private Object[] pilha = new Object[64];      // Nós a visitar (selados)
+    private boolean[] expandidos = new boolean[64]; // Filhos do nó já empilhados?
+    private int topo;
+    private Object[] prontos = new Object[64];    // Nós já convertidos, ainda sem pai
+    private int quantidadeProntos;
+
+    private ConversaoSelada() {
+    }
+
+    public static Comando comando(ComandoSelado comando) {
+        return (Comando) new ConversaoSelada().converter(comando);
+    }
+
+    public static Expressao expressao(ExpressaoSelada expressao) {
+        return (Expressao) new ConversaoSelada().converter(expressao);
+    }
+
+    public static List<Comando> comandos(List<ComandoSelado> comandos) {
+        List<Comando> convertidos = new ArrayList<>(comandos.size());
+        for (ComandoSelado comando : comandos) {
+            convertidos.add(comando(comando));
+        }
+        return convertidos;
+    }
+
+    private Object converter(Object raiz) {
+        empilhar(raiz);
+        while (topo > 0) {
+            Object no = pilha[topo - 1];
+            if (!expandidos[topo - 1]) {
+                expandidos[topo - 1] = true;
+                empilharFilhos(no);
+            } else {
+                pilha[--topo] = null;
+                pronto(montar(no));
+            }
+        }
+        return prontos[0];
+    }
+
+    /**
+     * Empilha os filhos presentes de trás para frente, para que o primeiro
+     * seja convertido primeiro.
+     */
+    private void empilharFilhos(Object no) {
+        if (no instanceof ExpressaoSelada.Binaria binaria) {
+            empilhar(binaria.direita());
+            empilhar(binaria.esquerda());
+        } else if (no instanceof ExpressaoSelada.Logica logica) {
+            empilhar(logica.direita());
+            empilhar(logica.esquerda());
+        } else if (no instanceof ExpressaoSelada.Unaria unaria) {
+            empilhar(unaria.direita());
+        } else if (no instanceof ExpressaoSelada.Agrupamento agrupamento) {
+            empilhar(agrupamento.expressao());
+        } else if (no instanceof ComandoSelado.Bloco bloco) {
+            for (int i = bloco.comandos().size() - 1; i >= 0; i--) {
+                empilhar(bloco.comandos().get(i));
+            }
+        } else if (no instanceof ComandoSelado.Imprimir imprimir) {
+            for (int i = imprimir.expressoes().size() - 1; i >= 0; i--) {
+                empilhar(imprimir.expressoes().get(i));
+            }
+        } else if (no instanceof ComandoSelado.Declaracao declaracao) {
+            empilhar(declaracao.inicializador());
+        } else if (no instanceof ComandoSelado.Atribuicao atribuicao) {
+            empilhar(atribuicao.valor());
+        } else if (no instanceof ComandoSelado.Se se) {
+            empilhar(se.ramoElse());
+            empilhar(se.ramoThen());
+            empilhar(se.condicao());
+        } else if (no instanceof ComandoSelado.Para para) {
+            empilhar(para.corpo());
+            empilhar(para.incremento());
+            empilhar(para.condicao());
+            empilhar(para.inicializacao());
+        }
+        // Literais, variáveis e 'ler' não têm filhos
+    }
+
+    /**
+     * Monta o nó convertido com os filhos do topo de 'prontos' (o último
+     * filho presente está no topo).
+     */
+    private Object montar(Object no) {
+        if (no instanceof ExpressaoSelada.VariavelAcesso variavel) {
+            return new Expressao.VariavelAcesso(variavel.nome(), variavel.idNome(), variavel.trecho());
+        } else if (no instanceof ExpressaoSelada.LiteralInteiro literal) {
+            return new Expressao.LiteralInteiro(literal.valor());
+        } else if (no instanceof ExpressaoSelada.Binaria binaria) {
+            Expressao direita = (Expressao) retirar();
+            return new Expressao.Binaria((Expressao) retirar(), binaria.operador(), binaria.trecho(), direita);
+        } else if (no instanceof ExpressaoSelada.Logica logica) {
+            Expressao direita = (Expressao) retirar();
+            return new Expressao.Logica((Expressao) retirar(), logica.operador(), logica.trecho(), direita);
+        } else if (no instanceof ExpressaoSelada.Unaria unaria) {
+            return new Expressao.Unaria(unaria.operador(), unaria.trecho(), (Expressao) retirar());
+        } else if (no instanceof ExpressaoSelada.LiteralReal literal) {
+            return new Expressao.LiteralReal(literal.valor());
+        } else if (no instanceof ExpressaoSelada.LiteralTexto literal) {
+            return new Expressao.LiteralTexto(literal.valor());
+        } else if (no instanceof ExpressaoSelada.Agrupamento) {
+            return new Expressao.Agrupamento((Expressao) retirar());
+        } else if (no instanceof ComandoSelado.Bloco bloco) {
+            return new Comando.Bloco(retirarLista(bloco.comandos().size()));
+        } else if (no instanceof ComandoSelado.Imprimir imprimir) {
+            return new Comando.Imprimir(retirarLista(imprimir.expressoes().size()));
+        } else if (no instanceof ComandoSelado.Declaracao declaracao) {
+            Expressao inicializador = declaracao.inicializador() != null ? (Expressao) retirar() : null;
+            return new Comando.Declaracao(declaracao.nome(), declaracao.idNome(), declaracao.trecho(),
+                    declaracao.tipo(), inicializador);
+        } else if (no instanceof ComandoSelado.Atribuicao atribuicao) {
+            return new Comando.Atribuicao(atribuicao.nome(), atribuicao.idNome(), atribuicao.trecho(), (Expressao) retirar());
+        } else if (no instanceof ComandoSelado.Se se) {
+            Comando ramoElse = se.ramoElse() != null ? (Comando) retirar() : null;
+            Comando ramoThen = (Comando) retirar();
+            return new Comando.Se((Expressao) retirar(), ramoThen, ramoElse);
+        } else if (no instanceof ComandoSelado.Para para) {
+            Comando corpo = (Comando) retirar();
+            Comando incremento = para.incremento() != null ? (Comando) retirar() : null;
+            Expressao condicao = para.condicao() != null ? (Expressao) retirar() : null;
+            Comando inicializacao = para.inicializacao() != null ? (Comando) retirar() : null;
+            return new Comando.Para(inicializacao, condicao, incremento, corpo);
+        } else {
+            ComandoSelado.Ler ler = (ComandoSelado.Ler) no;
+            return new Comando.Ler(ler.variaveis(), ler.idsVariaveis(), ler.trechos());
+        }
+    }
+
+    private void empilhar(Object no) {
+        if (no == null) {
+            return; // Partes opcionais ausentes
+        }
+        if (topo == pilha.length) {
+            pilha = Arrays.copyOf(pilha, topo * 2);
+            expandidos = Arrays.copyOf(expandidos, topo * 2);
+        }
+        pilha[topo] = no;
+        expandidos[topo++] = false;
+    }
+
+    private void pronto(Object no) {
+        if (quantidadeProntos == prontos.length) {
+            prontos = Arrays.copyOf(prontos, quantidadeProntos * 2);
+        }
+        prontos[quantidadeProntos++] = no;
+    }
+
+    private Object retirar() {
+        Object no = prontos[--quantidadeProntos];
+        prontos[quantidadeProntos] = null;
+        return no;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> retirarLista(int n) {
+        List<T> lista = new ArrayList<>(n);
+        for (int i = quantidadeProntos - n; i < quantidadeProntos; i++) {
+            lista.add((T) prontos[i]);
+        }
+        Arrays.fill(prontos, quantidadeProntos - n, quantidadeProntos, null);
+        quantidadeProntos -= n;
+        return lista;
+    }
+}
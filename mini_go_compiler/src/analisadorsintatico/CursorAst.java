@@ -0,0 +1,80 @@
+package analisadorsintatico;
+
+/**
+ * Cursor sobre os comandos de nível superior de uma {@link ArenaAst}.
+ *
+ * Adapta a arena aos visitors existentes: {@link #aceitarComando(Comando.Visitor)}
+ * materializa só o comando sob o cursor e o entrega ao visitor, então os
+ * passes (análise semântica, geração de TAC, impressão) rodam sem mudanças
+ * e os objetos de um comando viram lixo antes de o próximo ser montado.
+ *
+ * <pre>
+ * CursorAst cursor = new CursorAst(arena);
+ * while (cursor.proximo()) {
+ *     analisador.analisarComando(cursor.comando());
+ * }
+ * </pre>
+ */
+public final class CursorAst {
+
+    private final ArenaAst arena;
+    private int posicao = -1; // Índice do comando de nível superior atual
+    private int no = -1;      // Nó sob o cursor
+
+    public CursorAst(ArenaAst arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Avança para o próximo comando de nível superior.
+     *
+     * @return false se não há mais comandos
+     */
+    public boolean proximo() {
+        if (posicao + 1 >= arena.quantidadeComandos()) {
+            no = -1;
+            return false;
+        }
+        no = arena.comandoNivelSuperior(++posicao);
+        return true;
+    }
+
+    /**
+     * Posiciona o cursor num nó qualquer da arena (comando ou expressão).
+     */
+    public void posicionar(int no) {
+        this.no = no;
+    }
+
+    /** Volta para antes do primeiro comando. */
+    public void reiniciar() {
+        posicao = -1;
+        no = -1;
+    }
+
+    public int no() {
+        return no;
+    }
+
+    public ArenaAst.TipoNo tipo() {
+        return arena.tipo(no);
+    }
+
+    /** Materializa o comando sob o cursor. */
+    public Comando comando() {
+        return arena.comando(no);
+    }
+
+    /** Materializa a expressão sob o cursor. */
+    public Expressao expressao() {
+        return arena.expressao(no);
+    }
+
+    public <R> R aceitarComando(Comando.Visitor<R> visitor) {
+        return comando().accept(visitor);
+    }
+
+    public <R> R aceitarExpressao(Expressao.Visitor<R> visitor) {
+        return expressao().accept(visitor);
+    }
+}
@@ -0,0 +1,27 @@
+package analisadorsintatico;
+
+/**
+ * Correção dos trechos de um AST montado com nós de versões diferentes do
+ * código fonte, como o do {@code parser.ParserIncremental}.
+ *
+ * Um nó reaproveitado depois de uma edição guarda o {@link scanner.Trecho}
+ * da versão em que foi analisado. Em vez de refazer os nós, quem monta o
+ * AST informa quantos caracteres somar aos trechos tardios de cada
+ * comando, em relação ao comando que o contém: o deslocamento de um nó é
+ * a soma dos comandos no caminho desde o de nível superior. Um comando
+ * deslocado por inteiro só muda o próprio valor, não o dos descendentes.
+ *
+ * Os passes que resolvem trechos (a análise semântica e a geração de TAC)
+ * acumulam o deslocamento ao entrar em cada comando, e somam o total aos
+ * trechos antes de calcular linha e coluna ou de usá-los como chave no
+ * quadro: os trechos corrigidos são os da versão atual, então ocorrências
+ * diferentes nunca se confundem.
+ */
+public interface DeslocamentoTrechos {
+
+    /**
+     * Caracteres a somar aos trechos tardios do comando e da sua subárvore,
+     * além do deslocamento do comando que o contém (0 se nenhum).
+     */
+    int deslocamento(Comando comando);
+}
@@ -0,0 +1,393 @@
+package analisadorsintatico;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import scanner.Trecho;
+
+/**
+ * Serializa o AST de visitors ({@link Comando}, {@link Expressao}) num
+ * formato binário compacto, lido de volta por {@link LeitorAst}.
+ *
+ * Formato (inteiros em varint, com zigzag onde podem ser negativos):
+ * <pre>
+ *   MAGICO (4 bytes)  VERSAO
+ *   quantidade de textos, e cada texto: tamanho em bytes, UTF-8
+ *   quantidade de comandos de nível superior
+ *   nós em pós-ordem: tipo do nó seguido dos seus campos
+ *   CRC32 de todos os bytes anteriores (4 bytes)
+ * </pre>
+ * Nomes e literais de texto são índices na tabela de textos; cada nome
+ * aparece uma única vez no arquivo. As posições são {@link Trecho}s: os
+ * tardios guardam o comprimento e o início como diferença para o início
+ * do trecho anterior, e voltam a ser resolvidos pelo código fonte.
+ *
+ * Os nós vêm em pós-ordem, como os eventos de {@link ConstrutorAst}: o
+ * leitor só empilha cada nó sobre os seus filhos, sem recursão. Pelo
+ * mesmo motivo a escrita também usa uma pilha explícita.
+ *
+ * O CRC32 final existe porque quase todo byte corrompido ainda forma um
+ * AST válido (um índice de texto, um operador ou um deslocamento de
+ * trecho diferente): sem ele o leitor devolveria outra árvore em silêncio.
+ */
+public final class EscritorAst {
+
+    static final int MAGICO = 0x4D474F41; // "MGOA"
+
+    /** Versão do formato; mudar os nós ou o {@link scanner.TokenType} exige incrementá-la. */
+    static final int VERSAO = 2;
+
+    // Tipos de nó
+    static final int LITERAL_INTEIRO = 0;
+    static final int LITERAL_REAL = 1;
+    static final int LITERAL_TEXTO = 2;
+    static final int LITERAL = 3;
+    static final int VARIAVEL = 4;
+    static final int BINARIA = 5;
+    static final int LOGICA = 6;
+    static final int UNARIA = 7;
+    static final int AGRUPAMENTO = 8;
+    static final int BLOCO = 9;
+    static final int DECLARACAO = 10;
+    static final int DECLARACAO_INICIALIZADA = 11;
+    static final int ATRIBUICAO = 12;
+    static final int SE = 13;
+    static final int SE_SENAO = 14;
+    static final int PARA = 15;
+    static final int IMPRIMIR = 16;
+    static final int LER = 17;
+
+    // Valores de Expressao.Literal
+    static final int VALOR_NULO = 0;
+    static final int VALOR_INTEIRO = 1;
+    static final int VALOR_REAL = 2;
+    static final int VALOR_TEXTO = 3;
+    static final int VALOR_BOOLEANO = 4;
+
+    // Flags de PARA (partes opcionais presentes)
+    static final int COM_INICIALIZACAO = 1;
+    static final int COM_CONDICAO = 2;
+    static final int COM_INCREMENTO = 4;
+
+    private final Map<String, Integer> indices = new HashMap<>(); // Texto -> índice na tabela
+    private String[] textos = new String[64];
+    private int quantidadeTextos;
+
+    private byte[] corpo = new byte[1024]; // Nós, escritos antes da tabela de textos
+    private int tamanhoCorpo;
+    private int ultimoInicio;              // Início do último trecho tardio
+
+    private Object[] pilha = new Object[64];        // Nós a visitar
+    private boolean[] expandidos = new boolean[64]; // Filhos do nó já empilhados?
+    private int topo;
+
+    private EscritorAst() {
+    }
+
+    /**
+     * Serializa os comandos de nível superior de um programa.
+     *
+     * @throws IllegalArgumentException se um {@link Expressao.Literal} tem
+     *         um valor que o formato não representa
+     */
+    public static byte[] serializar(List<Comando> comandos) {
+        EscritorAst escritor = new EscritorAst();
+        for (Comando comando : comandos) {
+            escritor.escreverArvore(comando);
+        }
+        return escritor.montar(comandos.size());
+    }
+
+    private byte[] montar(int quantidadeComandos) {
+        byte[][] utf8 = new byte[quantidadeTextos][];
+        int tamanhoTextos = 0;
+        for (int i = 0; i < quantidadeTextos; i++) {
+            utf8[i] = textos[i].getBytes(StandardCharsets.UTF_8);
+            tamanhoTextos += utf8[i].length + 5;
+        }
+
+        Saida saida = new Saida(4 + 5 * 3 + tamanhoTextos + tamanhoCorpo + 4);
+        saida.escreverFixo(MAGICO);
+        saida.escreverVarint(VERSAO);
+        saida.escreverVarint(quantidadeTextos);
+        for (int i = 0; i < quantidadeTextos; i++) {
+            saida.escreverVarint(utf8[i].length);
+            saida.escreverBytes(utf8[i], utf8[i].length);
+        }
+        saida.escreverVarint(quantidadeComandos);
+        saida.escreverBytes(corpo, tamanhoCorpo);
+        saida.escreverCrc();
+        return saida.bytes();
+    }
+
+    // --- Percurso em pós-ordem ---
+
+    private void escreverArvore(Object raiz) {
+        empilhar(raiz);
+        while (topo > 0) {
+            Object no = pilha[topo - 1];
+            if (!expandidos[topo - 1]) {
+                expandidos[topo - 1] = true;
+                empilharFilhos(no);
+            } else {
+                pilha[--topo] = null;
+                escreverNo(no);
+            }
+        }
+    }
+
+    /**
+     * Empilha os filhos presentes de trás para frente, para que o primeiro
+     * seja escrito primeiro.
+     */
+    private void empilharFilhos(Object no) {
+        if (no instanceof Expressao.Binaria binaria) {
+            empilhar(binaria.direita);
+            empilhar(binaria.esquerda);
+        } else if (no instanceof Expressao.Logica logica) {
+            empilhar(logica.direita);
+            empilhar(logica.esquerda);
+        } else if (no instanceof Expressao.Unaria unaria) {
+            empilhar(unaria.direita);
+        } else if (no instanceof Expressao.Agrupamento agrupamento) {
+            empilhar(agrupamento.expressao);
+        } else if (no instanceof Comando.Bloco bloco) {
+            for (int i = bloco.comandos.size() - 1; i >= 0; i--) {
+                empilhar(bloco.comandos.get(i));
+            }
+        } else if (no instanceof Comando.Imprimir imprimir) {
+            for (int i = imprimir.expressoes.size() - 1; i >= 0; i--) {
+                empilhar(imprimir.expressoes.get(i));
+            }
+        } else if (no instanceof Comando.Declaracao declaracao) {
+            empilhar(declaracao.inicializador);
+        } else if (no instanceof Comando.Atribuicao atribuicao) {
+            empilhar(atribuicao.valor);
+        } else if (no instanceof Comando.Se se) {
+            empilhar(se.ramoElse);
+            empilhar(se.ramoThen);
+            empilhar(se.condicao);
+        } else if (no instanceof Comando.Para para) {
+            empilhar(para.corpo);
+            empilhar(para.incremento);
+            empilhar(para.condicao);
+            empilhar(para.inicializacao);
+        }
+        // Literais, variáveis e 'ler' não têm filhos
+    }
+
+    private void escreverNo(Object no) {
+        if (no instanceof Expressao.VariavelAcesso variavel) {
+            escreverVarint(VARIAVEL);
+            escreverNome(variavel.nome, variavel.idNome);
+            escreverTrecho(variavel.trecho);
+        } else if (no instanceof Expressao.LiteralInteiro literal) {
+            escreverVarint(LITERAL_INTEIRO);
+            escreverVarlong(zigzag(literal.valor));
+        } else if (no instanceof Expressao.Binaria binaria) {
+            escreverOperador(BINARIA, binaria.operador.ordinal(), binaria.trecho);
+        } else if (no instanceof Expressao.Logica logica) {
+            escreverOperador(LOGICA, logica.operador.ordinal(), logica.trecho);
+        } else if (no instanceof Expressao.Unaria unaria) {
+            escreverOperador(UNARIA, unaria.operador.ordinal(), unaria.trecho);
+        } else if (no instanceof Expressao.LiteralReal literal) {
+            escreverVarint(LITERAL_REAL);
+            escreverReal(literal.valor);
+        } else if (no instanceof Expressao.LiteralTexto literal) {
+            escreverVarint(LITERAL_TEXTO);
+            escreverVarint(indice(literal.valor));
+        } else if (no instanceof Expressao.Agrupamento) {
+            escreverVarint(AGRUPAMENTO);
+        } else if (no instanceof Expressao.Literal literal) {
+            escreverVarint(LITERAL);
+            escreverValor(literal.valor);
+        } else if (no instanceof Comando.Bloco bloco) {
+            escreverVarint(BLOCO);
+            escreverVarint(bloco.comandos.size());
+        } else if (no instanceof Comando.Imprimir imprimir) {
+            escreverVarint(IMPRIMIR);
+            escreverVarint(imprimir.expressoes.size());
+        } else if (no instanceof Comando.Declaracao declaracao) {
+            escreverVarint(declaracao.inicializador != null ? DECLARACAO_INICIALIZADA : DECLARACAO);
+            escreverNome(declaracao.nome, declaracao.idNome);
+            escreverTrecho(declaracao.trecho);
+            escreverVarint(declaracao.tipo.ordinal());
+        } else if (no instanceof Comando.Atribuicao atribuicao) {
+            escreverVarint(ATRIBUICAO);
+            escreverNome(atribuicao.nome, atribuicao.idNome);
+            escreverTrecho(atribuicao.trecho);
+        } else if (no instanceof Comando.Se se) {
+            escreverVarint(se.ramoElse != null ? SE_SENAO : SE);
+        } else if (no instanceof Comando.Para para) {
+            escreverVarint(PARA);
+            escreverVarint((para.inicializacao != null ? COM_INICIALIZACAO : 0)
+                    | (para.condicao != null ? COM_CONDICAO : 0)
+                    | (para.incremento != null ? COM_INCREMENTO : 0));
+        } else {
+            Comando.Ler ler = (Comando.Ler) no;
+            escreverVarint(LER);
+            escreverVarint(ler.variaveis.size());
+            for (int i = 0; i < ler.idsVariaveis.length; i++) {
+                escreverNome(ler.variaveis.get(i), ler.idsVariaveis[i]);
+                escreverTrecho(ler.trechos[i]);
+            }
+        }
+    }
+
+    private void escreverOperador(int tipoNo, int operador, long trecho) {
+        escreverVarint(tipoNo);
+        escreverVarint(operador);
+        escreverTrecho(trecho);
+    }
+
+    /**
+     * Nome como índice na tabela de textos; o bit baixo diz se o nome
+     * estava internado (id >= 0). Na leitura o índice vira o id do nome,
+     * denso e coerente entre todos os nós do programa.
+     */
+    private void escreverNome(String nome, int idNome) {
+        escreverVarint(indice(nome) << 1 | (idNome >= 0 ? 1 : 0));
+    }
+
+    /**
+     * Trecho tardio: comprimento * 2 e o deslocamento do início em relação
+     * ao trecho anterior. Trecho explícito: 1, linha e coluna.
+     */
+    private void escreverTrecho(long trecho) {
+        if (Trecho.isExplicito(trecho)) {
+            escreverVarint(1);
+            escreverVarint(Trecho.linha(trecho, null));
+            escreverVarint(Trecho.coluna(trecho, null));
+            return;
+        }
+        int inicio = Trecho.inicio(trecho);
+        escreverVarint(Trecho.comprimento(trecho) << 1);
+        escreverVarint(zigzag(inicio - ultimoInicio));
+        ultimoInicio = inicio;
+    }
+
+    private void escreverValor(Object valor) {
+        if (valor == null) {
+            escreverVarint(VALOR_NULO);
+        } else if (valor instanceof Integer inteiro) {
+            escreverVarint(VALOR_INTEIRO);
+            escreverVarint(zigzag(inteiro));
+        } else if (valor instanceof Double real) {
+            escreverVarint(VALOR_REAL);
+            escreverReal(real);
+        } else if (valor instanceof String texto) {
+            escreverVarint(VALOR_TEXTO);
+            escreverVarint(indice(texto));
+        } else if (valor instanceof Boolean booleano) {
+            escreverVarint(VALOR_BOOLEANO);
+            escreverVarint(booleano ? 1 : 0);
+        } else {
+            throw new IllegalArgumentException("Literal não serializável: " + valor.getClass().getName());
+        }
+    }
+
+    /**
+     * Bits do double com os bytes invertidos: em reais "redondos" (2.0,
+     * 0.5) só o expoente e o começo da mantissa são diferentes de zero, e
+     * eles passam a ser os bytes baixos do varint.
+     */
+    private void escreverReal(double valor) {
+        escreverVarlong(Long.reverseBytes(Double.doubleToRawLongBits(valor)));
+    }
+
+    private int indice(String texto) {
+        Integer indice = indices.get(texto);
+        if (indice != null) {
+            return indice;
+        }
+        if (quantidadeTextos == textos.length) {
+            textos = Arrays.copyOf(textos, quantidadeTextos * 2);
+        }
+        textos[quantidadeTextos] = texto;
+        indices.put(texto, quantidadeTextos);
+        return quantidadeTextos++;
+    }
+
+    // --- Bytes ---
+
+    private static int zigzag(int valor) {
+        return (valor << 1) ^ (valor >> 31);
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private void escreverVarint(int valor) {
+        escreverVarlong(valor & 0xFFFFFFFFL);
+    }
+
+    private void escreverVarlong(long valor) {
+        if (tamanhoCorpo + 10 > corpo.length) {
+            corpo = Arrays.copyOf(corpo, corpo.length * 2);
+        }
+        while ((valor & ~0x7FL) != 0) {
+            corpo[tamanhoCorpo++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        corpo[tamanhoCorpo++] = (byte) valor;
+    }
+
+    private void empilhar(Object no) {
+        if (no == null) {
+            return; // Partes opcionais ausentes
+        }
+        if (topo == pilha.length) {
+            pilha = Arrays.copyOf(pilha, topo * 2);
+            expandidos = Arrays.copyOf(expandidos, topo * 2);
+        }
+        pilha[topo] = no;
+        expandidos[topo++] = false;
+    }
+
+    /** Arquivo final, com tamanho já conhecido. */
+    private static final class Saida {
+
+        private final byte[] bytes;
+        private int tamanho;
+
+        Saida(int capacidade) {
+            bytes = new byte[capacidade];
+        }
+
+        void escreverFixo(int valor) {
+            bytes[tamanho++] = (byte) (valor >>> 24);
+            bytes[tamanho++] = (byte) (valor >>> 16);
+            bytes[tamanho++] = (byte) (valor >>> 8);
+            bytes[tamanho++] = (byte) valor;
+        }
+
+        void escreverVarint(int valor) {
+            while ((valor & ~0x7F) != 0) {
+                bytes[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            bytes[tamanho++] = (byte) valor;
+        }
+
+        void escreverBytes(byte[] origem, int quantidade) {
+            System.arraycopy(origem, 0, bytes, tamanho, quantidade);
+            tamanho += quantidade;
+        }
+
+        /** Fecha o arquivo com o CRC32 de tudo o que foi escrito. */
+        void escreverCrc() {
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, tamanho);
+            escreverFixo((int) crc.getValue());
+        }
+
+        byte[] bytes() {
+            return tamanho == bytes.length ? bytes : Arrays.copyOf(bytes, tamanho);
+        }
+    }
+}
@@ -1,12 +1,36 @@
 package analisadorsintatico;
 
+import scanner.MapaLinhas;
 import scanner.Token;
+import scanner.TokenType;
+import scanner.Trecho;
 
 /**
  * Classe base para todas as expressões da linguagem.
+ *
+ * Os nós não guardam {@link Token}: de um operador ou nome fica só o que
+ * os passes usam (o tipo do operador, o nome e o seu id) e a posição como
+ * {@link Trecho}, resolvida só quando um diagnóstico a pede, pelo único
+ * {@link MapaLinhas} do programa (ver
+ * {@link analisadorsemantico.AnalisadorSemantico#setMapaLinhas}). Assim, terminado o parse, os tokens viram lixo.
+ * Os construtores que recebem um Token são atalhos que o decompõem.
+ *
+ * Os passes não alteram os nós: o slot do símbolo a que cada nome se
+ * refere fica no quadro da análise semântica, indexado pelo trecho do
+ * nome (ver {@code analisadorsemantico.Quadro}).
  */
 public abstract class Expressao {
 
+    int idCanonico = -1; // Índice do nó na FabricaExpressoes que o criou (-1 se não é compartilhado)
+
+    /**
+     * Índice denso do nó canônico na {@link FabricaExpressoes} que o criou,
+     * para tabelas laterais indexadas por nó; -1 em nós não compartilhados.
+     */
+    public int getIdCanonico() {
+        return idCanonico;
+    }
+
     // Interface para o padrão Visitor (útil futuramente para interpretar ou gerar código)
     public abstract <R> R accept(Visitor<R> visitor);
 
@@ -14,6 +38,9 @@ public abstract class Expressao {
         R visitBinaria(Binaria expressao);
         R visitUnaria(Unaria expressao);
         R visitLiteral(Literal expressao);
+        R visitLiteralInteiro(LiteralInteiro expressao);
+        R visitLiteralReal(LiteralReal expressao);
+        R visitLiteralTexto(LiteralTexto expressao);
         R visitLogica(Logica expressao); // Para && e ||
         R visitAgrupamento(Agrupamento expressao);
         R visitVariavelAcesso(VariavelAcesso expressao);
@@ -24,12 +51,18 @@ public abstract class Expressao {
     // Ex: a + b, a > b, a == b
     public static class Binaria extends Expressao {
         public final Expressao esquerda;
-        public final Token operador;
+        public final TokenType operador;
+        public final long trecho;      // Posição do operador (ver Trecho)
         public final Expressao direita;
 
         public Binaria(Expressao esquerda, Token operador, Expressao direita) {
+            this(esquerda, operador.getTipo(), Trecho.de(operador), direita);
+        }
+
+        public Binaria(Expressao esquerda, TokenType operador, long trecho, Expressao direita) {
             this.esquerda = esquerda;
             this.operador = operador;
+            this.trecho = trecho;
             this.direita = direita;
         }
 
@@ -42,12 +75,18 @@ public abstract class Expressao {
     // Ex: a && b, a || b
     public static class Logica extends Expressao {
         public final Expressao esquerda;
-        public final Token operador;
+        public final TokenType operador;
+        public final long trecho;      // Posição do operador (ver Trecho)
         public final Expressao direita;
 
         public Logica(Expressao esquerda, Token operador, Expressao direita) {
+            this(esquerda, operador.getTipo(), Trecho.de(operador), direita);
+        }
+
+        public Logica(Expressao esquerda, TokenType operador, long trecho, Expressao direita) {
             this.esquerda = esquerda;
             this.operador = operador;
+            this.trecho = trecho;
             this.direita = direita;
         }
 
@@ -59,11 +98,17 @@ public abstract class Expressao {
 
     // Ex: -a, !a
     public static class Unaria extends Expressao {
-        public final Token operador;
+        public final TokenType operador;
+        public final long trecho;      // Posição do operador (ver Trecho)
         public final Expressao direita;
 
         public Unaria(Token operador, Expressao direita) {
+            this(operador.getTipo(), Trecho.de(operador), direita);
+        }
+
+        public Unaria(TokenType operador, long trecho, Expressao direita) {
             this.operador = operador;
+            this.trecho = trecho;
             this.direita = direita;
         }
 
@@ -87,6 +132,48 @@ public abstract class Expressao {
         }
     }
 
+    // Ex: 10 (valor já decodificado pelo Scanner, sem boxing)
+    public static class LiteralInteiro extends Expressao {
+        public final long valor;
+
+        public LiteralInteiro(long valor) {
+            this.valor = valor;
+        }
+
+        @Override
+        public <R> R accept(Visitor<R> visitor) {
+            return visitor.visitLiteralInteiro(this);
+        }
+    }
+
+    // Ex: 3.14
+    public static class LiteralReal extends Expressao {
+        public final double valor;
+
+        public LiteralReal(double valor) {
+            this.valor = valor;
+        }
+
+        @Override
+        public <R> R accept(Visitor<R> visitor) {
+            return visitor.visitLiteralReal(this);
+        }
+    }
+
+    // Ex: "texto" (sem aspas e com os escapes já processados)
+    public static class LiteralTexto extends Expressao {
+        public final String valor;
+
+        public LiteralTexto(String valor) {
+            this.valor = valor;
+        }
+
+        @Override
+        public <R> R accept(Visitor<R> visitor) {
+            return visitor.visitLiteralTexto(this);
+        }
+    }
+
     // Ex: ( a + b )
     public static class Agrupamento extends Expressao {
         public final Expressao expressao;
@@ -103,10 +190,18 @@ public abstract class Expressao {
 
     // Ex: x (uso de variável)
     public static class VariavelAcesso extends Expressao {
-        public final Token nome;
+        public final String nome;
+        public final int idNome;       // Id do nome no pool do Scanner (-1 se não internado)
+        public final long trecho;      // Posição do nome (ver Trecho)
 
         public VariavelAcesso(Token nome) {
+            this(nome.getLexema(), nome.getIdSimbolo(), Trecho.de(nome));
+        }
+
+        public VariavelAcesso(String nome, int idNome, long trecho) {
             this.nome = nome;
+            this.idNome = idNome;
+            this.trecho = trecho;
         }
 
         @Override
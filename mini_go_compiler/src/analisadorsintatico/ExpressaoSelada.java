@@ -0,0 +1,65 @@
+package analisadorsintatico;
+
+import scanner.Token;
+import scanner.TokenType;
+import scanner.Trecho;
+
+/**
+ * Expressões do AST selado: a mesma árvore de {@link Expressao}, mas com
+ * um record por nó e o conjunto de nós fechado pelo {@code permits}.
+ * Como nos nós de {@link Expressao}, de um operador ou nome fica só o
+ * tipo do operador, o nome e o seu id e o {@link Trecho}; os construtores
+ * que recebem um Token o decompõem.
+ *
+ * Não há {@code accept}: os passes decidem o tipo do nó com um
+ * {@code switch} de padrões sobre os records, e o compilador conhece
+ * todos os casos possíveis (ver {@link ComandoSelado}).
+ */
+public sealed interface ExpressaoSelada {
+
+    // Ex: a + b, a > b, a == b
+    record Binaria(ExpressaoSelada esquerda, TokenType operador, long trecho, ExpressaoSelada direita)
+            implements ExpressaoSelada {
+
+        public Binaria(ExpressaoSelada esquerda, Token operador, ExpressaoSelada direita) {
+            this(esquerda, operador.getTipo(), Trecho.de(operador), direita);
+        }
+    }
+
+    // Ex: a && b, a || b
+    record Logica(ExpressaoSelada esquerda, TokenType operador, long trecho, ExpressaoSelada direita)
+            implements ExpressaoSelada {
+
+        public Logica(ExpressaoSelada esquerda, Token operador, ExpressaoSelada direita) {
+            this(esquerda, operador.getTipo(), Trecho.de(operador), direita);
+        }
+    }
+
+    // Ex: -a, !a
+    record Unaria(TokenType operador, long trecho, ExpressaoSelada direita) implements ExpressaoSelada {
+
+        public Unaria(Token operador, ExpressaoSelada direita) {
+            this(operador.getTipo(), Trecho.de(operador), direita);
+        }
+    }
+
+    // Ex: 10
+    record LiteralInteiro(long valor) implements ExpressaoSelada { }
+
+    // Ex: 3.14
+    record LiteralReal(double valor) implements ExpressaoSelada { }
+
+    // Ex: "texto" (sem aspas e com os escapes já processados)
+    record LiteralTexto(String valor) implements ExpressaoSelada { }
+
+    // Ex: ( a + b )
+    record Agrupamento(ExpressaoSelada expressao) implements ExpressaoSelada { }
+
+    // Ex: x (idNome: id do nome no pool do Scanner, -1 se não internado)
+    record VariavelAcesso(String nome, int idNome, long trecho) implements ExpressaoSelada {
+
+        public VariavelAcesso(Token nome) {
+            this(nome.getLexema(), nome.getIdSimbolo(), Trecho.de(nome));
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package analisadorsintatico;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import scanner.Token;
+import scanner.TokenType;
+
+/**
+ * Fábrica de expressões com hash-consing: subárvores estruturalmente
+ * iguais viram um único nó canônico compartilhado.
+ *
+ * A chave de um nó é o tipo, o operador, o valor do literal ou o nome da
+ * variável e a identidade dos filhos. Como os filhos já são canônicos,
+ * comparar por identidade é comparar a estrutura inteira, em O(1) por nó.
+ * Na linguagem nenhuma expressão tem efeito colateral (não há chamadas
+ * nem atribuição dentro de expressões), então qualquer subárvore pode ser
+ * compartilhada.
+ *
+ * Usada pelo {@link parser.Parser} (ver {@code setFabrica}). O AST
+ * resultante é um DAG: os passes existentes o percorrem como antes, e
+ * {@code AnalisadorSemantico} e {@code TACGerador} podem memorizar o
+ * resultado por nó canônico. Cada nó canônico recebe um id denso
+ * ({@link Expressao#getIdCanonico()}), então as tabelas laterais são
+ * arrays; as posições de cada ocorrência ficam na {@link TabelaPosicoes}.
+ *
+ * Um acesso a variável só é compartilhado entre usos que se referem à
+ * mesma declaração: o Parser informa as declarações e os escopos
+ * ({@link #declarar}, {@link #marcaEscopo}, {@link #restaurarEscopo}), com
+ * as mesmas regras da análise semântica, e a chave do acesso inclui a
+ * declaração visível do nome. Assim uma variável sombreada num bloco
+ * interno é outro nó, e cada nó compartilhado tem um só símbolo (e um só
+ * slot, ver {@code analisadorsemantico.Quadro}).
+ */
+public final class FabricaExpressoes {
+
+    private static final int BINARIA = 0;
+    private static final int LOGICA = 1;
+    private static final int UNARIA = 2;
+    private static final int LITERAL_INTEIRO = 3;
+    private static final int LITERAL_REAL = 4;
+    private static final int LITERAL_TEXTO = 5;
+    private static final int AGRUPAMENTO = 6;
+    private static final int VARIAVEL_ACESSO = 7;
+
+    private static final int[] SEM_VARIAVEIS = new int[0];
+
+    private final Map<Chave, Expressao> canonicos = new HashMap<>();
+    private final List<int[]> variaveis = new ArrayList<>(); // Id canônico -> ids dos nomes lidos (null: algum sem id)
+    private final TabelaPosicoes posicoes = new TabelaPosicoes();
+    private int pedidos; // Nós pedidos pelo Parser, compartilhados ou não
+
+    // Escopos: declaração visível de cada nome, com registro de desfazer
+    private final Map<String, Integer> declaracoes = new HashMap<>(); // Nome -> número da declaração visível
+    private final List<String> registroNomes = new ArrayList<>();     // Nome de cada declaração, em ordem
+    private final List<Integer> registroAnteriores = new ArrayList<>(); // Declaração que ela escondeu (null: nenhuma)
+    private int quantidadeDeclaracoes;
+
+    public Expressao binaria(Expressao esquerda, Token operador, Expressao direita) {
+        Chave chave = new Chave(BINARIA, operador.getTipo(), esquerda, direita, 0, null);
+        Expressao no = canonicos.get(chave);
+        if (no == null) {
+            no = registrar(chave, new Expressao.Binaria(esquerda, operador, direita));
+        }
+        return ocorrencia(no, operador);
+    }
+
+    public Expressao logica(Expressao esquerda, Token operador, Expressao direita) {
+        Chave chave = new Chave(LOGICA, operador.getTipo(), esquerda, direita, 0, null);
+        Expressao no = canonicos.get(chave);
+        if (no == null) {
+            no = registrar(chave, new Expressao.Logica(esquerda, operador, direita));
+        }
+        return ocorrencia(no, operador);
+    }
+
+    public Expressao unaria(Token operador, Expressao direita) {
+        Chave chave = new Chave(UNARIA, operador.getTipo(), direita, null, 0, null);
+        Expressao no = canonicos.get(chave);
+        if (no == null) {
+            no = registrar(chave, new Expressao.Unaria(operador, direita));
+        }
+        return ocorrencia(no, operador);
+    }
+
+    public Expressao literalInteiro(long valor) {
+        Chave chave = new Chave(LITERAL_INTEIRO, null, null, null, valor, null);
+        Expressao no = canonicos.get(chave);
+        return ocorrencia(no != null ? no : registrar(chave, new Expressao.LiteralInteiro(valor)), null);
+    }
+
+    public Expressao literalReal(double valor) {
+        // Pelos bits: 0.0 e -0.0 são literais diferentes
+        Chave chave = new Chave(LITERAL_REAL, null, null, null, Double.doubleToRawLongBits(valor), null);
+        Expressao no = canonicos.get(chave);
+        return ocorrencia(no != null ? no : registrar(chave, new Expressao.LiteralReal(valor)), null);
+    }
+
+    public Expressao literalTexto(String valor) {
+        Chave chave = new Chave(LITERAL_TEXTO, null, null, null, 0, valor);
+        Expressao no = canonicos.get(chave);
+        return ocorrencia(no != null ? no : registrar(chave, new Expressao.LiteralTexto(valor)), null);
+    }
+
+    public Expressao agrupamento(Expressao expressao) {
+        Chave chave = new Chave(AGRUPAMENTO, null, expressao, null, 0, null);
+        Expressao no = canonicos.get(chave);
+        return ocorrencia(no != null ? no : registrar(chave, new Expressao.Agrupamento(expressao)), null);
+    }
+
+    public Expressao variavelAcesso(Token nome) {
+        Integer declaracao = declaracoes.get(nome.getLexema()); // null: nenhuma visível (0 na chave)
+        Chave chave = new Chave(VARIAVEL_ACESSO, null, null, null, declaracao == null ? 0 : declaracao, nome.getLexema());
+        Expressao no = canonicos.get(chave);
+        if (no == null) {
+            no = registrar(chave, new Expressao.VariavelAcesso(nome));
+        }
+        return ocorrencia(no, nome);
+    }
+
+    /**
+     * Declara o nome no escopo atual: os acessos seguintes a ele (até o
+     * escopo ser desfeito) são nós diferentes dos acessos anteriores.
+     */
+    public void declarar(Token nome) {
+        registroNomes.add(nome.getLexema());
+        registroAnteriores.add(declaracoes.put(nome.getLexema(), ++quantidadeDeclaracoes));
+    }
+
+    /**
+     * Marca o estado dos escopos, para {@link #restaurarEscopo} desfazer as
+     * declarações feitas depois dela (no fim de um bloco ou 'para', ou num
+     * comando descartado por erro).
+     */
+    public int marcaEscopo() {
+        return registroNomes.size();
+    }
+
+    /**
+     * Desfaz as declarações feitas depois da marca, voltando a tornar
+     * visíveis as que elas escondiam.
+     */
+    public void restaurarEscopo(int marca) {
+        for (int i = registroNomes.size() - 1; i >= marca; i--) {
+            String nome = registroNomes.remove(i);
+            Integer anterior = registroAnteriores.remove(i);
+            if (anterior == null) {
+                declaracoes.remove(nome);
+            } else {
+                declaracoes.put(nome, anterior);
+            }
+        }
+    }
+
+    /**
+     * Torna o nó novo canônico: dá o próximo id e calcula as variáveis que ele lê.
+     */
+    private Expressao registrar(Chave chave, Expressao no) {
+        no.idCanonico = variaveis.size();
+        canonicos.put(chave, no);
+        variaveis.add(calcularVariaveis(no));
+        return no;
+    }
+
+    private Expressao ocorrencia(Expressao no, Token token) {
+        pedidos++;
+        if (token != null) {
+            posicoes.registrar(no.idCanonico, token);
+        }
+        return no;
+    }
+
+    /**
+     * Ids dos nomes lidos pelo nó, ordenados e sem repetição (a partir dos
+     * filhos, já calculados).
+     */
+    private int[] calcularVariaveis(Expressao no) {
+        if (no instanceof Expressao.VariavelAcesso) {
+            int id = ((Expressao.VariavelAcesso) no).idNome;
+            return id >= 0 ? new int[] { id } : null;
+        }
+        if (no instanceof Expressao.Binaria) {
+            Expressao.Binaria binaria = (Expressao.Binaria) no;
+            return unir(variaveis(binaria.esquerda), variaveis(binaria.direita));
+        }
+        if (no instanceof Expressao.Logica) {
+            Expressao.Logica logica = (Expressao.Logica) no;
+            return unir(variaveis(logica.esquerda), variaveis(logica.direita));
+        }
+        if (no instanceof Expressao.Unaria) {
+            return variaveis(((Expressao.Unaria) no).direita);
+        }
+        if (no instanceof Expressao.Agrupamento) {
+            return variaveis(((Expressao.Agrupamento) no).expressao);
+        }
+        return SEM_VARIAVEIS;
+    }
+
+    private static int[] unir(int[] a, int[] b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        if (a.length == 0 || Arrays.equals(a, b)) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        int[] uniao = new int[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length || j < b.length) {
+            int proximo = j >= b.length || (i < a.length && a[i] <= b[j]) ? a[i] : b[j];
+            if (i < a.length && a[i] == proximo) i++;
+            if (j < b.length && b[j] == proximo) j++;
+            uniao[k++] = proximo;
+        }
+        return k == uniao.length ? uniao : Arrays.copyOf(uniao, k);
+    }
+
+    /**
+     * Ids (do pool do Scanner) das variáveis lidas por um nó canônico,
+     * ordenados e sem repetição.
+     *
+     * @return os ids; null se o nó não veio desta fábrica ou se alguma
+     *         variável não tem id (o resultado do nó não pode ser memorizado)
+     */
+    public int[] variaveis(Expressao no) {
+        int id = no.idCanonico;
+        return id >= 0 && id < variaveis.size() ? variaveis.get(id) : null;
+    }
+
+    public TabelaPosicoes getPosicoes() {
+        return posicoes;
+    }
+
+    /** Nós pedidos pelo Parser (ocorrências no programa). */
+    public int getPedidos() {
+        return pedidos;
+    }
+
+    /** Nós distintos criados. */
+    public int getCanonicos() {
+        return canonicos.size();
+    }
+
+    /**
+     * Chave estrutural: filhos comparados por identidade, texto (valor do
+     * literal ou nome da variável) por igualdade. Num acesso a variável, o
+     * valor é o número da declaração visível.
+     */
+    private static final class Chave {
+        final int tipo;
+        final TokenType operador;
+        final Expressao a;
+        final Expressao b;
+        final long valor;
+        final String texto;
+        final int hash;
+
+        Chave(int tipo, TokenType operador, Expressao a, Expressao b, long valor, String texto) {
+            this.tipo = tipo;
+            this.operador = operador;
+            this.a = a;
+            this.b = b;
+            this.valor = valor;
+            this.texto = texto;
+            // Os ids dos filhos são densos e pequenos: multiplicar por 31 faria
+            // pares (a, b) diferentes colidirem, então cada campo é espalhado
+            long h = tipo * 0x9E3779B97F4A7C15L;
+            h = (h ^ (operador == null ? 0 : operador.ordinal() + 1)) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (a == null ? -1 : a.idCanonico)) * 0x94D049BB133111EBL;
+            h = (h ^ (b == null ? -1 : b.idCanonico)) * 0x9E3779B97F4A7C15L;
+            h = (h ^ valor) * 0xBF58476D1CE4E5B9L;
+            h ^= texto == null ? 0 : texto.hashCode();
+            this.hash = (int) (h ^ (h >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object outro) {
+            if (!(outro instanceof Chave)) {
+                return false;
+            }
+            Chave chave = (Chave) outro;
+            return tipo == chave.tipo && operador == chave.operador && a == chave.a && b == chave.b
+                    && valor == chave.valor && Objects.equals(texto, chave.texto);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package analisadorsintatico;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import scanner.MapaLinhas;
+import scanner.TokenType;
+import scanner.Trecho;
+
+/**
+ * Lê o AST gravado por {@link EscritorAst} (ver o formato lá).
+ *
+ * Lê direto de um {@link ByteBuffer}, tipicamente um arquivo mapeado em
+ * memória: os bytes só são copiados para montar os textos. Os nós chegam
+ * em pós-ordem e vão para uma pilha de pendentes, de onde cada nó retira
+ * os seus filhos, como em {@link ConstrutorSelado}.
+ *
+ * Os trechos tardios continuam relativos ao código fonte de onde o AST
+ * veio, e quem analisa o AST passa o {@link MapaLinhas} dele à análise
+ * semântica, como num AST recém-analisado; os ids dos nomes são os índices na tabela de
+ * textos do arquivo (densos, mas não os mesmos do Scanner original).
+ *
+ * O CRC32 do fim do arquivo é conferido antes de ler qualquer nó: bytes
+ * alterados são rejeitados, e não lidos como outro AST.
+ */
+public final class LeitorAst {
+
+    private static final TokenType[] TIPOS = TokenType.values();
+
+    private final ByteBuffer entrada;
+    private String[] textos;
+    private int ultimoInicio;                    // Início do último trecho tardio
+
+    private Object[] pendentes = new Object[64]; // Nós completos e ainda sem pai
+    private int quantidade;
+
+    private LeitorAst(ByteBuffer entrada) {
+        this.entrada = entrada;
+    }
+
+    /**
+     * Lê os comandos de nível superior de um programa serializado.
+     *
+     * @param entrada bytes do AST, da posição atual até o limite
+     * @throws IllegalArgumentException se os bytes não são um AST válido
+     *         desta versão do formato, ou não conferem com o seu CRC32
+     */
+    public static List<Comando> ler(ByteBuffer entrada) {
+        int inicio = entrada.position();
+        int fim = entrada.limit() - 4;
+        if (fim < inicio) {
+            throw new IllegalArgumentException("AST serializado incompleto");
+        }
+        ByteBuffer conteudo = entrada.slice(inicio, fim - inicio);
+        CRC32 crc = new CRC32();
+        crc.update(conteudo.duplicate());
+        if ((int) crc.getValue() != entrada.slice(fim, 4).getInt()) {
+            throw new IllegalArgumentException("AST serializado corrompido");
+        }
+        try {
+            return new LeitorAst(conteudo).lerPrograma();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | ClassCastException
+                | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("AST serializado corrompido", e);
+        }
+    }
+
+    private List<Comando> lerPrograma() {
+        if (entrada.getInt() != EscritorAst.MAGICO || lerVarint() != EscritorAst.VERSAO) {
+            throw new IllegalArgumentException("Não é um AST serializado desta versão");
+        }
+        textos = new String[lerVarint()];
+        for (int i = 0; i < textos.length; i++) {
+            byte[] utf8 = new byte[lerVarint()];
+            entrada.get(utf8);
+            textos[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        int quantidadeComandos = lerVarint();
+
+        while (entrada.hasRemaining()) {
+            lerNo();
+        }
+        if (quantidade != quantidadeComandos) {
+            throw new IllegalArgumentException("AST serializado incompleto");
+        }
+        List<Comando> comandos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            comandos.add((Comando) pendentes[i]);
+        }
+        return comandos;
+    }
+
+    private void lerNo() {
+        int tipo = lerVarint();
+        switch (tipo) {
+            case EscritorAst.LITERAL_INTEIRO -> empilhar(new Expressao.LiteralInteiro(dezigzag(lerVarlong())));
+            case EscritorAst.LITERAL_REAL -> empilhar(new Expressao.LiteralReal(lerReal()));
+            case EscritorAst.LITERAL_TEXTO -> empilhar(new Expressao.LiteralTexto(textos[lerVarint()]));
+            case EscritorAst.LITERAL -> empilhar(new Expressao.Literal(lerValor()));
+            case EscritorAst.VARIAVEL -> {
+                int nome = lerVarint();
+                long trecho = lerTrecho();
+                empilhar(new Expressao.VariavelAcesso(textos[nome >>> 1], id(nome), trecho));
+            }
+            case EscritorAst.BINARIA -> {
+                TokenType operador = TIPOS[lerVarint()];
+                long trecho = lerTrecho();
+                Expressao direita = expressao();
+                empilhar(new Expressao.Binaria(expressao(), operador, trecho, direita));
+            }
+            case EscritorAst.LOGICA -> {
+                TokenType operador = TIPOS[lerVarint()];
+                long trecho = lerTrecho();
+                Expressao direita = expressao();
+                empilhar(new Expressao.Logica(expressao(), operador, trecho, direita));
+            }
+            case EscritorAst.UNARIA -> {
+                TokenType operador = TIPOS[lerVarint()];
+                long trecho = lerTrecho();
+                empilhar(new Expressao.Unaria(operador, trecho, expressao()));
+            }
+            case EscritorAst.AGRUPAMENTO -> empilhar(new Expressao.Agrupamento(expressao()));
+            case EscritorAst.BLOCO -> empilhar(new Comando.Bloco(retirarLista(lerVarint())));
+            case EscritorAst.IMPRIMIR -> empilhar(new Comando.Imprimir(retirarLista(lerVarint())));
+            case EscritorAst.DECLARACAO, EscritorAst.DECLARACAO_INICIALIZADA -> {
+                int nome = lerVarint();
+                long trecho = lerTrecho();
+                TokenType tipoDeclarado = TIPOS[lerVarint()];
+                Expressao inicializador = tipo == EscritorAst.DECLARACAO_INICIALIZADA ? expressao() : null;
+                empilhar(new Comando.Declaracao(textos[nome >>> 1], id(nome), trecho,
+                        tipoDeclarado, inicializador));
+            }
+            case EscritorAst.ATRIBUICAO -> {
+                int nome = lerVarint();
+                long trecho = lerTrecho();
+                empilhar(new Comando.Atribuicao(textos[nome >>> 1], id(nome), trecho, expressao()));
+            }
+            case EscritorAst.SE, EscritorAst.SE_SENAO -> {
+                Comando ramoElse = tipo == EscritorAst.SE_SENAO ? comando() : null;
+                Comando ramoThen = comando();
+                empilhar(new Comando.Se(expressao(), ramoThen, ramoElse));
+            }
+            case EscritorAst.PARA -> {
+                int partes = lerVarint();
+                Comando corpo = comando();
+                Comando incremento = (partes & EscritorAst.COM_INCREMENTO) != 0 ? comando() : null;
+                Expressao condicao = (partes & EscritorAst.COM_CONDICAO) != 0 ? expressao() : null;
+                Comando inicializacao = (partes & EscritorAst.COM_INICIALIZACAO) != 0 ? comando() : null;
+                empilhar(new Comando.Para(inicializacao, condicao, incremento, corpo));
+            }
+            case EscritorAst.LER -> empilhar(lerLer());
+            default -> throw new IllegalArgumentException("Tipo de nó desconhecido: " + tipo);
+        }
+    }
+
+    private Comando.Ler lerLer() {
+        int n = lerVarint();
+        List<String> variaveis = new ArrayList<>(n);
+        int[] ids = new int[n];
+        long[] trechos = new long[n];
+        for (int i = 0; i < n; i++) {
+            int nome = lerVarint();
+            variaveis.add(textos[nome >>> 1]);
+            ids[i] = id(nome);
+            trechos[i] = lerTrecho();
+        }
+        return new Comando.Ler(variaveis, ids, trechos);
+    }
+
+    private Object lerValor() {
+        int tipo = lerVarint();
+        return switch (tipo) {
+            case EscritorAst.VALOR_NULO -> null;
+            case EscritorAst.VALOR_INTEIRO -> dezigzag(lerVarint());
+            case EscritorAst.VALOR_REAL -> lerReal();
+            case EscritorAst.VALOR_TEXTO -> textos[lerVarint()];
+            case EscritorAst.VALOR_BOOLEANO -> lerVarint() != 0;
+            default -> throw new IllegalArgumentException("Tipo de literal desconhecido: " + tipo);
+        };
+    }
+
+    /** Id do nome: o índice do texto, ou -1 se o nome original não estava internado. */
+    private static int id(int nome) {
+        return (nome & 1) != 0 ? nome >>> 1 : -1;
+    }
+
+    private long lerTrecho() {
+        int cabecalho = lerVarint();
+        if (cabecalho == 1) {
+            int linha = lerVarint();
+            return Trecho.explicito(linha, lerVarint());
+        }
+        ultimoInicio += dezigzag(lerVarint());
+        return Trecho.tardio(ultimoInicio, cabecalho >>> 1);
+    }
+
+    private double lerReal() {
+        return Double.longBitsToDouble(Long.reverseBytes(lerVarlong()));
+    }
+
+    // --- Bytes ---
+
+    private static int dezigzag(int valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static long dezigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private int lerVarint() {
+        return (int) lerVarlong();
+    }
+
+    private long lerVarlong() {
+        long valor = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            byte b = entrada.get();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint longo demais");
+    }
+
+    // --- Pilha de pendentes ---
+
+    private void empilhar(Object no) {
+        if (quantidade == pendentes.length) {
+            pendentes = Arrays.copyOf(pendentes, quantidade * 2);
+        }
+        pendentes[quantidade++] = no;
+    }
+
+    private Expressao expressao() {
+        Expressao expressao = (Expressao) pendentes[--quantidade];
+        pendentes[quantidade] = null;
+        return expressao;
+    }
+
+    private Comando comando() {
+        Comando comando = (Comando) pendentes[--quantidade];
+        pendentes[quantidade] = null;
+        return comando;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> retirarLista(int n) {
+        List<T> lista = new ArrayList<>(n);
+        for (int i = quantidade - n; i < quantidade; i++) {
+            lista.add((T) pendentes[i]);
+        }
+        Arrays.fill(pendentes, quantidade - n, quantidade, null);
+        quantidade -= n;
+        return lista;
+    }
+}
@@ -0,0 +1,252 @@
+package analisadorsintatico;
+
+import java.util.Arrays;
+
+/**
+ * Percurso da AST em etapas, sem limite de profundidade.
+ *
+ * Cada nó é visitado em etapas. A cada chamada do seu visitX o visitante
+ * consulta {@link #etapa()} (0 na primeira) e devolve o próximo filho a
+ * visitar, ou {@link #fim(Object)} com o valor do nó. O percurso visita o
+ * filho e, quando ele termina, chama o pai de novo na etapa seguinte (um
+ * filho null, como um 'senao' ausente, é pulado direto para ela). O
+ * valor de cada filho terminado fica numa pilha, de onde o pai o retira
+ * com {@link #valor()}. Comandos que não produzem valor terminam com
+ * {@link #fim()}.
+ *
+ * O visitante escreve o mesmo código de uma versão recursiva (antes, entre
+ * e depois dos filhos), só que dividido em etapas; o que precisa sobreviver
+ * de uma etapa para a outra fica em {@link #guardar(Object)}.
+ *
+ * Quem precisa acompanhar os comandos em andamento (ex: o deslocamento
+ * dos trechos, ver {@link DeslocamentoTrechos}) sobrescreve
+ * {@link #entrar(Comando)} e {@link #sair(Comando)}.
+ *
+ * Até {@link #LIMITE_RECURSAO} níveis os filhos são visitados por chamadas
+ * recursivas do próprio percurso, que mantêm etapa e estado em variáveis
+ * locais; abaixo disso o resto da subárvore segue numa pilha explícita. A
+ * profundidade da árvore só é limitada pelo heap, e as árvores rasas (as
+ * comuns) não pagam o custo da pilha explícita.
+ *
+ * @param <R> tipo dos valores produzidos pelos nós
+ */
+public abstract class PercursoIterativo<R> implements Comando.Visitor<Object>, Expressao.Visitor<Object> {
+
+    /** Retorno de uma etapa que terminou o nó. */
+    protected static final Object FIM = new Object();
+
+    /** Níveis visitados recursivamente antes de passar para a pilha explícita. */
+    public static final int LIMITE_RECURSAO = 512;
+
+    private static final int CAPACIDADE_INICIAL = 32;
+
+    // Pilha explícita de nós em andamento, com a próxima etapa e o estado guardado de cada um
+    private Object[] nos = new Object[CAPACIDADE_INICIAL];
+    private int[] etapas = new int[CAPACIDADE_INICIAL];
+    private Object[] estados = new Object[CAPACIDADE_INICIAL];
+    private int profundidade;
+
+    // Pilha de valores dos nós terminados
+    private Object[] valores = new Object[CAPACIDADE_INICIAL];
+    private int quantidadeValores;
+
+    // Etapa e estado do nó sendo visitado agora
+    private int etapaAtual;
+    private Object estadoAtual;
+
+    /**
+     * Percorre a árvore a partir da raiz.
+     *
+     * @param raiz um {@link Comando} ou uma {@link Expressao}
+     * @return o valor da raiz (null se ela terminou com {@link #fim()})
+     */
+    @SuppressWarnings("unchecked")
+    public final R percorrer(Object raiz) {
+        int base = profundidade;
+        int baseValores = quantidadeValores;
+        // Permite percorrer outra árvore de dentro de uma etapa
+        int etapaChamador = etapaAtual;
+        Object estadoChamador = estadoAtual;
+        try {
+            visitarRecursivo(raiz, LIMITE_RECURSAO);
+            return quantidadeValores > baseValores ? (R) valores[--quantidadeValores] : null;
+        } finally {
+            // Também descarta o que sobrou se uma etapa lançou exceção
+            while (profundidade > base) {
+                profundidade--;
+                nos[profundidade] = null;
+                estados[profundidade] = null;
+            }
+            while (quantidadeValores > baseValores) {
+                valores[--quantidadeValores] = null;
+            }
+            etapaAtual = etapaChamador;
+            estadoAtual = estadoChamador;
+        }
+    }
+
+    /**
+     * Visita um nó e seus filhos, descendo recursivamente até mais
+     * {@code folga} níveis.
+     */
+    private void visitarRecursivo(Object no, int folga) {
+        int etapa = 0;
+        Object estado = null;
+        if (no instanceof Comando) {
+            entrar((Comando) no);
+        }
+        while (true) {
+            etapaAtual = etapa++;
+            estadoAtual = estado;
+            Object proximo = despachar(no);
+            if (proximo == FIM) {
+                if (no instanceof Comando) {
+                    sair((Comando) no);
+                }
+                return;
+            }
+            estado = estadoAtual;
+            if (proximo != null) {
+                if (folga > 0) {
+                    visitarRecursivo(proximo, folga - 1);
+                } else {
+                    visitarIterativo(proximo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visita um nó e seus filhos na pilha explícita.
+     */
+    private void visitarIterativo(Object raiz) {
+        int base = profundidade;
+        empilhar(raiz);
+        while (profundidade > base) {
+            int topo = profundidade - 1;
+            etapaAtual = etapas[topo]++;
+            estadoAtual = estados[topo];
+            Object proximo = despachar(nos[topo]);
+            if (proximo == FIM) {
+                if (nos[topo] instanceof Comando) {
+                    sair((Comando) nos[topo]);
+                }
+                profundidade--;
+                nos[profundidade] = null;
+                estados[profundidade] = null;
+            } else {
+                estados[topo] = estadoAtual;
+                if (proximo != null) {
+                    empilhar(proximo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Chama o visitX do nó. O despacho é feito pela classe exata, dos nós
+     * mais frequentes para os mais raros: um único accept() aqui veria
+     * todos os tipos de nó e não seria embutido pelo JIT.
+     */
+    private Object despachar(Object no) {
+        Class<?> classe = no.getClass();
+        if (classe == Expressao.VariavelAcesso.class) return visitVariavelAcesso((Expressao.VariavelAcesso) no);
+        if (classe == Expressao.Binaria.class) return visitBinaria((Expressao.Binaria) no);
+        if (classe == Expressao.LiteralInteiro.class) return visitLiteralInteiro((Expressao.LiteralInteiro) no);
+        if (classe == Comando.Atribuicao.class) return visitAtribuicao((Comando.Atribuicao) no);
+        if (classe == Expressao.Logica.class) return visitLogica((Expressao.Logica) no);
+        if (classe == Expressao.Agrupamento.class) return visitAgrupamento((Expressao.Agrupamento) no);
+        if (classe == Expressao.Unaria.class) return visitUnaria((Expressao.Unaria) no);
+        if (classe == Expressao.LiteralReal.class) return visitLiteralReal((Expressao.LiteralReal) no);
+        if (classe == Expressao.LiteralTexto.class) return visitLiteralTexto((Expressao.LiteralTexto) no);
+        if (classe == Comando.Declaracao.class) return visitDeclaracao((Comando.Declaracao) no);
+        if (classe == Comando.Bloco.class) return visitBloco((Comando.Bloco) no);
+        if (classe == Comando.Se.class) return visitSe((Comando.Se) no);
+        if (classe == Comando.Para.class) return visitPara((Comando.Para) no);
+        if (classe == Comando.Imprimir.class) return visitImprimir((Comando.Imprimir) no);
+        if (classe == Comando.Ler.class) return visitLer((Comando.Ler) no);
+        if (classe == Expressao.Literal.class) return visitLiteral((Expressao.Literal) no);
+        // Subclasses desconhecidas: despacho virtual
+        return no instanceof Expressao ? ((Expressao) no).accept(this) : ((Comando) no).accept(this);
+    }
+
+    private void empilhar(Object no) {
+        if (no instanceof Comando) {
+            entrar((Comando) no);
+        }
+        if (profundidade == nos.length) {
+            nos = Arrays.copyOf(nos, profundidade * 2);
+            etapas = Arrays.copyOf(etapas, profundidade * 2);
+            estados = Arrays.copyOf(estados, profundidade * 2);
+        }
+        nos[profundidade] = no;
+        etapas[profundidade] = 0;
+        estados[profundidade] = null;
+        profundidade++;
+    }
+
+    /**
+     * Chamado antes da primeira etapa de cada comando.
+     */
+    protected void entrar(Comando comando) {
+    }
+
+    /**
+     * Chamado quando o comando termina (não se uma etapa lançou exceção).
+     */
+    protected void sair(Comando comando) {
+    }
+
+    /**
+     * Etapa do nó atual: 0 na primeira chamada, 1 depois do primeiro filho, ...
+     */
+    protected final int etapa() {
+        return etapaAtual;
+    }
+
+    /**
+     * Termina o nó atual produzindo um valor.
+     */
+    protected final Object fim(R valor) {
+        if (quantidadeValores == valores.length) {
+            crescerValores(); // Fora da linha: fim() precisa ser pequeno para ser embutido
+        }
+        valores[quantidadeValores++] = valor;
+        return FIM;
+    }
+
+    private void crescerValores() {
+        valores = Arrays.copyOf(valores, quantidadeValores * 2);
+    }
+
+    /**
+     * Termina o nó atual sem produzir valor.
+     */
+    protected final Object fim() {
+        return FIM;
+    }
+
+    /**
+     * Retira o valor do último filho terminado.
+     */
+    @SuppressWarnings("unchecked")
+    protected final R valor() {
+        R valor = (R) valores[--quantidadeValores];
+        valores[quantidadeValores] = null;
+        return valor;
+    }
+
+    /**
+     * Guarda um estado do nó atual para as próximas etapas.
+     */
+    protected final void guardar(Object estado) {
+        estadoAtual = estado;
+    }
+
+    /**
+     * Estado guardado pelo nó atual (null se nada foi guardado).
+     */
+    protected final Object guardado() {
+        return estadoAtual;
+    }
+}
@@ -0,0 +1,148 @@
+package analisadorsintatico;
+
+import java.util.Arrays;
+
+import scanner.MapaLinhas;
+import scanner.Token;
+import scanner.Trecho;
+
+/**
+ * Posições de origem das expressões compartilhadas pela
+ * {@link FabricaExpressoes}, indexadas pelo id canônico do nó.
+ *
+ * Um nó canônico aparece em vários pontos do programa, mas guarda só o
+ * token da primeira ocorrência. As posições de todas as ocorrências
+ * ficam aqui, na ordem em que o Parser as encontrou (a do código fonte).
+ * Só nós com token têm posição: operadores e acessos a variável. Quem
+ * percorre o programa na ordem do código fonte encontra a ocorrência que
+ * está visitando com {@link #ocorrenciaApos}: é assim que a análise
+ * semântica reporta cada erro na posição da ocorrência que o causou.
+ *
+ * Cada posição é um {@link Trecho}: como nos tokens do Scanner, o
+ * deslocamento no código fonte, e a linha e a coluna só são calculadas
+ * quando pedidas.
+ *
+ * Cada ocorrência guarda também o seu fim ({@link #fim}): a posição mais
+ * adiante registrada até ela. Como o Parser cria um nó depois dos seus
+ * operandos, é a última posição dentro da subárvore, e quem não visita
+ * uma ocorrência (tipo memorizado) salta por cima dela de uma vez.
+ */
+public final class TabelaPosicoes {
+
+    private long[][] posicoes = new long[64][]; // Id -> trechos das ocorrências
+    private long[][] fins = new long[64][];     // Id -> última posição dentro de cada ocorrência
+    private int[] quantidades = new int[64];    // Id -> quantidade de ocorrências
+    private MapaLinhas mapa;                     // Índice de linhas do código fonte das ocorrências
+    private long maisAdiante = Long.MIN_VALUE;   // Maior posição registrada até agora
+
+    void registrar(int id, Token token) {
+        if (id >= posicoes.length) {
+            posicoes = Arrays.copyOf(posicoes, Math.max(id + 1, posicoes.length * 2));
+            fins = Arrays.copyOf(fins, posicoes.length);
+            quantidades = Arrays.copyOf(quantidades, posicoes.length);
+        }
+        long[] lista = posicoes[id];
+        long[] listaFins = fins[id];
+        int quantidade = quantidades[id];
+        if (lista == null) {
+            lista = posicoes[id] = new long[2];
+            listaFins = fins[id] = new long[2];
+        } else if (quantidade == lista.length) {
+            lista = posicoes[id] = Arrays.copyOf(lista, quantidade * 2);
+            listaFins = fins[id] = Arrays.copyOf(listaFins, quantidade * 2);
+        }
+        long trecho = empacotar(token);
+        maisAdiante = Math.max(maisAdiante, trecho);
+        lista[quantidade] = trecho;
+        listaFins[quantidade] = maisAdiante;
+        quantidades[id] = quantidade + 1;
+    }
+
+    /**
+     * Trecho tardio, resolvido pelo mapa da tabela; tokens de outro código
+     * fonte já guardam linha e coluna.
+     */
+    private long empacotar(Token token) {
+        MapaLinhas mapaToken = token.getMapa();
+        if (mapaToken != null && mapa != null && mapa != mapaToken) {
+            return Trecho.explicito(token.getLinha(), token.getColuna());
+        }
+        if (mapaToken != null) {
+            mapa = mapaToken;
+        }
+        return Trecho.de(token);
+    }
+
+    /**
+     * Quantidade de ocorrências do nó no programa (0 se ele não tem token).
+     */
+    public int ocorrencias(Expressao no) {
+        int id = no.getIdCanonico();
+        return id >= 0 && id < quantidades.length ? quantidades[id] : 0;
+    }
+
+    /** Linha da i-ésima ocorrência do nó. */
+    public int linha(Expressao no, int i) {
+        return Trecho.linha(posicao(no, i), mapa);
+    }
+
+    /** Coluna da i-ésima ocorrência do nó. */
+    public int coluna(Expressao no, int i) {
+        return Trecho.coluna(posicao(no, i), mapa);
+    }
+
+    /**
+     * Primeira ocorrência do nó depois do trecho indicado, na ordem do
+     * código fonte, ou -1 se não há nenhuma. Os trechos de um mesmo
+     * código fonte crescem com a posição, então a busca é binária.
+     *
+     * @param trecho trecho de uma ocorrência já vista (de qualquer nó)
+     */
+    public int ocorrenciaApos(Expressao no, long trecho) {
+        int n = ocorrencias(no);
+        if (n == 0) {
+            return -1;
+        }
+        long[] lista = posicoes[no.getIdCanonico()];
+        int baixo = 0;
+        int alto = n;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (lista[meio] > trecho) {
+                alto = meio;
+            } else {
+                baixo = meio + 1;
+            }
+        }
+        return baixo < n ? baixo : -1;
+    }
+
+    /**
+     * Trecho da i-ésima ocorrência do nó; tardio, resolvido por
+     * {@link #getMapa()}, ou explícito.
+     */
+    public long trecho(Expressao no, int i) {
+        return posicao(no, i);
+    }
+
+    /**
+     * Trecho da última posição dentro da i-ésima ocorrência do nó (a do
+     * próprio nó, se os operandos vêm antes dele).
+     */
+    public long fim(Expressao no, int i) {
+        posicao(no, i);
+        return fins[no.getIdCanonico()][i];
+    }
+
+    /** Índice de linhas do código fonte dos trechos tardios da tabela. */
+    public MapaLinhas getMapa() {
+        return mapa;
+    }
+
+    private long posicao(Expressao no, int i) {
+        if (i < 0 || i >= ocorrencias(no)) {
+            throw new IndexOutOfBoundsException("Ocorrência " + i + " inexistente");
+        }
+        return posicoes[no.getIdCanonico()][i];
+    }
+}
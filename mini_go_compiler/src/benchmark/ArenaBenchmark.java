@@ -0,0 +1,95 @@
+package benchmark;
+
+import java.util.List;
+
+import analisadorsemantico.AnalisadorSemantico;
+import analisadorsintatico.ArenaAst;
+import analisadorsintatico.Comando;
+import analisadorsintatico.CursorAst;
+import codigointermediario.TACGerador;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Severidade;
+import parser.Parser;
+import scanner.MapaLinhas;
+import scanner.Scanner;
+import scanner.TokenBuffer;
+
+/**
+ * Compara o AST de objetos com a {@link ArenaAst}: memória retida por nó
+ * depois do parse, tempo de parse e tempo dos passes (análise semântica
+ * e TAC), que na arena recebem os comandos materializados pelo cursor.
+ *
+ * Uso: java benchmark.ArenaBenchmark [repeticoes] [rodadas]
+ */
+public class ArenaBenchmark {
+
+    public static void main(String[] args) {
+        int repeticoes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        TokenBuffer tokens = new Scanner(ProgramaGerado.gerar(repeticoes)).scanTokenBuffer();
+        int tamanho = tokens.tamanho();
+
+        // Memória: heap ocupado com cada representação viva (o buffer de tokens é comum às duas)
+        long base = heapUsado();
+        List<Comando> programa = new Parser(tokens).parsePrograma();
+        long bytesObjetos = heapUsado() - base;
+        base = heapUsado();
+        ArenaAst arena = new Parser(tokens).parseArena();
+        long bytesArena = heapUsado() - base;
+
+        int nos = arena.tamanho();
+        System.out.printf("Programa: %,d comandos, %,d nós (%,d tokens)%n", programa.size(), nos, tamanho);
+        System.out.printf("%-22s %,12d bytes  %6.1f bytes/nó%n", "AST de objetos", bytesObjetos, (double) bytesObjetos / nos);
+        System.out.printf("%-22s %,12d bytes  %6.1f bytes/nó%n", "Arena (heap)", bytesArena, (double) bytesArena / nos);
+        System.out.printf("%-22s %,12d bytes  %6.1f bytes/nó%n", "Arena (colunas usadas)", arena.bytesUsados(),
+                (double) arena.bytesUsados() / nos);
+
+        ScannerBenchmark.Tarefa parseObjetos = () -> new Parser(tokens).parsePrograma().isEmpty() ? 0 : tamanho;
+        ScannerBenchmark.Tarefa parseArena = () -> new Parser(tokens).parseArena().tamanho() > 0 ? tamanho : 0;
+        ScannerBenchmark.Tarefa passesObjetos = () -> {
+            novoAnalisador(tokens.getMapaLinhas()).analisar(programa);
+            return new TACGerador().gerar(programa).isEmpty() ? 0 : tamanho;
+        };
+        ScannerBenchmark.Tarefa passesArena = () -> {
+            AnalisadorSemantico semantico = novoAnalisador(tokens.getMapaLinhas());
+            TACGerador gerador = new TACGerador();
+            int instrucoes = 0;
+            CursorAst cursor = new CursorAst(arena);
+            while (cursor.proximo()) {
+                Comando comando = cursor.comando();
+                semantico.analisarComando(comando);
+                instrucoes += gerador.gerarComando(comando).size();
+            }
+            return instrucoes > 0 ? tamanho : 0;
+        };
+
+        // Aquecimento do JIT
+        for (int i = 0; i < 3; i++) {
+            parseObjetos.executar();
+            parseArena.executar();
+            passesObjetos.executar();
+            passesArena.executar();
+        }
+
+        ScannerBenchmark.medir("Parse (objetos)", rodadas, parseObjetos);
+        ScannerBenchmark.medir("Parse (arena)", rodadas, parseArena);
+        ScannerBenchmark.medir("Passes (objetos)", rodadas, passesObjetos);
+        ScannerBenchmark.medir("Passes (arena+cursor)", rodadas, passesArena);
+    }
+
+    private static AnalisadorSemantico novoAnalisador(MapaLinhas mapa) {
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.setDiagnosticos(new ColetorDiagnosticos(Severidade.ERRO, ColetorDiagnosticos.SEM_LIMITE));
+        semantico.setMapaLinhas(mapa);
+        return semantico;
+    }
+
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
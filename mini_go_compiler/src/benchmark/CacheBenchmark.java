@@ -0,0 +1,91 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import analisadorsintatico.Comando;
+import parser.CacheAst;
+import parser.Parser;
+import scanner.Scanner;
+
+/**
+ * Mede uma compilação em lote de muitos arquivos que não mudaram:
+ * Scanner e Parser em cada arquivo contra acertos no {@link CacheAst}
+ * (hash do código fonte, arquivo mapeado em memória e leitura do AST).
+ *
+ * Uso: java benchmark.CacheBenchmark [arquivos] [repeticoes] [rodadas]
+ */
+public class CacheBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int arquivos = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int rodadas = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        // Arquivos diferentes entre si (cada um com a sua chave no cache)
+        String[] fontes = new String[arquivos];
+        int tokens = 0;
+        long bytesFontes = 0;
+        for (int i = 0; i < arquivos; i++) {
+            fontes[i] = ProgramaGerado.gerar(repeticoes) + "var arquivo" + i + " inteiro = " + i + ";\n";
+            tokens += new Scanner(fontes[i]).scanTokenBuffer().tamanho();
+            bytesFontes += fontes[i].length();
+        }
+        int total = tokens;
+
+        Path diretorio = Files.createTempDirectory("cache-ast");
+        try {
+            CacheAst cache = new CacheAst(diretorio);
+            for (String fonte : fontes) {
+                cache.analisar(fonte); // Primeira compilação: preenche o cache
+            }
+            System.out.printf("Lote: %,d arquivos, %,d tokens, %,d bytes de fonte, %,d bytes de cache%n",
+                    arquivos, total, bytesFontes, tamanho(diretorio));
+
+            ScannerBenchmark.Tarefa semCache = () -> {
+                int comandos = 0;
+                for (String fonte : fontes) {
+                    comandos += new Parser(new Scanner(fonte).scanTokenBuffer()).parsePrograma().size();
+                }
+                return comandos > 0 ? total : 0;
+            };
+            ScannerBenchmark.Tarefa comCache = () -> {
+                int comandos = 0;
+                for (String fonte : fontes) {
+                    List<Comando> ast = cache.analisar(fonte);
+                    comandos += ast.size();
+                }
+                return comandos > 0 ? total : 0;
+            };
+
+            // Aquecimento do JIT
+            for (int i = 0; i < 3; i++) {
+                semCache.executar();
+                comCache.executar();
+            }
+
+            ScannerBenchmark.medir("Scanner + Parser", rodadas, semCache);
+            ScannerBenchmark.medir("Cache (acertos)", rodadas, comCache);
+        } finally {
+            try (Stream<Path> conteudo = Files.list(diretorio)) {
+                for (Path arquivo : conteudo.toList()) {
+                    Files.delete(arquivo);
+                }
+            }
+            Files.delete(diretorio);
+        }
+    }
+
+    private static long tamanho(Path diretorio) throws IOException {
+        try (Stream<Path> conteudo = Files.list(diretorio)) {
+            long total = 0;
+            for (Path arquivo : conteudo.toList()) {
+                total += Files.size(arquivo);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package benchmark;
+
+import analisadorsintatico.Expressao;
+import scanner.FonteTokens;
+import scanner.Token;
+import scanner.TokenType;
+
+/**
+ * Análise de expressões por descida recursiva, um método por nível de
+ * precedência (ouLogico → ... → primario): a forma que o Parser usava antes
+ * da tabela de precedência.
+ *
+ * Serve só de referência: o {@link benchmark.ParserBenchmark} compara a
+ * vazão das duas formas e os testes conferem que produzem as mesmas
+ * árvores. Cada nível consome a pilha de chamadas, então expressões muito
+ * aninhadas estouram a pilha aqui, mas não no Parser. Não há recuperação
+ * de erros: um token inesperado lança {@link IllegalStateException}.
+ */
+public final class CascataExpressoes {
+
+    private final FonteTokens tokens;
+    private int current;
+
+    public CascataExpressoes(FonteTokens tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Analisa a próxima expressão a partir do token atual.
+     */
+    public Expressao expressao() {
+        return ouLogico();
+    }
+
+    private Expressao ouLogico() {
+        Expressao expr = eLogico();
+        while (match(TokenType.OU_LOGICO)) {
+            Token op = previous();
+            Expressao right = eLogico();
+            expr = new Expressao.Logica(expr, op, right);
+        }
+        return expr;
+    }
+
+    private Expressao eLogico() {
+        Expressao expr = igualdade();
+        while (match(TokenType.E_LOGICO)) {
+            Token op = previous();
+            Expressao right = igualdade();
+            expr = new Expressao.Logica(expr, op, right);
+        }
+        return expr;
+    }
+
+    private Expressao igualdade() {
+        Expressao expr = relacional();
+        while (match(TokenType.DIFERENTE, TokenType.IGUAL_IGUAL)) {
+            Token op = previous();
+            Expressao right = relacional();
+            expr = new Expressao.Binaria(expr, op, right);
+        }
+        return expr;
+    }
+
+    private Expressao relacional() {
+        Expressao expr = adicao();
+        while (match(TokenType.MAIOR, TokenType.MAIOR_IGUAL, TokenType.MENOR, TokenType.MENOR_IGUAL)) {
+            Token op = previous();
+            Expressao right = adicao();
+            expr = new Expressao.Binaria(expr, op, right);
+        }
+        return expr;
+    }
+
+    private Expressao adicao() {
+        Expressao expr = multiplicacao();
+        while (match(TokenType.MENOS, TokenType.MAIS)) {
+            Token op = previous();
+            Expressao right = multiplicacao();
+            expr = new Expressao.Binaria(expr, op, right);
+        }
+        return expr;
+    }
+
+    private Expressao multiplicacao() {
+        Expressao expr = unario();
+        while (match(TokenType.DIVISAO, TokenType.MULTIPLICACAO)) {
+            Token op = previous();
+            Expressao right = unario();
+            expr = new Expressao.Binaria(expr, op, right);
+        }
+        return expr;
+    }
+
+    private Expressao unario() {
+        TokenType tipo = tokens.tipo(current);
+        if (tipo == TokenType.NEGACAO || tipo == TokenType.MENOS) {
+            Token op = tokens.token(current++);
+            Expressao right = unario();
+            return new Expressao.Unaria(op, right);
+        }
+        return primario();
+    }
+
+    private Expressao primario() {
+        switch (tokens.tipo(current)) {
+            case LITERAL_INTEIRO:
+                return new Expressao.LiteralInteiro(tokens.token(current++).getValorInteiro());
+            case LITERAL_REAL:
+                return new Expressao.LiteralReal(tokens.token(current++).getValorReal());
+            case LITERAL_TEXTO:
+                return new Expressao.LiteralTexto(tokens.token(current++).getValorTexto());
+            case IDENTIFICADOR:
+                return new Expressao.VariavelAcesso(tokens.token(current++));
+            case ABRE_PARENTESE:
+                current++;
+                Expressao expr = ouLogico();
+                if (!match(TokenType.FECHA_PARENTESE)) {
+                    throw new IllegalStateException("Esperado ')' após expressão em " + tokens.token(current));
+                }
+                return new Expressao.Agrupamento(expr);
+            default:
+                throw new IllegalStateException("Expressão esperada em " + tokens.token(current));
+        }
+    }
+
+    private boolean match(TokenType... types) {
+        TokenType atual = tokens.tipo(current);
+        for (TokenType type : types) {
+            if (atual == type) {
+                current++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Token previous() {
+        return tokens.token(current - 1);
+    }
+}
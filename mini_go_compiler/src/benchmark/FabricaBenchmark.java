@@ -0,0 +1,85 @@
+package benchmark;
+
+import java.util.List;
+
+import analisadorsemantico.AnalisadorSemantico;
+import analisadorsintatico.Comando;
+import analisadorsintatico.FabricaExpressoes;
+import codigointermediario.TACGerador;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Severidade;
+import parser.Parser;
+import scanner.MapaLinhas;
+import scanner.Scanner;
+import scanner.TokenBuffer;
+
+/**
+ * Compara o AST comum com o de expressões compartilhadas
+ * ({@link FabricaExpressoes}): nós criados, parse e os passes com
+ * memorização por nó canônico.
+ *
+ * Uso: java benchmark.FabricaBenchmark [repeticoes] [rodadas]
+ */
+public class FabricaBenchmark {
+
+    public static void main(String[] args) {
+        int repeticoes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        TokenBuffer tokens = new Scanner(ProgramaGerado.gerar(repeticoes)).scanTokenBuffer();
+        int tamanho = tokens.tamanho();
+
+        FabricaExpressoes fabrica = new FabricaExpressoes();
+        List<Comando> comum = new Parser(tokens).parsePrograma();
+        List<Comando> compartilhado = parseCompartilhado(tokens, fabrica);
+        System.out.printf("Programa: %,d comandos (%,d tokens)%n", comum.size(), tamanho);
+        System.out.printf("Expressões: %,d ocorrências, %,d nós canônicos%n",
+                fabrica.getPedidos(), fabrica.getCanonicos());
+
+        ScannerBenchmark.Tarefa parseComum = () -> new Parser(tokens).parsePrograma().isEmpty() ? 0 : tamanho;
+        ScannerBenchmark.Tarefa parseCompartilhado = () ->
+                parseCompartilhado(tokens, new FabricaExpressoes()).isEmpty() ? 0 : tamanho;
+        ScannerBenchmark.Tarefa passesComum = () -> {
+            AnalisadorSemantico semantico = novoAnalisador(null, tokens.getMapaLinhas());
+            semantico.analisar(comum);
+            TACGerador gerador = new TACGerador();
+            gerador.setQuadro(semantico.getQuadro());
+            return gerador.gerar(comum).isEmpty() ? 0 : tamanho;
+        };
+        ScannerBenchmark.Tarefa passesMemorizados = () -> {
+            AnalisadorSemantico semantico = novoAnalisador(fabrica, tokens.getMapaLinhas());
+            semantico.analisar(compartilhado);
+            TACGerador gerador = new TACGerador();
+            gerador.setQuadro(semantico.getQuadro());
+            gerador.setMemorizarExpressoes(true);
+            return gerador.gerar(compartilhado).isEmpty() ? 0 : tamanho;
+        };
+
+        // Aquecimento do JIT
+        for (int i = 0; i < 3; i++) {
+            parseComum.executar();
+            parseCompartilhado.executar();
+            passesComum.executar();
+            passesMemorizados.executar();
+        }
+
+        ScannerBenchmark.medir("Parse (comum)", rodadas, parseComum);
+        ScannerBenchmark.medir("Parse (compartilhado)", rodadas, parseCompartilhado);
+        ScannerBenchmark.medir("Passes (comum)", rodadas, passesComum);
+        ScannerBenchmark.medir("Passes (memorizados)", rodadas, passesMemorizados);
+    }
+
+    private static List<Comando> parseCompartilhado(TokenBuffer tokens, FabricaExpressoes fabrica) {
+        Parser parser = new Parser(tokens);
+        parser.setFabrica(fabrica);
+        return parser.parsePrograma();
+    }
+
+    private static AnalisadorSemantico novoAnalisador(FabricaExpressoes fabrica, MapaLinhas mapa) {
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.setDiagnosticos(new ColetorDiagnosticos(Severidade.ERRO, ColetorDiagnosticos.SEM_LIMITE));
+        semantico.setMapaLinhas(mapa);
+        semantico.setFabrica(fabrica);
+        return semantico;
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+
+import analisadorsintatico.Expressao;
+import parser.Parser;
+import parser.ParserLL1;
+import parser.ParserParalelo;
+import scanner.Scanner;
+import scanner.TokenBuffer;
+
+/**
+ * Compara a análise de expressões por shunting-yard com pilhas explícitas
+ * ({@link Parser#parseExpressao()}) com a cascata de descida recursiva
+ * ({@link CascataExpressoes}), sobre as mesmas expressões já tokenizadas.
+ *
+ * Também compara, sobre um programa completo, o {@link Parser}
+ * com o {@link ParserLL1} dirigido por tabela e com o {@link ParserParalelo}.
+ *
+ * Uso: java benchmark.ParserBenchmark [expressoes] [operadoresPorExpressao] [rodadas]
+ */
+public class ParserBenchmark {
+
+    public static void main(String[] args) {
+        int quantidade = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int operadores = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int rodadas = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        String codigo = ProgramaGerado.gerarExpressoes(quantidade, operadores, false, 42);
+        TokenBuffer tokens = new Scanner(codigo).scanTokenBuffer();
+        System.out.printf("Expressões: %,d (%,d tokens)%n", quantidade, tokens.tamanho());
+
+        // Aquecimento do JIT
+        for (int i = 0; i < 3; i++) {
+            tabela(tokens, quantidade);
+            cascata(tokens, quantidade);
+        }
+
+        ScannerBenchmark.medir("Shunting-yard (tabela)", rodadas, () -> tabela(tokens, quantidade));
+        ScannerBenchmark.medir("Cascata (descida)", rodadas, () -> cascata(tokens, quantidade));
+
+        TokenBuffer programa = new Scanner(ProgramaGerado.gerar(quantidade / 10)).scanTokenBuffer();
+        System.out.printf("%nPrograma: %,d tokens%n", programa.tamanho());
+        for (int i = 0; i < 3; i++) {
+            new Parser(programa).parsePrograma();
+            new ParserLL1(programa).parsePrograma();
+            new ParserParalelo(programa).parsePrograma();
+        }
+        ScannerBenchmark.medir("Parser", rodadas,
+                () -> new Parser(programa).parsePrograma() != null ? programa.tamanho() : 0);
+        ScannerBenchmark.medir("ParserLL1 (tabela)", rodadas,
+                () -> new ParserLL1(programa).parsePrograma() != null ? programa.tamanho() : 0);
+        ScannerBenchmark.medir("ParserParalelo (" + ForkJoinPool.commonPool().getParallelism() + " threads)", rodadas,
+                () -> new ParserParalelo(programa).parsePrograma() != null ? programa.tamanho() : 0);
+    }
+
+    private static int tabela(TokenBuffer tokens, int quantidade) {
+        Parser parser = new Parser(tokens);
+        Expressao ultima = null;
+        for (int i = 0; i < quantidade; i++) {
+            ultima = parser.parseExpressao();
+        }
+        return ultima != null ? tokens.tamanho() : 0;
+    }
+
+    private static int cascata(TokenBuffer tokens, int quantidade) {
+        CascataExpressoes cascata = new CascataExpressoes(tokens);
+        Expressao ultima = null;
+        for (int i = 0; i < quantidade; i++) {
+            ultima = cascata.expressao();
+        }
+        return ultima != null ? tokens.tamanho() : 0;
+    }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.util.List;
+
+import analisadorsemantico.AnalisadorSemantico;
+import analisadorsintatico.AstPrinter;
+import analisadorsintatico.Comando;
+import codigointermediario.TACGerador;
+import parser.Parser;
+import scanner.Scanner;
+import scanner.TokenBuffer;
+
+/**
+ * Mede os percursos do AST (impressão, análise semântica e geração de TAC)
+ * sobre um programa gerado já analisado sintaticamente.
+ *
+ * Uso: java benchmark.PercursoBenchmark [repeticoes] [rodadas]
+ */
+public class PercursoBenchmark {
+
+    public static void main(String[] args) {
+        int repeticoes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        TokenBuffer tokens = new Scanner(ProgramaGerado.gerar(repeticoes)).scanTokenBuffer();
+        List<Comando> programa = new Parser(tokens).parsePrograma();
+        int tamanho = tokens.tamanho();
+        System.out.printf("Programa: %,d comandos (%,d tokens)%n", programa.size(), tamanho);
+
+        ScannerBenchmark.Tarefa imprimir = () -> {
+            AstPrinter printer = new AstPrinter();
+            int caracteres = 0;
+            for (Comando comando : programa) {
+                caracteres += printer.print(comando).length();
+            }
+            return caracteres > 0 ? tamanho : 0;
+        };
+        ScannerBenchmark.Tarefa analisar = () -> {
+            AnalisadorSemantico semantico = new AnalisadorSemantico();
+            semantico.setDiagnosticos(new diagnostico.ColetorDiagnosticos(diagnostico.Severidade.ERRO,
+                    diagnostico.ColetorDiagnosticos.SEM_LIMITE));
+            semantico.setMapaLinhas(tokens.getMapaLinhas());
+            semantico.analisar(programa);
+            return tamanho;
+        };
+        // A geração usa o quadro de uma análise prévia, para medir só o percurso da geração
+        AnalisadorSemantico analise = new AnalisadorSemantico();
+        analise.setDiagnosticos(new diagnostico.ColetorDiagnosticos(diagnostico.Severidade.ERRO,
+                diagnostico.ColetorDiagnosticos.SEM_LIMITE));
+        analise.setMapaLinhas(tokens.getMapaLinhas());
+        analise.analisar(programa);
+        ScannerBenchmark.Tarefa gerar = () -> {
+            TACGerador gerador = new TACGerador();
+            gerador.setQuadro(analise.getQuadro());
+            return gerador.gerar(programa).isEmpty() ? 0 : tamanho;
+        };
+
+        // Aquecimento do JIT
+        for (int i = 0; i < 3; i++) {
+            imprimir.executar();
+            analisar.executar();
+            gerar.executar();
+        }
+
+        ScannerBenchmark.medir("AstPrinter", rodadas, imprimir);
+        ScannerBenchmark.medir("AnalisadorSemantico", rodadas, analisar);
+        ScannerBenchmark.medir("TACGerador", rodadas, gerar);
+    }
+}
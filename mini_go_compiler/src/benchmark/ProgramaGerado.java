@@ -0,0 +1,96 @@
+package benchmark;
+
+import java.util.Random;
+
+/**
+ * Gera programas Mini-Go sintética e semanticamente válidos para os benchmarks,
+ * imitando o código gerado que alimenta o compilador: comentários,
+ * indentação, expressões longas e estruturas aninhadas.
+ */
+public final class ProgramaGerado {
+
+    private ProgramaGerado() {
+    }
+
+    /**
+     * Gera um programa com o trecho base repetido várias vezes.
+     *
+     * @param repeticoes quantidade de repetições do trecho base
+     * @return código fonte Mini-Go
+     */
+    public static String gerar(int repeticoes) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("/*\n * Licença do código gerado\n * Todos os direitos reservados\n */\n");
+        sb.append("var total inteiro = 0;\n");
+        sb.append("var media real = 0.0;\n");
+        for (int i = 0; i < repeticoes; i++) {
+            sb.append("// bloco ").append(i).append('\n');
+            sb.append("var a").append(i).append(" inteiro = ").append(i).append(" * 2 + (total - 1) / 3;\n");
+            sb.append("se a").append(i).append(" >= 10 && total != 5 || !(media < 1.5) {\n");
+            sb.append("    total = total + a").append(i).append(";\n");
+            sb.append("    imprimir(\"valor: \\\"ok\\\"\", total);\n");
+            sb.append("} senao {\n");
+            sb.append("    media = media * 1.25 - 0.5;\n");
+            sb.append("}\n");
+            sb.append("para var j inteiro = 0; j < 3; j = j + 1 {\n");
+            sb.append("    total = total + j;\n");
+            sb.append("}\n");
+        }
+        return sb.toString();
+    }
+
+    private static final String[] OPERADORES = {
+        "||", "&&", "==", "!=", "<", "<=", ">", ">=", "+", "-", "*", "/"
+    };
+
+    /**
+     * Gera expressões aleatórias, uma por linha e sem separador entre elas:
+     * cada expressão termina onde a próxima começa com um operando (nunca
+     * com '-', que seria lido como subtração).
+     *
+     * @param quantidade número de expressões
+     * @param operadores operadores binários por expressão
+     * @param parenteses se subexpressões podem vir entre parênteses
+     * @param semente semente do gerador aleatório
+     * @return código fonte com as expressões
+     */
+    public static String gerarExpressoes(int quantidade, int operadores, boolean parenteses, long semente) {
+        Random aleatorio = new Random(semente);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < quantidade; i++) {
+            int inicio = sb.length();
+            expressao(sb, aleatorio, operadores, parenteses);
+            if (sb.charAt(inicio) == '-') {
+                sb.setCharAt(inicio, '!');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void expressao(StringBuilder sb, Random aleatorio, int operadores, boolean parenteses) {
+        operando(sb, aleatorio, operadores, parenteses);
+        for (int i = 0; i < operadores; i++) {
+            sb.append(' ').append(OPERADORES[aleatorio.nextInt(OPERADORES.length)]).append(' ');
+            operando(sb, aleatorio, operadores, parenteses);
+        }
+    }
+
+    private static void operando(StringBuilder sb, Random aleatorio, int operadores, boolean parenteses) {
+        int escolha = aleatorio.nextInt(10);
+        if (escolha == 0) {
+            sb.append(aleatorio.nextBoolean() ? '!' : '-');
+            operando(sb, aleatorio, operadores, parenteses);
+        } else if (escolha == 1 && parenteses && operadores > 1) {
+            sb.append('(');
+            expressao(sb, aleatorio, operadores / 2, parenteses);
+            sb.append(')');
+        } else if (escolha < 5) {
+            sb.append(aleatorio.nextInt(1000));
+        } else if (escolha == 5) {
+            sb.append(aleatorio.nextInt(100)).append('.').append(aleatorio.nextInt(100));
+        } else {
+            sb.append("v").append(aleatorio.nextInt(50));
+        }
+    }
+}
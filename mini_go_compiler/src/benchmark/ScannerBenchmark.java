@@ -0,0 +1,52 @@
+package benchmark;
+
+import scanner.Scanner;
+import scanner.ScannerDFA;
+
+/**
+ * Compara a vazão (tokens por segundo) do Scanner escrito à mão
+ * com o ScannerDFA dirigido por tabela.
+ *
+ * Uso: java benchmark.ScannerBenchmark [repeticoesDoPrograma] [rodadas]
+ */
+public class ScannerBenchmark {
+
+    public static void main(String[] args) {
+        int repeticoes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        String codigo = ProgramaGerado.gerar(repeticoes);
+        System.out.printf("Código gerado: %,d caracteres%n", codigo.length());
+
+        // Aquecimento do JIT
+        for (int i = 0; i < 3; i++) {
+            new Scanner(codigo).scanTokens();
+            new ScannerDFA(codigo).scanTokens();
+        }
+
+        medir("Scanner (switch)", rodadas, () -> new Scanner(codigo).scanTokens().size());
+        medir("ScannerDFA (tabela)", rodadas, () -> new ScannerDFA(codigo).scanTokens().size());
+    }
+
+    /**
+     * Executa a tarefa várias vezes e imprime a melhor vazão observada.
+     */
+    static void medir(String nome, int rodadas, Tarefa tarefa) {
+        double melhor = 0;
+        int tokens = 0;
+        for (int r = 0; r < rodadas; r++) {
+            long inicio = System.nanoTime();
+            tokens = tarefa.executar();
+            long nanos = System.nanoTime() - inicio;
+            melhor = Math.max(melhor, tokens / (nanos / 1e9));
+        }
+        System.out.printf("%-24s %,d tokens  %,.0f tokens/s%n", nome, tokens, melhor);
+    }
+
+    /**
+     * Uma execução medida; retorna a quantidade de tokens (ou nós) produzidos.
+     */
+    interface Tarefa {
+        int executar();
+    }
+}
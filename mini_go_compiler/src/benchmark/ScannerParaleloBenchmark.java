@@ -0,0 +1,53 @@
+package benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+
+import scanner.Scanner;
+import scanner.ScannerParalelo;
+import scanner.TabelaNomes;
+
+/**
+ * Mede a escalabilidade do ScannerParalelo conforme o número de threads,
+ * tomando o Scanner sequencial como referência.
+ *
+ * Uso: java benchmark.ScannerParaleloBenchmark [repeticoesDoPrograma] [rodadas]
+ */
+public class ScannerParaleloBenchmark {
+
+    public static void main(String[] args) {
+        int repeticoes = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int nucleos = Runtime.getRuntime().availableProcessors();
+
+        String codigo = ProgramaGerado.gerar(repeticoes);
+        System.out.printf("Código gerado: %,d caracteres, %d núcleos%n", codigo.length(), nucleos);
+
+        for (int i = 0; i < 3; i++) {
+            new Scanner(codigo).scanTokens();
+        }
+        medir("Scanner (sequencial)", rodadas, () -> new Scanner(codigo).scanTokens().size());
+
+        for (int threads = 1; threads <= nucleos; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                for (int i = 0; i < 3; i++) {
+                    novo(codigo, pool).scanTokens();
+                }
+                medir("ScannerParalelo x" + threads, rodadas, () -> novo(codigo, pool).scanTokens().size());
+            } finally {
+                pool.shutdown();
+            }
+            if (threads < nucleos && threads * 2 > nucleos) {
+                threads = nucleos / 2; // Garante a medição com todos os núcleos
+            }
+        }
+    }
+
+    private static ScannerParalelo novo(String codigo, ForkJoinPool pool) {
+        return new ScannerParalelo(codigo, new TabelaNomes(), pool, 64 * 1024);
+    }
+
+    private static void medir(String nome, int rodadas, ScannerBenchmark.Tarefa tarefa) {
+        ScannerBenchmark.medir(nome, rodadas, tarefa);
+    }
+}
@@ -0,0 +1,80 @@
+package benchmark;
+
+import java.util.List;
+
+import analisadorsemantico.AnalisadorSemantico;
+import analisadorsintatico.Comando;
+import analisadorsintatico.ComandoSelado;
+import codigointermediario.TACGerador;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Severidade;
+import parser.Parser;
+import scanner.MapaLinhas;
+import scanner.Scanner;
+import scanner.TokenBuffer;
+
+/**
+ * Compara o AST de visitors com o AST selado ({@link ComandoSelado}):
+ * memória retida depois do parse e tempo de análise semântica mais
+ * geração de TAC, com {@code accept}/{@code visitX} contra casamento de
+ * padrões. Os dois lados fazem o mesmo trabalho: vinculam os nomes no
+ * quadro (a geração de TAC refaz a análise para obtê-lo) e, sem a
+ * fábrica, nenhum usa a memorização de tipos.
+ *
+ * Uso: java benchmark.SeladoBenchmark [repeticoes] [rodadas]
+ */
+public class SeladoBenchmark {
+
+    public static void main(String[] args) {
+        int repeticoes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        TokenBuffer tokens = new Scanner(ProgramaGerado.gerar(repeticoes)).scanTokenBuffer();
+        int tamanho = tokens.tamanho();
+
+        // Memória: heap ocupado com cada representação viva (o buffer de tokens é comum às duas)
+        long base = heapUsado();
+        List<Comando> visitors = new Parser(tokens).parsePrograma();
+        long bytesVisitors = heapUsado() - base;
+        base = heapUsado();
+        List<ComandoSelado> selado = new Parser(tokens).parseSelado();
+        long bytesSelado = heapUsado() - base;
+
+        System.out.printf("Programa: %,d comandos (%,d tokens)%n", visitors.size(), tamanho);
+        System.out.printf("%-22s %,12d bytes%n", "AST de visitors", bytesVisitors);
+        System.out.printf("%-22s %,12d bytes%n", "AST selado", bytesSelado);
+
+        ScannerBenchmark.Tarefa passesVisitors = () -> {
+            novoAnalisador(tokens.getMapaLinhas()).analisar(visitors);
+            return new TACGerador().gerar(visitors).isEmpty() ? 0 : tamanho;
+        };
+        ScannerBenchmark.Tarefa passesSelado = () -> {
+            novoAnalisador(tokens.getMapaLinhas()).analisarSelado(selado);
+            return new TACGerador().gerarSelado(selado).isEmpty() ? 0 : tamanho;
+        };
+
+        // Aquecimento do JIT
+        for (int i = 0; i < 3; i++) {
+            passesVisitors.executar();
+            passesSelado.executar();
+        }
+
+        ScannerBenchmark.medir("Passes (visitors)", rodadas, passesVisitors);
+        ScannerBenchmark.medir("Passes (selado)", rodadas, passesSelado);
+    }
+
+    private static AnalisadorSemantico novoAnalisador(MapaLinhas mapa) {
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.setDiagnosticos(new ColetorDiagnosticos(Severidade.ERRO, ColetorDiagnosticos.SEM_LIMITE));
+        semantico.setMapaLinhas(mapa);
+        return semantico;
+    }
+
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,568 @@
+package bnf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import scanner.TokenType;
+
+/**
+ * Gera a tabela LL(1) do parser a partir da gramática em bnf/Gramatica.
+ *
+ * Passos:
+ * 1. Lê as regras a partir de {@code <programa>}. As regras léxicas
+ *    (identificador e literais) não são expandidas: viram os tokens que o
+ *    Scanner já reconhece; os terminais entre aspas são casados com o
+ *    lexema fixo de cada {@link TokenType}.
+ * 2. Calcula os conjuntos FIRST e FOLLOW.
+ * 3. Monta a tabela [não terminal, token] → produção. Uma célula com duas
+ *    produções é um conflito, a menos que o não terminal tenha sido
+ *    declarado na gramática com {@code // %excecao <nome>}: aí a célula
+ *    fica marcada e o parser decide olhando mais tokens.
+ * 4. Escreve a classe parser.TabelaLL1.
+ *
+ * Deve ser executado sempre que a gramática mudar (a partir da pasta do projeto):
+ * java bnf.GeradorLL1 [src/bnf/Gramatica] [src/parser/TabelaLL1.java]
+ */
+public final class GeradorLL1 {
+
+    // Não terminais descritos por regras léxicas: são tokens do Scanner
+    private static final Map<String, TokenType> LEXICOS = Map.of(
+            "identificador", TokenType.IDENTIFICADOR,
+            "inteiro", TokenType.LITERAL_INTEIRO,
+            "real", TokenType.LITERAL_REAL,
+            "texto", TokenType.LITERAL_TEXTO);
+
+    private static final String INICIAL = "programa";
+    private static final String DIRETIVA_EXCECAO = "%excecao";
+    private static final TokenType[] TIPOS = TokenType.values();
+    private static final int TERMINAIS = TIPOS.length;
+
+    static final short ERRO = -1;
+    static final short EXCECAO = -2;
+
+    // Gramática lida
+    private final Map<String, List<Lexema>> regras = new LinkedHashMap<>();
+    private final Set<String> excecoes = new LinkedHashSet<>();
+
+    // Não terminais alcançáveis, na ordem de descoberta
+    private final List<String> naoTerminais = new ArrayList<>();
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    // Produções: cabeça, corpo (símbolos codificados) e nome da constante
+    private final List<Integer> cabecas = new ArrayList<>();
+    private final List<int[]> corpos = new ArrayList<>();
+    private final List<String> nomesProducoes = new ArrayList<>();
+
+    private boolean[] anulavel;
+    private BitSet[] first;
+    private BitSet[] follow;
+    private short[] tabela;
+
+    /**
+     * Lê a gramática e monta a tabela.
+     *
+     * @param gramatica texto do arquivo bnf/Gramatica
+     * @throws IllegalArgumentException se a gramática não for LL(1)
+     *         (fora das exceções declaradas) ou usar símbolos desconhecidos
+     */
+    public GeradorLL1(String gramatica) {
+        ler(gramatica);
+        montarProducoes();
+        calcularFirst();
+        calcularFollow();
+        montarTabela();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path entrada = Path.of(args.length > 0 ? args[0] : "src/bnf/Gramatica");
+        Path saida = Path.of(args.length > 1 ? args[1] : "src/parser/TabelaLL1.java");
+
+        GeradorLL1 gerador = new GeradorLL1(Files.readString(entrada, StandardCharsets.UTF_8));
+        Files.writeString(saida, gerador.gerarClasse(), StandardCharsets.UTF_8);
+        System.out.printf("%s: %d não terminais, %d produções -> %s%n",
+                entrada, gerador.naoTerminais.size(), gerador.corpos.size(), saida);
+    }
+
+    /**
+     * Lê a gramática distribuída junto das classes (recurso bnf/Gramatica).
+     */
+    public static String lerGramatica() throws IOException {
+        try (InputStream in = GeradorLL1.class.getResourceAsStream("Gramatica")) {
+            if (in == null) {
+                throw new IOException("Recurso bnf/Gramatica não encontrado");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // ========================================================================
+    //                          LEITURA DA GRAMÁTICA
+    // ========================================================================
+
+    /**
+     * Um símbolo do texto da gramática.
+     */
+    private record Lexema(char tipo, String texto) {
+        static final char NAO_TERMINAL = 'N';
+        static final char TERMINAL = 'T';
+        static final char DEFINE = 'D';
+        static final char ALTERNATIVA = '|';
+        static final char VAZIO = 'E';
+        static final char PALAVRA = 'P';   // Texto livre das regras léxicas (ex: "...")
+    }
+
+    private void ler(String texto) {
+        List<Lexema> lexemas = new ArrayList<>();
+        int i = 0;
+        int n = texto.length();
+        while (i < n) {
+            char c = texto.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (texto.startsWith("//", i)) {
+                int fim = texto.indexOf('\n', i);
+                fim = fim < 0 ? n : fim;
+                lerDiretiva(texto.substring(i + 2, fim).trim());
+                i = fim;
+            } else if (texto.startsWith("/*", i)) {
+                int fim = texto.indexOf("*/", i + 2);
+                i = fim < 0 ? n : fim + 2;
+            } else if (c == '"') {
+                StringBuilder sb = new StringBuilder();
+                i++;
+                while (i < n && texto.charAt(i) != '"') {
+                    if (texto.charAt(i) == '\\' && i + 1 < n) {
+                        i++;
+                    }
+                    sb.append(texto.charAt(i++));
+                }
+                i++;
+                lexemas.add(new Lexema(Lexema.TERMINAL, sb.toString()));
+            } else if (c == '<' && texto.indexOf('>', i) > i + 1 && nomeValido(texto, i + 1, texto.indexOf('>', i))) {
+                int fim = texto.indexOf('>', i);
+                lexemas.add(new Lexema(Lexema.NAO_TERMINAL, texto.substring(i + 1, fim)));
+                i = fim + 1;
+            } else if (texto.startsWith("::=", i)) {
+                lexemas.add(new Lexema(Lexema.DEFINE, "::="));
+                i += 3;
+            } else if (c == '|') {
+                lexemas.add(new Lexema(Lexema.ALTERNATIVA, "|"));
+                i++;
+            } else if (c == 'ε') {
+                lexemas.add(new Lexema(Lexema.VAZIO, "ε"));
+                i++;
+            } else {
+                int inicio = i;
+                while (i < n && !Character.isWhitespace(texto.charAt(i))) {
+                    i++;
+                }
+                lexemas.add(new Lexema(Lexema.PALAVRA, texto.substring(inicio, i)));
+            }
+        }
+
+        // Uma regra vai de "<nome> ::=" até a próxima definição
+        String atual = null;
+        for (int k = 0; k < lexemas.size(); k++) {
+            Lexema lexema = lexemas.get(k);
+            boolean definicao = lexema.tipo() == Lexema.NAO_TERMINAL
+                    && k + 1 < lexemas.size() && lexemas.get(k + 1).tipo() == Lexema.DEFINE;
+            if (definicao) {
+                atual = lexema.texto();
+                if (regras.put(atual, new ArrayList<>()) != null) {
+                    throw new IllegalArgumentException("Regra definida duas vezes: <" + atual + ">");
+                }
+                k++;
+            } else if (atual != null) {
+                regras.get(atual).add(lexema);
+            }
+        }
+    }
+
+    private static boolean nomeValido(String texto, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            char c = texto.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void lerDiretiva(String comentario) {
+        if (comentario.startsWith(DIRETIVA_EXCECAO)) {
+            String nome = comentario.substring(DIRETIVA_EXCECAO.length()).trim();
+            excecoes.add(nome.replace("<", "").replace(">", ""));
+        }
+    }
+
+    // ========================================================================
+    //                                PRODUÇÕES
+    // ========================================================================
+
+    private void montarProducoes() {
+        indice(INICIAL);
+        // A lista cresce enquanto novos não terminais são encontrados
+        for (int a = 0; a < naoTerminais.size(); a++) {
+            String nome = naoTerminais.get(a);
+            List<Lexema> corpo = regras.get(nome);
+            if (corpo == null) {
+                throw new IllegalArgumentException("Não terminal sem regra: <" + nome + ">");
+            }
+
+            List<List<Lexema>> alternativas = new ArrayList<>();
+            alternativas.add(new ArrayList<>());
+            for (Lexema lexema : corpo) {
+                if (lexema.tipo() == Lexema.ALTERNATIVA) {
+                    alternativas.add(new ArrayList<>());
+                } else {
+                    alternativas.get(alternativas.size() - 1).add(lexema);
+                }
+            }
+
+            for (int k = 0; k < alternativas.size(); k++) {
+                List<Lexema> alternativa = alternativas.get(k);
+                int[] simbolos = new int[alternativa.size()];
+                int tamanho = 0;
+                for (Lexema lexema : alternativa) {
+                    switch (lexema.tipo()) {
+                        case Lexema.VAZIO:
+                            if (alternativa.size() != 1) {
+                                throw new IllegalArgumentException("ε deve aparecer sozinho em <" + nome + ">");
+                            }
+                            break;
+                        case Lexema.TERMINAL:
+                            simbolos[tamanho++] = terminal(lexema.texto(), nome);
+                            break;
+                        case Lexema.NAO_TERMINAL:
+                            TokenType lexico = LEXICOS.get(lexema.texto());
+                            simbolos[tamanho++] = lexico != null
+                                    ? lexico.ordinal()
+                                    : TERMINAIS + indice(lexema.texto());
+                            break;
+                        default:
+                            throw new IllegalArgumentException(
+                                    "Símbolo desconhecido '" + lexema.texto() + "' em <" + nome + ">");
+                    }
+                }
+                cabecas.add(a);
+                corpos.add(Arrays.copyOf(simbolos, tamanho));
+                String constante = nome.toUpperCase();
+                nomesProducoes.add(alternativas.size() == 1 ? constante : constante + "_" + k);
+            }
+        }
+    }
+
+    private int indice(String naoTerminal) {
+        Integer indice = indices.get(naoTerminal);
+        if (indice == null) {
+            indice = naoTerminais.size();
+            indices.put(naoTerminal, indice);
+            naoTerminais.add(naoTerminal);
+        }
+        return indice;
+    }
+
+    private static int terminal(String lexema, String regra) {
+        for (TokenType tipo : TIPOS) {
+            if (tipo.isLexemaFixo() && tipo.getLexema().equals(lexema)) {
+                return tipo.ordinal();
+            }
+        }
+        throw new IllegalArgumentException("Terminal sem token correspondente: \"" + lexema + "\" em <" + regra + ">");
+    }
+
+    // ========================================================================
+    //                              FIRST / FOLLOW
+    // ========================================================================
+
+    private void calcularFirst() {
+        int quantidade = naoTerminais.size();
+        anulavel = new boolean[quantidade];
+        first = new BitSet[quantidade];
+        for (int a = 0; a < quantidade; a++) {
+            first[a] = new BitSet(TERMINAIS);
+        }
+
+        boolean mudou = true;
+        while (mudou) {
+            mudou = false;
+            for (int p = 0; p < corpos.size(); p++) {
+                int cabeca = cabecas.get(p);
+                BitSet conjunto = new BitSet(TERMINAIS);
+                boolean vazio = firstSequencia(corpos.get(p), 0, conjunto);
+
+                int antes = first[cabeca].cardinality();
+                first[cabeca].or(conjunto);
+                if (first[cabeca].cardinality() != antes || (vazio && !anulavel[cabeca])) {
+                    anulavel[cabeca] |= vazio;
+                    mudou = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Acrescenta em {@code destino} o FIRST de corpo[de..].
+     *
+     * @return true se essa sequência pode derivar ε
+     */
+    private boolean firstSequencia(int[] corpo, int de, BitSet destino) {
+        for (int i = de; i < corpo.length; i++) {
+            int simbolo = corpo[i];
+            if (simbolo < TERMINAIS) {
+                destino.set(simbolo);
+                return false;
+            }
+            destino.or(first[simbolo - TERMINAIS]);
+            if (!anulavel[simbolo - TERMINAIS]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void calcularFollow() {
+        int quantidade = naoTerminais.size();
+        follow = new BitSet[quantidade];
+        for (int a = 0; a < quantidade; a++) {
+            follow[a] = new BitSet(TERMINAIS);
+        }
+        follow[0].set(TokenType.EOF.ordinal());
+
+        boolean mudou = true;
+        while (mudou) {
+            mudou = false;
+            for (int p = 0; p < corpos.size(); p++) {
+                int[] corpo = corpos.get(p);
+                for (int i = 0; i < corpo.length; i++) {
+                    if (corpo[i] < TERMINAIS) {
+                        continue;
+                    }
+                    BitSet alvo = follow[corpo[i] - TERMINAIS];
+                    int antes = alvo.cardinality();
+                    if (firstSequencia(corpo, i + 1, alvo)) {
+                        alvo.or(follow[cabecas.get(p)]);
+                    }
+                    mudou |= alvo.cardinality() != antes;
+                }
+            }
+        }
+    }
+
+    // ========================================================================
+    //                                 TABELA
+    // ========================================================================
+
+    private void montarTabela() {
+        tabela = new short[naoTerminais.size() * TERMINAIS];
+        Arrays.fill(tabela, ERRO);
+        Set<String> usadas = new LinkedHashSet<>();
+        List<String> conflitos = new ArrayList<>();
+
+        for (int p = 0; p < corpos.size(); p++) {
+            int cabeca = cabecas.get(p);
+            BitSet preditos = new BitSet(TERMINAIS);
+            if (firstSequencia(corpos.get(p), 0, preditos)) {
+                preditos.or(follow[cabeca]);
+            }
+            for (int t = preditos.nextSetBit(0); t >= 0; t = preditos.nextSetBit(t + 1)) {
+                int celula = cabeca * TERMINAIS + t;
+                if (tabela[celula] == ERRO) {
+                    tabela[celula] = (short) p;
+                } else if (excecoes.contains(naoTerminais.get(cabeca))) {
+                    tabela[celula] = EXCECAO;
+                    usadas.add(naoTerminais.get(cabeca));
+                } else if (tabela[celula] != EXCECAO) {
+                    conflitos.add("<" + naoTerminais.get(cabeca) + "> com " + nomeTerminal(t) + ": "
+                            + nomesProducoes.get(tabela[celula]) + " x " + nomesProducoes.get(p));
+                }
+            }
+        }
+
+        if (!conflitos.isEmpty()) {
+            throw new IllegalArgumentException("A gramática não é LL(1): " + conflitos);
+        }
+        for (String excecao : excecoes) {
+            if (!usadas.contains(excecao)) {
+                throw new IllegalArgumentException("Exceção declarada sem conflito: <" + excecao + ">");
+            }
+        }
+    }
+
+    private static String nomeTerminal(int terminal) {
+        TokenType tipo = TIPOS[terminal];
+        return tipo.isLexemaFixo() ? "\"" + tipo.getLexema() + "\"" : tipo.name();
+    }
+
+    // ========================================================================
+    //                                CONSULTAS
+    // ========================================================================
+
+    public List<String> getNaoTerminais() {
+        return naoTerminais;
+    }
+
+    public List<String> getNomesProducoes() {
+        return nomesProducoes;
+    }
+
+    /**
+     * Tokens que podem começar o não terminal.
+     */
+    public Set<TokenType> first(String naoTerminal) {
+        return tipos(first[indices.get(naoTerminal)]);
+    }
+
+    /**
+     * Tokens que podem vir logo depois do não terminal.
+     */
+    public Set<TokenType> follow(String naoTerminal) {
+        return tipos(follow[indices.get(naoTerminal)]);
+    }
+
+    public boolean isAnulavel(String naoTerminal) {
+        return anulavel[indices.get(naoTerminal)];
+    }
+
+    /**
+     * Nome da produção escolhida para o não terminal diante do token;
+     * null se for erro e "EXCECAO" se a escolha depende de mais tokens.
+     */
+    public String producao(String naoTerminal, TokenType token) {
+        short p = tabela[indices.get(naoTerminal) * TERMINAIS + token.ordinal()];
+        return p == ERRO ? null : p == EXCECAO ? "EXCECAO" : nomesProducoes.get(p);
+    }
+
+    private static Set<TokenType> tipos(BitSet conjunto) {
+        Set<TokenType> tipos = new LinkedHashSet<>();
+        for (int t = conjunto.nextSetBit(0); t >= 0; t = conjunto.nextSetBit(t + 1)) {
+            tipos.add(TIPOS[t]);
+        }
+        return tipos;
+    }
+
+    // ========================================================================
+    //                                 SAÍDA
+    // ========================================================================
+
+    /**
+     * Gera o código fonte de parser.TabelaLL1.
+     */
+    public String gerarClasse() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package parser;\n\n");
+        sb.append("/**\n");
+        sb.append(" * Tabela LL(1) do Mini-Go, usada pelo {@link ParserLL1}.\n");
+        sb.append(" *\n");
+        sb.append(" * GERADA por bnf.GeradorLL1 a partir de bnf/Gramatica: não edite à mão,\n");
+        sb.append(" * altere a gramática e rode o gerador novamente.\n");
+        sb.append(" *\n");
+        sb.append(" * Símbolos: um terminal é o ordinal do seu TokenType; um não terminal é\n");
+        sb.append(" * TERMINAIS + o seu índice.\n");
+        sb.append(" */\n");
+        sb.append("final class TabelaLL1 {\n\n");
+        sb.append("    private TabelaLL1() {\n    }\n\n");
+        sb.append("    static final int TERMINAIS = ").append(TERMINAIS).append(";\n");
+        sb.append("    static final int NAO_TERMINAIS = ").append(naoTerminais.size()).append(";\n");
+        sb.append("    static final short ERRO = ").append(ERRO).append(";\n");
+        sb.append("    static final short EXCECAO = ").append(EXCECAO)
+          .append("; // Decidida pelo parser com mais tokens de lookahead\n\n");
+
+        sb.append("    // Não terminais\n");
+        for (int a = 0; a < naoTerminais.size(); a++) {
+            sb.append("    static final int NT_").append(naoTerminais.get(a).toUpperCase())
+              .append(" = ").append(a).append(";\n");
+        }
+        sb.append("\n    static final String[] NOMES = {\n");
+        for (int a = 0; a < naoTerminais.size(); a++) {
+            sb.append("        \"").append(naoTerminais.get(a)).append("\",\n");
+        }
+        sb.append("    };\n\n");
+
+        sb.append("    // Produções\n");
+        for (int p = 0; p < corpos.size(); p++) {
+            sb.append("    static final int ").append(nomesProducoes.get(p)).append(" = ").append(p)
+              .append("; // ").append(descrever(p)).append('\n');
+        }
+
+        sb.append("\n    // Corpo da produção p: CORPOS[INICIOS[p] .. INICIOS[p + 1])\n");
+        sb.append("    static final int[] INICIOS = {");
+        int total = 0;
+        for (int p = 0; p <= corpos.size(); p++) {
+            sb.append(p % 16 == 0 ? "\n        " : " ").append(total).append(',');
+            if (p < corpos.size()) {
+                total += corpos.get(p).length;
+            }
+        }
+        sb.append("\n    };\n\n");
+        sb.append("    static final short[] CORPOS = {\n");
+        for (int p = 0; p < corpos.size(); p++) {
+            int[] corpo = corpos.get(p);
+            if (corpo.length == 0) {
+                continue;
+            }
+            sb.append("       ");
+            for (int simbolo : corpo) {
+                sb.append(' ').append(simbolo).append(',');
+            }
+            sb.append(" // ").append(nomesProducoes.get(p)).append('\n');
+        }
+        sb.append("    };\n\n");
+
+        sb.append("    // TABELA[naoTerminal * TERMINAIS + ordinal do token] = produção, ERRO ou EXCECAO\n");
+        sb.append("    static final short[] TABELA = {\n");
+        for (int a = 0; a < naoTerminais.size(); a++) {
+            sb.append("        // <").append(naoTerminais.get(a)).append(">\n       ");
+            for (int t = 0; t < TERMINAIS; t++) {
+                sb.append(' ').append(tabela[a * TERMINAIS + t]).append(',');
+            }
+            sb.append('\n');
+        }
+        sb.append("    };\n\n");
+
+        sb.append("    /*\n");
+        for (int a = 0; a < naoTerminais.size(); a++) {
+            sb.append("     * <").append(naoTerminais.get(a)).append(">")
+              .append(anulavel[a] ? " (anulável)" : "").append('\n');
+            sb.append("     *     FIRST  = ").append(listar(first[a])).append('\n');
+            sb.append("     *     FOLLOW = ").append(listar(follow[a])).append('\n');
+        }
+        sb.append("     */\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String descrever(int p) {
+        StringBuilder sb = new StringBuilder("<").append(naoTerminais.get(cabecas.get(p))).append("> ::=");
+        int[] corpo = corpos.get(p);
+        if (corpo.length == 0) {
+            sb.append(" ε");
+        }
+        for (int simbolo : corpo) {
+            sb.append(' ').append(simbolo < TERMINAIS
+                    ? nomeTerminal(simbolo)
+                    : "<" + naoTerminais.get(simbolo - TERMINAIS) + ">");
+        }
+        return sb.toString();
+    }
+
+    private static String listar(BitSet conjunto) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int t = conjunto.nextSetBit(0); t >= 0; t = conjunto.nextSetBit(t + 1)) {
+            sb.append(' ').append(nomeTerminal(t).replace("*/", "* /"));
+        }
+        return sb.append(" }").toString();
+    }
+}
@@ -3,7 +3,9 @@ package codigointermediario;
 import analisadorsemantico.AnalisadorSemantico;
 import analisadorsintatico.AstPrinter;
 import analisadorsintatico.Comando;
+import diagnostico.ColetorDiagnosticos;
 import parser.Parser;
+import parser.ResultadoSintatico;
 import scanner.Scanner;
 import scanner.Token;
 
@@ -47,11 +49,15 @@ public class Programa {
         System.out.println("\n CÓDIGO FONTE:\n");
         System.out.println(codigo);
         
+        // Todas as fases reportam no mesmo coletor
+        ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos();
+        
         // Etapa 1: Scanner
         System.out.println("\n" + "-".repeat(80));
         System.out.println("ETAPA 1: ANÁLISE LÉXICA (SCANNER)");
         System.out.println("-".repeat(80));
         Scanner scanner = new Scanner(codigo);
+        scanner.setDiagnosticos(diagnosticos);
         List<Token> tokens = scanner.scanTokens();
         System.out.println(tokens.size() + " tokens identificados");
         
@@ -60,10 +66,14 @@ public class Programa {
         System.out.println("ETAPA 2: ANÁLISE SINTÁTICA (PARSER)");
         System.out.println("-".repeat(80));
         Parser parser = new Parser(tokens);
-        List<Comando> ast = parser.parsePrograma();
+        parser.setDiagnosticos(diagnosticos);
+        ResultadoSintatico resultado = parser.parseProgramaComRecuperacao();
+        List<Comando> ast = resultado.getComandos();
         
-        if (ast == null) {
+        if (!resultado.isValido()) {
+            // Todos os erros sintáticos de uma vez (modo pânico)
             System.err.println("Erro na análise sintática!");
+            diagnosticos.imprimir(System.err);
             return;
         }
         
@@ -81,6 +91,8 @@ public class Programa {
         System.out.println("ETAPA 3: ANÁLISE SEMÂNTICA");
         System.out.println("-".repeat(80));
         AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.setDiagnosticos(diagnosticos);
+        semantico.setMapaLinhas(scanner.getMapaLinhas());
         boolean valido = semantico.analisar(ast);
         
         if (!valido) {
@@ -89,6 +101,9 @@ public class Programa {
             return;
         }
         
+        // Avisos (e erros léxicos que não impediram a análise)
+        diagnosticos.imprimir(System.err);
+        
         System.out.println("Programa semanticamente correto!");
         
         // Etapa 4: Geração de Código Intermediário
@@ -96,6 +111,7 @@ public class Programa {
         System.out.println("ETAPA 4: GERAÇÃO DE CÓDIGO INTERMEDIÁRIO (TAC)");
         System.out.println("-".repeat(80));
         TACGerador tacGen = new TACGerador();
+        tacGen.setQuadro(semantico.getQuadro());
         List<TACInstrucoes> tac = tacGen.gerar(ast);
         
         System.out.println("\n" + tac.size() + " instruções TAC geradas:\n");
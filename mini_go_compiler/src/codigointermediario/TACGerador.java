@@ -1,11 +1,23 @@
 package codigointermediario;
 
+import analisadorsemantico.AnalisadorSemantico;
+import analisadorsemantico.Quadro;
 import analisadorsintatico.Comando;
+import analisadorsintatico.ComandoSelado;
+import analisadorsintatico.ConversaoSelada;
+import analisadorsintatico.DeslocamentoTrechos;
 import analisadorsintatico.Expressao;
-import scanner.Token;
+import analisadorsintatico.ExpressaoSelada;
+import analisadorsintatico.PercursoIterativo;
+import diagnostico.Diagnosticos;
+import diagnostico.Fase;
+import diagnostico.Severidade;
+import scanner.Literais;
 import scanner.TokenType;
+import scanner.Trecho;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -13,12 +25,30 @@ import java.util.List;
  * 
  * Traduz a AST para uma representação linear de instruções TAC.
  * Usa o padrão Visitor para percorrer a árvore.
+ *
+ * As variáveis saem com o nome único do seu slot no {@link Quadro}, então
+ * variáveis sombreadas em blocos aninhados nunca se confundem. O quadro
+ * vem da análise semântica do mesmo AST ({@link #setQuadro}); sem ela, a
+ * geração faz a sua própria análise só para resolver os nomes. A recursão vai até
+ * {@link PercursoIterativo#LIMITE_RECURSAO} níveis; abaixo disso a tradução
+ * segue numa pilha explícita, sem limite de profundidade.
  */
 public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Void> {
 	
 	private final List<TACInstrucoes> instrucoes;  // Lista de instruções geradas
     private int tempCount;                        // Contador de temporários
     private int rotuloCount;                       // Contador de rotulos
+    private final Geracao geracao = new Geracao(); // Percurso iterativo das subárvores fundas
+    private int profundidade;                      // Níveis de recursão em andamento
+    private boolean memorizar;                     // Reaproveitar endereços de nós compartilhados
+    private String[] enderecos = new String[64];   // Id canônico -> endereço calculado
+    private int[] geracoesEnderecos = new int[64]; // Id canônico -> geração em que foi calculado
+    private int validade = 1;                      // Endereços de gerações anteriores não valem mais
+    private Quadro quadro;                         // Quadro da análise do chamador (null: a geração analisa)
+    private Quadro vinculos;                       // Quadro que nomeia as variáveis na geração atual
+    private AnalisadorSemantico analisador;        // Análise própria, comando a comando (ver gerarComando)
+    private DeslocamentoTrechos deslocamentos;     // Correção dos trechos de nós reaproveitados (null: nenhuma)
+    private long deslocamento;                     // Correção acumulada nos comandos em andamento, no início do trecho
     
     /**
      * Construtor do gerador TAC.
@@ -37,6 +67,7 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
      */
     public List<TACInstrucoes> gerar(List<Comando> comandos) {
     	instrucoes.clear();
+        validade++;
         tempCount = 0;
         rotuloCount = 0;
         if (comandos == null) {
@@ -46,8 +77,12 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
             return instrucoes;
         }
 
+        profundidade = 0;
+        vinculos = quadro != null ? quadro : vincular(comandos);
         for(int i = 0; i < comandos.size(); i++){
             Comando comando = comandos.get(i);
+            deslocamento = 0;
+            entrar(comando);
             comando.accept(this);
         }
 
@@ -59,6 +94,68 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
         return listaNova;
     }
     
+    /**
+     * Gera código TAC para um único comando de nível superior.
+     * 
+     * Temporários e rótulos continuam a numeração dos comandos anteriores,
+     * então chamar este método comando a comando produz o mesmo código que
+     * {@link #gerar(List)} sobre o programa inteiro, sem guardar as
+     * instruções já devolvidas.
+     * 
+     * @param comando comando de nível superior
+     * @return instruções TAC deste comando
+     */
+    public List<TACInstrucoes> gerarComando(Comando comando) {
+        instrucoes.clear();
+        profundidade = 0;
+        if (quadro != null) {
+            vinculos = quadro;
+        } else {
+            if (analisador == null) {
+                analisador = novoAnalisador();
+            }
+            analisador.analisarComando(comando);
+            vinculos = analisador.getQuadro();
+        }
+        deslocamento = 0;
+        entrar(comando);
+        comando.accept(this);
+        return new ArrayList<>(instrucoes);
+    }
+    
+    /**
+     * Gera código TAC para um programa no AST selado
+     * ({@link parser.Parser#parseSelado()}): o mesmo código de
+     * {@link #gerar(List)}, com o caso de cada nó escolhido por casamento
+     * de padrões em vez de {@code accept}.
+     * 
+     * É um caminho de comparação de desempenho (ver
+     * {@code benchmark.SeladoBenchmark}). Sem {@link #setQuadro}, os nomes
+     * são resolvidos por {@link AnalisadorSemantico#analisarSelado}.
+     * 
+     * @param comandos comandos de nível superior
+     * @return lista de instruções TAC geradas
+     */
+    public List<TACInstrucoes> gerarSelado(List<ComandoSelado> comandos) {
+        instrucoes.clear();
+        validade++;
+        tempCount = 0;
+        rotuloCount = 0;
+        profundidade = 0;
+        deslocamento = 0;
+        if (quadro != null) {
+            vinculos = quadro;
+        } else {
+            AnalisadorSemantico analise = novoAnalisador();
+            analise.analisarSelado(comandos);
+            vinculos = analise.getQuadro();
+        }
+        for (ComandoSelado comando : comandos) {
+            traduzir(comando);
+        }
+        return new ArrayList<>(instrucoes);
+    }
+    
     /**
      * Gera um novo nome de temporário.
      * Ex: t0, t1, t2, ...
@@ -80,6 +177,111 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
      */
     private void emitir(TACInstrucoes intrucoe) {
     	instrucoes.add(intrucoe);
+        if (memorizar) {
+            switch (intrucoe.getOperador()) {
+                case ROTULO:      // Pode ser alcançado por outro caminho
+                case ATRIBUICAO:  // Uma variável mudou de valor
+                case LER:
+                    validade++;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+    
+    /**
+     * Liga o reaproveitamento de endereços por nó, para ASTs cujas
+     * expressões são compartilhadas (ver {@link parser.Parser#setFabrica}).
+     * 
+     * Uma subexpressão repetida reusa o temporário já calculado, enquanto
+     * ele continua válido: o código é linear (as ocorrências anteriores
+     * executaram antes) e nenhuma variável foi alterada. Qualquer rótulo,
+     * atribuição ou leitura descarta os endereços guardados.
+     */
+    public void setMemorizarExpressoes(boolean memorizar) {
+        this.memorizar = memorizar;
+        validade++;
+    }
+    
+    /**
+     * Nomeia as variáveis pelo quadro da análise semântica já feita sobre
+     * este mesmo AST, em vez de a geração analisá-lo de novo. Null volta
+     * à análise própria.
+     * 
+     * @param quadro o quadro de {@link AnalisadorSemantico#getQuadro()}
+     *        da análise deste mesmo AST
+     */
+    public void setQuadro(Quadro quadro) {
+        this.quadro = quadro;
+    }
+    
+    /**
+     * Corrige os trechos de um AST com nós reaproveitados de versões
+     * anteriores do código fonte, como na análise semântica (ver
+     * {@link AnalisadorSemantico#setDeslocamentos}): o quadro é indexado
+     * pelos trechos corrigidos. Null: os trechos dos nós valem como estão.
+     */
+    public void setDeslocamentos(DeslocamentoTrechos deslocamentos) {
+        this.deslocamentos = deslocamentos;
+        analisador = null;
+    }
+    
+    /**
+     * Quadro de uma análise feita só para resolver os nomes; os erros dela
+     * são descartados (quem compila já os recebe da sua própria análise).
+     */
+    private Quadro vincular(List<Comando> comandos) {
+        AnalisadorSemantico analise = novoAnalisador();
+        analise.analisar(comandos);
+        return analise.getQuadro();
+    }
+    
+    private AnalisadorSemantico novoAnalisador() {
+        AnalisadorSemantico analise = new AnalisadorSemantico();
+        analise.setDiagnosticos(SEM_DIAGNOSTICOS);
+        analise.setDeslocamentos(deslocamentos);
+        return analise;
+    }
+    
+    private static final Diagnosticos SEM_DIAGNOSTICOS = new Diagnosticos() {
+        @Override
+        public void reportar(Severidade severidade, Fase fase, int linha, int coluna, String mensagem) {
+        }
+        
+        @Override
+        public boolean aceita(Severidade severidade) {
+            return false;
+        }
+        
+        @Override
+        public int quantidadeErros() {
+            return 0;
+        }
+    };
+    
+    /**
+     * Nome da variável no código gerado: o nome único do slot vinculado à
+     * ocorrência, ou o do código fonte se ela não foi resolvida.
+     */
+    private String variavel(String nome, long trecho) {
+        if (deslocamento != 0 && !Trecho.isExplicito(trecho)) {
+            trecho += deslocamento;
+        }
+        int slot = vinculos != null ? vinculos.slot(trecho) : Quadro.SEM_SLOT;
+        return slot >= 0 ? vinculos.nome(slot) : nome;
+    }
+    
+    private void entrar(Comando comando) {
+        if (deslocamentos != null) {
+            deslocamento += (long) deslocamentos.deslocamento(comando) << 32;
+        }
+    }
+    
+    private void sair(Comando comando) {
+        if (deslocamentos != null) {
+            deslocamento -= (long) deslocamentos.deslocamento(comando) << 32;
+        }
     }
     
     /**
@@ -107,12 +309,58 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
     }
     
     // ======================== VISITANTES DE COMANDOS ========================
+    // Recursivos até LIMITE_RECURSAO níveis; abaixo disso a subárvore segue
+    // pelo percurso iterativo ({@link Geracao}), que produz o mesmo código.
+    
+    /**
+     * Traduz um comando filho, pela recursão ou, se ela já está funda
+     * demais, pelo percurso iterativo.
+     */
+    private void traduzir(Comando comando) {
+        if (profundidade >= PercursoIterativo.LIMITE_RECURSAO) {
+            geracao.percorrer(comando);
+            return;
+        }
+        entrar(comando);
+        profundidade++;
+        comando.accept(this);
+        profundidade--;
+        sair(comando);
+    }
+    
+    /**
+     * Traduz uma expressão filha e retorna o nome que guarda o seu valor
+     * (ver {@link #traduzir(Comando)}).
+     */
+    private String endereco(Expressao expressao) {
+        int id = memorizar ? expressao.getIdCanonico() : -1;
+        if (id >= 0 && id < enderecos.length && geracoesEnderecos[id] == validade) {
+            return enderecos[id];
+        }
+        String endereco;
+        if (profundidade >= PercursoIterativo.LIMITE_RECURSAO) {
+            endereco = geracao.percorrer(expressao);
+        } else {
+            profundidade++;
+            endereco = expressao.accept(this);
+            profundidade--;
+        }
+        if (id >= 0) {
+            if (id >= enderecos.length) {
+                enderecos = Arrays.copyOf(enderecos, Math.max(id + 1, enderecos.length * 2));
+                geracoesEnderecos = Arrays.copyOf(geracoesEnderecos, enderecos.length);
+            }
+            enderecos[id] = endereco;
+            geracoesEnderecos[id] = validade;
+        }
+        return endereco;
+    }
     
     @Override
     public Void visitBloco(Comando.Bloco bloco) {
         for(int i = 0; i < bloco.comandos.size(); i++){
             Comando comando = bloco.comandos.get(i);
-            comando.accept(this);
+            traduzir(comando);
         }
 
         return null;
@@ -121,8 +369,8 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
     @Override
     public Void visitDeclaracao(Comando.Declaracao decl) {
     	if (decl.inicializador != null){
-            String temporario = decl.inicializador.accept(this);
-            String nomeVariavel = decl.nome.getLexema();
+            String temporario = endereco(decl.inicializador);
+            String nomeVariavel = variavel(decl.nome, decl.trecho);
             TACInstrucoes instrucao = TACInstrucoes.atribuicao(nomeVariavel, temporario);
 
             emitir(instrucao);
@@ -133,8 +381,8 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
     
     @Override
     public Void visitAtribuicao(Comando.Atribuicao atrib) {
-    	String temporario = atrib.valor.accept(this);
-        String nomeVariavel = atrib.nome.getLexema();
+    	String temporario = endereco(atrib.valor);
+        String nomeVariavel = variavel(atrib.nome, atrib.trecho);
         TACInstrucoes instrucao = TACInstrucoes.atribuicao(nomeVariavel, temporario);
 
         emitir(instrucao);
@@ -156,7 +404,7 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
          * R_fim:
          */
 
-        String condicaoTemporaria = comando.condicao.accept(this);
+        String condicaoTemporaria = endereco(comando.condicao);
 
         String rotuloSeNao = novoRotulo();
         String rotuloFim = novoRotulo();
@@ -165,7 +413,7 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
 
         emitir(instrucaoSeFalso);
 
-        comando.ramoThen.accept(this);
+        traduzir(comando.ramoThen);
 
         if (comando.ramoElse != null) {
             TACInstrucoes instrucaoVaiPara = TACInstrucoes.vaiPara(rotuloFim);
@@ -174,7 +422,7 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
             TACInstrucoes instrucaoRotuloSeNao = TACInstrucoes.rotulo(rotuloSeNao);
             emitir(instrucaoRotuloSeNao);
 
-            comando.ramoElse.accept(this);
+            traduzir(comando.ramoElse);
 
             TACInstrucoes instrucaoRotuloFim = TACInstrucoes.rotulo(rotuloFim);
             emitir(instrucaoRotuloFim);
@@ -211,7 +459,7 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
          */
 
         if (comando.inicializacao != null) {
-            comando.inicializacao.accept(this);
+            traduzir(comando.inicializacao);
         }
 
         String rotuloComecar = novoRotulo();
@@ -221,15 +469,15 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
         emitir(instrucaoRotuloComecar);
 
         if(comando.condicao != null) {
-            String condicaoTemporaria = comando.condicao.accept(this);
+            String condicaoTemporaria = endereco(comando.condicao);
             TACInstrucoes instrucaoSeFalso = TACInstrucoes.seFalso(condicaoTemporaria, rotuloFim);
             emitir(instrucaoSeFalso);
         }
 
-        comando.corpo.accept(this);
+        traduzir(comando.corpo);
 
         if(comando.incremento != null){
-            comando.incremento.accept(this);
+            traduzir(comando.incremento);
         }
 
         TACInstrucoes instrucaoVaiPara = TACInstrucoes.vaiPara(rotuloComecar);
@@ -246,7 +494,7 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
     	for(int i = 0; i < comando.expressoes.size(); i++){
             Expressao expressao = comando.expressoes.get(i);
 
-            String temporario = expressao.accept(this);
+            String temporario = endereco(expressao);
             TACInstrucoes intrucaoImprimir = TACInstrucoes.imprimir(temporario);
 
             emitir(intrucaoImprimir);
@@ -258,9 +506,7 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
     @Override
     public Void visitLer(Comando.Ler comando) {
     	for(int i = 0; i < comando.variaveis.size(); i++){
-            Token var = comando.variaveis.get(i);
-
-            String nomeVariavel = var.getLexema();
+            String nomeVariavel = variavel(comando.variaveis.get(i), comando.trechos[i]);
 
             TACInstrucoes instrucaoLer = TACInstrucoes.ler(nomeVariavel);
 
@@ -276,12 +522,12 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
 
     @Override
     public String visitBinaria(Expressao.Binaria expressao) {
-    	String esquerda = expressao.esquerda.accept(this);
-        String direita = expressao.direita.accept(this);
+    	String esquerda = endereco(expressao.esquerda);
+        String direita = endereco(expressao.direita);
 
         String temporario = novoTemp();
 
-        TACInstrucoes.TACOperador tacOperador = mapOperador(expressao.operador.getTipo());
+        TACInstrucoes.TACOperador tacOperador = mapOperador(expressao.operador);
 
         emitir(TACInstrucoes.binaria(tacOperador, temporario, esquerda, direita));
 
@@ -321,11 +567,11 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
         String rotuloFalso = novoRotulo();
         String rotuloFim = novoRotulo();
 
-        if(expressao.operador.getTipo() == TokenType.E_LOGICO){
-            String esquerda = expressao.esquerda.accept(this);
+        if(expressao.operador == TokenType.E_LOGICO){
+            String esquerda = endereco(expressao.esquerda);
             emitir(TACInstrucoes.seFalso(esquerda, rotuloFalso));
 
-            String direita = expressao.direita.accept(this);
+            String direita = endereco(expressao.direita);
             emitir(TACInstrucoes.seFalso(direita, rotuloFalso));
 
             emitir(TACInstrucoes.atribuicao(resultado, "1"));
@@ -336,10 +582,10 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
 
             emitir(TACInstrucoes.rotulo(rotuloFim));
         } else {
-            String esquerda = expressao.esquerda.accept(this);
+            String esquerda = endereco(expressao.esquerda);
             emitir(TACInstrucoes.seVerdadeiro(esquerda, rotuloVerdadeiro));
 
-            String direita = expressao.direita.accept(this);
+            String direita = endereco(expressao.direita);
             emitir(TACInstrucoes.seVerdadeiro(direita, rotuloVerdadeiro));
 
             emitir(TACInstrucoes.atribuicao(resultado, "0"));
@@ -356,11 +602,11 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
     
     @Override
     public String visitUnaria(Expressao.Unaria expressao) {
-    	String operando = expressao.direita.accept(this);
+    	String operando = endereco(expressao.direita);
 
         String temporaria = novoTemp();
 
-        TACInstrucoes.TACOperador tacOperador = mapOperador(expressao.operador.getTipo());
+        TACInstrucoes.TACOperador tacOperador = mapOperador(expressao.operador);
 
         emitir(TACInstrucoes.unario(tacOperador, temporaria, operando));
 
@@ -380,14 +626,491 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
         return expressao.valor.toString();
     }
     
+    @Override
+    public String visitLiteralInteiro(Expressao.LiteralInteiro expressao) {
+        return Long.toString(expressao.valor);
+    }
+    
+    @Override
+    public String visitLiteralReal(Expressao.LiteralReal expressao) {
+        return Double.toString(expressao.valor);
+    }
+    
+    @Override
+    public String visitLiteralTexto(Expressao.LiteralTexto expressao) {
+        // Volta a escapar o valor decodificado para exibi-lo entre aspas
+        return "\"" + Literais.escapar(expressao.valor) + "\"";
+    }
+    
     @Override
     public String visitAgrupamento(Expressao.Agrupamento expressao) {
-    	return expressao.expressao.accept(this);
+    	return endereco(expressao.expressao);
     }
     
     @Override
     public String visitVariavelAcesso(Expressao.VariavelAcesso expressao) {
-    	return expressao.nome.getLexema();
+    	return variavel(expressao.nome, expressao.trecho);
+    }
+    
+    // ============================ AST SELADO ================================
+    // Os mesmos casos dos visitantes, escolhidos por 'switch' de padrões
+    // sobre as interfaces seladas (os mais frequentes primeiro); sem
+    // 'default', o compilador exige todos os casos. Abaixo do limite de
+    // recursão, a subárvore é convertida e segue pelo percurso iterativo.
+    
+    private void traduzir(ComandoSelado comando) {
+        if (profundidade >= PercursoIterativo.LIMITE_RECURSAO) {
+            geracao.percorrer(ConversaoSelada.comando(comando));
+            return;
+        }
+        profundidade++;
+        switch (comando) {
+            case ComandoSelado.Atribuicao atrib -> {
+                String temporario = endereco(atrib.valor());
+                emitir(TACInstrucoes.atribuicao(variavel(atrib.nome(), atrib.trecho()), temporario));
+            }
+            case ComandoSelado.Declaracao decl -> {
+                if (decl.inicializador() != null) {
+                    String temporario = endereco(decl.inicializador());
+                    emitir(TACInstrucoes.atribuicao(variavel(decl.nome(), decl.trecho()), temporario));
+                }
+            }
+            case ComandoSelado.Imprimir imprimir -> {
+                for (ExpressaoSelada expressao : imprimir.expressoes()) {
+                    emitir(TACInstrucoes.imprimir(endereco(expressao)));
+                }
+            }
+            case ComandoSelado.Bloco bloco -> {
+                for (ComandoSelado filho : bloco.comandos()) {
+                    traduzir(filho);
+                }
+            }
+            case ComandoSelado.Se se -> {
+                // Mesmo esquema de visitSe
+                String condicaoTemporaria = endereco(se.condicao());
+                String rotuloSeNao = novoRotulo();
+                String rotuloFim = novoRotulo();
+                emitir(TACInstrucoes.seFalso(condicaoTemporaria, rotuloSeNao));
+                traduzir(se.ramoThen());
+                if (se.ramoElse() != null) {
+                    emitir(TACInstrucoes.vaiPara(rotuloFim));
+                    emitir(TACInstrucoes.rotulo(rotuloSeNao));
+                    traduzir(se.ramoElse());
+                    emitir(TACInstrucoes.rotulo(rotuloFim));
+                } else {
+                    emitir(TACInstrucoes.rotulo(rotuloSeNao));
+                }
+            }
+            case ComandoSelado.Para para -> {
+                // Mesmo esquema de visitPara
+                if (para.inicializacao() != null) {
+                    traduzir(para.inicializacao());
+                }
+                String rotuloComecar = novoRotulo();
+                String rotuloFim = novoRotulo();
+                emitir(TACInstrucoes.rotulo(rotuloComecar));
+                if (para.condicao() != null) {
+                    emitir(TACInstrucoes.seFalso(endereco(para.condicao()), rotuloFim));
+                }
+                traduzir(para.corpo());
+                if (para.incremento() != null) {
+                    traduzir(para.incremento());
+                }
+                emitir(TACInstrucoes.vaiPara(rotuloComecar));
+                emitir(TACInstrucoes.rotulo(rotuloFim));
+            }
+            case ComandoSelado.Ler ler -> {
+                for (int i = 0; i < ler.variaveis().size(); i++) {
+                    emitir(TACInstrucoes.ler(variavel(ler.variaveis().get(i), ler.trechos()[i])));
+                }
+            }
+        }
+        profundidade--;
+    }
+    
+    private String endereco(ExpressaoSelada expressao) {
+        if (profundidade >= PercursoIterativo.LIMITE_RECURSAO) {
+            return geracao.percorrer(ConversaoSelada.expressao(expressao));
+        }
+        profundidade++;
+        String endereco = switch (expressao) {
+            case ExpressaoSelada.VariavelAcesso variavel -> variavel(variavel.nome(), variavel.trecho());
+            case ExpressaoSelada.LiteralInteiro literal -> Long.toString(literal.valor());
+            case ExpressaoSelada.Binaria binaria -> {
+                String esquerda = endereco(binaria.esquerda());
+                String direita = endereco(binaria.direita());
+                String temporario = novoTemp();
+                emitir(TACInstrucoes.binaria(mapOperador(binaria.operador()), temporario, esquerda, direita));
+                yield temporario;
+            }
+            case ExpressaoSelada.Logica logica -> enderecoLogica(logica);
+            case ExpressaoSelada.Unaria unaria -> {
+                String operando = endereco(unaria.direita());
+                String temporario = novoTemp();
+                emitir(TACInstrucoes.unario(mapOperador(unaria.operador()), temporario, operando));
+                yield temporario;
+            }
+            case ExpressaoSelada.Agrupamento agrupamento -> endereco(agrupamento.expressao());
+            case ExpressaoSelada.LiteralReal literal -> Double.toString(literal.valor());
+            case ExpressaoSelada.LiteralTexto literal -> "\"" + Literais.escapar(literal.valor()) + "\"";
+        };
+        profundidade--;
+        return endereco;
+    }
+    
+    /**
+     * Curto-circuito, no mesmo esquema de visitLogica.
+     */
+    private String enderecoLogica(ExpressaoSelada.Logica expressao) {
+        String resultado = novoTemp();
+        String rotuloVerdadeiro = novoRotulo();
+        String rotuloFalso = novoRotulo();
+        String rotuloFim = novoRotulo();
+        
+        if (expressao.operador() == TokenType.E_LOGICO) {
+            emitir(TACInstrucoes.seFalso(endereco(expressao.esquerda()), rotuloFalso));
+            emitir(TACInstrucoes.seFalso(endereco(expressao.direita()), rotuloFalso));
+            emitir(TACInstrucoes.atribuicao(resultado, "1"));
+            emitir(TACInstrucoes.vaiPara(rotuloFim));
+            emitir(TACInstrucoes.rotulo(rotuloFalso));
+            emitir(TACInstrucoes.atribuicao(resultado, "0"));
+        } else {
+            emitir(TACInstrucoes.seVerdadeiro(endereco(expressao.esquerda()), rotuloVerdadeiro));
+            emitir(TACInstrucoes.seVerdadeiro(endereco(expressao.direita()), rotuloVerdadeiro));
+            emitir(TACInstrucoes.atribuicao(resultado, "0"));
+            emitir(TACInstrucoes.vaiPara(rotuloFim));
+            emitir(TACInstrucoes.rotulo(rotuloVerdadeiro));
+            emitir(TACInstrucoes.atribuicao(resultado, "1"));
+        }
+        emitir(TACInstrucoes.rotulo(rotuloFim));
+        return resultado;
+    }
+    
+    /**
+     * A mesma tradução em etapas ({@link PercursoIterativo}), para as
+     * subárvores abaixo do limite de recursão: cada expressão produz o nome
+     * que guarda o seu valor; comandos não produzem valor. Temporários e
+     * rótulos são criados na mesma ordem da tradução recursiva.
+     */
+    private final class Geracao extends PercursoIterativo<String> {
+        
+        @Override
+        protected void entrar(Comando comando) {
+            TACGerador.this.entrar(comando);
+        }
+        
+        @Override
+        protected void sair(Comando comando) {
+            TACGerador.this.sair(comando);
+        }
+        
+        // ======================== VISITANTES DE COMANDOS ========================
+        
+        @Override
+        public Object visitBloco(Comando.Bloco bloco) {
+            if (etapa() < bloco.comandos.size()) {
+                return bloco.comandos.get(etapa());
+            }
+            return fim();
+        }
+        
+        @Override
+        public Object visitDeclaracao(Comando.Declaracao decl) {
+            if (decl.inicializador == null) {
+                return fim();
+            }
+            if (etapa() == 0) {
+                return decl.inicializador;
+            }
+            
+            String temporario = valor();
+            String nomeVariavel = variavel(decl.nome, decl.trecho);
+            TACInstrucoes instrucao = TACInstrucoes.atribuicao(nomeVariavel, temporario);
+            
+            emitir(instrucao);
+            
+            return fim();
+        }
+        
+        @Override
+        public Object visitAtribuicao(Comando.Atribuicao atrib) {
+            if (etapa() == 0) {
+                return atrib.valor;
+            }
+            
+            String temporario = valor();
+            String nomeVariavel = variavel(atrib.nome, atrib.trecho);
+            TACInstrucoes instrucao = TACInstrucoes.atribuicao(nomeVariavel, temporario);
+            
+            emitir(instrucao);
+            
+            return fim();
+        }
+        
+        @Override
+        public Object visitSe(Comando.Se comando) {
+            /*
+             * Tradução de se-então-senao (if-then-else):
+             * 
+             *     temp = <condição>
+             *     se_falso temp vai_para R_senao
+             *     <código do then>
+             *     vai_para R_fim
+             * R_senao:
+             *     <código do senao>
+             * R_fim:
+             */
+            
+            switch (etapa()) {
+                case 0:
+                    return comando.condicao;
+                case 1: {
+                    String condicaoTemporaria = valor();
+                    
+                    String rotuloSeNao = novoRotulo();
+                    String rotuloFim = novoRotulo();
+                    guardar(new String[] { rotuloSeNao, rotuloFim });
+                    
+                    emitir(TACInstrucoes.seFalso(condicaoTemporaria, rotuloSeNao));
+                    
+                    return comando.ramoThen;
+                }
+                case 2: {
+                    String[] rotulos = (String[]) guardado();
+                    if (comando.ramoElse != null) {
+                        emitir(TACInstrucoes.vaiPara(rotulos[1]));
+                        emitir(TACInstrucoes.rotulo(rotulos[0]));
+                        
+                        return comando.ramoElse;
+                    }
+                    emitir(TACInstrucoes.rotulo(rotulos[0]));
+                    return fim();
+                }
+                default: {
+                    String[] rotulos = (String[]) guardado();
+                    emitir(TACInstrucoes.rotulo(rotulos[1]));
+                    return fim();
+                }
+            }
+        }
+        
+        @Override
+        public Object visitPara(Comando.Para comando) {
+            /*
+             * Tradução de Para clássico:
+             * 
+             *     <inicialização>
+             * R_começar:
+             *     temp = <condição>
+             *     se_false temp vai_para R_fim
+             *     <corpo>
+             *     <incremento>
+             *     vai_para R_começar
+             * R_fim:
+             * 
+             * Tradução de Para estilo while:
+             * 
+             * R_começar:
+             *     temp = <condição>
+             *     se_false temp vai_para R_fim
+             *     <corpo>
+             *     vai_para R_começar
+             * L_end:
+             */
+            
+            switch (etapa()) {
+                case 0:
+                    return comando.inicializacao;
+                case 1: {
+                    String rotuloComecar = novoRotulo();
+                    String rotuloFim = novoRotulo();
+                    guardar(new String[] { rotuloComecar, rotuloFim });
+                    
+                    emitir(TACInstrucoes.rotulo(rotuloComecar));
+                    
+                    return comando.condicao;
+                }
+                case 2:
+                    if (comando.condicao != null) {
+                        String condicaoTemporaria = valor();
+                        String[] rotulos = (String[]) guardado();
+                        emitir(TACInstrucoes.seFalso(condicaoTemporaria, rotulos[1]));
+                    }
+                    return comando.corpo;
+                case 3:
+                    return comando.incremento;
+                default: {
+                    String[] rotulos = (String[]) guardado();
+                    emitir(TACInstrucoes.vaiPara(rotulos[0]));
+                    emitir(TACInstrucoes.rotulo(rotulos[1]));
+                    return fim();
+                }
+            }
+        }
+        
+        @Override
+        public Object visitImprimir(Comando.Imprimir comando) {
+            // Cada expressão já avaliada é impressa antes de avaliar a próxima
+            if (etapa() > 0) {
+                emitir(TACInstrucoes.imprimir(valor()));
+            }
+            if (etapa() < comando.expressoes.size()) {
+                return comando.expressoes.get(etapa());
+            }
+            return fim();
+        }
+        
+        @Override
+        public Object visitLer(Comando.Ler comando) {
+            TACGerador.this.visitLer(comando); // Sem filhos
+            return fim();
+        }
+        
+        // ======================== VISITANTES DE EXPRESSAO ========================
+        
+        @Override
+        public Object visitBinaria(Expressao.Binaria expressao) {
+            switch (etapa()) {
+                case 0: return expressao.esquerda;
+                case 1: return expressao.direita;
+                default:
+                    String direita = valor();
+                    String esquerda = valor();
+                    
+                    String temporario = novoTemp();
+                    
+                    TACInstrucoes.TACOperador tacOperador = mapOperador(expressao.operador);
+                    
+                    emitir(TACInstrucoes.binaria(tacOperador, temporario, esquerda, direita));
+                    
+                    return fim(temporario);
+            }
+        }
+        
+        @Override
+        public Object visitLogica(Expressao.Logica expressao) {
+            /*
+             * Operadores lógicos com avaliação em curto-circuito:
+             * 
+             * Para E (&&):
+             *     temp1 = <esquerda>
+             *     se_falso temp1 vai_para R_falso
+             *     temp2 = <direita>
+             *     se_falso temp2 vai_para R_falso
+             *     result = 1
+             *     vai_para R_falso
+             * R_falso:
+             *     result = 0
+             * R_fim:
+             * 
+             * Para OU (||):
+             *     temp1 = <esquerda>
+             *     se_falso temp1 vai_para R_verdade
+             *     temp2 = <direita>
+             *     se_falso temp2 vai_para R_verdade
+             *     result = 0
+             *     vai_para R_fim
+             * R_verdade:
+             *     result = 1
+             * R_fim:
+             */
+            
+            boolean e = expressao.operador == TokenType.E_LOGICO;
+            switch (etapa()) {
+                case 0: {
+                    // resultado, R_verdade, R_falso, R_fim
+                    String resultado = novoTemp();
+                    String rotuloVerdadeiro = novoRotulo();
+                    String rotuloFalso = novoRotulo();
+                    String rotuloFim = novoRotulo();
+                    guardar(new String[] { resultado, rotuloVerdadeiro, rotuloFalso, rotuloFim });
+                    
+                    return expressao.esquerda;
+                }
+                case 1: {
+                    String[] r = (String[]) guardado();
+                    String esquerda = valor();
+                    emitir(e ? TACInstrucoes.seFalso(esquerda, r[2])
+                             : TACInstrucoes.seVerdadeiro(esquerda, r[1]));
+                    
+                    return expressao.direita;
+                }
+                default: {
+                    String[] r = (String[]) guardado();
+                    String direita = valor();
+                    if (e) {
+                        emitir(TACInstrucoes.seFalso(direita, r[2]));
+                        
+                        emitir(TACInstrucoes.atribuicao(r[0], "1"));
+                        emitir(TACInstrucoes.vaiPara(r[3]));
+                        
+                        emitir(TACInstrucoes.rotulo(r[2]));
+                        emitir(TACInstrucoes.atribuicao(r[0], "0"));
+                    } else {
+                        emitir(TACInstrucoes.seVerdadeiro(direita, r[1]));
+                        
+                        emitir(TACInstrucoes.atribuicao(r[0], "0"));
+                        emitir(TACInstrucoes.vaiPara(r[3]));
+                        
+                        emitir(TACInstrucoes.rotulo(r[1]));
+                        emitir(TACInstrucoes.atribuicao(r[0], "1"));
+                    }
+                    emitir(TACInstrucoes.rotulo(r[3]));
+                    
+                    return fim(r[0]);
+                }
+            }
+        }
+        
+        @Override
+        public Object visitUnaria(Expressao.Unaria expressao) {
+            if (etapa() == 0) {
+                return expressao.direita;
+            }
+            
+            String operando = valor();
+            
+            String temporaria = novoTemp();
+            
+            TACInstrucoes.TACOperador tacOperador = mapOperador(expressao.operador);
+            
+            emitir(TACInstrucoes.unario(tacOperador, temporaria, operando));
+            
+            return fim(temporaria);
+        }
+        
+        @Override
+        public Object visitLiteral(Expressao.Literal expressao) {
+            return fim(TACGerador.this.visitLiteral(expressao));
+        }
+        
+        @Override
+        public Object visitLiteralInteiro(Expressao.LiteralInteiro expressao) {
+            return fim(TACGerador.this.visitLiteralInteiro(expressao));
+        }
+        
+        @Override
+        public Object visitLiteralReal(Expressao.LiteralReal expressao) {
+            return fim(TACGerador.this.visitLiteralReal(expressao));
+        }
+        
+        @Override
+        public Object visitLiteralTexto(Expressao.LiteralTexto expressao) {
+            return fim(TACGerador.this.visitLiteralTexto(expressao));
+        }
+        
+        @Override
+        public Object visitAgrupamento(Expressao.Agrupamento expressao) {
+            if (etapa() == 0) {
+                return expressao.expressao;
+            }
+            return fim(valor());
+        }
+        
+        @Override
+        public Object visitVariavelAcesso(Expressao.VariavelAcesso expressao) {
+            return fim(TACGerador.this.visitVariavelAcesso(expressao));
+        }
     }
     
     // =========================== MÉTODOS AUXILIARES =========================
@@ -420,6 +1143,8 @@ public class TACGerador implements Expressao.Visitor<String>, Comando.Visitor<Vo
      */
     public void reset() {
     	instrucoes.clear();
+        analisador = null;
+        validade++;
         tempCount = 0;
         rotuloCount = 0;
     }
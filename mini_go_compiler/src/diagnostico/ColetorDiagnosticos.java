@@ -0,0 +1,166 @@
+package diagnostico;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Implementação de {@link Diagnosticos} que apenas acumula os diagnósticos.
+ *
+ * Pensada para compilações em lote: sem sincronização (uma instância por
+ * compilação) e sem um objeto por diagnóstico, que ficam em arrays
+ * paralelos. Oferece:
+ * - filtro por severidade mínima
+ * - descarte de diagnósticos repetidos na mesma posição (linha e coluna)
+ * - limite de erros, ao fim do qual lança {@link LimiteErrosAtingido}
+ */
+public final class ColetorDiagnosticos implements Diagnosticos {
+
+    public static final int SEM_LIMITE = Integer.MAX_VALUE;
+
+    private static final Severidade[] SEVERIDADES = Severidade.values();
+    private static final Fase[] FASES = Fase.values();
+    private static final int CAPACIDADE_INICIAL = 8;
+
+    private final Severidade minima;
+    private final int limiteErros;
+
+    private byte[] severidades = new byte[CAPACIDADE_INICIAL];
+    private byte[] fases = new byte[CAPACIDADE_INICIAL];
+    private int[] linhas = new int[CAPACIDADE_INICIAL];
+    private int[] colunas = new int[CAPACIDADE_INICIAL];
+    private String[] mensagens = new String[CAPACIDADE_INICIAL];
+    private int tamanho;
+    private int erros;
+
+    // Posições já reportadas (endereçamento aberto; 0 = vazio)
+    private long[] posicoes = new long[16];
+    private int posicoesOcupadas;
+
+    /**
+     * Coletor sem filtro e sem limite de erros.
+     */
+    public ColetorDiagnosticos() {
+        this(Severidade.INFO, SEM_LIMITE);
+    }
+
+    /**
+     * @param minima severidade mínima registrada (as menores são descartadas)
+     * @param limiteErros quantidade de erros que interrompe a fase
+     */
+    public ColetorDiagnosticos(Severidade minima, int limiteErros) {
+        this.minima = minima;
+        this.limiteErros = limiteErros;
+    }
+
+    @Override
+    public boolean aceita(Severidade severidade) {
+        return severidade.compareTo(minima) >= 0;
+    }
+
+    @Override
+    public void reportar(Severidade severidade, Fase fase, int linha, int coluna, String mensagem) {
+        if (!aceita(severidade)) {
+            return;
+        }
+        // Posição desconhecida (0) nunca é considerada repetida
+        if (linha > 0 && !marcarPosicao(((long) linha << 32) | (coluna & 0xFFFFFFFFL))) {
+            return;
+        }
+
+        if (tamanho == mensagens.length) {
+            int novaCapacidade = tamanho * 2;
+            severidades = Arrays.copyOf(severidades, novaCapacidade);
+            fases = Arrays.copyOf(fases, novaCapacidade);
+            linhas = Arrays.copyOf(linhas, novaCapacidade);
+            colunas = Arrays.copyOf(colunas, novaCapacidade);
+            mensagens = Arrays.copyOf(mensagens, novaCapacidade);
+        }
+        severidades[tamanho] = (byte) severidade.ordinal();
+        fases[tamanho] = (byte) fase.ordinal();
+        linhas[tamanho] = linha;
+        colunas[tamanho] = coluna;
+        mensagens[tamanho] = mensagem;
+        tamanho++;
+
+        if (severidade == Severidade.ERRO && ++erros >= limiteErros) {
+            throw LimiteErrosAtingido.INSTANCIA;
+        }
+    }
+
+    /**
+     * @return false se a posição já tinha sido reportada
+     */
+    private boolean marcarPosicao(long chave) {
+        if (2 * (posicoesOcupadas + 1) > posicoes.length) {
+            long[] antigas = posicoes;
+            posicoes = new long[antigas.length * 2];
+            posicoesOcupadas = 0;
+            for (long antiga : antigas) {
+                if (antiga != 0) {
+                    marcarPosicao(antiga);
+                }
+            }
+        }
+        int mascara = posicoes.length - 1;
+        int i = Long.hashCode(chave * 0x9E3779B97F4A7C15L) & mascara;
+        while (posicoes[i] != 0) {
+            if (posicoes[i] == chave) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        posicoes[i] = chave;
+        posicoesOcupadas++;
+        return true;
+    }
+
+    @Override
+    public int quantidadeErros() {
+        return erros;
+    }
+
+    /**
+     * Quantidade de diagnósticos registrados.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public Severidade getSeveridade(int indice) {
+        return SEVERIDADES[severidades[indice]];
+    }
+
+    public Fase getFase(int indice) {
+        return FASES[fases[indice]];
+    }
+
+    public int getLinha(int indice) {
+        return linhas[indice];
+    }
+
+    public int getColuna(int indice) {
+        return colunas[indice];
+    }
+
+    public String getMensagem(int indice) {
+        return mensagens[indice];
+    }
+
+    /**
+     * Formato: [Linha 3, Coluna 5] Erro léxico: Caractere inesperado: '@'
+     */
+    public String formatar(int indice) {
+        return String.format("[Linha %d, Coluna %d] %s %s: %s",
+                linhas[indice], colunas[indice], getSeveridade(indice).getDescricao(),
+                getFase(indice).getAdjetivo(), mensagens[indice]);
+    }
+
+    /**
+     * Escreve todos os diagnósticos, na ordem em que foram reportados.
+     */
+    public void imprimir(PrintStream saida) {
+        for (int i = 0; i < tamanho; i++) {
+            saida.println(formatar(i));
+        }
+    }
+}
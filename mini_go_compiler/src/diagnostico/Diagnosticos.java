@@ -0,0 +1,38 @@
+package diagnostico;
+
+/**
+ * Destino dos erros e avisos emitidos pelas fases do compilador
+ * (Scanner, Parser e Analisador Semântico).
+ *
+ * Nenhuma fase escreve diretamente em {@code System.err}: todas reportam
+ * aqui, e quem conduz a compilação decide o que fazer com os diagnósticos
+ * (ver {@link ColetorDiagnosticos}). Uma implementação pode lançar
+ * {@link LimiteErrosAtingido} para interromper a fase atual.
+ */
+public interface Diagnosticos {
+
+    /**
+     * Reporta um diagnóstico.
+     *
+     * @param severidade gravidade
+     * @param fase fase que o emitiu
+     * @param linha linha no código fonte (0 se desconhecida)
+     * @param coluna coluna no código fonte (0 se desconhecida)
+     * @param mensagem texto do diagnóstico
+     * @throws LimiteErrosAtingido se o limite de erros configurado foi atingido
+     */
+    void reportar(Severidade severidade, Fase fase, int linha, int coluna, String mensagem);
+
+    /**
+     * Indica se diagnósticos desta severidade são registrados. Permite que a
+     * fase nem monte a mensagem de um aviso que seria descartado.
+     */
+    default boolean aceita(Severidade severidade) {
+        return true;
+    }
+
+    /**
+     * Quantidade de erros registrados até agora.
+     */
+    int quantidadeErros();
+}
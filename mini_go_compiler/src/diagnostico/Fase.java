@@ -0,0 +1,20 @@
+package diagnostico;
+
+/**
+ * Fase do compilador que emitiu um diagnóstico.
+ */
+public enum Fase {
+    LEXICA("léxico"),
+    SINTATICA("sintático"),
+    SEMANTICA("semântico");
+
+    private final String adjetivo;
+
+    Fase(String adjetivo) {
+        this.adjetivo = adjetivo;
+    }
+
+    public String getAdjetivo() {
+        return adjetivo;
+    }
+}
@@ -0,0 +1,19 @@
+package diagnostico;
+
+/**
+ * Lançada por {@link Diagnosticos#reportar} quando o limite de erros é
+ * atingido, para que a fase em andamento desista de uma entrada sem
+ * salvação. Cada fase a captura no seu ponto de entrada.
+ *
+ * Não guarda pilha: é usada como controle de fluxo e a instância é única.
+ */
+public final class LimiteErrosAtingido extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final LimiteErrosAtingido INSTANCIA = new LimiteErrosAtingido();
+
+    private LimiteErrosAtingido() {
+        super("Limite de erros atingido", null, false, false);
+    }
+}
@@ -0,0 +1,20 @@
+package diagnostico;
+
+/**
+ * Gravidade de um diagnóstico, da menor para a maior.
+ */
+public enum Severidade {
+    INFO("Info"),
+    AVISO("Aviso"),
+    ERRO("Erro");
+
+    private final String descricao;
+
+    Severidade(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
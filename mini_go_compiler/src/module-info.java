@@ -6,4 +6,5 @@
  */
 module mini_go_compiler {
 	requires org.junit.jupiter.api;
+	requires static jdk.incubator.vector;
 }
\ No newline at end of file
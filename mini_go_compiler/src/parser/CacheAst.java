@@ -0,0 +1,182 @@
+package parser;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import analisadorsintatico.Comando;
+import analisadorsintatico.EscritorAst;
+import analisadorsintatico.LeitorAst;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.Fase;
+import diagnostico.Severidade;
+import scanner.Scanner;
+
+/**
+ * Cache em disco do AST de cada código fonte, para compilações em lote que
+ * reanalisam muitos arquivos que não mudaram.
+ *
+ * A chave é o SHA-256 do código fonte: cada AST fica num arquivo
+ * {@code <hash>.ast} no diretório do cache, no formato de
+ * {@link EscritorAst}. Num acerto o arquivo é mapeado em memória e lido
+ * por {@link LeitorAst}, sem passar por Scanner nem Parser; as posições
+ * dos nós continuam relativas ao código fonte (resolvidas pelo
+ * {@link scanner.MapaLinhas} dele na análise semântica), então os passes
+ * seguintes dão os mesmos resultados (e os mesmos diagnósticos) de um
+ * AST recém-analisado.
+ *
+ * Só entram no cache programas que o Scanner e o Parser aceitaram sem
+ * reportar nenhum diagnóstico, já que num acerto eles não seriam
+ * reportados de novo. Arquivos ilegíveis, corrompidos (o CRC32 do formato
+ * não confere) ou de outra versão do formato contam como falta e são
+ * regravados; falhas ao gravar são ignoradas (o
+ * cache só acelera, nunca muda o resultado).
+ */
+public class CacheAst {
+
+    private final Path diretorio;
+    private int acertos;
+    private int faltas;
+
+    /**
+     * @param diretorio diretório dos arquivos do cache (criado se não existir)
+     */
+    public CacheAst(Path diretorio) {
+        this.diretorio = diretorio;
+    }
+
+    /**
+     * Retorna o AST do código fonte, do cache ou analisando-o.
+     *
+     * @param fonte código fonte completo
+     * @return comandos de nível superior, ou null se houve erro (como em
+     *         {@link Parser#parsePrograma()})
+     */
+    public List<Comando> analisar(String fonte) {
+        return analisar(fonte, new ColetorDiagnosticos());
+    }
+
+    /**
+     * Retorna o AST do código fonte, do cache ou analisando-o.
+     *
+     * @param fonte código fonte completo
+     * @param diagnosticos destino dos diagnósticos do Scanner e do Parser numa falta
+     * @return comandos de nível superior, ou null se houve erro (como em
+     *         {@link Parser#parsePrograma()})
+     */
+    public List<Comando> analisar(String fonte, Diagnosticos diagnosticos) {
+        Path arquivo = diretorio.resolve(chave(fonte) + ".ast");
+
+        List<Comando> comandos = carregar(arquivo);
+        if (comandos != null) {
+            acertos++;
+            return comandos;
+        }
+        faltas++;
+
+        ContadorDiagnosticos contador = new ContadorDiagnosticos(diagnosticos);
+        Scanner scanner = new Scanner(fonte);
+        scanner.setDiagnosticos(contador);
+        Parser parser = new Parser(scanner.scanTokenBuffer());
+        parser.setDiagnosticos(contador);
+        comandos = parser.parsePrograma();
+
+        if (comandos != null && contador.quantidade == 0) {
+            gravar(arquivo, comandos);
+        }
+        return comandos;
+    }
+
+    /** Análises respondidas pelo cache. */
+    public int getAcertos() {
+        return acertos;
+    }
+
+    /** Análises que passaram pelo Scanner e pelo Parser. */
+    public int getFaltas() {
+        return faltas;
+    }
+
+    /**
+     * Chave do código fonte no cache: o SHA-256 do seu texto em UTF-8, em
+     * hexadecimal.
+     */
+    public static String chave(String fonte) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(fonte.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e); // Obrigatório em toda JVM
+        }
+    }
+
+    /**
+     * Lê o AST do arquivo mapeado em memória, ou retorna null se ele não
+     * existe ou não é legível.
+     */
+    private static List<Comando> carregar(Path arquivo) {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return LeitorAst.ler(bytes);
+        } catch (IOException | IllegalArgumentException e) {
+            return null; // Ausente, truncado ou de outra versão: analisa de novo e regrava
+        }
+    }
+
+    /**
+     * Grava o AST num arquivo temporário e o renomeia, para que outra
+     * compilação nunca mapeie um arquivo pela metade.
+     */
+    private void gravar(Path arquivo, List<Comando> comandos) {
+        try {
+            byte[] bytes = EscritorAst.serializar(comandos);
+            Files.createDirectories(diretorio);
+            Path temporario = Files.createTempFile(diretorio, "ast", ".tmp");
+            try {
+                Files.write(temporario, bytes);
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporario);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Sem cache para este fonte; a análise já terminou
+        }
+    }
+
+    /** Repassa os diagnósticos, contando quantos foram reportados. */
+    private static final class ContadorDiagnosticos implements Diagnosticos {
+
+        private final Diagnosticos destino;
+        private int quantidade;
+
+        ContadorDiagnosticos(Diagnosticos destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public void reportar(Severidade severidade, Fase fase, int linha, int coluna, String mensagem) {
+            quantidade++;
+            destino.reportar(severidade, fase, linha, coluna, mensagem);
+        }
+
+        @Override
+        public boolean aceita(Severidade severidade) {
+            return true; // Mesmo os descartados pelo destino impedem o cache
+        }
+
+        @Override
+        public int quantidadeErros() {
+            return destino.quantidadeErros();
+        }
+    }
+}
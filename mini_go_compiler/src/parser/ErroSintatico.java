@@ -0,0 +1,43 @@
+package parser;
+
+import scanner.Token;
+
+/**
+ * Representa um erro sintático encontrado durante a análise.
+ * Armazena o token onde o erro foi detectado e a mensagem.
+ */
+public class ErroSintatico {
+    private final Token token;
+    private final String mensagem;
+    
+    /**
+     * Construtor do ErroSintatico.
+     */
+    public ErroSintatico(Token token, String mensagem) {
+        this.token = token;
+        this.mensagem = mensagem;
+    }
+    
+    // Getters
+    
+    public Token getToken() {
+        return token;
+    }
+    
+    public String getMensagem() {
+        return mensagem;
+    }
+    
+    /**
+     * Retorna mensagem formatada para exibição.
+     */
+    public String getMensagemFormatada() {
+        return String.format("[Linha %d, Coluna %d] Erro Sintático em '%s': %s",
+                           token.getLinha(), token.getColuna(), token.getLexema(), mensagem);
+    }
+    
+    @Override
+    public String toString() {
+        return getMensagemFormatada();
+    }
+}
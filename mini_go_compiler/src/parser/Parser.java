@@ -1,18 +1,56 @@
 package parser;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import analisadorsintatico.ArenaAst;
 import analisadorsintatico.Comando;
+import analisadorsintatico.ComandoSelado;
+import analisadorsintatico.ConstrutorAst;
+import analisadorsintatico.ConstrutorSelado;
 import analisadorsintatico.Expressao;
+import analisadorsintatico.FabricaExpressoes;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.Fase;
+import diagnostico.LimiteErrosAtingido;
+import diagnostico.Severidade;
+import scanner.FonteTokens;
 import scanner.Token;
+import scanner.TokenBuffer;
 import scanner.TokenType;
 
 public class Parser {
-    private final List<Token> tokens;
+    private final FonteTokens tokens;
     private int current = 0;
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos(); // Destino dos erros sintáticos
+    private List<ErroSintatico> erros = new ArrayList<>();        // Erros da análise atual
+    private boolean recuperar;                                     // Continuar após erros (modo pânico)
+    private Map<Comando, int[]> trechos;                           // Nó -> {início, fim} em tokens (null: não registra)
+    private final List<Aberto> abertos = new ArrayList<>();        // Construções à espera do corpo (ver parseComando)
+    private ConstrutorAst construtor;                              // Destino dos nós (null: objetos Comando/Expressao)
+    private FabricaExpressoes fabrica;                             // Expressões compartilhadas (null: uma por ocorrência)
+
+    // Com um construtor, os nós vão para ele e o Parser só repassa marcadores no lugar dos objetos
+    private static final Expressao MARCADOR_EXPRESSAO = new Expressao.LiteralInteiro(0);
+    private static final Comando MARCADOR_COMANDO = new Comando.Bloco(List.of());
 
     public Parser(List<Token> tokens) {
+        this(FonteTokens.deLista(tokens));
+    }
+
+    /**
+     * Consome diretamente o buffer compacto do Scanner; os objetos Token
+     * só são materializados quando entram no AST ou em uma mensagem de erro.
+     */
+    public Parser(TokenBuffer tokens) {
+        this((FonteTokens) tokens);
+    }
+
+    public Parser(FonteTokens tokens) {
         this.tokens = tokens;
     }
 
@@ -26,6 +64,8 @@ public class Parser {
      */
     public List<Comando> parsePrograma() {
         List<Comando> comandos = new ArrayList<>();
+        erros = new ArrayList<>();
+        recuperar = false;
 
         while (!isAtEnd()) {
             try {
@@ -33,7 +73,7 @@ public class Parser {
                 if (cmd != null) {
                     comandos.add(cmd);
                 }
-            } catch (ParseError e) {
+            } catch (ParseError | LimiteErrosAtingido e) {
                 // Em um compilador real, sincronizaríamos aqui para continuar parseando
                 // Por enquanto, paramos no primeiro erro.
                 return null;
@@ -43,30 +83,294 @@ public class Parser {
         return comandos;
     }
 
+    /**
+     * Analisa o programa entregando cada comando de nível superior ao
+     * consumidor assim que ele termina, sem montar a lista do programa.
+     *
+     * Com uma fonte sob demanda ({@link scanner.JanelaTokens}), análise
+     * léxica, sintática e as fases seguintes andam juntas: o comando 1 já
+     * pode ser analisado e traduzido enquanto o comando 1000 nem foi lido,
+     * e a memória fica limitada ao maior comando de nível superior.
+     *
+     * @param consumidor recebe cada comando, na ordem
+     * @return true se não houve erro (a análise para no primeiro, como em parsePrograma)
+     */
+    public boolean parsePrograma(Consumer<Comando> consumidor) {
+        erros = new ArrayList<>();
+        recuperar = false;
+
+        while (!isAtEnd()) {
+            try {
+                consumidor.accept(parseComando());
+            } catch (ParseError | LimiteErrosAtingido e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Analisa o programa entregando os nós ao construtor, em pós-ordem,
+     * em vez de criar objetos {@link Comando} e {@link Expressao}. Os
+     * tokens são passados pelo índice: o construtor precisa de uma fonte
+     * com acesso aleatório (lista ou {@link TokenBuffer}).
+     *
+     * @param construtor destino dos nós
+     * @return true se não houve erro (a análise para no primeiro, como em parsePrograma)
+     */
+    public boolean parsePrograma(ConstrutorAst construtor) {
+        this.construtor = construtor;
+        try {
+            return parsePrograma(comando -> { });
+        } finally {
+            this.construtor = null;
+        }
+    }
+
+    /**
+     * Analisa o programa para uma {@link ArenaAst}: os nós ficam em arrays
+     * de primitivos, sem um objeto por nó.
+     *
+     * @return a arena, ou null se houve erro sintático
+     */
+    public ArenaAst parseArena() {
+        // Com o buffer do Scanner, o tamanho é conhecido: há menos nós que tokens (pontuação não vira nó)
+        ArenaAst arena = tokens instanceof TokenBuffer
+                ? new ArenaAst(tokens, ((TokenBuffer) tokens).tamanho() * 3 / 4)
+                : new ArenaAst(tokens);
+        if (!parsePrograma(arena)) {
+            return null;
+        }
+        arena.compactar();
+        return arena;
+    }
+
+    /**
+     * Analisa o programa para o AST selado ({@link ComandoSelado}), que os
+     * passes percorrem por casamento de padrões em vez de visitors.
+     *
+     * @return os comandos de nível superior, ou null se houve erro sintático
+     */
+    public List<ComandoSelado> parseSelado() {
+        ConstrutorSelado construtorSelado = new ConstrutorSelado(tokens);
+        if (!parsePrograma(construtorSelado)) {
+            return null;
+        }
+        return construtorSelado.getComandos();
+    }
+
+    /**
+     * Analisa o programa inteiro sem parar no primeiro erro (modo pânico).
+     *
+     * Cada erro é registrado e o comando onde ocorreu é descartado; a
+     * análise descarta tokens até um ponto seguro (ver {@link #sincronizar()})
+     * e continua, de modo que uma única execução reporta todos os erros.
+     *
+     * @return comandos analisados (AST parcial, se houver erros) e erros
+     */
+    public ResultadoSintatico parseProgramaComRecuperacao() {
+        List<Comando> comandos = new ArrayList<>();
+        erros = new ArrayList<>();
+        recuperar = true;
+
+        try {
+            while (!isAtEnd()) {
+                Comando cmd = parseComandoRecuperando();
+                if (cmd != null) {
+                    comandos.add(cmd);
+                }
+            }
+        } catch (LimiteErrosAtingido e) {
+            // Erros demais: devolve o que já foi analisado
+        }
+
+        return new ResultadoSintatico(comandos, erros);
+    }
+
+    /**
+     * Analisa um comando; num erro, sincroniza e retorna null.
+     */
+    private Comando parseComandoRecuperando() {
+        int inicio = current;
+        try {
+            return parseComando();
+        } catch (ParseError e) {
+            sincronizar();
+            if (current == inicio) {
+                current++; // Garante progresso (ex: '}' sem '{' correspondente)
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Descarta tokens até um ponto onde um novo comando pode começar:
+     * logo após um ';', antes de um '}' (que fecha o bloco atual) ou antes
+     * de uma palavra que inicia comando.
+     */
+    private void sincronizar() {
+        while (!isAtEnd()) {
+            switch (tokens.tipo(current)) {
+                case PONTO_VIRGULA:
+                    current++;
+                    return;
+                case FECHA_CHAVE:
+                case VAR:
+                case SE:
+                case PARA:
+                case IMPRIMIR:
+                case LER:
+                    return;
+                default:
+                    current++;
+            }
+        }
+    }
+
     // ========================================================================
     //                                COMANDOS
     // ========================================================================
 
     /**
      * <comando> ::= <comando_simples> ";" | <comando_se> | <comando_para> | <bloco>
+     *
+     * Sem recursão: blocos, 'se' e 'para' à espera do corpo ficam numa
+     * pilha explícita de construções abertas ({@link Aberto}), então a
+     * profundidade de aninhamento só é limitada pelo heap. Cada comando
+     * completo é entregue à construção do topo, que pode se completar
+     * também (ex: o '}' de um bloco completa o 'se' que o esperava).
      */
     private Comando parseComando() {
+        int base = abertos.size();
+        int escopo = marcaEscopo();
+        try {
+            return comando(base);
+        } catch (ParseError e) {
+            restaurarEscopo(escopo); // Declarações do comando descartado
+            throw e;
+        } finally {
+            // Num erro que sai daqui, as construções abertas são descartadas
+            while (abertos.size() > base) {
+                abertos.remove(abertos.size() - 1);
+            }
+        }
+    }
+
+    private static final int INICIAR = 0;   // Começar um comando no token atual
+    private static final int CONTINUAR = 1; // Topo é um bloco: próximo comando ou '}'
+    private static final int ENTREGAR = 2;  // Há um comando completo para o topo
+
+    private Comando comando(int base) {
+        int estado = INICIAR;
+        Comando cmd = null;
+        while (true) {
+            try {
+                switch (estado) {
+                    case INICIAR:
+                        cmd = abrirComando();
+                        estado = cmd == null ? CONTINUAR : ENTREGAR;
+                        break;
+
+                    case CONTINUAR: {
+                        Aberto bloco = abertos.get(abertos.size() - 1);
+                        if (!check(TokenType.FECHA_CHAVE) && !isAtEnd()) {
+                            bloco.inicioComando = current;
+                            bloco.escopoComando = marcaEscopo();
+                            estado = INICIAR;
+                            break;
+                        }
+                        consumir(TokenType.FECHA_CHAVE, "Esperado '}' para fechar o bloco.");
+                        abertos.remove(abertos.size() - 1);
+                        restaurarEscopo(bloco.escopo);
+                        cmd = bloco(bloco.comandos);
+                        registrarTrecho(cmd, bloco.inicio);
+                        estado = ENTREGAR;
+                        break;
+                    }
+
+                    default: {
+                        if (abertos.size() == base) {
+                            return cmd;
+                        }
+                        Aberto topo = abertos.get(abertos.size() - 1);
+                        if (topo.tipo == Aberto.BLOCO) {
+                            topo.comandos.add(cmd);
+                            registrarTrecho(cmd, topo.inicioComando);
+                            estado = CONTINUAR;
+                        } else if (topo.tipo == Aberto.SE && topo.ramoThen == null && check(TokenType.SENAO)) {
+                            topo.ramoThen = cmd;
+                            advance();
+                            if (!check(TokenType.ABRE_CHAVE)) {
+                                throw error(peek(), "Esperado '{' após 'senao'.");
+                            }
+                            abrirBloco();
+                            estado = CONTINUAR;
+                        } else {
+                            abertos.remove(abertos.size() - 1);
+                            if (topo.tipo == Aberto.PARA) {
+                                restaurarEscopo(topo.escopo);
+                                cmd = para(topo.inicializacao, topo.condicao, topo.incremento, cmd);
+                            } else if (topo.ramoThen == null) {
+                                cmd = se(topo.condicao, cmd, null);
+                            } else {
+                                cmd = se(topo.condicao, topo.ramoThen, cmd);
+                            }
+                        }
+                        break;
+                    }
+                }
+            } catch (ParseError e) {
+                if (!recuperar) {
+                    throw e;
+                }
+                // Um erro ao fechar o bloco pertence ao comando que contém o bloco
+                if (estado == CONTINUAR) {
+                    abertos.remove(abertos.size() - 1);
+                }
+                while (abertos.size() > base && abertos.get(abertos.size() - 1).tipo != Aberto.BLOCO) {
+                    abertos.remove(abertos.size() - 1);
+                }
+                if (abertos.size() == base) {
+                    throw e;
+                }
+                // Um erro descarta só o comando, não o bloco inteiro
+                Aberto bloco = abertos.get(abertos.size() - 1);
+                restaurarEscopo(bloco.escopoComando);
+                sincronizar();
+                if (current == bloco.inicioComando) {
+                    current++; // Garante progresso (ex: '}' sem '{' correspondente)
+                }
+                estado = CONTINUAR;
+            }
+        }
+    }
+
+    /**
+     * Começa o comando do token atual.
+     *
+     * @return o comando, se ele já terminou; null se abriu um bloco (e, antes
+     *         dele, talvez um 'se' ou 'para') que agora está no topo da pilha
+     */
+    private Comando abrirComando() {
         // 1. Bloco
         if (check(TokenType.ABRE_CHAVE)) {
-            return parseBloco();
+            abrirBloco();
+            return null;
         }
 
         // 2. Comandos de Controle de Fluxo (sem ponto e vírgula final)
         if (check(TokenType.SE)) {
-            return parseSe();
+            abrirSe();
+            return null;
         }
         if (check(TokenType.PARA)) {
-            return parsePara();
+            abrirPara();
+            return null;
         }
 
         // 3. Comandos Simples (exigem ponto e vírgula)
         Comando cmd = parseComandoSimples();
-        consume(TokenType.PONTO_VIRGULA, "Esperado ';' após o comando.");
+        consumir(TokenType.PONTO_VIRGULA, "Esperado ';' após o comando.");
         return cmd;
     }
 
@@ -91,65 +395,60 @@ public class Parser {
     }
 
     // <bloco> ::= "{" <lista_comandos> "}"
-    private Comando parseBloco() {
-        consume(TokenType.ABRE_CHAVE, "Esperado '{' para iniciar o bloco.");
-        List<Comando> comandos = new ArrayList<>();
-
-        while (!check(TokenType.FECHA_CHAVE) && !isAtEnd()) {
-            comandos.add(parseComando());
-        }
-
-        consume(TokenType.FECHA_CHAVE, "Esperado '}' para fechar o bloco.");
-        return new Comando.Bloco(comandos);
+    private void abrirBloco() {
+        int inicio = current;
+        consumir(TokenType.ABRE_CHAVE, "Esperado '{' para iniciar o bloco.");
+        abertos.add(Aberto.bloco(inicio, marcaEscopo()));
     }
 
     // <declaracao> ::= "var" <id> <tipo> ( "=" <expr> )?
     private Comando parseDeclaracao() {
-        consume(TokenType.VAR, null);
-        Token nome = consume(TokenType.IDENTIFICADOR, "Esperado nome da variável.");
+        consumir(TokenType.VAR, null);
+        int nome = consumir(TokenType.IDENTIFICADOR, "Esperado nome da variável.");
+        Token tokenNome = materializar(nome);
+        if (fabrica != null) {
+            fabrica.declarar(tokenNome); // Antes do inicializador, como na análise semântica
+        }
 
         // Validar tipo (inteiro, real, texto)
         if (!check(TokenType.INTEIRO) && !check(TokenType.REAL) && !check(TokenType.TEXTO)) {
             throw error(peek(), "Tipo da variável esperado (inteiro, real, texto).");
         }
-        Token tipo = advance(); // Consome o tipo
+        int tipo = current++; // Consome o tipo
+        Token tokenTipo = materializar(tipo);
 
         Expressao inicializador = null;
         if (match(TokenType.ATRIBUICAO)) {
             inicializador = parseExpressao();
         }
 
-        return new Comando.Declaracao(nome, tipo, inicializador);
+        if (construtor != null) {
+            construtor.declaracao(nome, tipo, inicializador != null);
+            return MARCADOR_COMANDO;
+        }
+        return new Comando.Declaracao(tokenNome, tokenTipo, inicializador);
     }
 
     // <atribuicao> ::= <id> "=" <expr>
     private Comando parseAtribuicao() {
-        Token nome = consume(TokenType.IDENTIFICADOR, "Esperado identificador.");
-        consume(TokenType.ATRIBUICAO, "Esperado '=' após identificador.");
+        int nome = consumir(TokenType.IDENTIFICADOR, "Esperado identificador.");
+        Token tokenNome = materializar(nome);
+        consumir(TokenType.ATRIBUICAO, "Esperado '=' após identificador.");
         Expressao valor = parseExpressao();
-        return new Comando.Atribuicao(nome, valor);
+        return atribuicao(nome, tokenNome, valor);
     }
 
     // <comando_se> ::= "se" <expressao> <bloco> ("senao" <bloco>)?
-    private Comando parseSe() {
-        consume(TokenType.SE, null);
+    private void abrirSe() {
+        consumir(TokenType.SE, null);
         Expressao condicao = parseExpressao(); // A gramática não obriga parênteses, mas suporta se a expressão tiver
 
         // Verifica se vem um bloco
         if (!check(TokenType.ABRE_CHAVE)) {
             throw error(peek(), "Esperado '{' após condição do 'se'.");
         }
-        Comando thenBranch = parseBloco();
-
-        Comando elseBranch = null;
-        if (match(TokenType.SENAO)) {
-            if (!check(TokenType.ABRE_CHAVE)) {
-                throw error(peek(), "Esperado '{' após 'senao'.");
-            }
-            elseBranch = parseBloco();
-        }
-
-        return new Comando.Se(condicao, thenBranch, elseBranch);
+        abertos.add(Aberto.se(condicao));
+        abrirBloco();
     }
 
     /**
@@ -157,8 +456,9 @@ public class Parser {
      * 1. While-style: para <expressao> <bloco>
      * 2. Classic:     para <init>; <cond>; <inc> <bloco>
      */
-    private Comando parsePara() {
-        consume(TokenType.PARA, null);
+    private void abrirPara() {
+        int escopo = marcaEscopo(); // O laço todo é um escopo (a inicialização declara nele)
+        consumir(TokenType.PARA, null);
 
         // Estratégia: Verificar o que vem a seguir para decidir o tipo de For.
         // Se for 'var' ou ';' ou (ID seguido de '='), é o estilo Clássico.
@@ -170,7 +470,7 @@ public class Parser {
             isClassico = true;
         } else if (check(TokenType.IDENTIFICADOR)) {
             // Lookahead para ver se é atribuição (id = ...)
-            if (peekNext().getTipo() == TokenType.ATRIBUICAO) {
+            if (peekNextTipo() == TokenType.ATRIBUICAO) {
                 isClassico = true;
             }
         }
@@ -186,41 +486,38 @@ public class Parser {
                     inicializacao = parseAtribuicao();
                 }
             }
-            consume(TokenType.PONTO_VIRGULA, "Esperado ';' após inicialização do para.");
+            consumir(TokenType.PONTO_VIRGULA, "Esperado ';' após inicialização do para.");
 
             Expressao condicao = null;
             if (!check(TokenType.PONTO_VIRGULA)) {
                 condicao = parseExpressao();
             }
-            consume(TokenType.PONTO_VIRGULA, "Esperado ';' após condição do para.");
+            consumir(TokenType.PONTO_VIRGULA, "Esperado ';' após condição do para.");
 
             Comando incremento = null;
             if (!check(TokenType.ABRE_CHAVE)) {
                 // Em vez de parseAtribuicao(), vamos fazer um mini-parser de atribuição sem ";"
-                Token nomeAtrib = consume(TokenType.IDENTIFICADOR, "Esperado identificador no incremento.");
-                consume(TokenType.ATRIBUICAO, "Esperado '=' no incremento.");
+                int nomeAtrib = consumir(TokenType.IDENTIFICADOR, "Esperado identificador no incremento.");
+                Token tokenNomeAtrib = materializar(nomeAtrib);
+                consumir(TokenType.ATRIBUICAO, "Esperado '=' no incremento.");
                 Expressao valorAtrib = parseExpressao();
-                incremento = new Comando.Atribuicao(nomeAtrib, valorAtrib);
+                incremento = atribuicao(nomeAtrib, tokenNomeAtrib, valorAtrib);
             }
 
-            Comando corpo = parseBloco();
-
-            return new Comando.Para(inicializacao, condicao, incremento, corpo);
+            abertos.add(Aberto.para(inicializacao, condicao, incremento, escopo));
 
         } else {
-            // Estilo While: para condicao { }
+            // Estilo While: para condicao { }, com init e inc nulos
             Expressao condicao = parseExpressao();
-            Comando corpo = parseBloco();
-
-            // Retorna um Para com init e inc nulos
-            return new Comando.Para(null, condicao, null, corpo);
+            abertos.add(Aberto.para(null, condicao, null, escopo));
         }
+        abrirBloco(); // O corpo
     }
 
     // <comando_imprimir> ::= "imprimir" "(" <lista_expr> ")"
     private Comando parseImprimir() {
-        consume(TokenType.IMPRIMIR, null);
-        consume(TokenType.ABRE_PARENTESE, "Esperado '(' após imprimir.");
+        consumir(TokenType.IMPRIMIR, null);
+        consumir(TokenType.ABRE_PARENTESE, "Esperado '(' após imprimir.");
 
         List<Expressao> args = new ArrayList<>();
         if (!check(TokenType.FECHA_PARENTESE)) {
@@ -229,130 +526,382 @@ public class Parser {
             } while (match(TokenType.VIRGULA));
         }
 
-        consume(TokenType.FECHA_PARENTESE, "Esperado ')' após argumentos.");
+        consumir(TokenType.FECHA_PARENTESE, "Esperado ')' após argumentos.");
+        if (construtor != null) {
+            construtor.imprimir(args.size());
+            return MARCADOR_COMANDO;
+        }
         return new Comando.Imprimir(args);
     }
 
     // <comando_ler> ::= "ler" "(" <lista_ids> ")"
     private Comando parseLer() {
-        consume(TokenType.LER, null);
-        consume(TokenType.ABRE_PARENTESE, "Esperado '(' após ler.");
+        consumir(TokenType.LER, null);
+        consumir(TokenType.ABRE_PARENTESE, "Esperado '(' após ler.");
 
         List<Token> vars = new ArrayList<>();
+        int[] indices = new int[4]; // Para o construtor
+        int quantidade = 0;
         if (!check(TokenType.FECHA_PARENTESE)) {
             do {
-                vars.add(consume(TokenType.IDENTIFICADOR, "Esperado identificador no ler."));
+                int variavel = consumir(TokenType.IDENTIFICADOR, "Esperado identificador no ler.");
+                if (construtor == null) {
+                    vars.add(tokens.token(variavel));
+                } else {
+                    if (quantidade == indices.length) {
+                        indices = Arrays.copyOf(indices, quantidade * 2);
+                    }
+                    indices[quantidade++] = variavel;
+                }
             } while (match(TokenType.VIRGULA));
         }
 
-        consume(TokenType.FECHA_PARENTESE, "Esperado ')' após variáveis.");
+        consumir(TokenType.FECHA_PARENTESE, "Esperado ')' após variáveis.");
+        if (construtor != null) {
+            construtor.ler(Arrays.copyOf(indices, quantidade));
+            return MARCADOR_COMANDO;
+        }
         return new Comando.Ler(vars);
     }
 
+    // Nós criados em mais de um ponto: objeto, ou evento no construtor
+
+    private Comando bloco(List<Comando> comandos) {
+        if (construtor != null) {
+            construtor.bloco(comandos.size());
+            return MARCADOR_COMANDO;
+        }
+        return new Comando.Bloco(comandos);
+    }
+
+    private Comando se(Expressao condicao, Comando ramoThen, Comando ramoElse) {
+        if (construtor != null) {
+            construtor.se(ramoElse != null);
+            return MARCADOR_COMANDO;
+        }
+        return new Comando.Se(condicao, ramoThen, ramoElse);
+    }
+
+    private Comando para(Comando inicializacao, Expressao condicao, Comando incremento, Comando corpo) {
+        if (construtor != null) {
+            construtor.para(inicializacao != null, condicao != null, incremento != null);
+            return MARCADOR_COMANDO;
+        }
+        return new Comando.Para(inicializacao, condicao, incremento, corpo);
+    }
+
+    private Comando atribuicao(int nome, Token tokenNome, Expressao valor) {
+        if (construtor != null) {
+            construtor.atribuicao(nome);
+            return MARCADOR_COMANDO;
+        }
+        return new Comando.Atribuicao(tokenNome, valor);
+    }
+
     // ========================================================================
-    //                                EXPRESSÕES
+    //                          ANÁLISE INCREMENTAL
     // ========================================================================
-    // (Lógica idêntica ao passo anterior, apenas repetida para completude)
 
-    public Expressao parseExpressao() {
-        return ouLogico();
+    /**
+     * Faz o Parser registrar, na tabela de identidade, o trecho de tokens
+     * [início, fim) de cada bloco e de cada comando dentro de um bloco.
+     * Usado pelo {@link ParserIncremental}.
+     */
+    void setTrechos(Map<Comando, int[]> trechos) {
+        this.trechos = trechos;
     }
 
-    public Expressao ouLogico() {
-        Expressao expr = eLogico();
-        while (match(TokenType.OU_LOGICO)) {
-            Token op = previous();
-            Expressao right = eLogico();
-            expr = new Expressao.Logica(expr, op, right);
+    private void registrarTrecho(Comando comando, int inicio) {
+        if (trechos != null) {
+            trechos.put(comando, new int[] { inicio, current });
         }
-        return expr;
     }
 
-    public Expressao eLogico() {
-        Expressao expr = igualdade();
-        while (match(TokenType.E_LOGICO)) {
-            Token op = previous();
-            Expressao right = igualdade();
-            expr = new Expressao.Logica(expr, op, right);
+    /**
+     * Analisa um comando a partir do token indicado.
+     *
+     * @return o comando, ou null se houve erro sintático
+     */
+    Comando parseComandoEm(int inicio) {
+        current = inicio;
+        try {
+            return parseComando();
+        } catch (ParseError e) {
+            return null;
         }
-        return expr;
     }
 
-    public Expressao igualdade() {
-        Expressao expr = relacional();
-        while (match(TokenType.DIFERENTE, TokenType.IGUAL_IGUAL)) {
-            Token op = previous();
-            Expressao right = relacional();
-            expr = new Expressao.Binaria(expr, op, right);
+    /**
+     * Analisa um bloco a partir do token indicado.
+     *
+     * @return o bloco, ou null se houve erro sintático
+     */
+    Comando parseBlocoEm(int inicio) {
+        current = inicio;
+        try {
+            if (!check(TokenType.ABRE_CHAVE)) {
+                throw error(peek(), "Esperado '{' para iniciar o bloco.");
+            }
+            return parseComando();
+        } catch (ParseError e) {
+            return null;
         }
-        return expr;
     }
 
-    public Expressao relacional() {
-        Expressao expr = adicao();
-        while (match(TokenType.MAIOR, TokenType.MAIOR_IGUAL, TokenType.MENOR, TokenType.MENOR_IGUAL)) {
-            Token op = previous();
-            Expressao right = adicao();
-            expr = new Expressao.Binaria(expr, op, right);
-        }
-        return expr;
+    /** Índice do próximo token a ser consumido. */
+    int getPosicao() {
+        return current;
+    }
+
+    List<ErroSintatico> getErros() {
+        return erros;
+    }
+
+    // ========================================================================
+    //                                EXPRESSÕES
+    // ========================================================================
+
+    // Precedência dos operadores binários, da menor para a maior
+    private static final int PREC_OU = 1;
+    private static final int PREC_E = 2;
+    private static final int PREC_IGUALDADE = 3;
+    private static final int PREC_RELACIONAL = 4;
+    private static final int PREC_ADICAO = 5;
+    private static final int PREC_MULTIPLICACAO = 6;
+
+    // Precedência indexada por TokenType.ordinal() (0 = não é operador binário)
+    private static final byte[] PRECEDENCIA = new byte[TokenType.values().length];
+
+    static {
+        PRECEDENCIA[TokenType.OU_LOGICO.ordinal()] = PREC_OU;
+        PRECEDENCIA[TokenType.E_LOGICO.ordinal()] = PREC_E;
+        PRECEDENCIA[TokenType.IGUAL_IGUAL.ordinal()] = PREC_IGUALDADE;
+        PRECEDENCIA[TokenType.DIFERENTE.ordinal()] = PREC_IGUALDADE;
+        PRECEDENCIA[TokenType.MAIOR.ordinal()] = PREC_RELACIONAL;
+        PRECEDENCIA[TokenType.MAIOR_IGUAL.ordinal()] = PREC_RELACIONAL;
+        PRECEDENCIA[TokenType.MENOR.ordinal()] = PREC_RELACIONAL;
+        PRECEDENCIA[TokenType.MENOR_IGUAL.ordinal()] = PREC_RELACIONAL;
+        PRECEDENCIA[TokenType.MAIS.ordinal()] = PREC_ADICAO;
+        PRECEDENCIA[TokenType.MENOS.ordinal()] = PREC_ADICAO;
+        PRECEDENCIA[TokenType.MULTIPLICACAO.ordinal()] = PREC_MULTIPLICACAO;
+        PRECEDENCIA[TokenType.DIVISAO.ordinal()] = PREC_MULTIPLICACAO;
     }
 
-    public Expressao adicao() {
-        Expressao expr = multiplicacao();
-        while (match(TokenType.MENOS, TokenType.MAIS)) {
-            Token op = previous();
-            Expressao right = multiplicacao();
-            expr = new Expressao.Binaria(expr, op, right);
+    // Marcas na pilha de operadores além das precedências binárias
+    private static final byte MARCA_PARENTESE = 0; // '(' ainda aberto
+    private static final byte MARCA_UNARIO = 7;    // '!' ou '-' prefixo (mais forte que qualquer binário)
+
+    // Pilhas do shunting-yard, reaproveitadas entre expressões
+    private Expressao[] operandos = new Expressao[16];
+    private int quantidadeOperandos;
+    private Token[] operadores = new Token[16];     // Com objetos: o token do operador
+    private int[] indicesOperadores = new int[16];  // Com construtor: o índice do token
+    private byte[] precedencias = new byte[16];
+    private int quantidadeOperadores;
+
+    /**
+     * <expressao> ::= <ou_logico>
+     *
+     * Analisada por shunting-yard sobre a tabela PRECEDENCIA, com pilhas
+     * explícitas de operandos e operadores: parênteses, unários e cadeias
+     * de operadores não consomem a pilha de chamadas, então a profundidade
+     * só é limitada pelo heap. Produz as mesmas árvores que a cascata
+     * ouLogico → ... → unario de descida recursiva (a referência fica em
+     * {@code benchmark.CascataExpressoes}).
+     */
+    public Expressao parseExpressao() {
+        int baseOperandos = quantidadeOperandos;
+        int baseOperadores = quantidadeOperadores;
+        int parenteses = 0; // '(' abertos nesta expressão
+        try {
+            while (true) {
+                // Prefixos até o operando: unários e '('
+                TokenType tipo = tokens.tipo(current);
+                while (tipo == TokenType.NEGACAO || tipo == TokenType.MENOS || tipo == TokenType.ABRE_PARENTESE) {
+                    if (tipo == TokenType.ABRE_PARENTESE) {
+                        empilharOperador(-1, MARCA_PARENTESE);
+                        parenteses++;
+                        current++;
+                    } else {
+                        empilharOperador(current++, MARCA_UNARIO);
+                    }
+                    tipo = tokens.tipo(current);
+                }
+                empilharOperando(operando(tipo));
+
+                // Depois do operando: unários pendentes, ')' e o próximo operador binário
+                while (true) {
+                    while (quantidadeOperadores > baseOperadores
+                            && precedencias[quantidadeOperadores - 1] == MARCA_UNARIO) {
+                        quantidadeOperadores--;
+                        operandos[quantidadeOperandos - 1] = unaria(quantidadeOperadores, operandos[quantidadeOperandos - 1]);
+                    }
+                    tipo = tokens.tipo(current);
+                    int precedencia = PRECEDENCIA[tipo.ordinal()];
+                    if (precedencia > 0) {
+                        // Todos associam à esquerda: reduz os de precedência maior ou igual
+                        reduzir(baseOperadores, precedencia);
+                        empilharOperador(current++, (byte) precedencia);
+                        break;
+                    }
+                    if (tipo == TokenType.FECHA_PARENTESE && parenteses > 0) {
+                        reduzir(baseOperadores, PREC_OU);
+                        quantidadeOperadores--; // A marca do '('
+                        parenteses--;
+                        current++;
+                        operandos[quantidadeOperandos - 1] = agrupamento(operandos[quantidadeOperandos - 1]);
+                        continue;
+                    }
+                    if (parenteses > 0) {
+                        throw error(peek(), "Esperado ')' após expressão.");
+                    }
+                    reduzir(baseOperadores, PREC_OU);
+                    return operandos[--quantidadeOperandos];
+                }
+            }
+        } finally {
+            // Num erro, descarta o que sobrou desta expressão
+            quantidadeOperandos = baseOperandos;
+            quantidadeOperadores = baseOperadores;
         }
-        return expr;
     }
 
-    public Expressao multiplicacao() {
-        Expressao expr = unario();
-        while (match(TokenType.DIVISAO, TokenType.MULTIPLICACAO)) {
-            Token op = previous();
-            Expressao right = unario();
-            expr = new Expressao.Binaria(expr, op, right);
+    /**
+     * Operando simples (literal ou variável) no token atual.
+     */
+    private Expressao operando(TokenType tipo) {
+        if (construtor != null) {
+            operandoConstrutor(tipo);
+            return MARCADOR_EXPRESSAO;
+        }
+        if (fabrica != null) {
+            return operandoCompartilhado(tipo);
+        }
+        // Um único switch sobre o tipo; os valores dos literais já vêm decodificados do Scanner
+        switch (tipo) {
+            case LITERAL_INTEIRO:
+                return new Expressao.LiteralInteiro(tokens.token(current++).getValorInteiro());
+            case LITERAL_REAL:
+                return new Expressao.LiteralReal(tokens.token(current++).getValorReal());
+            case LITERAL_TEXTO:
+                return new Expressao.LiteralTexto(tokens.token(current++).getValorTexto());
+            case IDENTIFICADOR:
+                return new Expressao.VariavelAcesso(tokens.token(current++));
+            default:
+                throw error(peek(), "Expressão esperada.");
         }
-        return expr;
     }
 
-    public Expressao unario() {
-        if (match(TokenType.NEGACAO, TokenType.MENOS)) {
-            Token op = previous();
-            Expressao right = unario();
-            return new Expressao.Unaria(op, right);
+    private Expressao operandoCompartilhado(TokenType tipo) {
+        switch (tipo) {
+            case LITERAL_INTEIRO:
+                return fabrica.literalInteiro(tokens.token(current++).getValorInteiro());
+            case LITERAL_REAL:
+                return fabrica.literalReal(tokens.token(current++).getValorReal());
+            case LITERAL_TEXTO:
+                return fabrica.literalTexto(tokens.token(current++).getValorTexto());
+            case IDENTIFICADOR:
+                return fabrica.variavelAcesso(tokens.token(current++));
+            default:
+                throw error(peek(), "Expressão esperada.");
         }
-        return primario();
     }
 
-    public Expressao primario() {
-        if (match(TokenType.LITERAL_INTEIRO)) {
-            return new Expressao.Literal(Integer.parseInt(previous().getLexema()));
+    private void operandoConstrutor(TokenType tipo) {
+        switch (tipo) {
+            case LITERAL_INTEIRO:
+                construtor.literalInteiro(tokens.token(current++).getValorInteiro());
+                break;
+            case LITERAL_REAL:
+                construtor.literalReal(tokens.token(current++).getValorReal());
+                break;
+            case LITERAL_TEXTO:
+                construtor.literalTexto(tokens.token(current++).getValorTexto());
+                break;
+            case IDENTIFICADOR:
+                construtor.variavelAcesso(current++);
+                break;
+            default:
+                throw error(peek(), "Expressão esperada.");
         }
-        if (match(TokenType.LITERAL_REAL)) {
-            return new Expressao.Literal(Double.parseDouble(previous().getLexema()));
+    }
+
+    /**
+     * Combina os operadores binários do topo com precedência maior ou igual
+     * à mínima (para na marca de um '(' ou de outra expressão).
+     */
+    private void reduzir(int baseOperadores, int precedenciaMinima) {
+        while (quantidadeOperadores > baseOperadores) {
+            int precedencia = precedencias[quantidadeOperadores - 1];
+            if (precedencia < precedenciaMinima || precedencia == MARCA_UNARIO) {
+                return;
+            }
+            quantidadeOperadores--;
+            Expressao direita = operandos[--quantidadeOperandos];
+            Expressao esquerda = operandos[quantidadeOperandos - 1];
+            operandos[quantidadeOperandos - 1] = binaria(esquerda, quantidadeOperadores, precedencia <= PREC_E, direita);
         }
-        if (match(TokenType.LITERAL_TEXTO)) {
-            String str = previous().getLexema();
-            // Remove aspas: "texto" -> texto
-            // Se o seu scanner já manda com aspas, é bom remover aqui:
-            if (str.startsWith("\"") && str.endsWith("\"")) {
-                str = str.substring(1, str.length() - 1);
+    }
+
+    // 'operador' é a posição do operador na pilha, recém-desempilhado
+
+    private Expressao binaria(Expressao esquerda, int operador, boolean logica, Expressao direita) {
+        if (construtor != null) {
+            if (logica) {
+                construtor.logica(indicesOperadores[operador]);
+            } else {
+                construtor.binaria(indicesOperadores[operador]);
             }
-            return new Expressao.Literal(str);
+            return MARCADOR_EXPRESSAO;
+        }
+        Token op = operadores[operador];
+        if (fabrica != null) {
+            return logica ? fabrica.logica(esquerda, op, direita) : fabrica.binaria(esquerda, op, direita);
+        }
+        return logica ? new Expressao.Logica(esquerda, op, direita) : new Expressao.Binaria(esquerda, op, direita);
+    }
+
+    private Expressao unaria(int operador, Expressao direita) {
+        if (construtor != null) {
+            construtor.unaria(indicesOperadores[operador]);
+            return MARCADOR_EXPRESSAO;
+        }
+        if (fabrica != null) {
+            return fabrica.unaria(operadores[operador], direita);
+        }
+        return new Expressao.Unaria(operadores[operador], direita);
+    }
+
+    private Expressao agrupamento(Expressao expressao) {
+        if (construtor != null) {
+            construtor.agrupamento();
+            return MARCADOR_EXPRESSAO;
         }
-        if (match(TokenType.IDENTIFICADOR)) {
-            return new Expressao.VariavelAcesso(previous());
+        if (fabrica != null) {
+            return fabrica.agrupamento(expressao);
         }
-        if (match(TokenType.ABRE_PARENTESE)) {
-            Expressao expr = parseExpressao();
-            consume(TokenType.FECHA_PARENTESE, "Esperado ')' após expressão.");
-            return new Expressao.Agrupamento(expr);
+        return new Expressao.Agrupamento(expressao);
+    }
+
+    private void empilharOperando(Expressao expressao) {
+        if (quantidadeOperandos == operandos.length) {
+            operandos = Arrays.copyOf(operandos, operandos.length * 2);
         }
+        operandos[quantidadeOperandos++] = expressao;
+    }
 
-        throw error(peek(), "Expressão esperada.");
+    private void empilharOperador(int operador, byte precedencia) {
+        if (quantidadeOperadores == operadores.length) {
+            operadores = Arrays.copyOf(operadores, operadores.length * 2);
+            indicesOperadores = Arrays.copyOf(indicesOperadores, indicesOperadores.length * 2);
+            precedencias = Arrays.copyOf(precedencias, precedencias.length * 2);
+        }
+        if (construtor == null) {
+            operadores[quantidadeOperadores] = operador >= 0 ? tokens.token(operador) : null;
+        } else {
+            indicesOperadores[quantidadeOperadores] = operador;
+        }
+        precedencias[quantidadeOperadores++] = precedencia;
     }
 
     // ========================================================================
@@ -362,21 +911,27 @@ public class Parser {
     private boolean match(TokenType... types) {
         for (TokenType type : types) {
             if (check(type)) {
-                advance();
+                current++;
                 return true;
             }
         }
         return false;
     }
 
-    private Token consume(TokenType type, String message) {
-        if (check(type)) return advance();
+    // Com objetos, o token é lido na hora, enquanto a fonte ainda o tem (ver JanelaTokens); com construtor, null
+    private Token materializar(int indice) {
+        return construtor == null ? tokens.token(indice) : null;
+    }
+
+    // Consome o token esperado e devolve o índice dele, sem materializá-lo
+    private int consumir(TokenType type, String message) {
+        if (check(type)) return current++;
         throw error(peek(), message);
     }
 
     private boolean check(TokenType type) {
         if (isAtEnd()) return false;
-        return peek().getTipo() == type;
+        return tokens.tipo(current) == type;
     }
 
     private Token advance() {
@@ -385,29 +940,121 @@ public class Parser {
     }
 
     private boolean isAtEnd() {
-        return peek().getTipo() == TokenType.EOF;
+        return tokens.tipo(current) == TokenType.EOF;
     }
 
     private Token peek() {
-        return tokens.get(current);
+        return tokens.token(current);
     }
 
-    // Lookahead + 1 (Espiar o próximo do próximo)
-    private Token peekNext() {
-        if (current + 1 >= tokens.size()) return tokens.get(tokens.size() - 1); // Return EOF safe
-        return tokens.get(current + 1);
+    // Lookahead + 1 (Espiar o próximo do próximo); a fonte devolve EOF além do fim
+    private TokenType peekNextTipo() {
+        return tokens.tipo(current + 1);
     }
 
     private Token previous() {
-        return tokens.get(current - 1);
+        return tokens.token(current - 1);
     }
 
     private ParseError error(Token token, String message) {
-        System.err.println("[Linha " + token.getLinha() + ", Coluna " + token.getColuna() + "] Erro em '" + token.getLexema() + "': " + message);
-        return new ParseError();
+        erros.add(new ErroSintatico(token, message));
+        diagnosticos.reportar(Severidade.ERRO, Fase.SINTATICA, token.getLinha(), token.getColuna(),
+                "Erro em '" + token.getLexema() + "': " + message);
+        return ParseError.INSTANCIA;
+    }
+
+    /** Marca dos escopos da fábrica (0 sem fábrica). */
+    private int marcaEscopo() {
+        return fabrica != null ? fabrica.marcaEscopo() : 0;
+    }
+
+    private void restaurarEscopo(int marca) {
+        if (fabrica != null) {
+            fabrica.restaurarEscopo(marca);
+        }
     }
 
+    /**
+     * Faz as expressões serem criadas pela fábrica, que compartilha as
+     * subárvores iguais (null volta a criar uma árvore por ocorrência).
+     * Não afeta a análise para um {@link ConstrutorAst}.
+     */
+    public void setFabrica(FabricaExpressoes fabrica) {
+        this.fabrica = fabrica;
+    }
+
+    /**
+     * Define onde os erros sintáticos são reportados.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+
+    /**
+     * Construção de comando aberta: um bloco ainda sem '}', ou um 'se'/'para'
+     * cujo bloco (o do topo da pilha acima dele) ainda não terminou.
+     */
+    private static final class Aberto {
+        static final int BLOCO = 0;
+        static final int SE = 1;
+        static final int PARA = 2;
+
+        final int tipo;
+        int inicio;                 // Bloco: índice do '{'
+        int inicioComando;          // Bloco: início do comando sendo analisado dentro dele
+        int escopo;                 // Bloco/Para: marca dos escopos da fábrica ao abrir
+        int escopoComando;          // Bloco: marca dos escopos da fábrica no início do comando
+        List<Comando> comandos;     // Bloco: comandos já completos
+        Expressao condicao;         // Se/Para
+        Comando ramoThen;           // Se: preenchido quando o primeiro bloco termina
+        Comando inicializacao;      // Para
+        Comando incremento;         // Para
+
+        private Aberto(int tipo) {
+            this.tipo = tipo;
+        }
+
+        static Aberto bloco(int inicio, int escopo) {
+            Aberto aberto = new Aberto(BLOCO);
+            aberto.inicio = inicio;
+            aberto.inicioComando = inicio;
+            aberto.escopo = escopo;
+            aberto.escopoComando = escopo;
+            aberto.comandos = new ArrayList<>();
+            return aberto;
+        }
+
+        static Aberto se(Expressao condicao) {
+            Aberto aberto = new Aberto(SE);
+            aberto.condicao = condicao;
+            return aberto;
+        }
+
+        static Aberto para(Comando inicializacao, Expressao condicao, Comando incremento, int escopo) {
+            Aberto aberto = new Aberto(PARA);
+            aberto.escopo = escopo;
+            aberto.inicializacao = inicializacao;
+            aberto.condicao = condicao;
+            aberto.incremento = incremento;
+            return aberto;
+        }
+    }
+
+    /**
+     * Sinaliza um erro já registrado. Sem pilha e com instância única: em
+     * entradas com muitos erros, nada é gasto em fillInStackTrace.
+     */
     private static class ParseError extends RuntimeException {
     	private static final long serialVersionUID = 1L;
+    	
+    	static final ParseError INSTANCIA = new ParseError();
+    	
+    	private ParseError() {
+    	    super(null, null, false, false);
+    	}
     }
 }
\ No newline at end of file
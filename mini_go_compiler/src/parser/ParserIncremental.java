@@ -0,0 +1,439 @@
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import analisadorsintatico.Comando;
+import analisadorsintatico.DeslocamentoTrechos;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.LimiteErrosAtingido;
+import scanner.AlteracaoTokens;
+import scanner.ScannerIncremental;
+import scanner.TokenBuffer;
+
+/**
+ * Analisador sintático incremental para uso em editores.
+ *
+ * Mantém o AST do programa e, numa tabela de identidade, o trecho de tokens
+ * de cada bloco e de cada comando dentro de um bloco. A cada edição (ver
+ * {@link ScannerIncremental#editar}), procura o menor comando ou bloco que
+ * contém a faixa de tokens alterada e reanalisa só ele; se ele terminar
+ * exatamente onde deveria, a nova subárvore é encaixada no lugar da antiga,
+ * copiando apenas os nós do caminho até o comando de nível superior.
+ * Todo o resto da árvore é compartilhado com a versão anterior.
+ *
+ * Quando a edição muda a estrutura (ex: apaga um '}'), reanalisa comandos
+ * de nível superior a partir do afetado até reencontrar o início de um
+ * comando antigo depois da edição.
+ *
+ * Os trechos são guardados em relação ao início do comando de nível
+ * superior que os contém: uma edição só desloca os trechos desse comando.
+ *
+ * Os nós compartilhados não são refeitos, então guardam o
+ * {@link scanner.Trecho} (posição no código fonte) da versão em que foram
+ * analisados. A correção fica na mesma tabela: cada comando guarda
+ * quantos caracteres somar aos trechos da sua subárvore, em relação ao
+ * comando que o contém, e uma edição só muda o valor dos comandos que
+ * deslocou, não o dos nós dentro deles. A análise semântica e a geração
+ * de TAC recebem a correção de {@link #getDeslocamentos()}.
+ */
+public class ParserIncremental {
+
+    private final ScannerIncremental scanner;
+    // Trecho de tokens [início, fim) relativo ao comando de nível superior e deslocamento
+    // dos caracteres relativo ao comando que o contém
+    private final Map<Comando, int[]> trechos = new IdentityHashMap<>();
+    private final Map<Comando, Integer> deslocamentos = new IdentityHashMap<>(); // Dos comandos de nível superior (ausente: 0)
+    private List<Comando> comandos = new ArrayList<>();
+    private int[] inicios = new int[0]; // Trecho absoluto de cada comando de nível superior
+    private int[] fins = new int[0];
+    private int tamanhoTexto;           // Tamanho do código fonte na última atualização
+    private boolean valido;             // false: a próxima atualização reanalisa tudo
+    private Diagnosticos diagnosticos;
+
+    /**
+     * Faz a análise completa inicial dos tokens do scanner.
+     *
+     * @param scanner scanner incremental que recebe as edições
+     */
+    public ParserIncremental(ScannerIncremental scanner) {
+        this(scanner, new ColetorDiagnosticos());
+    }
+
+    /**
+     * Faz a análise completa inicial dos tokens do scanner, reportando os
+     * seus erros em diagnosticos.
+     *
+     * @param scanner scanner incremental que recebe as edições
+     * @param diagnosticos destino dos erros sintáticos (desta análise e das edições)
+     */
+    public ParserIncremental(ScannerIncremental scanner, Diagnosticos diagnosticos) {
+        this.scanner = scanner;
+        this.diagnosticos = diagnosticos;
+        reanalisarTudo();
+    }
+
+    /**
+     * Aplica uma edição de texto ao scanner e atualiza o AST.
+     *
+     * @param deslocamento posição da edição no código atual
+     * @param removidos quantidade de caracteres removidos a partir da posição
+     * @param inseridos texto inserido no lugar
+     * @return comandos de nível superior trocados
+     */
+    public ResultadoIncremental editar(int deslocamento, int removidos, String inseridos) {
+        return atualizar(scanner.editar(deslocamento, removidos, inseridos));
+    }
+
+    /**
+     * Atualiza o AST depois de uma edição já aplicada ao scanner.
+     *
+     * @param alteracao faixa de tokens alterada (null: reanalisa tudo)
+     * @return comandos de nível superior trocados
+     */
+    public ResultadoIncremental atualizar(AlteracaoTokens alteracao) {
+        if (alteracao == null || !valido) {
+            return reanalisarTudo();
+        }
+
+        int a = alteracao.getInicio();
+        int removidos = alteracao.getRemovidos();
+        int delta = alteracao.getInseridos() - removidos;
+        int deltaTexto = scanner.getSource().length() - tamanhoTexto; // Todo texto depois da edição anda o mesmo
+        tamanhoTexto = scanner.getSource().length();
+
+        // Primeiro comando de nível superior que termina na edição ou depois
+        // (um 'se' logo antes dela pode ganhar um 'senao')
+        int k = 0;
+        while (k < comandos.size() && fins[k] < a) {
+            k++;
+        }
+
+        if (k < comandos.size() && inicios[k] <= a && a + removidos <= fins[k]) {
+            ResultadoIncremental resultado = reanalisarInterno(k, a - inicios[k], removidos, delta, deltaTexto);
+            if (resultado != null) {
+                return resultado;
+            }
+        }
+        return reanalisar(k, comandos.size() - k, a + alteracao.getInseridos(), delta, deltaTexto, true);
+    }
+
+    private ResultadoIncremental reanalisarTudo() {
+        trechos.clear();
+        deslocamentos.clear();
+        tamanhoTexto = scanner.getSource().length();
+        return reanalisar(0, comandos.size(), 0, 0, 0, false);
+    }
+
+    /**
+     * Reanalisa o menor comando ou bloco, dentro do comando de nível
+     * superior k, que contém a edição.
+     *
+     * @param a início da edição, relativo ao comando k
+     * @param deltaTexto diferença no tamanho do código fonte causada pela edição
+     * @return null se nenhum nó interno pôde ser reanalisado isoladamente
+     */
+    private ResultadoIncremental reanalisarInterno(int k, int a, int removidos, int delta, int deltaTexto) {
+        // Caminho do comando de nível superior até o menor nó que contém a edição
+        List<Comando> caminho = new ArrayList<>();
+        Comando no = comandos.get(k);
+        while (no != null) {
+            caminho.add(no);
+            Comando proximo = null;
+            for (Comando filho : filhos(no)) {
+                int[] trecho = trechos.get(filho);
+                if (trecho[0] <= a && a + removidos <= trecho[1]) {
+                    proximo = filho;
+                    break;
+                }
+            }
+            no = proximo;
+        }
+
+        TokenBuffer tokens = scanner.getTokens();
+        int base = inicios[k];
+        for (int i = caminho.size() - 1; i >= 1; i--) {
+            Comando antigo = caminho.get(i);
+            Comando pai = caminho.get(i - 1);
+            int[] trecho = trechos.get(antigo);
+
+            // Tentativas que falham não são erros do programa: diagnósticos descartados
+            Map<Comando, int[]> novosTrechos = new IdentityHashMap<>();
+            Parser parser = new Parser(tokens);
+            parser.setTrechos(novosTrechos);
+            Comando novo = pai instanceof Comando.Bloco
+                    ? parser.parseComandoEm(base + trecho[0])
+                    : parser.parseBlocoEm(base + trecho[0]);
+            if (novo == null || parser.getPosicao() != base + trecho[1] + delta) {
+                continue;
+            }
+
+            // O nó novo tem os trechos da versão atual: anula o deslocamento acumulado até o pai
+            int deslocamentoPai = deslocamentos.getOrDefault(caminho.get(0), 0);
+            for (int j = 1; j < i; j++) {
+                deslocamentoPai += trechos.get(caminho.get(j))[2];
+            }
+
+            // Desloca o que vem depois do nó em cada ancestral e copia o caminho
+            int fimAntigo = trecho[1];
+            trechos.remove(antigo);
+            descartar(antigo);
+            importar(novo, novosTrechos, base);
+            trechos.put(novo, new int[] { trecho[0], fimAntigo + delta, -deslocamentoPai });
+            for (int j = i - 1; j >= 0; j--) {
+                Comando ancestral = caminho.get(j);
+                for (Comando filho : filhos(ancestral)) {
+                    if (filho != caminho.get(j + 1) && trechos.get(filho)[0] >= fimAntigo) {
+                        deslocar(filho, delta);
+                        trechos.get(filho)[2] += deltaTexto; // Os descendentes andam junto
+                    }
+                }
+                Comando copia = substituir(ancestral, caminho.get(j + 1), novo);
+                if (j > 0) {
+                    int[] trechoAncestral = trechos.remove(ancestral);
+                    trechos.put(copia, new int[] { trechoAncestral[0], trechoAncestral[1] + delta, trechoAncestral[2] });
+                } else {
+                    Integer deslocamento = deslocamentos.remove(ancestral);
+                    if (deslocamento != null) {
+                        deslocamentos.put(copia, deslocamento);
+                    }
+                }
+                novo = copia;
+            }
+
+            List<Comando> atualizados = new ArrayList<>(comandos);
+            atualizados.set(k, novo);
+            comandos = atualizados;
+            fins[k] += delta;
+            for (int j = k + 1; j < comandos.size(); j++) {
+                inicios[j] += delta;
+                fins[j] += delta;
+                deslocarTexto(comandos.get(j), deltaTexto);
+            }
+            return new ResultadoIncremental(Collections.unmodifiableList(comandos), k, 1,
+                    Collections.singletonList(novo), Collections.emptyList(), fimAntigo + delta - trecho[0]);
+        }
+        return null;
+    }
+
+    /**
+     * Reanalisa comandos de nível superior a partir do comando k.
+     *
+     * @param quantidade quantidade de comandos antigos a partir de k
+     * @param fimEdicao índice, nos tokens novos, do fim da edição
+     * @param delta diferença na quantidade de tokens causada pela edição
+     * @param deltaTexto diferença no tamanho do código fonte causada pela edição
+     * @param sincronizar se pode parar ao reencontrar o início de um comando antigo
+     */
+    private ResultadoIncremental reanalisar(int k, int quantidade, int fimEdicao, int delta, int deltaTexto,
+            boolean sincronizar) {
+        TokenBuffer tokens = scanner.getTokens();
+        int eof = tokens.tamanho() - 1;
+        int inicio = k < comandos.size() ? inicios[k] : (k > 0 ? fins[k - 1] : 0);
+
+        Map<Comando, int[]> novosTrechos = new IdentityHashMap<>();
+        Parser parser = new Parser(tokens);
+        parser.setDiagnosticos(diagnosticos);
+        parser.setTrechos(novosTrechos);
+
+        List<Comando> novos = new ArrayList<>();
+        List<Integer> trechosNovos = new ArrayList<>();
+        int posicao = inicio;
+        int reaproveitado = k + quantidade; // Primeiro comando antigo mantido
+        try {
+            while (posicao < eof) {
+                if (sincronizar && posicao >= fimEdicao) {
+                    int antigo = Arrays.binarySearch(inicios, k, k + quantidade, posicao - delta);
+                    if (antigo >= 0) {
+                        reaproveitado = antigo;
+                        break;
+                    }
+                }
+                Comando comando = parser.parseComandoEm(posicao);
+                if (comando == null) {
+                    return falha(parser.getErros(), posicao - inicio);
+                }
+                novos.add(comando);
+                trechosNovos.add(posicao);
+                posicao = parser.getPosicao();
+            }
+        } catch (LimiteErrosAtingido e) {
+            return falha(parser.getErros(), parser.getPosicao() - inicio);
+        }
+
+        // Monta a nova lista: antigos antes de k, novos, antigos reaproveitados deslocados
+        int mantidos = comandos.size() - reaproveitado;
+        List<Comando> atualizados = new ArrayList<>(k + novos.size() + mantidos);
+        int[] novosInicios = new int[k + novos.size() + mantidos];
+        int[] novosFins = new int[novosInicios.length];
+        atualizados.addAll(comandos.subList(0, k));
+        System.arraycopy(inicios, 0, novosInicios, 0, k);
+        System.arraycopy(fins, 0, novosFins, 0, k);
+        for (int i = 0; i < novos.size(); i++) {
+            int inicioNovo = trechosNovos.get(i);
+            int fimNovo = i + 1 < novos.size() ? trechosNovos.get(i + 1) : posicao;
+            atualizados.add(novos.get(i));
+            novosInicios[k + i] = inicioNovo;
+            novosFins[k + i] = fimNovo;
+            importar(novos.get(i), novosTrechos, inicioNovo);
+        }
+        for (int i = 0; i < mantidos; i++) {
+            atualizados.add(comandos.get(reaproveitado + i));
+            novosInicios[k + novos.size() + i] = inicios[reaproveitado + i] + delta;
+            novosFins[k + novos.size() + i] = fins[reaproveitado + i] + delta;
+            deslocarTexto(comandos.get(reaproveitado + i), deltaTexto);
+        }
+        for (int i = k; i < reaproveitado; i++) {
+            descartar(comandos.get(i));
+            deslocamentos.remove(comandos.get(i));
+        }
+
+        comandos = atualizados;
+        inicios = novosInicios;
+        fins = novosFins;
+        valido = true;
+        return new ResultadoIncremental(Collections.unmodifiableList(comandos), k, reaproveitado - k,
+                Collections.unmodifiableList(novos), Collections.emptyList(), posicao - inicio);
+    }
+
+    /**
+     * Erro sintático: mantém o último AST válido, mas a próxima atualização
+     * reanalisa o programa inteiro.
+     */
+    private ResultadoIncremental falha(List<ErroSintatico> erros, int tokensReanalisados) {
+        valido = false;
+        return new ResultadoIncremental(Collections.unmodifiableList(comandos), 0, 0,
+                Collections.emptyList(), new ArrayList<>(erros), tokensReanalisados);
+    }
+
+    /**
+     * Blocos e comandos de bloco diretamente abaixo do nó (os que têm trecho).
+     */
+    private static List<Comando> filhos(Comando comando) {
+        if (comando instanceof Comando.Bloco) {
+            return ((Comando.Bloco) comando).comandos;
+        }
+        if (comando instanceof Comando.Se) {
+            Comando.Se se = (Comando.Se) comando;
+            return se.ramoElse == null ? List.of(se.ramoThen) : List.of(se.ramoThen, se.ramoElse);
+        }
+        if (comando instanceof Comando.Para) {
+            return List.of(((Comando.Para) comando).corpo);
+        }
+        return List.of();
+    }
+
+    /**
+     * Cópia do nó com o filho antigo trocado pelo novo.
+     */
+    private static Comando substituir(Comando pai, Comando antigo, Comando novo) {
+        if (pai instanceof Comando.Bloco) {
+            List<Comando> lista = new ArrayList<>(((Comando.Bloco) pai).comandos);
+            lista.set(lista.indexOf(antigo), novo);
+            return new Comando.Bloco(lista);
+        }
+        if (pai instanceof Comando.Se) {
+            Comando.Se se = (Comando.Se) pai;
+            return new Comando.Se(se.condicao,
+                    se.ramoThen == antigo ? novo : se.ramoThen,
+                    se.ramoElse == antigo ? novo : se.ramoElse);
+        }
+        Comando.Para para = (Comando.Para) pai;
+        return new Comando.Para(para.inicializacao, para.condicao, para.incremento, novo);
+    }
+
+    /**
+     * Move os trechos absolutos da subárvore para a tabela, relativos à base.
+     * Como {@link #descartar} e {@link #deslocar}, percorre numa pilha
+     * explícita: blocos muito aninhados não estouram a pilha de chamadas.
+     */
+    private void importar(Comando raiz, Map<Comando, int[]> absolutos, int base) {
+        ArrayDeque<Comando> pendentes = new ArrayDeque<>(filhos(raiz));
+        while (!pendentes.isEmpty()) {
+            Comando no = pendentes.pop();
+            int[] trecho = absolutos.get(no);
+            trechos.put(no, new int[] { trecho[0] - base, trecho[1] - base, 0 });
+            pendentes.addAll(filhos(no));
+        }
+    }
+
+    private void descartar(Comando raiz) {
+        ArrayDeque<Comando> pendentes = new ArrayDeque<>(filhos(raiz));
+        while (!pendentes.isEmpty()) {
+            Comando no = pendentes.pop();
+            trechos.remove(no);
+            pendentes.addAll(filhos(no));
+        }
+    }
+
+    private void deslocar(Comando raiz, int delta) {
+        ArrayDeque<Comando> pendentes = new ArrayDeque<>();
+        pendentes.push(raiz);
+        while (!pendentes.isEmpty()) {
+            Comando no = pendentes.pop();
+            int[] trecho = trechos.get(no);
+            trecho[0] += delta;
+            trecho[1] += delta;
+            pendentes.addAll(filhos(no));
+        }
+    }
+
+    /**
+     * Soma deltaTexto ao deslocamento dos trechos de um comando de nível superior.
+     */
+    private void deslocarTexto(Comando comando, int deltaTexto) {
+        if (deltaTexto != 0) {
+            deslocamentos.merge(comando, deltaTexto, Integer::sum);
+        }
+    }
+
+    /**
+     * Comandos de nível superior do programa atual.
+     */
+    public List<Comando> getComandos() {
+        return Collections.unmodifiableList(comandos);
+    }
+
+    /**
+     * Correção dos trechos dos nós reaproveitados de versões anteriores,
+     * para a análise semântica e a geração de TAC dos comandos de
+     * {@link #getComandos()} (ver {@code setDeslocamentos} nelas).
+     */
+    public DeslocamentoTrechos getDeslocamentos() {
+        return comando -> {
+            int[] trecho = trechos.get(comando);
+            if (trecho != null) {
+                return trecho[2];
+            }
+            return deslocamentos.getOrDefault(comando, 0);
+        };
+    }
+
+    /** Índice do primeiro token do comando de nível superior. */
+    public int getInicio(int indice) {
+        return inicios[indice];
+    }
+
+    /** Índice do token seguinte ao fim do comando de nível superior. */
+    public int getFim(int indice) {
+        return fins[indice];
+    }
+
+    /**
+     * Define onde os erros sintáticos são reportados (tentativas de
+     * reanálise local que falham não são reportadas).
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+}
@@ -0,0 +1,382 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import analisadorsintatico.Comando;
+import analisadorsintatico.Expressao;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.Fase;
+import diagnostico.LimiteErrosAtingido;
+import diagnostico.Severidade;
+import scanner.FonteTokens;
+import scanner.Token;
+import scanner.TokenBuffer;
+import scanner.TokenType;
+
+/**
+ * Parser LL(1) dirigido pela {@link TabelaLL1}, gerada de bnf/Gramatica
+ * pelo bnf.GeradorLL1.
+ *
+ * Não há recursão: uma pilha explícita guarda os símbolos que ainda faltam
+ * reconhecer e, abaixo do corpo de cada produção expandida, um marcador de
+ * redução. Os valores (Token, Expressao, Comando ou listas) ficam numa
+ * segunda pilha; ao encontrar o marcador, os valores do corpo viram o valor
+ * da produção. O AST construído é o mesmo do {@link Parser}, sem limite de
+ * profundidade de aninhamento e com uma consulta à tabela por não terminal.
+ *
+ * A única escolha fora da tabela é a exceção declarada na gramática para
+ * {@code <comando_para>} (ver {@link #resolverExcecao(int)}).
+ */
+public class ParserLL1 {
+
+    private static final TokenType[] TIPOS = TokenType.values();
+    private static final int TERMINAIS = TabelaLL1.TERMINAIS;
+
+    // Terminais que não entram no AST: nenhum Token é materializado para eles
+    private static final boolean[] DESCARTAVEL = new boolean[TERMINAIS];
+
+    static {
+        for (TokenType tipo : new TokenType[] {
+                TokenType.PONTO_VIRGULA, TokenType.VIRGULA, TokenType.ATRIBUICAO,
+                TokenType.ABRE_PARENTESE, TokenType.FECHA_PARENTESE,
+                TokenType.ABRE_CHAVE, TokenType.FECHA_CHAVE,
+                TokenType.VAR, TokenType.SE, TokenType.SENAO, TokenType.PARA,
+                TokenType.IMPRIMIR, TokenType.LER, TokenType.EOF }) {
+            DESCARTAVEL[tipo.ordinal()] = true;
+        }
+    }
+
+    // Produções sem ação semântica e com corpo de até um símbolo: o valor é
+    // null (ε) ou o do próprio símbolo, então dispensam o marcador de redução
+    private static final boolean[] TRIVIAL = new boolean[TabelaLL1.INICIOS.length - 1];
+
+    static {
+        for (int p = 0; p < TRIVIAL.length; p++) {
+            TRIVIAL[p] = TabelaLL1.INICIOS[p + 1] - TabelaLL1.INICIOS[p] <= 1 && !temAcao(p);
+        }
+    }
+
+    private final FonteTokens tokens;
+    private int current = 0;
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos(); // Destino dos erros sintáticos
+
+    private int[] simbolos = new int[64];       // Pilha de símbolos (< 0: redução da produção -s - 1)
+    private int topoSimbolos;
+    private Object[] valores = new Object[64];  // Pilha de valores
+    private int topoValores;
+
+    public ParserLL1(List<Token> tokens) {
+        this(FonteTokens.deLista(tokens));
+    }
+
+    public ParserLL1(TokenBuffer tokens) {
+        this((FonteTokens) tokens);
+    }
+
+    public ParserLL1(FonteTokens tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Analisa o programa inteiro.
+     *
+     * @return lista de comandos, ou null no primeiro erro (como o {@link Parser})
+     */
+    @SuppressWarnings("unchecked")
+    public List<Comando> parsePrograma() {
+        current = 0;
+        topoSimbolos = 0;
+        topoValores = 0;
+        empilhar(TokenType.EOF.ordinal());
+        empilhar(TERMINAIS + TabelaLL1.NT_PROGRAMA);
+
+        try {
+            while (topoSimbolos > 0) {
+                int simbolo = simbolos[--topoSimbolos];
+                if (simbolo < 0) {
+                    reduzir(-simbolo - 1);
+                } else if (simbolo < TERMINAIS) {
+                    casar(simbolo);
+                } else {
+                    expandir(simbolo - TERMINAIS);
+                }
+            }
+        } catch (ParseError | LimiteErrosAtingido e) {
+            return null;
+        }
+        return (List<Comando>) valores[0];
+    }
+
+    // ========================================================================
+    //                                 PILHAS
+    // ========================================================================
+
+    private void casar(int terminal) {
+        TokenType tipo = tokens.tipo(current);
+        if (tipo.ordinal() != terminal) {
+            TokenType esperado = TIPOS[terminal];
+            throw error(tokens.token(current), esperado == TokenType.EOF
+                    ? "Esperado fim do arquivo."
+                    : "Esperado '" + esperado.getLexema() + "'.");
+        }
+        empilharValor(DESCARTAVEL[terminal] ? null : tokens.token(current));
+        if (tipo != TokenType.EOF) {
+            current++;
+        }
+    }
+
+    private void expandir(int naoTerminal) {
+        int producao = TabelaLL1.TABELA[naoTerminal * TERMINAIS + tokens.tipo(current).ordinal()];
+        if (producao == TabelaLL1.EXCECAO) {
+            producao = resolverExcecao(naoTerminal);
+        }
+        if (producao == TabelaLL1.ERRO) {
+            throw error(tokens.token(current), "Token inesperado em <" + TabelaLL1.NOMES[naoTerminal] + ">.");
+        }
+
+        // Marcador de redução abaixo do corpo; o corpo entra invertido
+        int inicio = TabelaLL1.INICIOS[producao];
+        int fim = TabelaLL1.INICIOS[producao + 1];
+        if (TRIVIAL[producao]) {
+            if (inicio == fim) {
+                empilharValor(null);
+            } else {
+                empilhar(TabelaLL1.CORPOS[inicio]);
+            }
+            return;
+        }
+        garantirSimbolos(fim - inicio + 1);
+        simbolos[topoSimbolos++] = -producao - 1;
+        for (int i = fim - 1; i >= inicio; i--) {
+            simbolos[topoSimbolos++] = TabelaLL1.CORPOS[i];
+        }
+    }
+
+    /**
+     * Exceção declarada em bnf/Gramatica: as duas formas de {@code <comando_para>}
+     * começam com "para". Mesmo critério do {@link Parser}: "var", ";" ou
+     * identificador seguido de "=" indicam o para clássico.
+     */
+    private int resolverExcecao(int naoTerminal) {
+        if (naoTerminal == TabelaLL1.NT_COMANDO_PARA) {
+            TokenType seguinte = tokens.tipo(current + 1);
+            boolean classico = seguinte == TokenType.VAR || seguinte == TokenType.PONTO_VIRGULA
+                    || (seguinte == TokenType.IDENTIFICADOR && tokens.tipo(current + 2) == TokenType.ATRIBUICAO);
+            return classico ? TabelaLL1.COMANDO_PARA_1 : TabelaLL1.COMANDO_PARA_0;
+        }
+        return TabelaLL1.ERRO;
+    }
+
+    private void reduzir(int producao) {
+        int tamanho = TabelaLL1.INICIOS[producao + 1] - TabelaLL1.INICIOS[producao];
+        int base = topoValores - tamanho;
+        Object valor = acao(producao, base, tamanho);
+        Arrays.fill(valores, base, topoValores, null);
+        topoValores = base;
+        empilharValor(valor);
+    }
+
+    private void empilhar(int simbolo) {
+        garantirSimbolos(1);
+        simbolos[topoSimbolos++] = simbolo;
+    }
+
+    private void garantirSimbolos(int extra) {
+        if (topoSimbolos + extra > simbolos.length) {
+            simbolos = Arrays.copyOf(simbolos, Math.max(simbolos.length * 2, topoSimbolos + extra));
+        }
+    }
+
+    private void empilharValor(Object valor) {
+        if (topoValores == valores.length) {
+            valores = Arrays.copyOf(valores, valores.length * 2);
+        }
+        valores[topoValores++] = valor;
+    }
+
+    // ========================================================================
+    //                           AÇÕES SEMÂNTICAS
+    // ========================================================================
+
+    /**
+     * Valor de uma produção a partir dos valores do seu corpo, em
+     * valores[base .. base + tamanho). Por padrão, ε vale null e um corpo
+     * de um símbolo só vale o valor desse símbolo.
+     *
+     * Listas e cadeias de operadores vêm de regras recursivas à direita e
+     * são montadas de trás para frente (ver {@link #acrescentar}).
+     */
+    private Object acao(int producao, int b, int tamanho) {
+        Object[] v = valores;
+        switch (producao) {
+            // Listas
+            case TabelaLL1.PROGRAMA:
+                return emOrdem(v[b]);
+            case TabelaLL1.LISTA_COMANDOS_0:
+            case TabelaLL1.LISTA_EXPRESSOES_0:
+            case TabelaLL1.LISTA_VARIAVEIS_0:
+                return acrescentar(v[b + 1], v[b]);
+            case TabelaLL1.MAIS_EXPRESSOES_0:
+            case TabelaLL1.MAIS_VARIAVEIS_0:
+                return acrescentar(v[b + 2], v[b + 1]);
+
+            // Comandos
+            case TabelaLL1.BLOCO:
+                return new Comando.Bloco(emOrdem(v[b + 1]));
+            case TabelaLL1.DECLARACAO:
+                return new Comando.Declaracao((Token) v[b + 1], (Token) v[b + 2], (Expressao) v[b + 3]);
+            case TabelaLL1.ATRIBUICAO:
+                return new Comando.Atribuicao((Token) v[b], (Expressao) v[b + 2]);
+            case TabelaLL1.COMANDO_IMPRIMIR:
+                return new Comando.Imprimir(emOrdem(v[b + 2]));
+            case TabelaLL1.COMANDO_LER:
+                return new Comando.Ler(emOrdem(v[b + 2]));
+            case TabelaLL1.COMANDO_SE:
+                return new Comando.Se((Expressao) v[b + 1], (Comando) v[b + 2], (Comando) v[b + 3]);
+            case TabelaLL1.PARA_ENQUANTO:
+                return new Comando.Para(null, (Expressao) v[b + 1], null, (Comando) v[b + 2]);
+            case TabelaLL1.PARA_CLASSICO:
+                return new Comando.Para((Comando) v[b + 1], (Expressao) v[b + 3], (Comando) v[b + 5],
+                        (Comando) v[b + 6]);
+            case TabelaLL1.INICIALIZACAO_OPCIONAL_0:
+            case TabelaLL1.SENAO_OPCIONAL_0:
+                return v[b + 1];
+
+            // Cadeias de operadores binários (associativos à esquerda)
+            case TabelaLL1.OU_LOGICO:
+            case TabelaLL1.E_LOGICO:
+                return encadear((Expressao) v[b], v[b + 1], true);
+            case TabelaLL1.IGUALDADE:
+            case TabelaLL1.RELACIONAL:
+            case TabelaLL1.ADITIVO:
+            case TabelaLL1.MULTIPLICATIVO:
+                return encadear((Expressao) v[b], v[b + 1], false);
+            case TabelaLL1.MAIS_OU_0:
+            case TabelaLL1.MAIS_E_0:
+            case TabelaLL1.MAIS_IGUALDADE_0:
+            case TabelaLL1.MAIS_IGUALDADE_1:
+            case TabelaLL1.MAIS_RELACIONAL_0:
+            case TabelaLL1.MAIS_RELACIONAL_1:
+            case TabelaLL1.MAIS_RELACIONAL_2:
+            case TabelaLL1.MAIS_RELACIONAL_3:
+            case TabelaLL1.MAIS_ADITIVO_0:
+            case TabelaLL1.MAIS_ADITIVO_1:
+            case TabelaLL1.MAIS_MULTIPLICATIVO_0:
+            case TabelaLL1.MAIS_MULTIPLICATIVO_1:
+                // Operando e operador, nessa ordem, no fim da cadeia já montada
+                return acrescentar(acrescentar(v[b + 2], v[b + 1]), v[b]);
+
+            // Expressões
+            case TabelaLL1.UNARIO_0:
+            case TabelaLL1.UNARIO_1:
+                return new Expressao.Unaria((Token) v[b], (Expressao) v[b + 1]);
+            case TabelaLL1.PRIMARIO_1:
+                return new Expressao.VariavelAcesso((Token) v[b]);
+            case TabelaLL1.PRIMARIO_2:
+                return new Expressao.Agrupamento((Expressao) v[b + 1]);
+            case TabelaLL1.LITERAL_0:
+                return new Expressao.LiteralInteiro(((Token) v[b]).getValorInteiro());
+            case TabelaLL1.LITERAL_1:
+                return new Expressao.LiteralReal(((Token) v[b]).getValorReal());
+            case TabelaLL1.LITERAL_2:
+                return new Expressao.LiteralTexto(((Token) v[b]).getValorTexto());
+
+            default:
+                return tamanho == 0 ? null : v[b];
+        }
+    }
+
+    /**
+     * Produções de corpo curto (até um símbolo) que têm ação própria em {@link #acao}.
+     */
+    private static boolean temAcao(int producao) {
+        switch (producao) {
+            case TabelaLL1.PROGRAMA:
+            case TabelaLL1.PRIMARIO_1:
+            case TabelaLL1.LITERAL_0:
+            case TabelaLL1.LITERAL_1:
+            case TabelaLL1.LITERAL_2:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Acrescenta um item a uma lista montada de trás para frente
+     * (null representa a lista vazia, sem alocação).
+     */
+    @SuppressWarnings("unchecked")
+    private static Object acrescentar(Object lista, Object item) {
+        List<Object> itens = lista != null ? (List<Object>) lista : new ArrayList<>();
+        itens.add(item);
+        return itens;
+    }
+
+    /**
+     * Desfaz a ordem invertida de {@link #acrescentar}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> emOrdem(Object lista) {
+        if (lista == null) {
+            return new ArrayList<>();
+        }
+        List<T> itens = (List<T>) lista;
+        Collections.reverse(itens);
+        return itens;
+    }
+
+    /**
+     * Monta a árvore associativa à esquerda de "esquerda op1 x1 op2 x2 ...";
+     * a cadeia guarda os pares invertidos: [..., x2, op2, x1, op1].
+     */
+    private static Expressao encadear(Expressao esquerda, Object cadeia, boolean logica) {
+        if (cadeia == null) {
+            return esquerda;
+        }
+        List<?> pares = (List<?>) cadeia;
+        Expressao expr = esquerda;
+        for (int i = pares.size() - 1; i > 0; i -= 2) {
+            Token op = (Token) pares.get(i);
+            Expressao direita = (Expressao) pares.get(i - 1);
+            expr = logica ? new Expressao.Logica(expr, op, direita) : new Expressao.Binaria(expr, op, direita);
+        }
+        return expr;
+    }
+
+    // ========================================================================
+    //                                AUXILIARES
+    // ========================================================================
+
+    private ParseError error(Token token, String message) {
+        diagnosticos.reportar(Severidade.ERRO, Fase.SINTATICA, token.getLinha(), token.getColuna(),
+                "Erro em '" + token.getLexema() + "': " + message);
+        return ParseError.INSTANCIA;
+    }
+
+    /**
+     * Define onde os erros sintáticos são reportados.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+
+    // Sem pilha e com instância única, como no Parser
+    private static class ParseError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        static final ParseError INSTANCIA = new ParseError();
+
+        private ParseError() {
+            super(null, null, false, false);
+        }
+    }
+}
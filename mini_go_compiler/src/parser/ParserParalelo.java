@@ -0,0 +1,209 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import analisadorsintatico.Comando;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.LimiteErrosAtingido;
+import scanner.FonteTokens;
+import scanner.TokenBuffer;
+import scanner.TokenType;
+
+/**
+ * Analisador sintático paralelo para programas com muitos comandos de
+ * nível superior.
+ *
+ * Uma pré-passada barata sobre os tipos dos tokens acha os prováveis fins
+ * de comando de nível superior: um ';' na profundidade 0 de chaves (fora do
+ * cabeçalho de um 'para') ou um '}' que volta à profundidade 0 e não é
+ * seguido de 'senao'. Os comandos são agrupados em trechos de tamanho
+ * parecido, e cada trecho é analisado em um {@link ForkJoinPool} por um
+ * {@link Parser} próprio.
+ *
+ * A costura é sequencial e em ordem: um trecho só vale se a análise
+ * terminou sem erros exatamente no fim previsto. Como o primeiro trecho
+ * começa no início do programa e cada trecho aceito termina onde o
+ * próximo começa, todos os inícios aceitos são fins de comando reais. No
+ * primeiro trecho que não vale, a análise continua sequencialmente dali,
+ * reportando os erros; o resultado (e o primeiro erro) é sempre o mesmo
+ * de {@link Parser#parsePrograma()}.
+ *
+ * A fonte de tokens é lida por várias threads ao mesmo tempo: deve ser de
+ * acesso aleatório e só leitura, como o {@link TokenBuffer} ou uma lista.
+ */
+public class ParserParalelo {
+
+    private static final int TAMANHO_TRECHO_PADRAO = 16 * 1024; // Em tokens
+    private static final int TRECHOS_POR_THREAD = 4;
+
+    private final FonteTokens tokens;
+    private final ForkJoinPool pool;
+    private final int tamanhoMinimoTrecho;
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos();
+
+    /**
+     * Cria um parser paralelo no pool comum do ForkJoin.
+     *
+     * @param tokens tokens do programa, terminados por EOF
+     */
+    public ParserParalelo(FonteTokens tokens) {
+        this(tokens, ForkJoinPool.commonPool(), TAMANHO_TRECHO_PADRAO);
+    }
+
+    /**
+     * Cria um parser paralelo com pool e tamanho mínimo de trecho explícitos.
+     *
+     * @param tokens tokens do programa, terminados por EOF
+     * @param pool pool de threads usado na análise dos trechos
+     * @param tamanhoMinimoTrecho menor trecho (em tokens) que vale a pena separar
+     */
+    public ParserParalelo(FonteTokens tokens, ForkJoinPool pool, int tamanhoMinimoTrecho) {
+        this.tokens = tokens;
+        this.pool = pool;
+        this.tamanhoMinimoTrecho = Math.max(1, tamanhoMinimoTrecho);
+    }
+
+    /**
+     * Analisa o programa inteiro.
+     *
+     * @return os mesmos comandos de {@link Parser#parsePrograma()}, ou null no primeiro erro
+     */
+    public List<Comando> parsePrograma() {
+        Trecho[] trechos = dividir();
+
+        // 1. Análise de cada trecho; erros aqui são só suspeitas, não são reportados
+        List<ForkJoinTask<?>> tarefas = new ArrayList<>(trechos.length);
+        for (Trecho trecho : trechos) {
+            tarefas.add(ForkJoinTask.adapt(trecho::analisar));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tarefas)));
+
+        // 2. Costura em ordem até o primeiro trecho que não vale
+        List<Comando> comandos = new ArrayList<>();
+        for (Trecho trecho : trechos) {
+            if (!trecho.valido) {
+                return continuarSequencial(trecho.inicio, comandos);
+            }
+            comandos.addAll(trecho.comandos);
+        }
+        return comandos;
+    }
+
+    /**
+     * Agrupa os prováveis comandos de nível superior em trechos de
+     * tamanho parecido, terminados no EOF.
+     */
+    private Trecho[] dividir() {
+        List<Integer> fins = new ArrayList<>();
+        int profundidade = 0;
+        boolean cabecalhoPara = false;
+        int indice = 0;
+        for (TokenType tipo; (tipo = tokens.tipo(indice)) != TokenType.EOF; indice++) {
+            switch (tipo) {
+                case ABRE_CHAVE:
+                    profundidade++;
+                    cabecalhoPara = false;
+                    break;
+                case FECHA_CHAVE:
+                    profundidade = Math.max(0, profundidade - 1);
+                    if (profundidade == 0 && tokens.tipo(indice + 1) != TokenType.SENAO) {
+                        fins.add(indice + 1);
+                    }
+                    break;
+                case PARA:
+                    cabecalhoPara |= profundidade == 0;
+                    break;
+                case PONTO_VIRGULA:
+                    if (profundidade == 0 && !cabecalhoPara) {
+                        fins.add(indice + 1);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        int eof = indice;
+
+        int quantidade = Math.min(eof / tamanhoMinimoTrecho, pool.getParallelism() * TRECHOS_POR_THREAD);
+        int alvo = eof / Math.max(1, quantidade);
+
+        List<Trecho> trechos = new ArrayList<>();
+        int inicio = 0;
+        for (int fim : fins) {
+            if (fim - inicio >= alvo && fim < eof) {
+                trechos.add(new Trecho(inicio, fim));
+                inicio = fim;
+            }
+        }
+        trechos.add(new Trecho(inicio, eof)); // O último trecho vai até o EOF
+        return trechos.toArray(new Trecho[0]);
+    }
+
+    /**
+     * Continua a análise sequencial a partir de um fim de comando real,
+     * reportando os erros como o {@link Parser}.
+     */
+    private List<Comando> continuarSequencial(int inicio, List<Comando> comandos) {
+        Parser parser = new Parser(tokens);
+        parser.setDiagnosticos(diagnosticos);
+        int posicao = inicio;
+        try {
+            while (tokens.tipo(posicao) != TokenType.EOF) {
+                Comando comando = parser.parseComandoEm(posicao);
+                if (comando == null) {
+                    return null;
+                }
+                comandos.add(comando);
+                posicao = parser.getPosicao();
+            }
+        } catch (LimiteErrosAtingido e) {
+            return null;
+        }
+        return comandos;
+    }
+
+    /**
+     * Define onde os erros sintáticos são reportados.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+
+    /**
+     * Faixa de tokens [inicio, fim) com os comandos que se espera encontrar nela.
+     */
+    private final class Trecho {
+        final int inicio;
+        final int fim;
+        final List<Comando> comandos = new ArrayList<>();
+        boolean valido; // Terminou sem erros exatamente no fim previsto
+
+        Trecho(int inicio, int fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        void analisar() {
+            Parser parser = new Parser(tokens);
+            parser.setDiagnosticos(new ColetorDiagnosticos()); // Descartado
+            int posicao = inicio;
+            while (posicao < fim) {
+                Comando comando = parser.parseComandoEm(posicao);
+                if (comando == null) {
+                    return;
+                }
+                comandos.add(comando);
+                posicao = parser.getPosicao();
+            }
+            valido = posicao == fim;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package parser;
+
+import java.util.List;
+
+import analisadorsintatico.Comando;
+
+/**
+ * Resultado de uma atualização do {@link ParserIncremental}.
+ *
+ * Os comandos de nível superior [inicio, inicio + removidos) do programa
+ * anterior foram trocados por {@link #getNovos()}. Todos os outros são os
+ * mesmos objetos de antes (e, dentro dos novos, as subárvores que não
+ * mudaram também são compartilhadas). Assim, a análise semântica e a
+ * geração de código podem se limitar aos comandos novos.
+ */
+public class ResultadoIncremental {
+    private final List<Comando> comandos;
+    private final int inicio;
+    private final int removidos;
+    private final List<Comando> novos;
+    private final List<ErroSintatico> erros;
+    private final int tokensReanalisados;
+    
+    public ResultadoIncremental(List<Comando> comandos, int inicio, int removidos, List<Comando> novos,
+            List<ErroSintatico> erros, int tokensReanalisados) {
+        this.comandos = comandos;
+        this.inicio = inicio;
+        this.removidos = removidos;
+        this.novos = novos;
+        this.erros = erros;
+        this.tokensReanalisados = tokensReanalisados;
+    }
+    
+    /** Comandos de nível superior do programa atual. */
+    public List<Comando> getComandos() {
+        return comandos;
+    }
+    
+    /** Índice do primeiro comando de nível superior trocado. */
+    public int getInicio() {
+        return inicio;
+    }
+    
+    /** Quantidade de comandos de nível superior do programa anterior que foram trocados. */
+    public int getRemovidos() {
+        return removidos;
+    }
+    
+    /** Comandos de nível superior novos, a partir de {@link #getInicio()}. */
+    public List<Comando> getNovos() {
+        return novos;
+    }
+    
+    public List<ErroSintatico> getErros() {
+        return erros;
+    }
+    
+    /** Quantidade de tokens que o Parser precisou reanalisar. */
+    public int getTokensReanalisados() {
+        return tokensReanalisados;
+    }
+    
+    /**
+     * @return true se a atualização terminou sem erros
+     */
+    public boolean isValido() {
+        return erros.isEmpty();
+    }
+}
@@ -0,0 +1,37 @@
+package parser;
+
+import java.util.List;
+
+import analisadorsintatico.Comando;
+
+/**
+ * Resultado de {@link Parser#parseProgramaComRecuperacao()}: os comandos
+ * que puderam ser analisados e todos os erros sintáticos encontrados.
+ *
+ * Com erros, o AST é parcial: cada comando com erro é descartado (dentro
+ * de blocos, só o comando, não o bloco inteiro).
+ */
+public class ResultadoSintatico {
+    private final List<Comando> comandos;
+    private final List<ErroSintatico> erros;
+    
+    public ResultadoSintatico(List<Comando> comandos, List<ErroSintatico> erros) {
+        this.comandos = comandos;
+        this.erros = erros;
+    }
+    
+    public List<Comando> getComandos() {
+        return comandos;
+    }
+    
+    public List<ErroSintatico> getErros() {
+        return erros;
+    }
+    
+    /**
+     * @return true se a análise terminou sem erros (AST completo)
+     */
+    public boolean isValido() {
+        return erros.isEmpty();
+    }
+}
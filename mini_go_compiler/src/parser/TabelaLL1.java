@@ -0,0 +1,467 @@
+package parser;
+
+/**
+ * Tabela LL(1) do Mini-Go, usada pelo {@link ParserLL1}.
+ *
+ * GERADA por bnf.GeradorLL1 a partir de bnf/Gramatica: não edite à mão,
+ * altere a gramática e rode o gerador novamente.
+ *
+ * Símbolos: um terminal é o ordinal do seu TokenType; um não terminal é
+ * TERMINAIS + o seu índice.
+ */
+final class TabelaLL1 {
+
+    private TabelaLL1() {
+    }
+
+    static final int TERMINAIS = 36;
+    static final int NAO_TERMINAIS = 40;
+    static final short ERRO = -1;
+    static final short EXCECAO = -2; // Decidida pelo parser com mais tokens de lookahead
+
+    // Não terminais
+    static final int NT_PROGRAMA = 0;
+    static final int NT_LISTA_COMANDOS = 1;
+    static final int NT_COMANDO = 2;
+    static final int NT_COMANDO_SIMPLES = 3;
+    static final int NT_COMANDO_SE = 4;
+    static final int NT_COMANDO_PARA = 5;
+    static final int NT_BLOCO = 6;
+    static final int NT_DECLARACAO = 7;
+    static final int NT_ATRIBUICAO = 8;
+    static final int NT_COMANDO_IMPRIMIR = 9;
+    static final int NT_COMANDO_LER = 10;
+    static final int NT_EXPRESSAO = 11;
+    static final int NT_SENAO_OPCIONAL = 12;
+    static final int NT_PARA_ENQUANTO = 13;
+    static final int NT_PARA_CLASSICO = 14;
+    static final int NT_TIPO = 15;
+    static final int NT_INICIALIZACAO_OPCIONAL = 16;
+    static final int NT_LISTA_EXPRESSOES = 17;
+    static final int NT_LISTA_VARIAVEIS = 18;
+    static final int NT_OU_LOGICO = 19;
+    static final int NT_INICIO_OPCIONAL = 20;
+    static final int NT_CONDICAO_OPCIONAL = 21;
+    static final int NT_POS_OPCIONAL = 22;
+    static final int NT_MAIS_EXPRESSOES = 23;
+    static final int NT_MAIS_VARIAVEIS = 24;
+    static final int NT_E_LOGICO = 25;
+    static final int NT_MAIS_OU = 26;
+    static final int NT_INICIALIZACAO = 27;
+    static final int NT_IGUALDADE = 28;
+    static final int NT_MAIS_E = 29;
+    static final int NT_RELACIONAL = 30;
+    static final int NT_MAIS_IGUALDADE = 31;
+    static final int NT_ADITIVO = 32;
+    static final int NT_MAIS_RELACIONAL = 33;
+    static final int NT_MULTIPLICATIVO = 34;
+    static final int NT_MAIS_ADITIVO = 35;
+    static final int NT_UNARIO = 36;
+    static final int NT_MAIS_MULTIPLICATIVO = 37;
+    static final int NT_PRIMARIO = 38;
+    static final int NT_LITERAL = 39;
+
+    static final String[] NOMES = {
+        "programa",
+        "lista_comandos",
+        "comando",
+        "comando_simples",
+        "comando_se",
+        "comando_para",
+        "bloco",
+        "declaracao",
+        "atribuicao",
+        "comando_imprimir",
+        "comando_ler",
+        "expressao",
+        "senao_opcional",
+        "para_enquanto",
+        "para_classico",
+        "tipo",
+        "inicializacao_opcional",
+        "lista_expressoes",
+        "lista_variaveis",
+        "ou_logico",
+        "inicio_opcional",
+        "condicao_opcional",
+        "pos_opcional",
+        "mais_expressoes",
+        "mais_variaveis",
+        "e_logico",
+        "mais_ou",
+        "inicializacao",
+        "igualdade",
+        "mais_e",
+        "relacional",
+        "mais_igualdade",
+        "aditivo",
+        "mais_relacional",
+        "multiplicativo",
+        "mais_aditivo",
+        "unario",
+        "mais_multiplicativo",
+        "primario",
+        "literal",
+    };
+
+    // Produções
+    static final int PROGRAMA = 0; // <programa> ::= <lista_comandos>
+    static final int LISTA_COMANDOS_0 = 1; // <lista_comandos> ::= <comando> <lista_comandos>
+    static final int LISTA_COMANDOS_1 = 2; // <lista_comandos> ::= ε
+    static final int COMANDO_0 = 3; // <comando> ::= <comando_simples> ";"
+    static final int COMANDO_1 = 4; // <comando> ::= <comando_se>
+    static final int COMANDO_2 = 5; // <comando> ::= <comando_para>
+    static final int COMANDO_3 = 6; // <comando> ::= <bloco>
+    static final int COMANDO_SIMPLES_0 = 7; // <comando_simples> ::= <declaracao>
+    static final int COMANDO_SIMPLES_1 = 8; // <comando_simples> ::= <atribuicao>
+    static final int COMANDO_SIMPLES_2 = 9; // <comando_simples> ::= <comando_imprimir>
+    static final int COMANDO_SIMPLES_3 = 10; // <comando_simples> ::= <comando_ler>
+    static final int COMANDO_SE = 11; // <comando_se> ::= "se" <expressao> <bloco> <senao_opcional>
+    static final int COMANDO_PARA_0 = 12; // <comando_para> ::= <para_enquanto>
+    static final int COMANDO_PARA_1 = 13; // <comando_para> ::= <para_classico>
+    static final int BLOCO = 14; // <bloco> ::= "{" <lista_comandos> "}"
+    static final int DECLARACAO = 15; // <declaracao> ::= "var" IDENTIFICADOR <tipo> <inicializacao_opcional>
+    static final int ATRIBUICAO = 16; // <atribuicao> ::= IDENTIFICADOR "=" <expressao>
+    static final int COMANDO_IMPRIMIR = 17; // <comando_imprimir> ::= "imprimir" "(" <lista_expressoes> ")"
+    static final int COMANDO_LER = 18; // <comando_ler> ::= "ler" "(" <lista_variaveis> ")"
+    static final int EXPRESSAO = 19; // <expressao> ::= <ou_logico>
+    static final int SENAO_OPCIONAL_0 = 20; // <senao_opcional> ::= "senao" <bloco>
+    static final int SENAO_OPCIONAL_1 = 21; // <senao_opcional> ::= ε
+    static final int PARA_ENQUANTO = 22; // <para_enquanto> ::= "para" <expressao> <bloco>
+    static final int PARA_CLASSICO = 23; // <para_classico> ::= "para" <inicio_opcional> ";" <condicao_opcional> ";" <pos_opcional> <bloco>
+    static final int TIPO_0 = 24; // <tipo> ::= "inteiro"
+    static final int TIPO_1 = 25; // <tipo> ::= "real"
+    static final int TIPO_2 = 26; // <tipo> ::= "texto"
+    static final int INICIALIZACAO_OPCIONAL_0 = 27; // <inicializacao_opcional> ::= "=" <expressao>
+    static final int INICIALIZACAO_OPCIONAL_1 = 28; // <inicializacao_opcional> ::= ε
+    static final int LISTA_EXPRESSOES_0 = 29; // <lista_expressoes> ::= <expressao> <mais_expressoes>
+    static final int LISTA_EXPRESSOES_1 = 30; // <lista_expressoes> ::= ε
+    static final int LISTA_VARIAVEIS_0 = 31; // <lista_variaveis> ::= IDENTIFICADOR <mais_variaveis>
+    static final int LISTA_VARIAVEIS_1 = 32; // <lista_variaveis> ::= ε
+    static final int OU_LOGICO = 33; // <ou_logico> ::= <e_logico> <mais_ou>
+    static final int INICIO_OPCIONAL_0 = 34; // <inicio_opcional> ::= <inicializacao>
+    static final int INICIO_OPCIONAL_1 = 35; // <inicio_opcional> ::= ε
+    static final int CONDICAO_OPCIONAL_0 = 36; // <condicao_opcional> ::= <expressao>
+    static final int CONDICAO_OPCIONAL_1 = 37; // <condicao_opcional> ::= ε
+    static final int POS_OPCIONAL_0 = 38; // <pos_opcional> ::= <atribuicao>
+    static final int POS_OPCIONAL_1 = 39; // <pos_opcional> ::= ε
+    static final int MAIS_EXPRESSOES_0 = 40; // <mais_expressoes> ::= "," <expressao> <mais_expressoes>
+    static final int MAIS_EXPRESSOES_1 = 41; // <mais_expressoes> ::= ε
+    static final int MAIS_VARIAVEIS_0 = 42; // <mais_variaveis> ::= "," IDENTIFICADOR <mais_variaveis>
+    static final int MAIS_VARIAVEIS_1 = 43; // <mais_variaveis> ::= ε
+    static final int E_LOGICO = 44; // <e_logico> ::= <igualdade> <mais_e>
+    static final int MAIS_OU_0 = 45; // <mais_ou> ::= "||" <e_logico> <mais_ou>
+    static final int MAIS_OU_1 = 46; // <mais_ou> ::= ε
+    static final int INICIALIZACAO_0 = 47; // <inicializacao> ::= <declaracao>
+    static final int INICIALIZACAO_1 = 48; // <inicializacao> ::= <atribuicao>
+    static final int IGUALDADE = 49; // <igualdade> ::= <relacional> <mais_igualdade>
+    static final int MAIS_E_0 = 50; // <mais_e> ::= "&&" <igualdade> <mais_e>
+    static final int MAIS_E_1 = 51; // <mais_e> ::= ε
+    static final int RELACIONAL = 52; // <relacional> ::= <aditivo> <mais_relacional>
+    static final int MAIS_IGUALDADE_0 = 53; // <mais_igualdade> ::= "==" <relacional> <mais_igualdade>
+    static final int MAIS_IGUALDADE_1 = 54; // <mais_igualdade> ::= "!=" <relacional> <mais_igualdade>
+    static final int MAIS_IGUALDADE_2 = 55; // <mais_igualdade> ::= ε
+    static final int ADITIVO = 56; // <aditivo> ::= <multiplicativo> <mais_aditivo>
+    static final int MAIS_RELACIONAL_0 = 57; // <mais_relacional> ::= "<" <aditivo> <mais_relacional>
+    static final int MAIS_RELACIONAL_1 = 58; // <mais_relacional> ::= "<=" <aditivo> <mais_relacional>
+    static final int MAIS_RELACIONAL_2 = 59; // <mais_relacional> ::= ">" <aditivo> <mais_relacional>
+    static final int MAIS_RELACIONAL_3 = 60; // <mais_relacional> ::= ">=" <aditivo> <mais_relacional>
+    static final int MAIS_RELACIONAL_4 = 61; // <mais_relacional> ::= ε
+    static final int MULTIPLICATIVO = 62; // <multiplicativo> ::= <unario> <mais_multiplicativo>
+    static final int MAIS_ADITIVO_0 = 63; // <mais_aditivo> ::= "+" <multiplicativo> <mais_aditivo>
+    static final int MAIS_ADITIVO_1 = 64; // <mais_aditivo> ::= "-" <multiplicativo> <mais_aditivo>
+    static final int MAIS_ADITIVO_2 = 65; // <mais_aditivo> ::= ε
+    static final int UNARIO_0 = 66; // <unario> ::= "!" <unario>
+    static final int UNARIO_1 = 67; // <unario> ::= "-" <unario>
+    static final int UNARIO_2 = 68; // <unario> ::= <primario>
+    static final int MAIS_MULTIPLICATIVO_0 = 69; // <mais_multiplicativo> ::= "*" <unario> <mais_multiplicativo>
+    static final int MAIS_MULTIPLICATIVO_1 = 70; // <mais_multiplicativo> ::= "/" <unario> <mais_multiplicativo>
+    static final int MAIS_MULTIPLICATIVO_2 = 71; // <mais_multiplicativo> ::= ε
+    static final int PRIMARIO_0 = 72; // <primario> ::= <literal>
+    static final int PRIMARIO_1 = 73; // <primario> ::= IDENTIFICADOR
+    static final int PRIMARIO_2 = 74; // <primario> ::= "(" <expressao> ")"
+    static final int LITERAL_0 = 75; // <literal> ::= LITERAL_INTEIRO
+    static final int LITERAL_1 = 76; // <literal> ::= LITERAL_REAL
+    static final int LITERAL_2 = 77; // <literal> ::= LITERAL_TEXTO
+
+    // Corpo da produção p: CORPOS[INICIOS[p] .. INICIOS[p + 1])
+    static final int[] INICIOS = {
+        0, 1, 3, 3, 5, 6, 7, 8, 9, 10, 11, 12, 16, 17, 18, 21,
+        25, 28, 32, 36, 37, 39, 39, 42, 49, 50, 51, 52, 54, 54, 56, 56,
+        58, 58, 60, 61, 61, 62, 62, 63, 63, 66, 66, 69, 69, 71, 74, 74,
+        75, 76, 78, 81, 81, 83, 86, 89, 89, 91, 94, 97, 100, 103, 103, 105,
+        108, 111, 111, 113, 115, 116, 119, 122, 122, 123, 124, 127, 128, 129, 130,
+    };
+
+    static final short[] CORPOS = {
+        37, // PROGRAMA
+        38, 37, // LISTA_COMANDOS_0
+        39, 27, // COMANDO_0
+        40, // COMANDO_1
+        41, // COMANDO_2
+        42, // COMANDO_3
+        43, // COMANDO_SIMPLES_0
+        44, // COMANDO_SIMPLES_1
+        45, // COMANDO_SIMPLES_2
+        46, // COMANDO_SIMPLES_3
+        4, 47, 42, 48, // COMANDO_SE
+        49, // COMANDO_PARA_0
+        50, // COMANDO_PARA_1
+        32, 37, 33, // BLOCO
+        0, 12, 51, 52, // DECLARACAO
+        12, 26, 47, // ATRIBUICAO
+        7, 30, 53, 31, // COMANDO_IMPRIMIR
+        8, 30, 54, 31, // COMANDO_LER
+        55, // EXPRESSAO
+        5, 42, // SENAO_OPCIONAL_0
+        6, 47, 42, // PARA_ENQUANTO
+        6, 56, 27, 57, 27, 58, 42, // PARA_CLASSICO
+        1, // TIPO_0
+        2, // TIPO_1
+        3, // TIPO_2
+        26, 47, // INICIALIZACAO_OPCIONAL_0
+        47, 59, // LISTA_EXPRESSOES_0
+        12, 60, // LISTA_VARIAVEIS_0
+        61, 62, // OU_LOGICO
+        63, // INICIO_OPCIONAL_0
+        47, // CONDICAO_OPCIONAL_0
+        44, // POS_OPCIONAL_0
+        28, 47, 59, // MAIS_EXPRESSOES_0
+        28, 12, 60, // MAIS_VARIAVEIS_0
+        64, 65, // E_LOGICO
+        24, 61, 62, // MAIS_OU_0
+        43, // INICIALIZACAO_0
+        44, // INICIALIZACAO_1
+        66, 67, // IGUALDADE
+        23, 64, 65, // MAIS_E_0
+        68, 69, // RELACIONAL
+        21, 66, 67, // MAIS_IGUALDADE_0
+        22, 66, 67, // MAIS_IGUALDADE_1
+        70, 71, // ADITIVO
+        17, 68, 69, // MAIS_RELACIONAL_0
+        18, 68, 69, // MAIS_RELACIONAL_1
+        19, 68, 69, // MAIS_RELACIONAL_2
+        20, 68, 69, // MAIS_RELACIONAL_3
+        72, 73, // MULTIPLICATIVO
+        13, 70, 71, // MAIS_ADITIVO_0
+        14, 70, 71, // MAIS_ADITIVO_1
+        25, 72, // UNARIO_0
+        14, 72, // UNARIO_1
+        74, // UNARIO_2
+        15, 72, 73, // MAIS_MULTIPLICATIVO_0
+        16, 72, 73, // MAIS_MULTIPLICATIVO_1
+        75, // PRIMARIO_0
+        12, // PRIMARIO_1
+        30, 47, 31, // PRIMARIO_2
+        9, // LITERAL_0
+        10, // LITERAL_1
+        11, // LITERAL_2
+    };
+
+    // TABELA[naoTerminal * TERMINAIS + ordinal do token] = produção, ERRO ou EXCECAO
+    static final short[] TABELA = {
+        // <programa>
+        0, -1, -1, -1, 0, -1, 0, 0, 0, -1, -1, -1, 0, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 0, -1, 0, -1,
+        // <lista_comandos>
+        1, -1, -1, -1, 1, -1, 1, 1, 1, -1, -1, -1, 1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1, 2, 2, -1,
+        // <comando>
+        3, -1, -1, -1, 4, -1, 5, 3, 3, -1, -1, -1, 3, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 6, -1, -1, -1,
+        // <comando_simples>
+        7, -1, -1, -1, -1, -1, -1, 9, 10, -1, -1, -1, 8, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <comando_se>
+        -1, -1, -1, -1, 11, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <comando_para>
+        -1, -1, -1, -1, -1, -1, -2, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <bloco>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 14, -1, -1, -1,
+        // <declaracao>
+        15, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <atribuicao>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 16, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <comando_imprimir>
+        -1, -1, -1, -1, -1, -1, -1, 17, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <comando_ler>
+        -1, -1, -1, -1, -1, -1, -1, -1, 18, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <expressao>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 19, 19, 19, 19, -1, 19, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 19, -1, -1, -1, -1, 19, -1, -1, -1, -1, -1,
+        // <senao_opcional>
+        21, -1, -1, -1, 21, 20, 21, 21, 21, -1, -1, -1, 21, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 21, 21, 21, -1,
+        // <para_enquanto>
+        -1, -1, -1, -1, -1, -1, 22, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <para_classico>
+        -1, -1, -1, -1, -1, -1, 23, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <tipo>
+        -1, 24, 25, 26, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <inicializacao_opcional>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 27, 28, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <lista_expressoes>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 29, 29, 29, 29, -1, 29, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 29, -1, -1, -1, -1, 29, 30, -1, -1, -1, -1,
+        // <lista_variaveis>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 31, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 32, -1, -1, -1, -1,
+        // <ou_logico>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 33, 33, 33, 33, -1, 33, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 33, -1, -1, -1, -1, 33, -1, -1, -1, -1, -1,
+        // <inicio_opcional>
+        34, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 34, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 35, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <condicao_opcional>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 36, 36, 36, 36, -1, 36, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 36, -1, 37, -1, -1, 36, -1, -1, -1, -1, -1,
+        // <pos_opcional>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 38, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 39, -1, -1, -1,
+        // <mais_expressoes>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 40, -1, -1, 41, -1, -1, -1, -1,
+        // <mais_variaveis>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 42, -1, -1, 43, -1, -1, -1, -1,
+        // <e_logico>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 44, 44, 44, 44, -1, 44, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 44, -1, -1, -1, -1, 44, -1, -1, -1, -1, -1,
+        // <mais_ou>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 45, -1, -1, 46, 46, -1, -1, 46, 46, -1, -1, -1,
+        // <inicializacao>
+        47, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 48, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+        // <igualdade>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 49, 49, 49, 49, -1, 49, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 49, -1, -1, -1, -1, 49, -1, -1, -1, -1, -1,
+        // <mais_e>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 50, 51, -1, -1, 51, 51, -1, -1, 51, 51, -1, -1, -1,
+        // <relacional>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 52, 52, 52, 52, -1, 52, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 52, -1, -1, -1, -1, 52, -1, -1, -1, -1, -1,
+        // <mais_igualdade>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 53, 54, 55, 55, -1, -1, 55, 55, -1, -1, 55, 55, -1, -1, -1,
+        // <aditivo>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 56, 56, 56, 56, -1, 56, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 56, -1, -1, -1, -1, 56, -1, -1, -1, -1, -1,
+        // <mais_relacional>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 57, 58, 59, 60, 61, 61, 61, 61, -1, -1, 61, 61, -1, -1, 61, 61, -1, -1, -1,
+        // <multiplicativo>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 62, 62, 62, 62, -1, 62, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 62, -1, -1, -1, -1, 62, -1, -1, -1, -1, -1,
+        // <mais_aditivo>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 63, 64, -1, -1, 65, 65, 65, 65, 65, 65, 65, 65, -1, -1, 65, 65, -1, -1, 65, 65, -1, -1, -1,
+        // <unario>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 68, 68, 68, 68, -1, 67, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 66, -1, -1, -1, -1, 68, -1, -1, -1, -1, -1,
+        // <mais_multiplicativo>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 71, 71, 69, 70, 71, 71, 71, 71, 71, 71, 71, 71, -1, -1, 71, 71, -1, -1, 71, 71, -1, -1, -1,
+        // <primario>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 72, 72, 72, 73, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 74, -1, -1, -1, -1, -1,
+        // <literal>
+        -1, -1, -1, -1, -1, -1, -1, -1, -1, 75, 76, 77, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    };
+
+    /*
+     * <programa> (anulável)
+     *     FIRST  = { "var" "se" "para" "imprimir" "ler" IDENTIFICADOR "{" }
+     *     FOLLOW = { EOF }
+     * <lista_comandos> (anulável)
+     *     FIRST  = { "var" "se" "para" "imprimir" "ler" IDENTIFICADOR "{" }
+     *     FOLLOW = { "}" EOF }
+     * <comando>
+     *     FIRST  = { "var" "se" "para" "imprimir" "ler" IDENTIFICADOR "{" }
+     *     FOLLOW = { "var" "se" "para" "imprimir" "ler" IDENTIFICADOR "{" "}" EOF }
+     * <comando_simples>
+     *     FIRST  = { "var" "imprimir" "ler" IDENTIFICADOR }
+     *     FOLLOW = { ";" }
+     * <comando_se>
+     *     FIRST  = { "se" }
+     *     FOLLOW = { "var" "se" "para" "imprimir" "ler" IDENTIFICADOR "{" "}" EOF }
+     * <comando_para>
+     *     FIRST  = { "para" }
+     *     FOLLOW = { "var" "se" "para" "imprimir" "ler" IDENTIFICADOR "{" "}" EOF }
+     * <bloco>
+     *     FIRST  = { "{" }
+     *     FOLLOW = { "var" "se" "senao" "para" "imprimir" "ler" IDENTIFICADOR "{" "}" EOF }
+     * <declaracao>
+     *     FIRST  = { "var" }
+     *     FOLLOW = { ";" }
+     * <atribuicao>
+     *     FIRST  = { IDENTIFICADOR }
+     *     FOLLOW = { ";" "{" }
+     * <comando_imprimir>
+     *     FIRST  = { "imprimir" }
+     *     FOLLOW = { ";" }
+     * <comando_ler>
+     *     FIRST  = { "ler" }
+     *     FOLLOW = { ";" }
+     * <expressao>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { ";" "," ")" "{" }
+     * <senao_opcional> (anulável)
+     *     FIRST  = { "senao" }
+     *     FOLLOW = { "var" "se" "para" "imprimir" "ler" IDENTIFICADOR "{" "}" EOF }
+     * <para_enquanto>
+     *     FIRST  = { "para" }
+     *     FOLLOW = { "var" "se" "para" "imprimir" "ler" IDENTIFICADOR "{" "}" EOF }
+     * <para_classico>
+     *     FIRST  = { "para" }
+     *     FOLLOW = { "var" "se" "para" "imprimir" "ler" IDENTIFICADOR "{" "}" EOF }
+     * <tipo>
+     *     FIRST  = { "inteiro" "real" "texto" }
+     *     FOLLOW = { "=" ";" }
+     * <inicializacao_opcional> (anulável)
+     *     FIRST  = { "=" }
+     *     FOLLOW = { ";" }
+     * <lista_expressoes> (anulável)
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { ")" }
+     * <lista_variaveis> (anulável)
+     *     FIRST  = { IDENTIFICADOR }
+     *     FOLLOW = { ")" }
+     * <ou_logico>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { ";" "," ")" "{" }
+     * <inicio_opcional> (anulável)
+     *     FIRST  = { "var" IDENTIFICADOR }
+     *     FOLLOW = { ";" }
+     * <condicao_opcional> (anulável)
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { ";" }
+     * <pos_opcional> (anulável)
+     *     FIRST  = { IDENTIFICADOR }
+     *     FOLLOW = { "{" }
+     * <mais_expressoes> (anulável)
+     *     FIRST  = { "," }
+     *     FOLLOW = { ")" }
+     * <mais_variaveis> (anulável)
+     *     FIRST  = { "," }
+     *     FOLLOW = { ")" }
+     * <e_logico>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { "||" ";" "," ")" "{" }
+     * <mais_ou> (anulável)
+     *     FIRST  = { "||" }
+     *     FOLLOW = { ";" "," ")" "{" }
+     * <inicializacao>
+     *     FIRST  = { "var" IDENTIFICADOR }
+     *     FOLLOW = { ";" }
+     * <igualdade>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { "&&" "||" ";" "," ")" "{" }
+     * <mais_e> (anulável)
+     *     FIRST  = { "&&" }
+     *     FOLLOW = { "||" ";" "," ")" "{" }
+     * <relacional>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { "==" "!=" "&&" "||" ";" "," ")" "{" }
+     * <mais_igualdade> (anulável)
+     *     FIRST  = { "==" "!=" }
+     *     FOLLOW = { "&&" "||" ";" "," ")" "{" }
+     * <aditivo>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { "<" "<=" ">" ">=" "==" "!=" "&&" "||" ";" "," ")" "{" }
+     * <mais_relacional> (anulável)
+     *     FIRST  = { "<" "<=" ">" ">=" }
+     *     FOLLOW = { "==" "!=" "&&" "||" ";" "," ")" "{" }
+     * <multiplicativo>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { "+" "-" "<" "<=" ">" ">=" "==" "!=" "&&" "||" ";" "," ")" "{" }
+     * <mais_aditivo> (anulável)
+     *     FIRST  = { "+" "-" }
+     *     FOLLOW = { "<" "<=" ">" ">=" "==" "!=" "&&" "||" ";" "," ")" "{" }
+     * <unario>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "-" "!" "(" }
+     *     FOLLOW = { "+" "-" "*" "/" "<" "<=" ">" ">=" "==" "!=" "&&" "||" ";" "," ")" "{" }
+     * <mais_multiplicativo> (anulável)
+     *     FIRST  = { "*" "/" }
+     *     FOLLOW = { "+" "-" "<" "<=" ">" ">=" "==" "!=" "&&" "||" ";" "," ")" "{" }
+     * <primario>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO IDENTIFICADOR "(" }
+     *     FOLLOW = { "+" "-" "*" "/" "<" "<=" ">" ">=" "==" "!=" "&&" "||" ";" "," ")" "{" }
+     * <literal>
+     *     FIRST  = { LITERAL_INTEIRO LITERAL_REAL LITERAL_TEXTO }
+     *     FOLLOW = { "+" "-" "*" "/" "<" "<=" ">" ">=" "==" "!=" "&&" "||" ";" "," ")" "{" }
+     */
+}
@@ -0,0 +1,46 @@
+package scanner;
+
+/**
+ * Faixa de tokens alterada por uma edição no {@link ScannerIncremental}.
+ *
+ * Os tokens [inicio, inicio + removidos) do fluxo antigo foram trocados pelos
+ * tokens [inicio, inicio + inseridos) do fluxo novo. Os tokens anteriores são
+ * os mesmos; os posteriores são os mesmos com o início deslocado.
+ */
+public final class AlteracaoTokens {
+
+    private final int inicio;
+    private final int removidos;
+    private final int inseridos;
+
+    public AlteracaoTokens(int inicio, int removidos, int inseridos) {
+        this.inicio = inicio;
+        this.removidos = removidos;
+        this.inseridos = inseridos;
+    }
+
+    /** Índice do primeiro token alterado (igual nos dois fluxos). */
+    public int getInicio() {
+        return inicio;
+    }
+
+    /** Quantidade de tokens do fluxo antigo que foram trocados. */
+    public int getRemovidos() {
+        return removidos;
+    }
+
+    /** Quantidade de tokens novos no lugar deles. */
+    public int getInseridos() {
+        return inseridos;
+    }
+
+    /** Índice, no fluxo novo, do primeiro token inalterado após a edição. */
+    public int getFimNovo() {
+        return inicio + inseridos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AlteracaoTokens[inicio=%d, removidos=%d, inseridos=%d]", inicio, removidos, inseridos);
+    }
+}
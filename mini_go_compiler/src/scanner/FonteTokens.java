@@ -0,0 +1,52 @@
+package scanner;
+
+import java.util.List;
+
+/**
+ * Fonte de tokens indexada consumida pelo Parser.
+ * 
+ * Permite que o Parser leia tanto uma lista de objetos {@link Token}
+ * quanto representações compactas (como {@link TokenBuffer}) sem
+ * conhecer a forma de armazenamento.
+ * 
+ * Índices além do último token devem se comportar como o token EOF final.
+ */
+public interface FonteTokens {
+
+    /**
+     * Retorna o tipo do token na posição indicada, sem materializar o token.
+     * 
+     * @param indice posição do token
+     * @return tipo do token (EOF se o índice passar do fim)
+     */
+    TokenType tipo(int indice);
+
+    /**
+     * Retorna o token na posição indicada.
+     * 
+     * @param indice posição do token
+     * @return token (o EOF final se o índice passar do fim)
+     */
+    Token token(int indice);
+
+    /**
+     * Adapta uma lista de tokens terminada por EOF.
+     * 
+     * @param tokens lista produzida por {@link Scanner#scanTokens()}
+     * @return fonte de tokens sobre a lista
+     */
+    static FonteTokens deLista(List<Token> tokens) {
+        return new FonteTokens() {
+            @Override
+            public TokenType tipo(int indice) {
+                return token(indice).getTipo();
+            }
+
+            @Override
+            public Token token(int indice) {
+                if (indice >= tokens.size()) return tokens.get(tokens.size() - 1); // EOF seguro
+                return tokens.get(indice);
+            }
+        };
+    }
+}
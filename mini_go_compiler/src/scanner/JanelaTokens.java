@@ -0,0 +1,61 @@
+package scanner;
+
+import java.util.function.Supplier;
+
+/**
+ * Fonte de tokens lidos sob demanda, guardados num pequeno buffer circular.
+ *
+ * Em vez de tokenizar o arquivo inteiro antes do Parser começar, cada token
+ * é pedido ao scanner (ex: {@link StreamingScanner#nextToken()}) só quando
+ * o Parser chega nele. O buffer mantém apenas os últimos {@link #CAPACIDADE}
+ * tokens: o anterior ao atual (previous), o atual e dois de lookahead (o
+ * {@code peekNext} do para e a exceção do ParserLL1). Assim a memória dos
+ * tokens não depende do tamanho do arquivo.
+ */
+public final class JanelaTokens implements FonteTokens {
+
+    public static final int CAPACIDADE = 4; // Potência de 2: índice & (CAPACIDADE - 1)
+
+    private final Supplier<Token> scanner;
+    private final Token[] buffer = new Token[CAPACIDADE];
+    private int lidos;        // Quantidade de tokens já pedidos ao scanner
+    private Token eof;        // EOF final, depois que o scanner o entregou
+
+    /**
+     * @param scanner produtor de tokens; deve entregar EOF no fim da entrada
+     */
+    public JanelaTokens(Supplier<Token> scanner) {
+        this.scanner = scanner;
+    }
+
+    public JanelaTokens(StreamingScanner scanner) {
+        this((Supplier<Token>) scanner::nextToken);
+    }
+
+    @Override
+    public TokenType tipo(int indice) {
+        return token(indice).getTipo();
+    }
+
+    /**
+     * @throws IllegalStateException se o token já saiu da janela
+     */
+    @Override
+    public Token token(int indice) {
+        while (indice >= lidos) {
+            if (eof != null) {
+                return eof; // Além do fim: sempre o EOF
+            }
+            Token token = scanner.get();
+            buffer[lidos & (CAPACIDADE - 1)] = token;
+            lidos++;
+            if (token.getTipo() == TokenType.EOF) {
+                eof = token;
+            }
+        }
+        if (indice < lidos - CAPACIDADE) {
+            throw new IllegalStateException("Token " + indice + " já saiu da janela (lidos: " + lidos + ")");
+        }
+        return buffer[indice & (CAPACIDADE - 1)];
+    }
+}
@@ -0,0 +1,172 @@
+package scanner;
+
+/**
+ * Decodificação dos literais da linguagem, compartilhada pelo Scanner
+ * (que decodifica durante a varredura) e pelos tokens criados sem
+ * valor já decodificado (que decodificam a partir do lexema).
+ */
+public final class Literais {
+
+    // Potências de 10 exatamente representáveis em double
+    private static final double[] POTENCIAS_10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int MAX_DIGITOS_EXATOS = 15; // Mantissa cabe em 53 bits
+
+    private Literais() {
+    }
+
+    /**
+     * Converte os dígitos [inicio, fim) em long.
+     *
+     * @return o valor, ou -1 se não couber em um long
+     */
+    static long inteiro(CharSequence source, int inicio, int fim) {
+        long valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            int digito = source.charAt(i) - '0';
+            if (valor > (Long.MAX_VALUE - digito) / 10) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    /**
+     * Converte "ddd.ddd" em [inicio, fim) em double. Com poucos dígitos a
+     * conversão é uma única divisão exata (corretamente arredondada);
+     * nos demais casos recorre a {@link Double#parseDouble(String)}.
+     */
+    static double real(CharSequence source, int inicio, int fim) {
+        long mantissa = 0;
+        int digitos = 0;
+        int casasDecimais = -1;
+        for (int i = inicio; i < fim; i++) {
+            char c = source.charAt(i);
+            if (c == '.') {
+                casasDecimais = 0;
+                continue;
+            }
+            if (mantissa == 0 && c == '0') {
+                // Zeros à esquerda não contam como dígitos significativos
+            } else {
+                digitos++;
+            }
+            mantissa = mantissa * 10 + (c - '0');
+            if (casasDecimais >= 0) {
+                casasDecimais++;
+            }
+            if (digitos > MAX_DIGITOS_EXATOS) {
+                return Double.parseDouble(source.subSequence(inicio, fim).toString());
+            }
+        }
+        if (casasDecimais < 0) {
+            return mantissa;
+        }
+        if (casasDecimais >= POTENCIAS_10.length) {
+            return Double.parseDouble(source.subSequence(inicio, fim).toString());
+        }
+        return mantissa / POTENCIAS_10[casasDecimais];
+    }
+
+    /**
+     * Decodifica o conteúdo de um literal de texto com aspas, com as mesmas
+     * regras de escape do Scanner.
+     */
+    static String texto(String lexema) {
+        int fim = lexema.length() > 1 && lexema.endsWith("\"") ? lexema.length() - 1 : lexema.length();
+        int inicio = lexema.startsWith("\"") ? 1 : 0;
+        int barra = lexema.indexOf('\\', inicio);
+        if (barra < 0 || barra >= fim) {
+            return lexema.substring(inicio, fim);
+        }
+        StringBuilder valor = new StringBuilder(fim - inicio);
+        int i = inicio;
+        while (i < fim) {
+            char c = lexema.charAt(i++);
+            if (c == '\\' && i < fim) {
+                decodificarEscape(lexema.charAt(i++), valor);
+            } else {
+                valor.append(c);
+            }
+        }
+        return valor.toString();
+    }
+
+    /**
+     * Acrescenta ao valor o caractere representado por "\" seguido de {@code escapado}.
+     */
+    static void decodificarEscape(char escapado, StringBuilder valor) {
+        switch (escapado) {
+            case '"':
+                valor.append('"');
+                break;
+            case '\\':
+                valor.append('\\');
+                break;
+            case 'n':
+                valor.append('\n');
+                break;
+            case 't':
+                valor.append('\t');
+                break;
+            default:
+                valor.append('\\').append(escapado);
+                break;
+        }
+    }
+
+    /**
+     * Operação inversa de {@link #texto(String)}: volta a escapar aspas,
+     * barras, quebras de linha e tabs para exibir o valor entre aspas, numa
+     * linha só.
+     *
+     * Escapes desconhecidos (ex: "\q") ficam no valor como estavam no
+     * código fonte, então uma barra seguida de um caractere que não forma
+     * escape é exibida sem mudança: {@code texto(escapar(v))} é sempre v,
+     * e "a\qb" continua sendo exibido como "a\qb".
+     */
+    public static String escapar(String valor) {
+        StringBuilder sb = null;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            String escape;
+            switch (c) {
+                case '"': escape = "\\\""; break;
+                case '\\': escape = barraLiteral(valor, i) ? null : "\\\\"; break;
+                case '\n': escape = "\\n"; break;
+                case '\t': escape = "\\t"; break;
+                default: escape = null; break;
+            }
+            if (escape != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(valor.length() + 8).append(valor, 0, i);
+                }
+                sb.append(escape);
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? valor : sb.toString();
+    }
+
+    /**
+     * A barra em {@code indice} pode ser exibida sozinha: o caractere seguinte
+     * não forma com ela um escape conhecido.
+     */
+    private static boolean barraLiteral(String valor, int indice) {
+        if (indice + 1 >= valor.length()) {
+            return false; // Antes da aspa final viraria \"
+        }
+        char seguinte = valor.charAt(indice + 1);
+        switch (seguinte) {
+            case '"': case '\\': case 'n': case 't': // Formaria um escape
+            case '\n': case '\t':                   // Seria escapado: a barra ficaria antes do escape
+                return false;
+            default:
+                return true;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package scanner;
+
+import java.util.Arrays;
+
+/**
+ * Índice dos inícios de linha de um código fonte.
+ *
+ * O Scanner registra apenas o deslocamento de cada token; linha e coluna
+ * só são calculadas quando alguém as pede (tipicamente uma mensagem de
+ * erro), por busca binária nesta tabela. A tabela é montada uma única vez,
+ * na primeira consulta, e compartilhada por todos os tokens do mesmo fonte.
+ */
+public final class MapaLinhas {
+
+    private final String source;
+    private volatile int[] inicios;   // inicios[k] = deslocamento do 1º caractere da linha k+1
+    private int quantidade;           // Linhas válidas em 'inicios'
+
+    public MapaLinhas(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Retorna a linha (começando em 1) que contém o deslocamento.
+     * Um deslocamento logo após um '\n' já pertence à linha seguinte.
+     */
+    public int linha(int deslocamento) {
+        int[] tabela = tabela();
+        int pos = Arrays.binarySearch(tabela, 0, quantidade, deslocamento);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    /**
+     * Retorna a coluna (começando em 1) do deslocamento dentro da sua linha.
+     */
+    public int coluna(int deslocamento) {
+        return deslocamento - inicioLinha(linha(deslocamento)) + 1;
+    }
+
+    /**
+     * Retorna o deslocamento do primeiro caractere de uma linha.
+     */
+    public int inicioLinha(int linha) {
+        return tabela()[linha - 1];
+    }
+
+    /**
+     * Monta a tabela na primeira consulta, procurando as quebras de linha
+     * com a mesma busca em bloco usada pelo Scanner.
+     */
+    private int[] tabela() {
+        int[] tabela = inicios;
+        if (tabela != null) {
+            return tabela;
+        }
+        synchronized (this) {
+            if (inicios == null) {
+                Varredor varredor = Varredor.para(source);
+                int[] novos = new int[16];
+                int n = 1; // A linha 1 começa no deslocamento 0
+                int fim = source.length();
+                int i = varredor.proximaQuebraLinha(0, fim);
+                while (i < fim) {
+                    if (n == novos.length) {
+                        novos = Arrays.copyOf(novos, n * 2);
+                    }
+                    novos[n++] = i + 1;
+                    i = varredor.proximaQuebraLinha(i + 1, fim);
+                }
+                quantidade = n;
+                inicios = novos;
+            }
+            return inicios;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da análise léxica de um trecho do código fonte, usado pelo
+ * {@link ScannerParalelo} para costurar os blocos analisados em paralelo.
+ *
+ * Um trecho pode começar em três estados: normal, dentro de um comentário
+ * de bloco ou dentro de uma string herdados do trecho anterior. Nos dois
+ * últimos casos, {@link #fimPrefixo} indica onde o comentário/string
+ * herdado termina. Erros léxicos não são impressos na hora: ficam
+ * guardados até se saber se este resultado é o que vale.
+ */
+final class RegiaoLexica {
+
+    static final int NORMAL = 0;
+    static final int EM_COMENTARIO = 1;
+    static final int EM_TEXTO = 2;
+    static final int ESTADOS = 3;
+
+    List<Token> tokens;                                   // Tokens da região, na ordem
+    final List<Token> erros = new ArrayList<>();          // Tokens de erro, na ordem
+    final List<String> mensagens = new ArrayList<>();     // Mensagem de cada erro
+
+    int fimPrefixo = -1;       // Fim do comentário/string herdado (-1 se ocupa o trecho todo)
+    int estadoSaida = NORMAL;  // Estado em que o trecho termina
+    int inicioPendente = -1;   // Início do comentário/string aberto no fim do trecho
+
+    // Ponto onde a análise reencontrou uma análise já conhecida (-1 se não reencontrou)
+    int inicioSincronia = -1;
+    int indiceSincronia = -1;
+
+    /**
+     * Mensagem de erro para um comentário ou string que chega aberto ao fim do arquivo.
+     */
+    static String mensagemPendente(int estado) {
+        return estado == EM_COMENTARIO ? "Comentário de bloco não fechado" : "String não fechada";
+    }
+
+    /**
+     * Procura um token que comece exatamente no deslocamento dado.
+     *
+     * @return índice do token, ou -1 se nenhum começa ali
+     */
+    int indiceTokenEm(int deslocamento) {
+        int baixo = 0;
+        int alto = tokens.size() - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            int inicio = tokens.get(meio).getInicio();
+            if (inicio < deslocamento) {
+                baixo = meio + 1;
+            } else if (inicio > deslocamento) {
+                alto = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,6 +1,13 @@
 package scanner;
 
 import java.util.*;
+import java.util.function.IntUnaryOperator;
+
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.Fase;
+import diagnostico.LimiteErrosAtingido;
+import diagnostico.Severidade;
 
 /**
  * Analisador Léxico (Scanner) para a linguagem Mini-Go.
@@ -17,12 +24,24 @@ public class Scanner {
     private final List<Token> tokens;  // Lista de tokens identificados
     private int start;                 // Início do lexema atual
     private int current;               // Posição atual no código fonte
-    private int linha;                 // Linha atual
-    private int coluna;                // Coluna atual
+    private final int fim;             // Fim da região analisada (exclusivo)
+    private final MapaLinhas mapa;     // Linha/coluna dos tokens, calculadas sob demanda
+    private TokenBuffer buffer;        // Destino compacto (null no modo lista)
+    private final TabelaNomes nomes;   // Pool de identificadores da compilação
+    private final Varredor varredor;   // Busca em bloco (vetorizada quando disponível)
+    private RegiaoLexica regiao;       // Resultado parcial (só na análise por região)
+    private final StringBuilder valorTexto = new StringBuilder(); // Reutilizado por string()
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos(); // Destino dos erros léxicos
 	
 	// Mapa de palavras reservadas para lookup rápido
     private static final Map<String, TokenType> palavrasReservadas = new HashMap<>();
     
+    // Mesmas palavras, para a comparação direta sobre o código fonte
+    private static final TokenType[] PALAVRAS_RESERVADAS = {
+        TokenType.VAR, TokenType.INTEIRO, TokenType.REAL, TokenType.TEXTO, TokenType.SE,
+        TokenType.SENAO, TokenType.PARA, TokenType.IMPRIMIR, TokenType.LER
+    };
+    
     static {
         palavrasReservadas.put("var", TokenType.VAR);
         palavrasReservadas.put("inteiro", TokenType.INTEIRO);
@@ -41,12 +60,54 @@ public class Scanner {
      * @param source código fonte a ser tokenizado
     */
     public Scanner(String source) {
+        this(source, new TabelaNomes());
+    }
+    
+    /**
+     * Construtor do Scanner com um pool de nomes compartilhado
+     * (por exemplo, entre vários arquivos da mesma compilação).
+     * 
+     * @param source código fonte a ser tokenizado
+     * @param nomes pool onde os identificadores são internados
+    */
+    public Scanner(String source, TabelaNomes nomes) {
+        this(source, nomes, true);
+    }
+    
+    /**
+     * Construtor que escolhe a busca em bloco: com {@code vetorizado} false
+     * usa sempre a escalar, mesmo com a Vector API carregada (para comparar
+     * as duas implementações).
+     * 
+     * @param source código fonte a ser tokenizado
+     * @param nomes pool onde os identificadores são internados
+     * @param vetorizado usa a busca vetorizada, se disponível
+    */
+    public Scanner(String source, TabelaNomes nomes, boolean vetorizado) {
         this.source = source;
+        this.nomes = nomes;
+        this.varredor = Varredor.para(source, vetorizado);
         this.tokens = new ArrayList<>();
+        this.mapa = new MapaLinhas(source);
         this.start = 0;
         this.current = 0;
-        this.linha = 1;
-        this.coluna = 1;
+        this.fim = source.length();
+    }
+    
+    /**
+     * Construtor para analisar apenas o trecho [inicio, fim) do código fonte.
+     * Usado pelo {@link ScannerParalelo}; os tokens guardam deslocamentos
+     * absolutos e compartilham o mesmo {@link MapaLinhas}.
+    */
+    Scanner(String source, TabelaNomes nomes, MapaLinhas mapa, int inicio, int fim) {
+        this.source = source;
+        this.nomes = nomes;
+        this.varredor = Varredor.para(source);
+        this.tokens = new ArrayList<>();
+        this.mapa = mapa;
+        this.start = inicio;
+        this.current = inicio;
+        this.fim = fim;
     }
     
     /**
@@ -55,17 +116,101 @@ public class Scanner {
      * @return lista de tokens identificados
     */
     public List<Token> scanTokens() {
-        while (!isAtEnd()) {
-            // Início de um novo lexema
-            start = current;
-            scanToken();
+        try {
+            while (!isAtEnd()) {
+                // Início de um novo lexema
+                start = current;
+                scanToken();
+            }
+        } catch (LimiteErrosAtingido e) {
+            // Entrada sem salvação: encerra a análise aqui
         }
         
         // Adiciona token EOF ao final
-        tokens.add(new Token(TokenType.EOF, "", linha, coluna));
+        tokens.add(new Token(TokenType.EOF, "", mapa, current, -1));
         return tokens;
     }
 
+    /**
+     * Realiza a análise léxica completa gravando os tokens em um
+     * {@link TokenBuffer} compacto em vez de uma lista de objetos Token.
+     * 
+     * @return buffer com os tokens identificados (terminado por EOF)
+    */
+    public TokenBuffer scanTokenBuffer() {
+        buffer = new TokenBuffer(source, nomes, mapa);
+        try {
+            while (!isAtEnd()) {
+                start = current;
+                scanToken();
+            }
+        } catch (LimiteErrosAtingido e) {
+            // Entrada sem salvação: encerra a análise aqui
+        }
+        
+        buffer.adicionar(TokenType.EOF, current, 0);
+        return buffer;
+    }
+
+    /**
+     * Analisa a região como se ela começasse no estado dado
+     * ({@link RegiaoLexica#NORMAL}, dentro de comentário ou dentro de string).
+     * 
+     * Comentários e strings que não fecham até o fim da região ficam pendentes
+     * em vez de gerar erro. Com uma função de {@code sincronia} (que diz se
+     * uma análise já existente tem um token começando no mesmo ponto), a análise
+     * para assim que produzir um desses tokens: como o lexer não olha para trás,
+     * dali em diante os resultados são idênticos.
+     * 
+     * @param estado estado herdado do trecho anterior
+     * @param sincronia deslocamento -> índice do token conhecido que começa ali
+     *                  (ou -1); null para analisar a região inteira
+     * @return tokens, erros adiados e estado de saída da região
+    */
+    RegiaoLexica scanRegiao(int estado, IntUnaryOperator sincronia) {
+        regiao = new RegiaoLexica();
+        regiao.tokens = tokens;
+        
+        // Termina primeiro o comentário ou a string herdados
+        if (estado == RegiaoLexica.EM_COMENTARIO) {
+            current = varredor.proximoFimComentario(current, fim);
+            if (isAtEnd()) {
+                regiao.estadoSaida = estado;
+                return regiao;
+            }
+            current += 2; // consome */
+            regiao.fimPrefixo = current;
+        } else if (estado == RegiaoLexica.EM_TEXTO) {
+            if (!corpoTexto(new StringBuilder())) {
+                regiao.estadoSaida = estado;
+                return regiao;
+            }
+            regiao.fimPrefixo = current;
+        }
+        
+        while (!isAtEnd()) {
+            start = current;
+            int antes = tokens.size();
+            scanToken();
+            
+            if (sincronia != null && tokens.size() > antes) {
+                int indice = sincronia.applyAsInt(start);
+                if (indice >= 0) {
+                    // Sincronizou com a análise normal: o restante é o dela
+                    tokens.remove(antes);
+                    if (!regiao.erros.isEmpty() && regiao.erros.get(regiao.erros.size() - 1).getInicio() == start) {
+                        regiao.erros.remove(regiao.erros.size() - 1);
+                        regiao.mensagens.remove(regiao.mensagens.size() - 1);
+                    }
+                    regiao.inicioSincronia = start;
+                    regiao.indiceSincronia = indice;
+                    break;
+                }
+            }
+        }
+        return regiao;
+    }
+
     /**
      * Identifica e processa um único token.
      */
@@ -77,12 +222,12 @@ public class Scanner {
             case ' ':
             case '\r':
             case '\t':
+                pularBrancos();
                 break;
             
-            // Nova linha: incrementa contador de linhas
+            // Nova linha: as posições saem do MapaLinhas, nada a contar
             case '\n':
-                linha++;
-                coluna = 1;
+                pularBrancos();
                 break;
             
             // Delimitadores simples
@@ -133,9 +278,7 @@ public class Scanner {
             case '/':
                 if (match('/')) {
                     // Comentário de linha: ignora até o fim da linha
-                    while (peek() != '\n' && !isAtEnd()) {
-                        advance();
-                    }
+                    current = varredor.proximaQuebraLinha(current, fim);
                 } else if (match('*')) {
                     // Comentário de bloco: ignora até encontrar */
                     comentarioBloco();
@@ -176,20 +319,19 @@ public class Scanner {
      * Processa comentário de bloco /* ... *\/
     */
     private void comentarioBloco() {
-        while (!isAtEnd()) {
-            if (peek() == '*' && peekNext() == '/') {
-                advance(); // consome *
-                advance(); // consome /
-                return;
-            }
-            
-            if (peek() == '\n') {
-                linha++;
-                coluna = 0;
-            }
-            advance();
+        // Busca o "*/" em bloco
+        current = varredor.proximoFimComentario(current, fim);
+        
+        if (!isAtEnd()) {
+            advance(); // consome *
+            advance(); // consome /
+            return;
         }
         
+        if (regiao != null) {
+            pendente(RegiaoLexica.EM_COMENTARIO);
+            return;
+        }
         addError("Comentário de bloco não fechado");
     }
     
@@ -202,15 +344,20 @@ public class Scanner {
             advance();
         }
         
-        String text = source.substring(start, current);
-        
-        // Verifica se é palavra reservada
-        TokenType tipo = palavrasReservadas.get(text);
-        if (tipo == null) {
-            tipo = TokenType.IDENTIFICADOR;
+        // Verifica se é palavra reservada sem extrair o lexema
+        TokenType tipo = tipoIdentificador(source, start, current);
+        if (tipo != TokenType.IDENTIFICADOR) {
+            addToken(tipo);
+            return;
         }
         
-        addToken(tipo);
+        // Identificador: interna no pool e reutiliza a String canônica
+        int id = nomes.internar(source, start, current);
+        if (buffer != null) {
+            buffer.adicionar(tipo, start, current - start, id);
+        } else {
+            tokens.add(new Token(tipo, nomes.nome(id), mapa, start, id));
+        }
     }
     
     /**
@@ -234,9 +381,22 @@ public class Scanner {
                 advance();
             }
             
-            addToken(TokenType.LITERAL_REAL);
+            // Valor decodificado direto do código fonte, sem parseDouble do lexema
+            double valor = Literais.real(source, start, current);
+            if (buffer != null) {
+                buffer.adicionarLiteral(TokenType.LITERAL_REAL, start, current - start, Double.doubleToRawLongBits(valor));
+                return;
+            }
+            tokens.add(TokenLiteral.real(source.substring(start, current), mapa, start, valor));
         } else {
-            addToken(TokenType.LITERAL_INTEIRO);
+            long valor = Literais.inteiro(source, start, current);
+            if (valor < 0) {
+                addError("Literal inteiro muito grande");
+            } else if (buffer != null) {
+                buffer.adicionarLiteral(TokenType.LITERAL_INTEIRO, start, current - start, valor);
+            } else {
+                tokens.add(TokenLiteral.inteiro(source.substring(start, current), mapa, start, valor));
+            }
         }
     }
     
@@ -245,12 +405,40 @@ public class Scanner {
      * Suporta escapes: \" (aspas) e \\ (barra invertida)
     */
     private void string() {
-        StringBuilder valor = new StringBuilder();
+        StringBuilder valor = valorTexto;
+        valor.setLength(0);
         
+        if (!corpoTexto(valor)) {
+            if (regiao != null) {
+                pendente(RegiaoLexica.EM_TEXTO);
+                return;
+            }
+            addError("String não fechada");
+            return;
+        }
+        
+        // O valor já foi montado sem aspas e com os escapes processados
+        if (buffer != null) {
+            buffer.adicionarTexto(start, current - start, valor.toString());
+            return;
+        }
+        tokens.add(TokenLiteral.texto(source.substring(start, current), mapa, start, valor.toString()));
+    }
+    
+    /**
+     * Consome o conteúdo de uma string até a aspas de fechamento (inclusive).
+     * 
+     * @param valor recebe o texto com os escapes já processados
+     * @return false se a string não fecha antes do fim da região
+    */
+    private boolean corpoTexto(StringBuilder valor) {
         while (peek() != '"' && !isAtEnd()) {
-            if (peek() == '\n') {
-                linha++;
-                coluna = 0;
+            // Trecho sem aspas, escapes ou quebras: copiado de uma vez
+            int especial = varredor.proximoEspecialTexto(current, fim);
+            if (especial > current) {
+                valor.append(source, current, especial);
+                current = especial;
+                continue;
             }
             
             // Processa caracteres de escape
@@ -258,45 +446,41 @@ public class Scanner {
                 advance(); // consome \
                 
                 if (isAtEnd()) {
-                    addError("String não fechada");
-                    return;
+                    return false;
                 }
                 
-                char escaped = advance();
-                switch (escaped) {
-                    case '"':
-                        valor.append('"');
-                        break;
-                    case '\\':
-                        valor.append('\\');
-                        break;
-                    case 'n':
-                        valor.append('\n');
-                        break;
-                    case 't':
-                        valor.append('\t');
-                        break;
-                    default:
-                        valor.append('\\').append(escaped);
-                        break;
-                }
+                Literais.decodificarEscape(advance(), valor);
             } else {
                 valor.append(advance());
             }
         }
         
         if (isAtEnd()) {
-            addError("String não fechada");
-            return;
+            return false;
         }
         
         // Consome a aspas de fechamento
         advance();
-        
-        addToken(TokenType.LITERAL_TEXTO);
+        return true;
+    }
+    
+    /**
+     * Registra que um comentário ou string continua além do fim da região.
+    */
+    private void pendente(int estado) {
+        regiao.estadoSaida = estado;
+        regiao.inicioPendente = start;
     }
     
     
+    /**
+     * Pula a sequência de espaços, tabs e quebras de linha que segue o
+     * caractere em branco já consumido.
+    */
+    private void pularBrancos() {
+        current = varredor.proximoNaoBranco(current, fim);
+    }
+    
     /**
      * Verifica se o próximo caractere é o esperado e o consome.
      * 
@@ -308,7 +492,6 @@ public class Scanner {
         if (source.charAt(current) != expected) return false;
         
         current++;
-        coluna++;
         return true;
     }
     
@@ -328,7 +511,7 @@ public class Scanner {
      * @return próximo caractere ou '\0' se fim do arquivo
     */
     private char peekNext() {
-        if (current + 1 >= source.length()) return '\0';
+        if (current + 1 >= fim) return '\0';
         return source.charAt(current + 1);
     }
     
@@ -359,26 +542,26 @@ public class Scanner {
      * Verifica se chegou ao fim do código fonte.
     */
      private boolean isAtEnd() {
-        return current >= source.length();
+        return current >= fim;
     }
 
     /**
      * Consome e retorna o caractere atual.
     */
     private char advance() {
-        char c = source.charAt(current);
-        current++;
-        coluna++;
-        return c;
+        return source.charAt(current++);
     }
     
     /**
      * Adiciona um token à lista de tokens.
     */
     private void addToken(TokenType tipo) {
+        if (buffer != null) {
+            buffer.adicionar(tipo, start, current - start);
+            return;
+        }
         String text = source.substring(start, current);
-        int colunaInicio = coluna - (current - start);
-        tokens.add(new Token(tipo, text, linha, colunaInicio));
+        tokens.add(new Token(tipo, text, mapa, start, -1));
     }
     
     /**
@@ -386,11 +569,93 @@ public class Scanner {
     */
      private void addError(String mensagem) {
         String text = source.substring(start, current);
-        int colunaInicio = coluna - (current - start);
-        Token erro = new Token(TokenType.ERRO, text, linha, colunaInicio);
-        tokens.add(erro);
-        System.err.println("Erro léxico na linha " + linha + 
-                         ", coluna " + colunaInicio + ": " + mensagem);
+        Token erro = new Token(TokenType.ERRO, text, mapa, start, -1);
+        if (buffer != null) {
+            buffer.adicionar(TokenType.ERRO, start, current - start);
+        } else {
+            tokens.add(erro);
+        }
+        if (regiao != null) {
+            // Análise especulativa: o erro só é reportado se este resultado for usado
+            regiao.erros.add(erro);
+            regiao.mensagens.add(mensagem);
+            return;
+        }
+        reportarErro(diagnosticos, erro, mensagem);
+    }
+    
+    /**
+     * Reporta um erro léxico. Erros são raros: só aqui a posição é de fato calculada.
+    */
+    static void reportarErro(Diagnosticos diagnosticos, Token erro, String mensagem) {
+        diagnosticos.reportar(Severidade.ERRO, Fase.LEXICA, erro.getLinha(), erro.getColuna(), mensagem);
+    }
+    
+    /**
+     * Retorna o tipo de token de um identificador já lido:
+     * a palavra reservada correspondente ou IDENTIFICADOR.
+     * Compartilhado com as demais variantes de scanner do pacote.
+     */
+    static TokenType tipoIdentificador(String texto) {
+        TokenType tipo = palavrasReservadas.get(texto);
+        return tipo != null ? tipo : TokenType.IDENTIFICADOR;
+    }
+    
+    /**
+     * Variante sem alocação de {@link #tipoIdentificador(String)}:
+     * compara o trecho [inicio, fim) do código diretamente com as palavras reservadas.
+     */
+    static TokenType tipoIdentificador(CharSequence source, int inicio, int fim) {
+        int comprimento = fim - inicio;
+        for (TokenType tipo : PALAVRAS_RESERVADAS) {
+            String palavra = tipo.getLexema();
+            if (palavra.length() == comprimento && mesmoTrecho(source, inicio, palavra)) {
+                return tipo;
+            }
+        }
+        return TokenType.IDENTIFICADOR;
+    }
+    
+    private static boolean mesmoTrecho(CharSequence source, int inicio, String palavra) {
+        if (source instanceof String) {
+            return ((String) source).regionMatches(inicio, palavra, 0, palavra.length());
+        }
+        for (int i = 0; i < palavra.length(); i++) {
+            if (source.charAt(inicio + i) != palavra.charAt(i)) return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Define onde os erros léxicos são reportados.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+    
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+    
+    /**
+     * Indica se a busca em bloco deste Scanner é a vetorizada.
+     */
+    public boolean isVetorizado() {
+        return varredor.getClass() != Varredor.class;
+    }
+    
+    /**
+     * Retorna o índice de linhas usado para resolver a posição dos tokens.
+     */
+    public MapaLinhas getMapaLinhas() {
+        return mapa;
+    }
+    
+    /**
+     * Retorna o pool de nomes onde os identificadores foram internados.
+     */
+    public TabelaNomes getTabelaNomes() {
+        return nomes;
     }
     
     /**
@@ -0,0 +1,378 @@
+package scanner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.Fase;
+import diagnostico.LimiteErrosAtingido;
+import diagnostico.Severidade;
+
+/**
+ * Analisador Léxico dirigido por tabela (autômato finito determinístico).
+ *
+ * O autômato é montado uma única vez, na carga da classe, a partir de {@link TokenType}:
+ * - Cada caractere ASCII é mapeado para uma classe (tabela de classes)
+ * - Todo token de lexema fixo (palavras reservadas, operadores, delimitadores)
+ *   é inserido como um caminho do autômato, então palavras como "senao",
+ *   "imprimir" e "inteiro" são reconhecidas sem nenhuma consulta a HashMap
+ * - Identificadores, números, strings, comentários e espaços são estados extras
+ *
+ * O reconhecimento usa o maior casamento (maximal munch): o autômato avança
+ * enquanto houver transição e recua até o último estado de aceitação,
+ * o que resolve casos como "1." seguido de algo que não é dígito.
+ *
+ * Produz os mesmos tokens de {@link Scanner#scanTokens()}.
+ */
+public class ScannerDFA {
+
+    // ============================ AUTÔMATO ==================================
+
+    // Classes de caracteres fixas; as demais são criadas para cada caractere
+    // que aparece em algum lexema fixo de TokenType
+    private static final int OUTRO = 0;
+    private static final int LETRA = 1;
+    private static final int DIGITO = 2;
+    private static final int ESPACO = 3;
+    private static final int NOVA_LINHA = 4;
+
+    // Marcadores de aceitação (além dos ordinais de TokenType)
+    private static final int NAO_ACEITA = -1;
+    private static final int IGNORAR = -2;
+
+    private static final TokenType[] TIPOS = TokenType.values();
+
+    private static final byte[] CLASSE = new byte[128]; // caractere ASCII -> classe
+    private static final int NUM_CLASSES;
+    private static final int[] TRANSICOES;              // estado * NUM_CLASSES + classe -> estado (-1 = sem transição)
+    private static final int[] ACEITA;                  // estado -> ordinal de TokenType, IGNORAR ou NAO_ACEITA
+    private static final String[] ERRO_NO_FIM;          // estado -> mensagem se a entrada acabar nele
+
+    static {
+        Construtor c = new Construtor();
+        c.montar();
+        NUM_CLASSES = c.numClasses;
+        TRANSICOES = Arrays.copyOf(c.transicoes, c.numEstados * c.numClasses);
+        ACEITA = Arrays.copyOf(c.aceita, c.numEstados);
+        ERRO_NO_FIM = Arrays.copyOf(c.erroNoFim, c.numEstados);
+    }
+
+    // ============================ ESTADO DO SCANNER =========================
+
+    private final String source;       // Código fonte a ser analisado
+    private final List<Token> tokens;  // Lista de tokens identificados
+    private final TabelaNomes nomes;   // Pool de identificadores da compilação
+    private int linha;                 // Linha atual
+    private int coluna;                // Coluna atual
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos(); // Destino dos erros léxicos
+
+    /**
+     * Construtor do ScannerDFA.
+     *
+     * @param source código fonte a ser tokenizado
+     */
+    public ScannerDFA(String source) {
+        this(source, new TabelaNomes());
+    }
+
+    /**
+     * Construtor do ScannerDFA com um pool de nomes compartilhado.
+     *
+     * @param source código fonte a ser tokenizado
+     * @param nomes pool onde os identificadores são internados
+     */
+    public ScannerDFA(String source, TabelaNomes nomes) {
+        this.source = source;
+        this.nomes = nomes;
+        this.tokens = new ArrayList<>();
+        this.linha = 1;
+        this.coluna = 1;
+    }
+
+    /**
+     * Realiza a análise léxica completa percorrendo a tabela de transições.
+     *
+     * @return lista de tokens identificados
+     */
+    public List<Token> scanTokens() {
+        final int n = source.length();
+        int inicio = 0;
+
+        try {
+            while (inicio < n) {
+                int estado = 0;
+                int i = inicio;
+                int aceito = NAO_ACEITA;
+                int fimAceito = inicio;
+                int novasLinhas = 0;
+                int ultimaNovaLinha = -1;
+
+                // Avança enquanto houver transição, lembrando o último aceite
+                while (i < n) {
+                    char c = source.charAt(i);
+                    int proximo = TRANSICOES[estado * NUM_CLASSES + (c < 128 ? CLASSE[c] : OUTRO)];
+                    if (proximo < 0) break;
+
+                    estado = proximo;
+                    if (c == '\n') {
+                        novasLinhas++;
+                        ultimaNovaLinha = i;
+                    }
+                    i++;
+                    if (ACEITA[estado] != NAO_ACEITA) {
+                        aceito = ACEITA[estado];
+                        fimAceito = i;
+                    }
+                }
+
+                if (i == n && ERRO_NO_FIM[estado] != null) {
+                    // Entrada acabou dentro de uma string ou comentário de bloco
+                    avancarPosicao(inicio, n, novasLinhas, ultimaNovaLinha);
+                    addError(inicio, n, ERRO_NO_FIM[estado]);
+                    inicio = n;
+                } else if (aceito == NAO_ACEITA) {
+                    // Nenhum prefixo forma token: consome um único caractere inválido
+                    char c = source.charAt(inicio);
+                    coluna++;
+                    addError(inicio, inicio + 1, mensagemCaractereInvalido(c));
+                    inicio++;
+                } else {
+                    // Só há recuo em números e operadores, que não contêm quebras de linha
+                    avancarPosicao(inicio, fimAceito, novasLinhas, ultimaNovaLinha);
+                    if (aceito == IGNORAR) {
+                        // Espaços e comentários não geram token
+                    } else if (TIPOS[aceito] == TokenType.LITERAL_INTEIRO
+                            && Literais.inteiro(source, inicio, fimAceito) < 0) {
+                        addError(inicio, fimAceito, "Literal inteiro muito grande");
+                    } else {
+                        addToken(TIPOS[aceito], inicio, fimAceito);
+                    }
+                    inicio = fimAceito;
+                }
+            }
+        } catch (LimiteErrosAtingido e) {
+            // Limite de erros atingido: encerra a análise léxica
+        }
+
+        tokens.add(new Token(TokenType.EOF, "", linha, coluna));
+        return tokens;
+    }
+
+    /**
+     * Atualiza linha e coluna após consumir [inicio, fim).
+     */
+    private void avancarPosicao(int inicio, int fim, int novasLinhas, int ultimaNovaLinha) {
+        if (novasLinhas == 0) {
+            coluna += fim - inicio;
+        } else {
+            linha += novasLinhas;
+            coluna = fim - ultimaNovaLinha;
+        }
+    }
+
+    private String mensagemCaractereInvalido(char c) {
+        if (c == '&') return "Esperado '&' após '&'";
+        if (c == '|') return "Esperado '|' após '|'";
+        return "Caractere inesperado: '" + c + "'";
+    }
+
+    /**
+     * Adiciona um token; lexemas fixos e identificadores não alocam texto novo.
+     */
+    private void addToken(TokenType tipo, int inicio, int fim) {
+        int colunaInicio = coluna - (fim - inicio);
+        if (tipo == TokenType.IDENTIFICADOR) {
+            int id = nomes.internar(source, inicio, fim);
+            tokens.add(new Token(tipo, nomes.nome(id), linha, colunaInicio, id));
+        } else if (tipo.isLexemaFixo()) {
+            tokens.add(new Token(tipo, tipo.getLexema(), linha, colunaInicio));
+        } else {
+            tokens.add(new Token(tipo, source.substring(inicio, fim), linha, colunaInicio));
+        }
+    }
+
+    private void addError(int inicio, int fim, String mensagem) {
+        int colunaInicio = coluna - (fim - inicio);
+        tokens.add(new Token(TokenType.ERRO, source.substring(inicio, fim), linha, colunaInicio));
+        diagnosticos.reportar(Severidade.ERRO, Fase.LEXICA, linha, colunaInicio, mensagem);
+    }
+
+    /**
+     * Define onde os erros léxicos são reportados.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+
+    /**
+     * Retorna o pool de nomes onde os identificadores foram internados.
+     */
+    public TabelaNomes getTabelaNomes() {
+        return nomes;
+    }
+
+    /**
+     * Retorna os tokens identificados.
+     */
+    public List<Token> getTokens() {
+        return tokens;
+    }
+
+    // ======================== CONSTRUÇÃO DA TABELA ==========================
+
+    /**
+     * Monta as tabelas de classes e de transições a partir de TokenType.
+     */
+    private static final class Construtor {
+        int numClasses = NOVA_LINHA + 1;
+        int numEstados;
+        int[] transicoes;
+        int[] aceita;
+        String[] erroNoFim;
+        boolean[] alfanumerica; // classes que podem continuar um identificador
+
+        void montar() {
+            // 1. Classes: cada caractere de lexema fixo ganha a sua
+            for (char c = 'a'; c <= 'z'; c++) CLASSE[c] = LETRA;
+            for (char c = 'A'; c <= 'Z'; c++) CLASSE[c] = LETRA;
+            CLASSE['_'] = LETRA;
+            for (char c = '0'; c <= '9'; c++) CLASSE[c] = DIGITO;
+            CLASSE[' '] = ESPACO;
+            CLASSE['\t'] = ESPACO;
+            CLASSE['\r'] = ESPACO;
+            CLASSE['\n'] = NOVA_LINHA;
+
+            for (TokenType tipo : TIPOS) {
+                if (tipo.isLexemaFixo()) {
+                    for (char c : tipo.getLexema().toCharArray()) novaClasse(c);
+                }
+            }
+            novaClasse('"');
+            novaClasse('\\');
+
+            alfanumerica = new boolean[numClasses];
+            alfanumerica[LETRA] = true;
+            alfanumerica[DIGITO] = true;
+            for (char c = 0; c < 128; c++) {
+                if (Character.isLetterOrDigit(c) || c == '_') alfanumerica[CLASSE[c]] = true;
+            }
+
+            transicoes = new int[64 * numClasses];
+            Arrays.fill(transicoes, -1);
+            aceita = new int[64];
+            erroNoFim = new String[64];
+            int inicial = novoEstado(NAO_ACEITA);
+
+            // 2. Identificadores
+            int identificador = novoEstado(TokenType.IDENTIFICADOR.ordinal());
+            for (int cls = 0; cls < numClasses; cls++) {
+                if (alfanumerica[cls]) ligar(identificador, cls, identificador);
+                if (alfanumerica[cls] && cls != DIGITO) ligar(inicial, cls, identificador);
+            }
+
+            // 3. Lexemas fixos: caminhos a partir do estado inicial
+            for (TokenType tipo : TIPOS) {
+                if (!tipo.isLexemaFixo()) continue;
+                int estado = inicial;
+                for (char c : tipo.getLexema().toCharArray()) {
+                    int cls = CLASSE[c];
+                    int proximo = destino(estado, cls);
+                    if (proximo < 0 || proximo == identificador) {
+                        // Prefixo de palavra reservada também é identificador válido
+                        proximo = novoEstado(alfanumerica[cls] ? TokenType.IDENTIFICADOR.ordinal() : NAO_ACEITA);
+                        if (alfanumerica[cls]) {
+                            for (int outra = 0; outra < numClasses; outra++) {
+                                if (alfanumerica[outra]) ligar(proximo, outra, identificador);
+                            }
+                        }
+                        ligar(estado, cls, proximo);
+                    }
+                    estado = proximo;
+                }
+                aceita[estado] = tipo.ordinal();
+            }
+
+            // 4. Números: inteiro, e real só se houver dígito após o ponto
+            int inteiro = novoEstado(TokenType.LITERAL_INTEIRO.ordinal());
+            int ponto = novoEstado(NAO_ACEITA);
+            int real = novoEstado(TokenType.LITERAL_REAL.ordinal());
+            ligar(inicial, DIGITO, inteiro);
+            ligar(inteiro, DIGITO, inteiro);
+            ligar(inteiro, CLASSE['.'], ponto);
+            ligar(ponto, DIGITO, real);
+            ligar(real, DIGITO, real);
+
+            // 5. Espaços e quebras de linha são ignorados
+            int espaco = novoEstado(IGNORAR);
+            ligar(inicial, ESPACO, espaco);
+            ligar(inicial, NOVA_LINHA, espaco);
+            ligar(espaco, ESPACO, espaco);
+            ligar(espaco, NOVA_LINHA, espaco);
+
+            // 6. Comentários a partir do estado de "/"
+            int barra = destino(inicial, CLASSE['/']);
+            int comentarioLinha = novoEstado(IGNORAR);
+            int bloco = novoEstado(NAO_ACEITA);
+            int blocoEstrela = novoEstado(NAO_ACEITA);
+            int blocoFim = novoEstado(IGNORAR);
+            erroNoFim[bloco] = "Comentário de bloco não fechado";
+            erroNoFim[blocoEstrela] = "Comentário de bloco não fechado";
+            ligar(barra, CLASSE['/'], comentarioLinha);
+            ligar(barra, CLASSE['*'], bloco);
+            for (int cls = 0; cls < numClasses; cls++) {
+                if (cls != NOVA_LINHA) ligar(comentarioLinha, cls, comentarioLinha);
+                ligar(bloco, cls, bloco);
+                ligar(blocoEstrela, cls, bloco);
+            }
+            ligar(bloco, CLASSE['*'], blocoEstrela);
+            ligar(blocoEstrela, CLASSE['*'], blocoEstrela);
+            ligar(blocoEstrela, CLASSE['/'], blocoFim);
+
+            // 7. Strings com escapes
+            int string = novoEstado(NAO_ACEITA);
+            int escape = novoEstado(NAO_ACEITA);
+            int stringFim = novoEstado(TokenType.LITERAL_TEXTO.ordinal());
+            erroNoFim[string] = "String não fechada";
+            erroNoFim[escape] = "String não fechada";
+            ligar(inicial, CLASSE['"'], string);
+            for (int cls = 0; cls < numClasses; cls++) {
+                ligar(string, cls, string);
+                ligar(escape, cls, string);
+            }
+            ligar(string, CLASSE['"'], stringFim);
+            ligar(string, CLASSE['\\'], escape);
+        }
+
+        private void novaClasse(char c) {
+            if (CLASSE[c] == LETRA || CLASSE[c] == OUTRO) {
+                CLASSE[c] = (byte) numClasses++;
+            }
+        }
+
+        private int novoEstado(int aceite) {
+            if (numEstados == aceita.length) {
+                int capacidade = numEstados * 2;
+                aceita = Arrays.copyOf(aceita, capacidade);
+                erroNoFim = Arrays.copyOf(erroNoFim, capacidade);
+                transicoes = Arrays.copyOf(transicoes, capacidade * numClasses);
+                Arrays.fill(transicoes, numEstados * numClasses, transicoes.length, -1);
+            }
+            aceita[numEstados] = aceite;
+            return numEstados++;
+        }
+
+        private int destino(int estado, int cls) {
+            return transicoes[estado * numClasses + cls];
+        }
+
+        private void ligar(int estado, int cls, int destino) {
+            transicoes[estado * numClasses + cls] = destino;
+        }
+    }
+}
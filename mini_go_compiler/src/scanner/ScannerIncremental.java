@@ -0,0 +1,163 @@
+package scanner;
+
+import java.util.List;
+
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.LimiteErrosAtingido;
+
+/**
+ * Analisador léxico incremental para uso em editores.
+ *
+ * Mantém o código fonte e seus tokens em um {@link TokenBuffer}. A cada edição,
+ * reanalisa apenas a partir do último token que certamente não foi afetado
+ * (o lexer olha no máximo dois caracteres adiante) até que um token novo
+ * comece no mesmo ponto de um token antigo, depois do texto editado. Como o
+ * lexer não olha para trás, dali em diante os tokens são os mesmos: só têm
+ * o início deslocado pelo tamanho da edição.
+ *
+ * O pool de nomes é mantido entre as edições, então um identificador
+ * conserva seu id.
+ */
+public class ScannerIncremental {
+
+    private static final int LOOKAHEAD = 2; // Caracteres além do fim do token que o lexer examina
+
+    private String source;
+    private final TabelaNomes nomes;
+    private final TokenBuffer tokens;
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos();
+
+    /**
+     * Faz a análise completa inicial do código fonte.
+     *
+     * @param source código fonte a ser tokenizado
+     */
+    public ScannerIncremental(String source) {
+        this(source, new TabelaNomes());
+    }
+
+    /**
+     * Faz a análise completa inicial com um pool de nomes compartilhado.
+     *
+     * @param source código fonte a ser tokenizado
+     * @param nomes pool onde os identificadores são internados
+     */
+    public ScannerIncremental(String source, TabelaNomes nomes) {
+        this.source = source;
+        this.nomes = nomes;
+        this.tokens = new Scanner(source, nomes).scanTokenBuffer();
+    }
+
+    /**
+     * Aplica uma edição de texto e atualiza os tokens.
+     *
+     * @param deslocamento posição da edição no código atual
+     * @param removidos quantidade de caracteres removidos a partir da posição
+     * @param inseridos texto inserido no lugar
+     * @return faixa de tokens que mudou
+     */
+    public AlteracaoTokens editar(int deslocamento, int removidos, String inseridos) {
+        if (deslocamento < 0 || removidos < 0 || deslocamento + removidos > source.length()) {
+            throw new IndexOutOfBoundsException("Edição fora do código fonte: " + deslocamento + "+" + removidos);
+        }
+
+        String novoSource = source.substring(0, deslocamento) + inseridos + source.substring(deslocamento + removidos);
+        int delta = inseridos.length() - removidos;
+        int fimEdicao = deslocamento + inseridos.length(); // Fim do texto editado, no código novo
+        int eof = tokens.tamanho() - 1;
+
+        // Primeiro token afetado: o seguinte ao último que termina longe o bastante da edição
+        int primeiro = 0;
+        int reinicio = 0;
+        for (int i = ultimoAntes(deslocamento, eof); i >= 0; i--) {
+            int fimToken = tokens.getInicio(i) + tokens.getComprimento(i);
+            if (fimToken + LOOKAHEAD <= deslocamento) {
+                primeiro = i + 1;
+                reinicio = fimToken;
+                break;
+            }
+        }
+
+        // Reanalisa até reencontrar um token antigo depois da edição
+        MapaLinhas novoMapa = new MapaLinhas(novoSource);
+        Scanner scanner = new Scanner(novoSource, nomes, novoMapa, reinicio, novoSource.length());
+        final int de = primeiro;
+        RegiaoLexica regiao = scanner.scanRegiao(RegiaoLexica.NORMAL, inicio ->
+                inicio >= fimEdicao ? tokens.indiceTokenEm(inicio - delta, de, eof) : -1);
+
+        List<Token> novos = regiao.tokens;
+        int ate;
+        if (regiao.indiceSincronia >= 0) {
+            ate = regiao.indiceSincronia;
+        } else {
+            // Sem sincronia: tudo até o fim foi refeito, inclusive o EOF
+            ate = eof + 1;
+            if (regiao.estadoSaida != RegiaoLexica.NORMAL) {
+                int pendente = regiao.inicioPendente;
+                Token erro = new Token(TokenType.ERRO, novoSource.substring(pendente), novoMapa, pendente, -1);
+                novos.add(erro);
+                regiao.erros.add(erro);
+                regiao.mensagens.add(RegiaoLexica.mensagemPendente(regiao.estadoSaida));
+            }
+            novos.add(new Token(TokenType.EOF, "", novoMapa, novoSource.length(), -1));
+        }
+
+        try {
+            for (int i = 0; i < regiao.erros.size(); i++) {
+                Scanner.reportarErro(diagnosticos, regiao.erros.get(i), regiao.mensagens.get(i));
+            }
+        } catch (LimiteErrosAtingido e) {
+            // Num editor os tokens continuam completos; só os diagnósticos param
+        }
+
+        tokens.substituir(primeiro, ate, novos, delta, novoSource, novoMapa);
+        source = novoSource;
+        return new AlteracaoTokens(primeiro, ate - primeiro, novos.size());
+    }
+
+    /**
+     * Índice do último token (antes do EOF) que começa antes do deslocamento, ou -1.
+     */
+    private int ultimoAntes(int deslocamento, int eof) {
+        int baixo = 0;
+        int alto = eof - 1;
+        int resultado = -1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (tokens.getInicio(meio) < deslocamento) {
+                resultado = meio;
+                baixo = meio + 1;
+            } else {
+                alto = meio - 1;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Retorna os tokens do código atual (atualizados a cada edição).
+     */
+    public TokenBuffer getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Define onde os erros léxicos das faixas reanalisadas são reportados.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public TabelaNomes getTabelaNomes() {
+        return nomes;
+    }
+}
@@ -0,0 +1,320 @@
+package scanner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.LimiteErrosAtingido;
+
+/**
+ * Analisador léxico paralelo para arquivos grandes.
+ *
+ * O código fonte é dividido em blocos que sempre começam logo após um
+ * '\n'. Nessa posição só três estados são possíveis: normal, dentro de um
+ * comentário de bloco ou dentro de uma string (comentários de linha
+ * terminam no '\n'). Cada bloco é analisado em um {@link ForkJoinPool}
+ * nos três estados, de forma especulativa; as análises "dentro de" param
+ * assim que reencontram um token da análise normal.
+ *
+ * Depois, os blocos são costurados em ordem: o estado de saída de um bloco
+ * escolhe qual análise do próximo vale. Como os tokens guardam deslocamentos
+ * absolutos e um único {@link MapaLinhas}, linhas, colunas, lexemas, ids
+ * de identificadores e erros reportados são os mesmos de
+ * {@link Scanner#scanTokens()}.
+ */
+public class ScannerParalelo {
+
+    private static final int TAMANHO_BLOCO_PADRAO = 64 * 1024;
+    private static final int BLOCOS_POR_THREAD = 4;
+
+    private final String source;
+    private final TabelaNomes nomes;
+    private final MapaLinhas mapa;
+    private final ForkJoinPool pool;
+    private final int tamanhoMinimoBloco;
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos();
+    private int fimAnalise;    // Onde a análise terminou (antes do fim se o limite de erros foi atingido)
+
+    /**
+     * Cria um scanner paralelo no pool comum do ForkJoin.
+     *
+     * @param source código fonte a ser tokenizado
+     */
+    public ScannerParalelo(String source) {
+        this(source, new TabelaNomes(), ForkJoinPool.commonPool(), TAMANHO_BLOCO_PADRAO);
+    }
+
+    /**
+     * Cria um scanner paralelo com pool e tamanho mínimo de bloco explícitos.
+     *
+     * @param source código fonte a ser tokenizado
+     * @param nomes pool onde os identificadores são internados
+     * @param pool pool de threads usado na análise dos blocos
+     * @param tamanhoMinimoBloco menor bloco (em caracteres) que vale a pena separar
+     */
+    public ScannerParalelo(String source, TabelaNomes nomes, ForkJoinPool pool, int tamanhoMinimoBloco) {
+        this.source = source;
+        this.nomes = nomes;
+        this.mapa = new MapaLinhas(source);
+        this.pool = pool;
+        this.tamanhoMinimoBloco = Math.max(1, tamanhoMinimoBloco);
+    }
+
+    /**
+     * Realiza a análise léxica completa do código fonte.
+     *
+     * @return lista de tokens identificados (terminada por EOF)
+     */
+    public List<Token> scanTokens() {
+        Bloco[] blocos = dividir();
+
+        // 1. Análise especulativa de cada bloco nos três estados de entrada
+        emParalelo(blocos.length, i -> blocos[i].analisar(i > 0));
+
+        // 2. Costura sequencial: decide qual análise vale em cada bloco
+        List<Token> finais = costurar(blocos);
+
+        // 3. Ids dos identificadores: interna em ordem de primeira ocorrência
+        for (Bloco bloco : blocos) {
+            bloco.mapearNomes(nomes);
+        }
+
+        // 4. Troca os ids locais pelos globais e junta os trechos
+        emParalelo(blocos.length, i -> blocos[i].reescrever(nomes));
+
+        int total = finais.size();
+        for (Bloco bloco : blocos) {
+            total += bloco.saida.size();
+        }
+        List<Token> tokens = new ArrayList<>(total + 1);
+        for (Bloco bloco : blocos) {
+            tokens.addAll(bloco.saida);
+        }
+        tokens.addAll(finais);
+        tokens.add(new Token(TokenType.EOF, "", mapa, fimAnalise, -1));
+        return tokens;
+    }
+
+    /**
+     * Divide o código em blocos que começam logo após um '\n'.
+     */
+    private Bloco[] dividir() {
+        int comprimento = source.length();
+        int quantidade = Math.min(comprimento / tamanhoMinimoBloco, pool.getParallelism() * BLOCOS_POR_THREAD);
+        int alvo = comprimento / Math.max(1, quantidade);
+
+        List<Bloco> blocos = new ArrayList<>();
+        int inicio = 0;
+        while (inicio < comprimento) {
+            int fim = comprimento;
+            if (quantidade > 1 && inicio + alvo < comprimento) {
+                int quebra = source.indexOf('\n', inicio + alvo);
+                if (quebra >= 0) {
+                    fim = quebra + 1;
+                }
+            }
+            blocos.add(new Bloco(inicio, fim));
+            inicio = fim;
+        }
+        return blocos.toArray(new Bloco[0]);
+    }
+
+    /**
+     * Escolhe, bloco a bloco, a análise correspondente ao estado herdado,
+     * reporta os erros escolhidos na ordem e monta os tokens que atravessam
+     * blocos (strings longas).
+     *
+     * @return tokens de erro para comentário/string não fechados no fim do arquivo
+     */
+    private List<Token> costurar(Bloco[] blocos) {
+        int estado = RegiaoLexica.NORMAL;
+        int pendente = -1;
+        List<Token> finais = new ArrayList<>();
+        fimAnalise = source.length();
+
+        int indice = 0;
+        try {
+            for (; indice < blocos.length; indice++) {
+                Bloco bloco = blocos[indice];
+                RegiaoLexica regiao = bloco.regioes[estado];
+                bloco.saida = new ArrayList<>();
+
+                if (estado != RegiaoLexica.NORMAL) {
+                    if (regiao.fimPrefixo < 0) {
+                        continue; // O bloco inteiro está dentro do comentário/string
+                    }
+                    if (estado == RegiaoLexica.EM_TEXTO) {
+                        bloco.saida.add(new Token(TokenType.LITERAL_TEXTO,
+                                source.substring(pendente, regiao.fimPrefixo), mapa, pendente, -1));
+                    }
+                }
+
+                bloco.escolher(regiao);
+
+                if (regiao.estadoSaida != RegiaoLexica.NORMAL) {
+                    pendente = regiao.inicioPendente;
+                }
+                estado = regiao.estadoSaida;
+            }
+
+            if (estado != RegiaoLexica.NORMAL) {
+                String mensagem = RegiaoLexica.mensagemPendente(estado);
+                Token erro = new Token(TokenType.ERRO, source.substring(pendente), mapa, pendente, -1);
+                finais.add(erro);
+                Scanner.reportarErro(diagnosticos, erro, mensagem);
+            }
+        } catch (LimiteErrosAtingido e) {
+            // Como no Scanner, a análise termina no erro que atingiu o limite
+            for (int i = indice + 1; i < blocos.length; i++) {
+                blocos[i].saida = new ArrayList<>();
+            }
+            List<Token> ultimos = finais.isEmpty() ? blocos[indice].saida : finais;
+            Token erro = ultimos.get(ultimos.size() - 1);
+            fimAnalise = erro.getInicio() + erro.getLexema().length();
+        }
+        return finais;
+    }
+
+    private void emParalelo(int quantidade, IntConsumer tarefa) {
+        List<ForkJoinTask<?>> tarefas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            final int indice = i;
+            tarefas.add(ForkJoinTask.adapt(() -> tarefa.accept(indice)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tarefas)));
+    }
+
+    /**
+     * Define onde os erros léxicos são reportados.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+
+    public TabelaNomes getTabelaNomes() {
+        return nomes;
+    }
+
+    public MapaLinhas getMapaLinhas() {
+        return mapa;
+    }
+
+    /**
+     * Um bloco do código fonte e suas análises especulativas.
+     */
+    private final class Bloco {
+        final int inicio;
+        final int fim;
+        final TabelaNomes nomesLocais = new TabelaNomes(); // Próprio do bloco: sem disputa entre threads
+        final RegiaoLexica[] regioes = new RegiaoLexica[RegiaoLexica.ESTADOS];
+        List<Token> saida;                                  // Tokens escolhidos do bloco
+        int[] idsGlobais;                                   // Id local -> id global
+
+        Bloco(int inicio, int fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        /**
+         * Analisa o bloco no estado normal e, se não for o primeiro,
+         * também dentro de comentário e dentro de string.
+         */
+        void analisar(boolean especular) {
+            RegiaoLexica normal = novoScanner().scanRegiao(RegiaoLexica.NORMAL, null);
+            regioes[RegiaoLexica.NORMAL] = normal;
+            if (especular) {
+                regioes[RegiaoLexica.EM_COMENTARIO] = especular(RegiaoLexica.EM_COMENTARIO, normal);
+                regioes[RegiaoLexica.EM_TEXTO] = especular(RegiaoLexica.EM_TEXTO, normal);
+            }
+        }
+
+        /**
+         * Analisa o bloco a partir de um estado herdado até reencontrar a análise normal.
+         */
+        private RegiaoLexica especular(int estado, RegiaoLexica normal) {
+            RegiaoLexica regiao = novoScanner().scanRegiao(estado, normal::indiceTokenEm);
+            if (regiao.indiceSincronia >= 0) {
+                // O final é o da análise normal
+                regiao.estadoSaida = normal.estadoSaida;
+                regiao.inicioPendente = normal.inicioPendente;
+            }
+            return regiao;
+        }
+
+        private Scanner novoScanner() {
+            return new Scanner(source, nomesLocais, mapa, inicio, fim);
+        }
+
+        /**
+         * Adiciona à saída os tokens da análise escolhida (completando com a
+         * análise normal a partir do ponto de sincronia) e reporta seus erros.
+         */
+        void escolher(RegiaoLexica regiao) {
+            saida.addAll(regiao.tokens);
+            reportar(regiao, Integer.MIN_VALUE);
+            if (regiao.indiceSincronia >= 0) {
+                RegiaoLexica normal = regioes[RegiaoLexica.NORMAL];
+                saida.addAll(normal.tokens.subList(regiao.indiceSincronia, normal.tokens.size()));
+                reportar(normal, regiao.inicioSincronia);
+            }
+        }
+
+        private void reportar(RegiaoLexica regiao, int aPartirDe) {
+            for (int i = 0; i < regiao.erros.size(); i++) {
+                Token erro = regiao.erros.get(i);
+                if (erro.getInicio() >= aPartirDe) {
+                    try {
+                        Scanner.reportarErro(diagnosticos, erro, regiao.mensagens.get(i));
+                    } catch (LimiteErrosAtingido e) {
+                        // Descarta o que vem depois do erro que atingiu o limite
+                        int posicao = saida.size() - 1;
+                        while (saida.get(posicao) != erro) {
+                            posicao--;
+                        }
+                        saida.subList(posicao + 1, saida.size()).clear();
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Interna no pool global, em ordem de primeira ocorrência,
+         * os nomes que aparecem nos tokens escolhidos.
+         */
+        void mapearNomes(TabelaNomes global) {
+            idsGlobais = new int[nomesLocais.quantidade()];
+            Arrays.fill(idsGlobais, -1);
+            for (Token token : saida) {
+                int local = token.getIdSimbolo();
+                if (local >= 0 && idsGlobais[local] < 0) {
+                    idsGlobais[local] = global.internar(nomesLocais.nome(local));
+                }
+            }
+        }
+
+        /**
+         * Substitui os tokens de identificador por equivalentes com o id e a
+         * String canônica do pool global.
+         */
+        void reescrever(TabelaNomes global) {
+            for (int i = 0; i < saida.size(); i++) {
+                Token token = saida.get(i);
+                int local = token.getIdSimbolo();
+                if (local >= 0) {
+                    int id = idsGlobais[local];
+                    saida.set(i, new Token(token.getTipo(), global.nome(id), mapa, token.getInicio(), id));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package scanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.Fase;
+import diagnostico.LimiteErrosAtingido;
+import diagnostico.Severidade;
+
+/**
+ * Analisador Léxico que trabalha diretamente sobre os bytes UTF-8 do código fonte.
+ *
+ * Pensado para arquivos grandes mapeados em memória ({@link #deArquivo(Path)}):
+ * - Não decodifica o arquivo para uma String
+ * - Identificadores, números e operadores seguem um caminho rápido só ASCII
+ * - Sequências multibyte são decodificadas apenas dentro de strings e comentários
+ *   (ou para reportar um caractere inesperado)
+ *
+ * As colunas são contadas em caracteres UTF-16, como no {@link Scanner},
+ * de modo que a saída é idêntica a {@code new Scanner(texto).scanTokens()}
+ * para o mesmo conteúdo em UTF-8 válido.
+ */
+public class ScannerUtf8 {
+
+    private final ByteBuffer bytes;    // Código fonte em UTF-8 (acesso absoluto)
+    private final int tamanho;         // Quantidade de bytes
+    private final List<Token> tokens;  // Lista de tokens identificados
+    private int start;                 // Byte de início do lexema atual
+    private int current;               // Byte atual
+    private int unidades;              // Comprimento do lexema atual em caracteres UTF-16
+    private int linha;                 // Linha atual
+    private int coluna;                // Coluna atual (em caracteres UTF-16)
+    private byte[] rascunho;           // Área reutilizada para extrair lexemas
+    private final TabelaNomes nomes;   // Pool de identificadores da compilação
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos(); // Destino dos erros léxicos
+
+    /**
+     * Construtor do ScannerUtf8.
+     *
+     * @param bytes conteúdo UTF-8, lido da posição 0 até o limite
+     */
+    public ScannerUtf8(ByteBuffer bytes) {
+        this(bytes, new TabelaNomes());
+    }
+
+    /**
+     * Construtor do ScannerUtf8 com um pool de nomes compartilhado.
+     *
+     * @param bytes conteúdo UTF-8, lido da posição 0 até o limite
+     * @param nomes pool onde os identificadores são internados
+     */
+    public ScannerUtf8(ByteBuffer bytes, TabelaNomes nomes) {
+        this.bytes = bytes;
+        this.nomes = nomes;
+        this.tamanho = bytes.limit();
+        this.tokens = new ArrayList<>();
+        this.linha = 1;
+        this.coluna = 1;
+        this.rascunho = new byte[64];
+    }
+
+    /**
+     * Mapeia um arquivo em memória (somente leitura) e cria o scanner sobre ele.
+     * O mapeamento é limitado a arquivos de até 2 GB.
+     *
+     * @param caminho arquivo .mgo codificado em UTF-8
+     * @return scanner sobre o conteúdo mapeado
+     */
+    public static ScannerUtf8 deArquivo(Path caminho) throws IOException {
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            return new ScannerUtf8(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Realiza a análise léxica completa.
+     *
+     * @return lista de tokens identificados
+     */
+    public List<Token> scanTokens() {
+        try {
+            while (!isAtEnd()) {
+                start = current;
+                unidades = 0;
+                scanToken();
+            }
+        } catch (LimiteErrosAtingido e) {
+            // Limite de erros atingido: encerra a análise léxica
+        }
+
+        tokens.add(new Token(TokenType.EOF, "", linha, coluna));
+        return tokens;
+    }
+
+    /**
+     * Identifica e processa um único token (mesma lógica de {@link Scanner}).
+     */
+    private void scanToken() {
+        int c = peek();
+
+        // Fora de strings e comentários, só ASCII forma tokens válidos
+        if (c >= 0x80) {
+            caractereInesperado();
+            return;
+        }
+        advance();
+
+        switch (c) {
+            case ' ':
+            case '\r':
+            case '\t':
+                break;
+
+            case '\n':
+                linha++;
+                coluna = 1;
+                break;
+
+            case '(': addToken(TokenType.ABRE_PARENTESE); break;
+            case ')': addToken(TokenType.FECHA_PARENTESE); break;
+            case '{': addToken(TokenType.ABRE_CHAVE); break;
+            case '}': addToken(TokenType.FECHA_CHAVE); break;
+            case ';': addToken(TokenType.PONTO_VIRGULA); break;
+            case ',': addToken(TokenType.VIRGULA); break;
+            case '+': addToken(TokenType.MAIS); break;
+            case '-': addToken(TokenType.MENOS); break;
+            case '*': addToken(TokenType.MULTIPLICACAO); break;
+            case '.': addToken(TokenType.PONTO); break;
+
+            case '!':
+                addToken(match('=') ? TokenType.DIFERENTE : TokenType.NEGACAO);
+                break;
+
+            case '=':
+                addToken(match('=') ? TokenType.IGUAL_IGUAL : TokenType.ATRIBUICAO);
+                break;
+
+            case '<':
+                addToken(match('=') ? TokenType.MENOR_IGUAL : TokenType.MENOR);
+                break;
+
+            case '>':
+                addToken(match('=') ? TokenType.MAIOR_IGUAL : TokenType.MAIOR);
+                break;
+
+            case '&':
+                if (match('&')) {
+                    addToken(TokenType.E_LOGICO);
+                } else {
+                    addError("Esperado '&' após '&'");
+                }
+                break;
+
+            case '|':
+                if (match('|')) {
+                    addToken(TokenType.OU_LOGICO);
+                } else {
+                    addError("Esperado '|' após '|'");
+                }
+                break;
+
+            case '/':
+                if (match('/')) {
+                    while (peek() != '\n' && !isAtEnd()) {
+                        advanceUtf8();
+                    }
+                } else if (match('*')) {
+                    comentarioBloco();
+                } else {
+                    addToken(TokenType.DIVISAO);
+                }
+                break;
+
+            case '"':
+                string();
+                break;
+
+            default:
+                if (isDigit(c)) {
+                    number();
+                } else if (isAlpha(c)) {
+                    identifier();
+                } else {
+                    addError("Caractere inesperado: '" + (char) c + "'");
+                }
+                break;
+        }
+    }
+
+    /**
+     * Caractere não ASCII fora de string ou comentário.
+     * O Scanner o enxerga como um (ou, fora do BMP, dois) caracteres inválidos.
+     */
+    private void caractereInesperado() {
+        int codePoint = decodificar();
+        for (char c : Character.toChars(codePoint)) {
+            coluna++;
+            int colunaInicio = coluna - 1;
+            tokens.add(new Token(TokenType.ERRO, String.valueOf(c), linha, colunaInicio));
+            diagnosticos.reportar(Severidade.ERRO, Fase.LEXICA, linha, colunaInicio,
+                    "Caractere inesperado: '" + c + "'");
+        }
+        current += Math.min(comprimentoSequencia(bytes.get(current)), tamanho - current);
+    }
+
+    /**
+     * Processa comentário de bloco, decodificando apenas o necessário.
+     */
+    private void comentarioBloco() {
+        while (!isAtEnd()) {
+            if (peek() == '*' && peekNext() == '/') {
+                advance();
+                advance();
+                return;
+            }
+
+            if (peek() == '\n') {
+                linha++;
+                coluna = 0;
+            }
+            advanceUtf8();
+        }
+
+        addError("Comentário de bloco não fechado");
+    }
+
+    /**
+     * Processa identificadores e palavras reservadas (somente ASCII).
+     */
+    private void identifier() {
+        while (isAlphaNumeric(peek())) {
+            advance();
+        }
+
+        String text = lexema();
+        TokenType tipo = Scanner.tipoIdentificador(text);
+        if (tipo != TokenType.IDENTIFICADOR) {
+            addToken(tipo, text);
+            return;
+        }
+        int id = nomes.internar(text);
+        tokens.add(new Token(tipo, nomes.nome(id), linha, coluna - unidades, id));
+    }
+
+    /**
+     * Processa números (inteiros e reais), somente ASCII.
+     */
+    private void number() {
+        while (isDigit(peek())) {
+            advance();
+        }
+
+        if (peek() == '.' && isDigit(peekNext())) {
+            advance();
+            while (isDigit(peek())) {
+                advance();
+            }
+            addToken(TokenType.LITERAL_REAL);
+            return;
+        }
+        String text = lexema();
+        if (Literais.inteiro(text, 0, text.length()) < 0) {
+            addError("Literal inteiro muito grande");
+        } else {
+            addToken(TokenType.LITERAL_INTEIRO, text);
+        }
+    }
+
+    /**
+     * Processa literais de texto; o conteúdo pode conter qualquer caractere UTF-8.
+     */
+    private void string() {
+        while (peek() != '"' && !isAtEnd()) {
+            if (peek() == '\\') {
+                advance(); // consome \
+
+                if (isAtEnd()) {
+                    addError("String não fechada");
+                    return;
+                }
+            }
+
+            // Conta também a quebra escapada, como o MapaLinhas do Scanner
+            if (peek() == '\n') {
+                linha++;
+                coluna = 0;
+            }
+            advanceUtf8();
+        }
+
+        if (isAtEnd()) {
+            addError("String não fechada");
+            return;
+        }
+
+        advance();
+
+        addToken(TokenType.LITERAL_TEXTO);
+    }
+
+    // =========================== ACESSO AOS BYTES ===========================
+
+    private boolean match(char expected) {
+        if (isAtEnd()) return false;
+        if (peek() != expected) return false;
+
+        current++;
+        coluna++;
+        unidades++;
+        return true;
+    }
+
+    /**
+     * Retorna o byte atual (0..255) sem consumir, ou 0 no fim.
+     */
+    private int peek() {
+        if (isAtEnd()) return 0;
+        return bytes.get(current) & 0xFF;
+    }
+
+    private int peekNext() {
+        if (current + 1 >= tamanho) return 0;
+        return bytes.get(current + 1) & 0xFF;
+    }
+
+    private boolean isAtEnd() {
+        return current >= tamanho;
+    }
+
+    /**
+     * Consome um byte ASCII (caminho rápido).
+     */
+    private void advance() {
+        current++;
+        coluna++;
+        unidades++;
+    }
+
+    /**
+     * Consome um caractere que pode ser multibyte.
+     * Caracteres fora do BMP ocupam duas unidades UTF-16, como no Scanner.
+     */
+    private void advanceUtf8() {
+        int lead = bytes.get(current) & 0xFF;
+        if (lead < 0x80) {
+            advance();
+            return;
+        }
+        int n = Math.min(comprimentoSequencia(bytes.get(current)), tamanho - current);
+        int u = n == 4 ? 2 : 1;
+        current += n;
+        coluna += u;
+        unidades += u;
+    }
+
+    /**
+     * Decodifica o code point que começa no byte atual.
+     */
+    private int decodificar() {
+        int n = Math.min(comprimentoSequencia(bytes.get(current)), tamanho - current);
+        byte[] seq = new byte[n];
+        bytes.get(current, seq, 0, n);
+        return new String(seq, StandardCharsets.UTF_8).codePointAt(0);
+    }
+
+    /**
+     * Quantidade de bytes de uma sequência UTF-8 a partir do byte inicial.
+     */
+    private static int comprimentoSequencia(byte lead) {
+        int b = lead & 0xFF;
+        if (b < 0x80) return 1;
+        if (b >= 0xF0) return 4;
+        if (b >= 0xE0) return 3;
+        if (b >= 0xC0) return 2;
+        return 1; // byte de continuação isolado
+    }
+
+    /**
+     * Extrai o lexema atual. Só usa o decodificador UTF-8 se houver bytes multibyte.
+     */
+    private String lexema() {
+        int n = current - start;
+        if (rascunho.length < n) {
+            rascunho = new byte[Math.max(n, rascunho.length * 2)];
+        }
+        bytes.get(start, rascunho, 0, n);
+        return n == unidades
+                ? new String(rascunho, 0, n, StandardCharsets.ISO_8859_1)
+                : new String(rascunho, 0, n, StandardCharsets.UTF_8);
+    }
+
+    private boolean isAlpha(int c) {
+        return (c >= 'a' && c <= 'z') ||
+               (c >= 'A' && c <= 'Z') ||
+               c == '_';
+    }
+
+    private boolean isAlphaNumeric(int c) {
+        return isAlpha(c) || isDigit(c);
+    }
+
+    private boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private void addToken(TokenType tipo) {
+        addToken(tipo, lexema());
+    }
+
+    private void addToken(TokenType tipo, String text) {
+        tokens.add(new Token(tipo, text, linha, coluna - unidades));
+    }
+
+    private void addError(String mensagem) {
+        int colunaInicio = coluna - unidades;
+        tokens.add(new Token(TokenType.ERRO, lexema(), linha, colunaInicio));
+        diagnosticos.reportar(Severidade.ERRO, Fase.LEXICA, linha, colunaInicio, mensagem);
+    }
+
+    /**
+     * Define onde os erros léxicos são reportados.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+
+    /**
+     * Retorna o pool de nomes onde os identificadores foram internados.
+     */
+    public TabelaNomes getTabelaNomes() {
+        return nomes;
+    }
+
+    /**
+     * Retorna os tokens identificados.
+     */
+    public List<Token> getTokens() {
+        return tokens;
+    }
+}
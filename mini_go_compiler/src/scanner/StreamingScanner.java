@@ -0,0 +1,414 @@
+package scanner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.Fase;
+import diagnostico.LimiteErrosAtingido;
+import diagnostico.Severidade;
+
+/**
+ * Analisador Léxico em modo streaming para a linguagem Mini-Go.
+ *
+ * Diferente do {@link Scanner}, não exige o programa inteiro em memória:
+ * - Lê o código fonte de um Reader (ou canal de bytes UTF-8) através
+ *   de uma janela de tamanho fixo, recarregada sob demanda
+ * - Entrega um token por vez através de {@link #nextToken()}
+ * - Mantém linha e coluna corretas mesmo quando um token ou comentário
+ *   atravessa a fronteira entre duas recargas da janela
+ *
+ * Os tokens produzidos são os mesmos de {@link Scanner#scanTokens()}.
+ * A única exceção é o token de erro de um comentário de bloco não
+ * fechado: para não reter o comentário inteiro, seu lexema é apenas "/*".
+ */
+public class StreamingScanner {
+
+    private static final int TAMANHO_PADRAO = 8192;
+
+    private final Reader reader;          // Fonte dos caracteres
+    private final char[] janela;          // Janela de leitura (buffer de recarga)
+    private int posicao;                  // Próximo caractere a consumir na janela
+    private int limite;                   // Quantidade de caracteres válidos na janela
+    private boolean fimEntrada;           // Reader já retornou fim de arquivo
+
+    private final StringBuilder lexema;   // Texto do lexema atual
+    private boolean guardarLexema;        // Falso dentro de comentários
+    private int comprimento;              // Comprimento do lexema atual (em caracteres)
+    private int linha;                    // Linha atual
+    private int coluna;                   // Coluna atual
+    private Token proximo;                // Token produzido pelo último lexema
+    private final TabelaNomes nomes;      // Pool de identificadores da compilação
+    private Diagnosticos diagnosticos = new ColetorDiagnosticos(); // Destino dos erros léxicos
+    private boolean encerrado;            // Limite de erros atingido: só resta o EOF
+
+    /**
+     * Cria um scanner streaming sobre um Reader com a janela padrão.
+     *
+     * @param reader fonte do código
+     */
+    public StreamingScanner(Reader reader) {
+        this(reader, TAMANHO_PADRAO);
+    }
+
+    /**
+     * Cria um scanner streaming sobre um canal de bytes codificados em UTF-8.
+     *
+     * @param canal canal com o código fonte
+     */
+    public StreamingScanner(ReadableByteChannel canal) {
+        this(Channels.newReader(canal, StandardCharsets.UTF_8), TAMANHO_PADRAO);
+    }
+
+    /**
+     * Cria um scanner streaming com tamanho de janela definido.
+     *
+     * @param reader fonte do código
+     * @param tamanhoJanela quantidade máxima de caracteres mantida em memória (mínimo 2)
+     */
+    public StreamingScanner(Reader reader, int tamanhoJanela) {
+        this(reader, tamanhoJanela, new TabelaNomes());
+    }
+
+    /**
+     * Cria um scanner streaming com janela e pool de nomes definidos.
+     *
+     * @param reader fonte do código
+     * @param tamanhoJanela quantidade máxima de caracteres mantida em memória (mínimo 2)
+     * @param nomes pool onde os identificadores são internados
+     */
+    public StreamingScanner(Reader reader, int tamanhoJanela, TabelaNomes nomes) {
+        if (tamanhoJanela < 2) {
+            throw new IllegalArgumentException("A janela precisa de pelo menos 2 caracteres: " + tamanhoJanela);
+        }
+        this.reader = reader;
+        this.janela = new char[tamanhoJanela];
+        this.lexema = new StringBuilder();
+        this.nomes = nomes;
+        this.linha = 1;
+        this.coluna = 1;
+    }
+
+    /**
+     * Retorna o próximo token do código fonte.
+     * Após o fim da entrada, retorna sempre um token EOF.
+     *
+     * @return próximo token identificado
+     */
+    public Token nextToken() {
+        while (!encerrado && !isAtEnd()) {
+            // Início de um novo lexema
+            lexema.setLength(0);
+            comprimento = 0;
+            guardarLexema = true;
+            proximo = null;
+
+            try {
+                scanToken();
+            } catch (LimiteErrosAtingido e) {
+                // O erro que atingiu o limite ainda é entregue; depois, apenas EOF
+                encerrado = true;
+            }
+
+            if (proximo != null) {
+                return proximo;
+            }
+        }
+        return new Token(TokenType.EOF, "", linha, coluna);
+    }
+
+    /**
+     * Identifica e processa um único lexema (mesma lógica de {@link Scanner}).
+     */
+    private void scanToken() {
+        char c = advance();
+
+        switch (c) {
+            case ' ':
+            case '\r':
+            case '\t':
+                break;
+
+            case '\n':
+                linha++;
+                coluna = 1;
+                break;
+
+            case '(': addToken(TokenType.ABRE_PARENTESE); break;
+            case ')': addToken(TokenType.FECHA_PARENTESE); break;
+            case '{': addToken(TokenType.ABRE_CHAVE); break;
+            case '}': addToken(TokenType.FECHA_CHAVE); break;
+            case ';': addToken(TokenType.PONTO_VIRGULA); break;
+            case ',': addToken(TokenType.VIRGULA); break;
+            case '+': addToken(TokenType.MAIS); break;
+            case '-': addToken(TokenType.MENOS); break;
+            case '*': addToken(TokenType.MULTIPLICACAO); break;
+            case '.': addToken(TokenType.PONTO); break;
+
+            case '!':
+                addToken(match('=') ? TokenType.DIFERENTE : TokenType.NEGACAO);
+                break;
+
+            case '=':
+                addToken(match('=') ? TokenType.IGUAL_IGUAL : TokenType.ATRIBUICAO);
+                break;
+
+            case '<':
+                addToken(match('=') ? TokenType.MENOR_IGUAL : TokenType.MENOR);
+                break;
+
+            case '>':
+                addToken(match('=') ? TokenType.MAIOR_IGUAL : TokenType.MAIOR);
+                break;
+
+            case '&':
+                if (match('&')) {
+                    addToken(TokenType.E_LOGICO);
+                } else {
+                    addError("Esperado '&' após '&'");
+                }
+                break;
+
+            case '|':
+                if (match('|')) {
+                    addToken(TokenType.OU_LOGICO);
+                } else {
+                    addError("Esperado '|' após '|'");
+                }
+                break;
+
+            case '/':
+                if (match('/')) {
+                    // Comentário de linha: não precisa ser guardado
+                    guardarLexema = false;
+                    while (peek() != '\n' && !isAtEnd()) {
+                        advance();
+                    }
+                } else if (match('*')) {
+                    guardarLexema = false;
+                    comentarioBloco();
+                } else {
+                    addToken(TokenType.DIVISAO);
+                }
+                break;
+
+            case '"':
+                string();
+                break;
+
+            default:
+                if (isDigit(c)) {
+                    number();
+                } else if (isAlpha(c)) {
+                    identifier();
+                } else {
+                    addError("Caractere inesperado: '" + c + "'");
+                }
+                break;
+        }
+    }
+
+    /**
+     * Processa comentário de bloco sem reter seu conteúdo.
+     */
+    private void comentarioBloco() {
+        while (!isAtEnd()) {
+            if (peek() == '*' && peekNext() == '/') {
+                advance();
+                advance();
+                return;
+            }
+
+            if (peek() == '\n') {
+                linha++;
+                coluna = 0;
+            }
+            advance();
+        }
+
+        // O conteúdo não foi guardado: o erro leva apenas a abertura
+        lexema.setLength(0);
+        lexema.append("/*");
+        addError("Comentário de bloco não fechado");
+    }
+
+    /**
+     * Processa identificadores e palavras reservadas.
+     */
+    private void identifier() {
+        while (isAlphaNumeric(peek())) {
+            advance();
+        }
+
+        TokenType tipo = Scanner.tipoIdentificador(lexema, 0, lexema.length());
+        if (tipo != TokenType.IDENTIFICADOR) {
+            addToken(tipo);
+            return;
+        }
+        int id = nomes.internar(lexema, 0, lexema.length());
+        proximo = new Token(tipo, nomes.nome(id), linha, coluna - comprimento, id);
+    }
+
+    /**
+     * Processa números (inteiros e reais).
+     */
+    private void number() {
+        while (isDigit(peek())) {
+            advance();
+        }
+
+        if (peek() == '.' && isDigit(peekNext())) {
+            advance();
+            while (isDigit(peek())) {
+                advance();
+            }
+            addToken(TokenType.LITERAL_REAL);
+        } else if (Literais.inteiro(lexema, 0, lexema.length()) < 0) {
+            addError("Literal inteiro muito grande");
+        } else {
+            addToken(TokenType.LITERAL_INTEIRO);
+        }
+    }
+
+    /**
+     * Processa literais de texto, que podem atravessar várias recargas.
+     */
+    private void string() {
+        while (peek() != '"' && !isAtEnd()) {
+            if (peek() == '\\') {
+                advance(); // consome \
+
+                if (isAtEnd()) {
+                    addError("String não fechada");
+                    return;
+                }
+            }
+
+            // Conta também a quebra escapada, como o MapaLinhas do Scanner
+            if (peek() == '\n') {
+                linha++;
+                coluna = 0;
+            }
+            advance();
+        }
+
+        if (isAtEnd()) {
+            addError("String não fechada");
+            return;
+        }
+
+        // Consome a aspas de fechamento
+        advance();
+
+        addToken(TokenType.LITERAL_TEXTO);
+    }
+
+    /**
+     * Define onde os erros léxicos são reportados.
+     */
+    public void setDiagnosticos(Diagnosticos diagnosticos) {
+        this.diagnosticos = diagnosticos;
+    }
+
+    public Diagnosticos getDiagnosticos() {
+        return diagnosticos;
+    }
+
+    /**
+     * Retorna o pool de nomes onde os identificadores foram internados.
+     */
+    public TabelaNomes getTabelaNomes() {
+        return nomes;
+    }
+
+    // =========================== JANELA DE LEITURA ==========================
+
+    /**
+     * Garante que existam pelo menos {@code n} caracteres disponíveis
+     * a partir da posição atual, recarregando a janela se necessário.
+     *
+     * @return false se a entrada terminou antes disso
+     */
+    private boolean garantir(int n) {
+        if (limite - posicao >= n) return true;
+        if (fimEntrada) return false;
+
+        // Move o restante para o início e completa a janela
+        int restante = limite - posicao;
+        System.arraycopy(janela, posicao, janela, 0, restante);
+        posicao = 0;
+        limite = restante;
+
+        try {
+            while (limite < n && !fimEntrada) {
+                int lidos = reader.read(janela, limite, janela.length - limite);
+                if (lidos < 0) {
+                    fimEntrada = true;
+                } else {
+                    limite += lidos;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o código fonte", e);
+        }
+
+        return limite - posicao >= n;
+    }
+
+    private boolean match(char expected) {
+        if (peek() != expected || isAtEnd()) return false;
+        advance();
+        return true;
+    }
+
+    private char peek() {
+        return garantir(1) ? janela[posicao] : '\0';
+    }
+
+    private char peekNext() {
+        return garantir(2) ? janela[posicao + 1] : '\0';
+    }
+
+    private boolean isAtEnd() {
+        return !garantir(1);
+    }
+
+    private char advance() {
+        char c = janela[posicao++];
+        coluna++;
+        comprimento++;
+        if (guardarLexema) {
+            lexema.append(c);
+        }
+        return c;
+    }
+
+    private boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') ||
+               (c >= 'A' && c <= 'Z') ||
+               c == '_';
+    }
+
+    private boolean isAlphaNumeric(char c) {
+        return isAlpha(c) || isDigit(c);
+    }
+
+    private boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private void addToken(TokenType tipo) {
+        proximo = new Token(tipo, lexema.toString(), linha, coluna - comprimento);
+    }
+
+    private void addError(String mensagem) {
+        int colunaInicio = coluna - comprimento;
+        proximo = new Token(TokenType.ERRO, lexema.toString(), linha, colunaInicio);
+        diagnosticos.reportar(Severidade.ERRO, Fase.LEXICA, linha, colunaInicio, mensagem);
+    }
+}
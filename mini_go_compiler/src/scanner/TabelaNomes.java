@@ -0,0 +1,122 @@
+package scanner;
+
+import java.util.Arrays;
+
+/**
+ * Pool de nomes de identificadores de uma compilação.
+ *
+ * Cada identificador distinto recebe um id inteiro denso (0, 1, 2, ...)
+ * e sua String é guardada uma única vez. As fases seguintes podem então
+ * comparar e indexar variáveis pelo id em vez de fazer hash do texto.
+ *
+ * A busca usa endereçamento aberto sobre um trecho do código fonte,
+ * de modo que identificadores já conhecidos não alocam nenhuma String.
+ */
+public final class TabelaNomes {
+
+    private String[] nomes;    // id -> nome
+    private int[] hashes;      // id -> hash do nome
+    private int[] slots;       // tabela de hash: id + 1 (0 = vazio)
+    private int quantidade;    // quantidade de nomes distintos
+
+    public TabelaNomes() {
+        this.nomes = new String[16];
+        this.hashes = new int[16];
+        this.slots = new int[32];
+    }
+
+    /**
+     * Retorna o id de um nome, registrando-o se ainda não existir.
+     *
+     * @param nome texto do identificador
+     * @return id denso do nome
+     */
+    public int internar(String nome) {
+        return internar(nome, 0, nome.length());
+    }
+
+    /**
+     * Retorna o id do trecho [inicio, fim) de um texto, registrando-o se necessário.
+     * Só aloca uma String quando o nome ainda não existe no pool.
+     *
+     * @param texto texto que contém o identificador
+     * @param inicio início do identificador
+     * @param fim fim (exclusivo) do identificador
+     * @return id denso do nome
+     */
+    public int internar(CharSequence texto, int inicio, int fim) {
+        // Mesmo hash de String.hashCode()
+        int hash = 0;
+        for (int i = inicio; i < fim; i++) {
+            hash = 31 * hash + texto.charAt(i);
+        }
+
+        int mascara = slots.length - 1;
+        int slot = espalhar(hash) & mascara;
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (hashes[id] == hash && mesmoTexto(nomes[id], texto, inicio, fim)) {
+                return id;
+            }
+            slot = (slot + 1) & mascara;
+        }
+
+        // Nome novo
+        int id = quantidade;
+        if (id == nomes.length) {
+            nomes = Arrays.copyOf(nomes, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        nomes[id] = texto.subSequence(inicio, fim).toString();
+        hashes[id] = hash;
+        slots[slot] = id + 1;
+        quantidade++;
+
+        // Mantém a carga da tabela abaixo de 50%
+        if (quantidade * 2 > slots.length) {
+            redimensionar();
+        }
+        return id;
+    }
+
+    /**
+     * Retorna o nome associado a um id.
+     */
+    public String nome(int id) {
+        return nomes[id];
+    }
+
+    /**
+     * Retorna a quantidade de nomes distintos registrados.
+     */
+    public int quantidade() {
+        return quantidade;
+    }
+
+    private void redimensionar() {
+        slots = new int[slots.length * 2];
+        int mascara = slots.length - 1;
+        for (int id = 0; id < quantidade; id++) {
+            int slot = espalhar(hashes[id]) & mascara;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mascara;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    private static int espalhar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean mesmoTexto(String nome, CharSequence texto, int inicio, int fim) {
+        if (nome.length() != fim - inicio) return false;
+        if (texto instanceof String) {
+            return ((String) texto).regionMatches(inicio, nome, 0, nome.length());
+        }
+        for (int i = 0; i < nome.length(); i++) {
+            if (nome.charAt(i) != texto.charAt(inicio + i)) return false;
+        }
+        return true;
+    }
+}
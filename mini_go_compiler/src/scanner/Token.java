@@ -10,6 +10,9 @@ public class Token {
     private final String lexema;  // texto original do token
     private final int linha;      // Linha onde o token foi encontrado
     private final int coluna;     // Coluna onde o token começa
+    private final int idSimbolo;  // Id do identificador na TabelaNomes (-1 se não houver)
+    private final int inicio;     // Deslocamento do lexema no código fonte (posição tardia)
+    private final MapaLinhas mapa; // Resolve linha/coluna sob demanda (null se já conhecidas)
 
 	/**
      * Construtor completo do Token.
@@ -20,10 +23,46 @@ public class Token {
      * @param coluna número da coluna (começa em 1)
     */
 	 public Token(TokenType tipo, String lexema, int linha, int coluna) {
+        this(tipo, lexema, linha, coluna, -1);
+    }
+	 
+	/**
+     * Construtor de token de identificador já internado.
+     * 
+     * @param tipo tipo do token
+     * @param lexema texto original do token (a String canônica do pool)
+     * @param linha número da linha (começa em 1)
+     * @param coluna número da coluna (começa em 1)
+     * @param idSimbolo id do nome na {@link TabelaNomes}
+    */
+	 public Token(TokenType tipo, String lexema, int linha, int coluna, int idSimbolo) {
         this.tipo = tipo;
         this.lexema = lexema;
         this.linha = linha;
         this.coluna = coluna;
+        this.idSimbolo = idSimbolo;
+        this.inicio = -1;
+        this.mapa = null;
+    }
+	 
+	/**
+     * Construtor de token com posição tardia: guarda só o deslocamento
+     * e calcula linha e coluna pelo {@link MapaLinhas} quando pedidas.
+     * 
+     * @param tipo tipo do token
+     * @param lexema texto original do token
+     * @param mapa índice de linhas do código fonte
+     * @param inicio deslocamento do lexema no código fonte
+     * @param idSimbolo id do nome na {@link TabelaNomes} (-1 se não houver)
+    */
+	 public Token(TokenType tipo, String lexema, MapaLinhas mapa, int inicio, int idSimbolo) {
+        this.tipo = tipo;
+        this.lexema = lexema;
+        this.linha = 0;
+        this.coluna = 0;
+        this.idSimbolo = idSimbolo;
+        this.inicio = inicio;
+        this.mapa = mapa;
     }
 	
 	/**
@@ -46,12 +85,70 @@ public class Token {
         return lexema;
     }
 
+    /**
+     * Linha do token. Com posição tardia, é a linha onde o lexema termina
+     * (como no cálculo incremental que o Scanner fazia antes).
+     */
     public int getLinha() {
-        return linha;
+        if (mapa == null) return linha;
+        return mapa.linha(inicio + lexema.length());
     }
 
+    /**
+     * Coluna do início do token, contada a partir do início de {@link #getLinha()}.
+     */
     public int getColuna() {
-        return coluna;
+        if (mapa == null) return coluna;
+        return inicio - mapa.inicioLinha(getLinha()) + 1;
+    }
+    
+    /**
+     * Valor de um literal inteiro. Tokens vindos do {@link Scanner} já o trazem
+     * decodificado ({@link TokenLiteral}); os demais convertem o lexema.
+     * Nenhum scanner entrega um literal inteiro que não cabe em long: todos
+     * o reportam como erro léxico ("Literal inteiro muito grande").
+     */
+    public long getValorInteiro() {
+        return Long.parseLong(lexema);
+    }
+
+    /**
+     * Valor de um literal real (ver {@link #getValorInteiro()}).
+     */
+    public double getValorReal() {
+        return Double.parseDouble(lexema);
+    }
+
+    /**
+     * Valor de um literal de texto, sem aspas e com os escapes processados
+     * (ver {@link #getValorInteiro()}).
+     */
+    public String getValorTexto() {
+        return Literais.texto(lexema);
+    }
+    
+    /**
+     * Retorna o deslocamento do lexema no código fonte,
+     * ou -1 se o token foi criado com linha e coluna explícitas.
+     */
+    public int getInicio() {
+        return inicio;
+    }
+    
+    /**
+     * Retorna o índice de linhas que resolve a posição tardia,
+     * ou null se o token foi criado com linha e coluna explícitas.
+     */
+    public MapaLinhas getMapa() {
+        return mapa;
+    }
+    
+    /**
+     * Retorna o id do identificador no pool de nomes da compilação,
+     * ou -1 se o token não for um identificador internado.
+     */
+    public int getIdSimbolo() {
+        return idSimbolo;
     }
 	
 	 /**
@@ -86,7 +183,7 @@ public class Token {
     @Override
     public String toString() {
         return String.format("Token[tipo=%s, lexema='%s', linha=%d, coluna=%d]",
-                tipo, lexema, linha, coluna);
+                tipo, lexema, getLinha(), getColuna());
     }
     
     /**
@@ -103,7 +200,7 @@ public class Token {
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
+        if (!(obj instanceof Token)) return false; // TokenLiteral é igual a um Token de mesmo lexema
         
         Token token = (Token) obj;
         return tipo == token.tipo && 
@@ -0,0 +1,265 @@
+package scanner;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Armazenamento compacto de tokens em arrays paralelos (struct-of-arrays).
+ * 
+ * Em vez de um objeto {@link Token} com sua própria String por lexema,
+ * guarda para cada token apenas:
+ * - o ordinal do tipo
+ * - o deslocamento de início e o comprimento no código fonte
+ * - o id do identificador no pool
+ * - o valor dos literais, decodificado pelo Scanner durante a varredura
+ *   (o inteiro, os bits do real ou o índice do texto em uma coluna própria)
+ * 
+ * Linha e coluna não são gravadas: saem do {@link MapaLinhas} do fonte
+ * quando pedidas.
+ * 
+ * Os lexemas são materializados somente quando pedidos. Tokens de lexema
+ * fixo (palavras reservadas, operadores e delimitadores) reutilizam a
+ * String constante de {@link TokenType} e identificadores reutilizam a
+ * String canônica da {@link TabelaNomes}; nenhum deles aloca texto.
+ */
+public final class TokenBuffer implements FonteTokens {
+
+    private static final TokenType[] TIPOS = TokenType.values();
+    private static final int CAPACIDADE_INICIAL = 64;
+
+    private String source;         // Código fonte de onde os lexemas são extraídos
+    private final TabelaNomes nomes; // Pool com os nomes dos identificadores
+    private MapaLinhas mapa;       // Linha/coluna calculadas sob demanda
+    private byte[] tipos;          // Ordinal de TokenType
+    private int[] inicios;         // Deslocamento do início do lexema
+    private int[] comprimentos;    // Comprimento do lexema
+    private int[] simbolos;        // Id do identificador no pool (-1 se não houver)
+    private long[] valores;        // Literais: valor do inteiro, bits do real ou índice em textos
+    private String[] textos;       // Valores dos literais de texto, na ordem da varredura
+    private int quantidadeTextos;
+    private int tamanho;           // Quantidade de tokens armazenados
+
+    /**
+     * Cria um buffer vazio associado ao código fonte.
+     * 
+     * @param source código fonte tokenizado
+     * @param nomes pool de identificadores usado pelo Scanner
+     * @param mapa índice de linhas do código fonte
+     */
+    public TokenBuffer(String source, TabelaNomes nomes, MapaLinhas mapa) {
+        this.source = source;
+        this.nomes = nomes;
+        this.mapa = mapa;
+        this.tipos = new byte[CAPACIDADE_INICIAL];
+        this.inicios = new int[CAPACIDADE_INICIAL];
+        this.comprimentos = new int[CAPACIDADE_INICIAL];
+        this.simbolos = new int[CAPACIDADE_INICIAL];
+        this.valores = new long[CAPACIDADE_INICIAL];
+        this.textos = new String[CAPACIDADE_INICIAL / 4];
+    }
+
+    /**
+     * Acrescenta um token ao final do buffer.
+     */
+    void adicionar(TokenType tipo, int inicio, int comprimento) {
+        adicionar(tipo, inicio, comprimento, -1);
+    }
+
+    /**
+     * Acrescenta um token de identificador já internado.
+     */
+    void adicionar(TokenType tipo, int inicio, int comprimento, int idSimbolo) {
+        garantirCapacidade(tamanho + 1);
+        gravar(tamanho, tipo, inicio, comprimento, idSimbolo);
+        tamanho++;
+    }
+
+    /**
+     * Acrescenta um literal inteiro ou real com o valor já decodificado
+     * (o real pelos bits do double).
+     */
+    void adicionarLiteral(TokenType tipo, int inicio, int comprimento, long valor) {
+        garantirCapacidade(tamanho + 1);
+        gravar(tamanho, tipo, inicio, comprimento, -1);
+        valores[tamanho++] = valor;
+    }
+
+    /**
+     * Acrescenta um literal de texto com o valor já decodificado
+     * (sem aspas e com os escapes processados).
+     */
+    void adicionarTexto(int inicio, int comprimento, String valor) {
+        garantirCapacidade(tamanho + 1);
+        gravar(tamanho, TokenType.LITERAL_TEXTO, inicio, comprimento, -1);
+        valores[tamanho++] = guardarTexto(valor);
+    }
+
+    private int guardarTexto(String valor) {
+        if (quantidadeTextos == textos.length) {
+            textos = Arrays.copyOf(textos, quantidadeTextos * 2);
+        }
+        textos[quantidadeTextos] = valor;
+        return quantidadeTextos++;
+    }
+
+    /**
+     * Troca os tokens [de, ate) por {@code novos} e desloca em {@code delta}
+     * o início dos tokens seguintes. Usado pelo {@link ScannerIncremental}
+     * depois de uma edição no código fonte.
+     *
+     * @param novoSource código fonte já editado
+     * @param novoMapa índice de linhas do código editado
+     */
+    void substituir(int de, int ate, List<Token> novos, int delta, String novoSource, MapaLinhas novoMapa) {
+        int cauda = tamanho - ate;
+        int novoTamanho = de + novos.size() + cauda;
+        garantirCapacidade(novoTamanho);
+
+        int destino = de + novos.size();
+        System.arraycopy(tipos, ate, tipos, destino, cauda);
+        System.arraycopy(inicios, ate, inicios, destino, cauda);
+        System.arraycopy(comprimentos, ate, comprimentos, destino, cauda);
+        System.arraycopy(simbolos, ate, simbolos, destino, cauda);
+        System.arraycopy(valores, ate, valores, destino, cauda);
+        if (delta != 0) {
+            for (int i = destino; i < novoTamanho; i++) {
+                inicios[i] += delta;
+            }
+        }
+
+        for (int i = 0; i < novos.size(); i++) {
+            Token token = novos.get(i);
+            gravar(de + i, token.getTipo(), token.getInicio(), token.getLexema().length(), token.getIdSimbolo());
+            // Os textos substituídos continuam na coluna; os novos vão para o fim dela
+            switch (token.getTipo()) {
+                case LITERAL_INTEIRO -> valores[de + i] = token.getValorInteiro();
+                case LITERAL_REAL -> valores[de + i] = Double.doubleToRawLongBits(token.getValorReal());
+                case LITERAL_TEXTO -> valores[de + i] = guardarTexto(token.getValorTexto());
+                default -> valores[de + i] = 0;
+            }
+        }
+        tamanho = novoTamanho;
+        source = novoSource;
+        mapa = novoMapa;
+    }
+
+    private void gravar(int indice, TokenType tipo, int inicio, int comprimento, int idSimbolo) {
+        tipos[indice] = (byte) tipo.ordinal();
+        inicios[indice] = inicio;
+        comprimentos[indice] = comprimento;
+        simbolos[indice] = idSimbolo;
+    }
+
+    private void garantirCapacidade(int capacidade) {
+        if (capacidade > tipos.length) {
+            int novaCapacidade = Math.max(capacidade, tipos.length * 2);
+            tipos = Arrays.copyOf(tipos, novaCapacidade);
+            inicios = Arrays.copyOf(inicios, novaCapacidade);
+            comprimentos = Arrays.copyOf(comprimentos, novaCapacidade);
+            simbolos = Arrays.copyOf(simbolos, novaCapacidade);
+            valores = Arrays.copyOf(valores, novaCapacidade);
+        }
+    }
+
+    /**
+     * Procura, entre os índices [de, ate), o token que começa exatamente
+     * no deslocamento dado (os inícios são crescentes).
+     *
+     * @return índice do token, ou -1 se nenhum começa ali
+     */
+    int indiceTokenEm(int deslocamento, int de, int ate) {
+        int pos = Arrays.binarySearch(inicios, de, ate, deslocamento);
+        return pos >= 0 ? pos : -1;
+    }
+
+    /**
+     * Retorna o índice de linhas do código fonte, que resolve a posição dos
+     * tokens e dos nós do AST montado a partir deles.
+     */
+    public MapaLinhas getMapaLinhas() {
+        return mapa;
+    }
+
+    /**
+     * Retorna a quantidade de tokens (incluindo o EOF final).
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    @Override
+    public TokenType tipo(int indice) {
+        return TIPOS[tipos[limitar(indice)]];
+    }
+
+    public int getInicio(int indice) {
+        return inicios[limitar(indice)];
+    }
+
+    public int getComprimento(int indice) {
+        return comprimentos[limitar(indice)];
+    }
+
+    /**
+     * Linha onde o token termina (resolvida pelo {@link MapaLinhas}).
+     */
+    public int getLinha(int indice) {
+        int i = limitar(indice);
+        return mapa.linha(inicios[i] + comprimentos[i]);
+    }
+
+    /**
+     * Coluna do início do token, relativa à linha de {@link #getLinha(int)}.
+     */
+    public int getColuna(int indice) {
+        return inicios[limitar(indice)] - mapa.inicioLinha(getLinha(indice)) + 1;
+    }
+
+    public int getIdSimbolo(int indice) {
+        return simbolos[limitar(indice)];
+    }
+
+    /**
+     * Materializa o lexema de um token.
+     * Tokens de lexema fixo retornam a constante do tipo, sem alocação.
+     * 
+     * @param indice posição do token
+     * @return texto do lexema
+     */
+    public String lexema(int indice) {
+        int i = limitar(indice);
+        TokenType tipo = TIPOS[tipos[i]];
+        if (tipo == TokenType.EOF) return "";
+        if (tipo.isLexemaFixo()) return tipo.getLexema();
+        if (simbolos[i] >= 0) return nomes.nome(simbolos[i]);
+        return source.substring(inicios[i], inicios[i] + comprimentos[i]);
+    }
+
+    /**
+     * Materializa um objeto {@link Token} completo (para o AST e mensagens de erro).
+     */
+    @Override
+    public Token token(int indice) {
+        int i = limitar(indice);
+        TokenType tipo = TIPOS[tipos[i]];
+        int inicio = inicios[i];
+        switch (tipo) {
+            // Literais: o valor já foi decodificado pelo Scanner
+            case LITERAL_INTEIRO:
+                return TokenLiteral.inteiro(lexema(i), mapa, inicio, valores[i]);
+            case LITERAL_REAL:
+                return new TokenLiteral(tipo, lexema(i), mapa, inicio, valores[i], null);
+            case LITERAL_TEXTO:
+                return TokenLiteral.texto(lexema(i), mapa, inicio, textos[(int) valores[i]]);
+            default:
+                return new Token(tipo, lexema(i), mapa, inicio, simbolos[i]);
+        }
+    }
+
+    /**
+     * Índices além do fim apontam para o EOF final.
+     */
+    private int limitar(int indice) {
+        return indice < tamanho ? indice : tamanho - 1;
+    }
+}
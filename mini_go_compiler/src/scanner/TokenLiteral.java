@@ -0,0 +1,47 @@
+package scanner;
+
+/**
+ * Token de literal com o valor já decodificado pelo Scanner.
+ *
+ * Inteiros e reais guardam o valor primitivo (o real pelos bits do double)
+ * e textos guardam a String sem aspas e com os escapes já processados,
+ * para que o parser não precise converter o lexema de novo.
+ */
+public final class TokenLiteral extends Token {
+
+    private final long bits;     // Valor do inteiro, ou bits do real
+    private final String texto;  // Valor do texto (null para números)
+
+    TokenLiteral(TokenType tipo, String lexema, MapaLinhas mapa, int inicio, long bits, String texto) {
+        super(tipo, lexema, mapa, inicio, -1);
+        this.bits = bits;
+        this.texto = texto;
+    }
+
+    static TokenLiteral inteiro(String lexema, MapaLinhas mapa, int inicio, long valor) {
+        return new TokenLiteral(TokenType.LITERAL_INTEIRO, lexema, mapa, inicio, valor, null);
+    }
+
+    static TokenLiteral real(String lexema, MapaLinhas mapa, int inicio, double valor) {
+        return new TokenLiteral(TokenType.LITERAL_REAL, lexema, mapa, inicio, Double.doubleToRawLongBits(valor), null);
+    }
+
+    static TokenLiteral texto(String lexema, MapaLinhas mapa, int inicio, String valor) {
+        return new TokenLiteral(TokenType.LITERAL_TEXTO, lexema, mapa, inicio, 0, valor);
+    }
+
+    @Override
+    public long getValorInteiro() {
+        return bits;
+    }
+
+    @Override
+    public double getValorReal() {
+        return Double.longBitsToDouble(bits);
+    }
+
+    @Override
+    public String getValorTexto() {
+        return texto;
+    }
+}
@@ -103,4 +103,14 @@ public enum TokenType {
 			  this == E_LOGICO || this == OU_LOGICO || this == NEGACAO ||
 			  this == ATRIBUICAO;
    }
+   
+   /**
+     * Verifica se todo token deste tipo tem sempre o mesmo lexema
+     * (palavras reservadas, operadores e delimitadores).
+     * @return true se o lexema for fixo
+    */
+   public boolean isLexemaFixo() {
+	   return this != LITERAL_INTEIRO && this != LITERAL_REAL && this != LITERAL_TEXTO &&
+			  this != IDENTIFICADOR && this != EOF && this != ERRO;
+   }
 }
@@ -0,0 +1,80 @@
+package scanner;
+
+/**
+ * Trecho do código fonte empacotado num {@code long}, para os nós do AST
+ * guardarem a posição de um nome ou operador sem guardar o {@link Token}.
+ *
+ * Como nos tokens do Scanner, a posição normalmente é tardia:
+ * {@code (início << 32) | comprimento}, e linha e coluna só são calculadas
+ * pelo {@link MapaLinhas} do código fonte quando alguém as pede. Tokens
+ * criados com linha e coluna explícitas (sem mapa) viram um trecho
+ * explícito: o bit de sinal ligado, a linha e a coluna.
+ */
+public final class Trecho {
+
+    private static final long EXPLICITO = Long.MIN_VALUE; // Bit de posição (linha, coluna) já resolvida
+
+    /** Trecho sem posição (linha e coluna 0). */
+    public static final long NENHUM = EXPLICITO;
+
+    private Trecho() {
+    }
+
+    /**
+     * Trecho do lexema do token: tardio se o token tem mapa, senão com a
+     * linha e a coluna do token.
+     */
+    public static long de(Token token) {
+        if (token.getMapa() != null) {
+            return tardio(token.getInicio(), token.getLexema().length());
+        }
+        return explicito(token.getLinha(), token.getColuna());
+    }
+
+    public static long tardio(int inicio, int comprimento) {
+        return ((long) inicio << 32) | (comprimento & 0xFFFFFFFFL);
+    }
+
+    public static long explicito(int linha, int coluna) {
+        return EXPLICITO | ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+
+    public static boolean isExplicito(long trecho) {
+        return trecho < 0;
+    }
+
+    /** Deslocamento do início (só em trechos tardios). */
+    public static int inicio(long trecho) {
+        return (int) (trecho >>> 32);
+    }
+
+    /** Comprimento do lexema (só em trechos tardios). */
+    public static int comprimento(long trecho) {
+        return (int) trecho;
+    }
+
+    /**
+     * Linha do trecho; como em {@link Token#getLinha()}, a linha onde o
+     * lexema termina.
+     *
+     * @param mapa índice de linhas do código fonte (ignorado em trechos explícitos)
+     */
+    public static int linha(long trecho, MapaLinhas mapa) {
+        if (isExplicito(trecho)) {
+            return (int) ((trecho & ~EXPLICITO) >>> 32);
+        }
+        return mapa.linha(inicio(trecho) + comprimento(trecho));
+    }
+
+    /**
+     * Coluna (começando em 1) do início do trecho.
+     *
+     * @param mapa índice de linhas do código fonte (ignorado em trechos explícitos)
+     */
+    public static int coluna(long trecho, MapaLinhas mapa) {
+        if (isExplicito(trecho)) {
+            return (int) trecho;
+        }
+        return inicio(trecho) - mapa.inicioLinha(linha(trecho, mapa)) + 1;
+    }
+}
@@ -0,0 +1,102 @@
+package scanner;
+
+/**
+ * Busca em bloco usada pelo {@link Scanner} para pular trechos que não
+ * geram tokens: espaços e indentação, comentários e o corpo de strings.
+ *
+ * Esta é a implementação escalar (caractere a caractere). Quando o módulo
+ * incubador {@code jdk.incubator.vector} está disponível, {@link #para(String)}
+ * devolve a versão vetorizada ({@link VarredorVetorial}), que examina vários
+ * caracteres por instrução. O {@link MapaLinhas} usa a mesma busca para
+ * localizar as quebras de linha.
+ */
+class Varredor {
+
+    protected final String source;
+
+    Varredor(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Escolhe a implementação vetorizada se o módulo incubador estiver carregado.
+     */
+    static Varredor para(String source) {
+        return para(source, true);
+    }
+
+    /**
+     * Como {@link #para(String)}; com {@code vetorizado} false, sempre a escalar.
+     */
+    static Varredor para(String source, boolean vetorizado) {
+        if (vetorizado && VETOR_DISPONIVEL) {
+            try {
+                return new VarredorVetorial(source);
+            } catch (LinkageError e) {
+                // Módulo presente mas inutilizável: segue no caminho escalar
+            }
+        }
+        return new Varredor(source);
+    }
+
+    private static final boolean VETOR_DISPONIVEL =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Retorna a posição do primeiro caractere que não é espaço, tab,
+     * retorno de carro ou quebra de linha.
+     */
+    int proximoNaoBranco(int de, int ate) {
+        int i = de;
+        while (i < ate) {
+            char c = source.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Retorna a posição da próxima quebra de linha (ou {@code ate}).
+     */
+    int proximaQuebraLinha(int de, int ate) {
+        int i = de;
+        while (i < ate && source.charAt(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Retorna a posição do '*' que abre o próximo "*\/" (ou {@code ate}
+     * se o comentário não for fechado).
+     */
+    int proximoFimComentario(int de, int ate) {
+        int i = de;
+        while (i < ate) {
+            if (source.charAt(i) == '*' && i + 1 < ate && source.charAt(i + 1) == '/') {
+                return i;
+            }
+            i++;
+        }
+        return ate;
+    }
+
+    /**
+     * Retorna a posição do próximo caractere que exige tratamento dentro
+     * de uma string: aspas, barra invertida ou quebra de linha.
+     */
+    int proximoEspecialTexto(int de, int ate) {
+        int i = de;
+        while (i < ate) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,159 @@
+package scanner;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Versão vetorizada do {@link Varredor} usando a Vector API
+ * ({@code jdk.incubator.vector}).
+ *
+ * A Vector API não carrega lanes direto de uma String: os caracteres são
+ * copiados para uma janela {@code char[]} e comparados várias lanes por
+ * vez. A janela continua válida entre as chamadas: como o Scanner só
+ * avança, cada caractere é copiado uma vez, e não uma vez por busca. As
+ * máscaras resultantes viram bits de um {@code long} e a posição procurada
+ * sai de um {@code numberOfTrailingZeros}, sem laço por caractere.
+ *
+ * Trechos curtos (um espaço entre tokens, a indentação, strings pequenas)
+ * são a maioria e terminam antes de encher um vetor: os primeiros
+ * {@link #PREFIXO_ESCALAR} caracteres de cada busca são examinados um a um.
+ *
+ * Só é carregada quando o módulo incubador está presente
+ * (ex: {@code --add-modules jdk.incubator.vector}).
+ */
+final class VarredorVetorial extends Varredor {
+
+    private static final VectorSpecies<Short> ESPECIE = ShortVector.SPECIES_PREFERRED;
+    private static final int LANES = ESPECIE.length();
+    private static final int PREFIXO_ESCALAR = 16;
+    private static final int TAMANHO_JANELA = 4096;
+
+    private final char[] janela = new char[Math.max(TAMANHO_JANELA, LANES)];
+    private int base = -1;   // Deslocamento no código fonte de janela[0]
+    private int carregados;  // Caracteres válidos na janela
+
+    VarredorVetorial(String source) {
+        super(source);
+    }
+
+    @Override
+    int proximoNaoBranco(int de, int ate) {
+        int i = de;
+        for (int curto = Math.min(ate, de + PREFIXO_ESCALAR); i < curto; i++) {
+            if (!branco(source.charAt(i))) {
+                return i;
+            }
+        }
+        while (ate - i >= LANES) {
+            int j = posicionar(i);
+            int limite = Math.min(carregados, ate - base);
+            for (; j + LANES <= limite; j += LANES) {
+                ShortVector v = ShortVector.fromCharArray(ESPECIE, janela, j);
+                long brancos = v.eq((short) '\n').toLong()
+                        | v.eq((short) ' ').toLong()
+                        | v.eq((short) '\t').toLong()
+                        | v.eq((short) '\r').toLong();
+                long outros = ~brancos & mascaraLanes();
+                if (outros != 0) {
+                    return base + j + Long.numberOfTrailingZeros(outros);
+                }
+            }
+            i = base + j;
+        }
+        return super.proximoNaoBranco(i, ate);
+    }
+
+    @Override
+    int proximaQuebraLinha(int de, int ate) {
+        int i = de;
+        for (int curto = Math.min(ate, de + PREFIXO_ESCALAR); i < curto; i++) {
+            if (source.charAt(i) == '\n') {
+                return i;
+            }
+        }
+        while (ate - i >= LANES) {
+            int j = posicionar(i);
+            int limite = Math.min(carregados, ate - base);
+            for (; j + LANES <= limite; j += LANES) {
+                long quebras = ShortVector.fromCharArray(ESPECIE, janela, j).eq((short) '\n').toLong();
+                if (quebras != 0) {
+                    return base + j + Long.numberOfTrailingZeros(quebras);
+                }
+            }
+            i = base + j;
+        }
+        return super.proximaQuebraLinha(i, ate);
+    }
+
+    @Override
+    int proximoFimComentario(int de, int ate) {
+        int i = de;
+        while (ate - i >= LANES) {
+            int j = posicionar(i);
+            int limite = Math.min(carregados, ate - base);
+            for (; j + LANES <= limite; j += LANES) {
+                long estrelas = ShortVector.fromCharArray(ESPECIE, janela, j).eq((short) '*').toLong();
+
+                // Cada '*' candidato só fecha o comentário se seguido de '/'
+                while (estrelas != 0) {
+                    int pos = base + j + Long.numberOfTrailingZeros(estrelas);
+                    if (pos + 1 < ate && source.charAt(pos + 1) == '/') {
+                        return pos;
+                    }
+                    estrelas &= estrelas - 1;
+                }
+            }
+            i = base + j;
+        }
+        return super.proximoFimComentario(i, ate);
+    }
+
+    @Override
+    int proximoEspecialTexto(int de, int ate) {
+        int i = de;
+        for (int curto = Math.min(ate, de + PREFIXO_ESCALAR); i < curto; i++) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n') {
+                return i;
+            }
+        }
+        while (ate - i >= LANES) {
+            int j = posicionar(i);
+            int limite = Math.min(carregados, ate - base);
+            for (; j + LANES <= limite; j += LANES) {
+                ShortVector v = ShortVector.fromCharArray(ESPECIE, janela, j);
+                long especiais = v.eq((short) '"').toLong()
+                        | v.eq((short) '\\').toLong()
+                        | v.eq((short) '\n').toLong();
+                if (especiais != 0) {
+                    return base + j + Long.numberOfTrailingZeros(especiais);
+                }
+            }
+            i = base + j;
+        }
+        return super.proximoEspecialTexto(i, ate);
+    }
+
+    /**
+     * Garante que a janela contém ao menos um vetor a partir de {@code i}
+     * (o chamador garante que há um vetor até o fim do código fonte) e
+     * retorna a posição de {@code i} na janela. Só copia quando {@code i}
+     * sai do trecho já carregado.
+     */
+    private int posicionar(int i) {
+        if (i < base || i + LANES > base + carregados) {
+            carregados = Math.min(janela.length, source.length() - i);
+            source.getChars(i, i + carregados, janela, 0);
+            base = i;
+        }
+        return i - base;
+    }
+
+    private static boolean branco(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    private static long mascaraLanes() {
+        return LANES == 64 ? -1L : (1L << LANES) - 1;
+    }
+}
@@ -1,6 +1,9 @@
 package test;
 
 import analisadorsintatico.Comando;
+import analisadorsintatico.FabricaExpressoes;
+import benchmark.ProgramaGerado;
+import diagnostico.ColetorDiagnosticos;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -9,7 +12,10 @@ import parser.Parser;
 import scanner.Scanner;
 import scanner.Token;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -44,6 +50,7 @@ public class AnalisadorSemanticoTest {
         }
         
         // Análise Semântica
+        analisador.setMapaLinhas(scanner.getMapaLinhas());
         return analisador.analisar(ast);
     }
     
@@ -526,4 +533,213 @@ public class AnalisadorSemanticoTest {
         assertTrue(compilar(codigo));
         assertEquals(0, analisador.getErros().size());
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testBuscaPorIdComSombreamento() {
+        String codigo = """
+            var x inteiro = 1;
+            {
+                var x texto = "interno";
+                x = "outro";
+            }
+            x = 2;
+            """;
+        
+        assertTrue(compilar(codigo));
+        assertEquals(0, analisador.getErros().size());
+    }
+    
+    @Test
+    public void testTabelaSimbolosPorId() {
+        TabelaSimbolos tabela = new TabelaSimbolos();
+        assertTrue(tabela.declarar(0, "x", Tipo.INTEIRO, false));
+        assertFalse(tabela.declarar(0, "x", Tipo.REAL, false));
+        
+        tabela.entrarEscopo();
+        assertTrue(tabela.declarar(0, "x", Tipo.TEXTO, true));
+        assertEquals(Tipo.TEXTO, tabela.buscar(0).getTipo());
+        tabela.sairEscopo();
+        
+        assertEquals(Tipo.INTEIRO, tabela.buscar(0).getTipo());
+        assertSame(tabela.buscar(0), tabela.buscar("x"));
+        assertNull(tabela.buscar(1));
+    }
+    
+    @Test
+    public void testTabelaSimbolosEscopos() {
+        TabelaSimbolos tabela = new TabelaSimbolos();
+        assertTrue(tabela.declarar(0, "x", Tipo.INTEIRO, false));
+        assertTrue(tabela.declarar("y", Tipo.TEXTO, false));
+        
+        // Cada nível esconde o anterior; o global continua visível por baixo
+        for (int i = 0; i < 1000; i++) {
+            tabela.entrarEscopo();
+            assertTrue(tabela.declarar(0, "x", i % 2 == 0 ? Tipo.REAL : Tipo.TEXTO, false));
+        }
+        assertEquals(1001, tabela.getNivelEscopo());
+        assertEquals(Tipo.TEXTO, tabela.buscar(0).getTipo());
+        assertSame(tabela.buscar(0), tabela.buscar("x"));
+        assertEquals(Tipo.TEXTO, tabela.buscar("y").getTipo());
+        tabela.marcarInicializada("y");
+        
+        tabela.sairEscopo();
+        assertEquals(Tipo.REAL, tabela.buscar("x").getTipo());
+        assertFalse(tabela.declarar(0, "x", Tipo.INTEIRO, false));
+        assertTrue(tabela.declarar(1, "z", Tipo.INTEIRO, true));
+        assertEquals(List.of("x", "z"), tabela.getSimbolosEscopoAtual().stream().map(Simbolo::getNome).toList());
+        for (int i = 0; i < 999; i++) {
+            tabela.sairEscopo();
+        }
+        tabela.sairEscopo(); // O escopo global nunca sai
+        
+        assertEquals(1, tabela.getNivelEscopo());
+        assertEquals(Tipo.INTEIRO, tabela.buscar(0).getTipo());
+        assertTrue(tabela.buscar("y").isInicializada());
+        assertNull(tabela.buscar(1));
+        assertNull(tabela.buscar("z"));
+        assertEquals(Set.of("x", "y"), tabela.getVariaveisEscopoAtual());
+        
+        // Nome declarado de novo depois de sair do escopo que o tinha
+        tabela.entrarEscopo();
+        assertTrue(tabela.declarar(1, "z", Tipo.REAL, false));
+        tabela.entrarEscopo();
+        assertTrue(tabela.getSimbolosEscopoAtual().isEmpty());
+        assertTrue(tabela.toString().contains("Escopo 2: [Simbolo{nome='z', tipo=real"));
+        assertTrue(tabela.toString().contains("Escopo 1: [Simbolo{nome='x', tipo=inteiro"));
+    }
+    
+    // ========================================================================
+    //                  TESTES DA MEMORIZAÇÃO POR NÓ CANÔNICO
+    // ========================================================================
+    
+    /**
+     * Analisa com expressões compartilhadas e memorização, e compara os
+     * erros e avisos (com as posições) com a análise da árvore comum.
+     */
+    private void assertMemorizadoIgual(String codigo) {
+        AnalisadorSemantico comum = new AnalisadorSemantico();
+        ColetorDiagnosticos esperado = new ColetorDiagnosticos();
+        comum.setDiagnosticos(esperado);
+        Scanner scannerComum = new Scanner(codigo);
+        comum.setMapaLinhas(scannerComum.getMapaLinhas());
+        comum.analisar(new Parser(scannerComum.scanTokens()).parsePrograma());
+        
+        FabricaExpressoes fabrica = new FabricaExpressoes();
+        Scanner scanner = new Scanner(codigo);
+        Parser parser = new Parser(scanner.scanTokens());
+        parser.setFabrica(fabrica);
+        List<Comando> ast = parser.parsePrograma();
+        assertNotNull(ast);
+        AnalisadorSemantico memorizado = new AnalisadorSemantico();
+        ColetorDiagnosticos obtido = new ColetorDiagnosticos();
+        memorizado.setDiagnosticos(obtido);
+        memorizado.setFabrica(fabrica);
+        memorizado.setMapaLinhas(scanner.getMapaLinhas());
+        memorizado.analisar(ast);
+        // Cada ocorrência de um nó compartilhado é reportada na sua própria posição
+        assertEquals(formatados(esperado), formatados(obtido), codigo);
+        assertEquals(comum.getErros().toString(), memorizado.getErros().toString(), codigo);
+    }
+    
+    private static List<String> formatados(ColetorDiagnosticos diagnosticos) {
+        List<String> lista = new ArrayList<>();
+        for (int i = 0; i < diagnosticos.tamanho(); i++) {
+            lista.add(diagnosticos.formatar(i));
+        }
+        return lista;
+    }
+    
+    @Test
+    public void testMemorizacaoIgualSemCompartilhar() {
+        assertMemorizadoIgual(ProgramaGerado.gerar(50));
+        // Sombreamento: a mesma expressão muda de tipo com o escopo
+        assertMemorizadoIgual("""
+            var x inteiro = 1;
+            var y inteiro = x + 1;
+            {
+                var x texto = "a";
+                y = x + 1;
+            }
+            y = x + 1;
+            """);
+        // Saída do escopo: a variável deixa de existir
+        assertMemorizadoIgual("""
+            var y inteiro = 0;
+            { var x inteiro = 1; y = x * 2; }
+            y = x * 2;
+            """);
+        // Erros se repetem em cada ocorrência
+        assertMemorizadoIgual("""
+            var t texto = "a";
+            var i inteiro = (t - 1) * (t - 1);
+            i = (t - 1) * (t - 1);
+            """);
+        // A mesma variável não declarada em várias linhas
+        assertMemorizadoIgual("""
+            var x inteiro = 1; imprimir(!x);
+            {
+              y = x;
+              var x inteiro = 1;
+              imprimir(x + 1, y);
+              imprimir(!x);
+            }
+            imprimir(a + 1, (a + 1) * 2, a);
+            """);
+    }
+    
+    @Test
+    public void testPosicoesCompartilhadasAleatorias() {
+        // Programas com sombreamento, variáveis não declaradas e erros de tipo repetidos
+        String[] linhas = {
+            "var x inteiro = 1;", "var x texto = \"s\";", "var y inteiro;", "var b inteiro = 2 > 1;",
+            "imprimir(!x, -y);", "imprimir(x + 1, (x + 1) * 2, x);", "x = x - y;", "y = (x + 1) * 2 + z;",
+            "ler(y, z);", "imprimir(b && x, b || (x + 1) > y);", "{", "}",
+            "se x > 1 {", "para var y inteiro = 0; y < x; y = y + 1 {", "para b {",
+        };
+        Random random = new Random(11);
+        for (int programa = 0; programa < 200; programa++) {
+            StringBuilder codigo = new StringBuilder();
+            int abertos = 0;
+            for (int i = 0; i < 25; i++) {
+                String linha = linhas[random.nextInt(linhas.length)];
+                if (linha.equals("}")) {
+                    if (abertos == 0) {
+                        continue;
+                    }
+                    abertos--;
+                } else if (linha.endsWith("{")) {
+                    abertos++;
+                }
+                codigo.append("  ".repeat(random.nextInt(3))).append(linha).append('\n');
+            }
+            codigo.append("}\n".repeat(abertos));
+            assertMemorizadoIgual(codigo.toString());
+        }
+    }
+    
+    @Test
+    public void testPosicaoErroPeloTrecho() {
+        // Os nós só guardam o trecho: linha e coluna vêm do código fonte quando pedidas
+        assertFalse(compilar("""
+            var x inteiro = 1;
+              y = x;
+            x = x + "a";
+            ler(x,  z);
+            """));
+        List<ErroSemantico> erros = analisador.getErros();
+        assertEquals(4, erros.size());
+        assertEquals("[Linha 2, Coluna 3] Erro Semântico: Variável 'y' não foi declarada.", erros.get(0).toString());
+        assertEquals(3, erros.get(1).getLinha());
+        assertEquals(7, erros.get(1).getColuna()); // O operador '+'
+        assertEquals(1, erros.get(2).getColuna()); // O nome atribuído
+        assertEquals(4, erros.get(3).getLinha());
+        assertEquals(9, erros.get(3).getColuna());
+        
+        // Tokens com posição explícita (AST montado à mão): não precisam do mapa
+        analisador.setMapaLinhas(null);
+        analisador.analisar(List.of(new Comando.Atribuicao(new Token(scanner.TokenType.IDENTIFICADOR, "w", 7, 5),
+                new analisadorsintatico.Expressao.LiteralInteiro(1))));
+        assertEquals(7, analisador.getErros().get(0).getLinha());
+        assertEquals(5, analisador.getErros().get(0).getColuna());
+    }
+}
@@ -0,0 +1,123 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+
+import analisadorsemantico.AnalisadorSemantico;
+import analisadorsintatico.Comando;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Fase;
+import diagnostico.LimiteErrosAtingido;
+import diagnostico.Severidade;
+import parser.Parser;
+import scanner.Scanner;
+import scanner.Token;
+import scanner.TokenType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para o coletor de diagnósticos compartilhado pelas fases.
+ */
+public class DiagnosticosTest {
+
+    @Test
+    public void testFasesReportamNoColetor() {
+        ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos();
+
+        Scanner scanner = new Scanner("var x inteiro = 1 @;\nvar y inteiro;\nx = y;\nz = 1;");
+        scanner.setDiagnosticos(diagnosticos);
+        List<Token> tokens = scanner.scanTokens();
+
+        // O token de erro léxico impede o Parser; retira-o para seguir até a semântica
+        tokens.removeIf(t -> t.getTipo() == TokenType.ERRO);
+        Parser parser = new Parser(tokens);
+        parser.setDiagnosticos(diagnosticos);
+        List<Comando> ast = parser.parsePrograma();
+        assertNotNull(ast);
+
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.setDiagnosticos(diagnosticos);
+        semantico.setMapaLinhas(scanner.getMapaLinhas());
+        assertFalse(semantico.analisar(ast));
+
+        assertEquals(3, diagnosticos.tamanho());
+        assertEquals("[Linha 1, Coluna 19] Erro léxico: Caractere inesperado: '@'", diagnosticos.formatar(0));
+        assertEquals(Severidade.AVISO, diagnosticos.getSeveridade(1));
+        assertEquals(Fase.SEMANTICA, diagnosticos.getFase(1));
+        assertEquals(3, diagnosticos.getLinha(1));
+        assertEquals(Severidade.ERRO, diagnosticos.getSeveridade(2));
+        assertEquals("Variável 'z' não foi declarada.", diagnosticos.getMensagem(2));
+        assertEquals(2, diagnosticos.quantidadeErros());
+    }
+
+    @Test
+    public void testErroSintatico() {
+        ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos();
+        Parser parser = new Parser(new Scanner("var x inteiro = ;").scanTokens());
+        parser.setDiagnosticos(diagnosticos);
+
+        assertNull(parser.parsePrograma());
+        assertEquals(1, diagnosticos.tamanho());
+        assertEquals(Fase.SINTATICA, diagnosticos.getFase(0));
+        assertEquals(1, diagnosticos.getLinha(0));
+        assertEquals(17, diagnosticos.getColuna(0));
+    }
+
+    @Test
+    public void testFiltroSeveridade() {
+        ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos(Severidade.ERRO, ColetorDiagnosticos.SEM_LIMITE);
+        diagnosticos.reportar(Severidade.AVISO, Fase.SEMANTICA, 1, 1, "aviso");
+        diagnosticos.reportar(Severidade.INFO, Fase.SEMANTICA, 2, 1, "info");
+        diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, 3, 1, "erro");
+
+        assertFalse(diagnosticos.aceita(Severidade.AVISO));
+        assertEquals(1, diagnosticos.tamanho());
+        assertEquals("erro", diagnosticos.getMensagem(0));
+    }
+
+    @Test
+    public void testDescartaMesmaPosicao() {
+        ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos();
+        for (int i = 0; i < 100; i++) {
+            diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, i % 10 + 1, i % 7 + 1, "erro " + i);
+        }
+        // Posição desconhecida nunca é descartada
+        diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, 0, 0, "sem posição");
+        diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, 0, 0, "sem posição");
+
+        assertEquals(70 + 2, diagnosticos.tamanho());
+        assertEquals("erro 0", diagnosticos.getMensagem(0));
+    }
+
+    @Test
+    public void testLimiteErros() {
+        ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos(Severidade.INFO, 2);
+        diagnosticos.reportar(Severidade.AVISO, Fase.SEMANTICA, 1, 1, "aviso");
+        diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, 2, 1, "primeiro");
+        assertThrows(LimiteErrosAtingido.class,
+                () -> diagnosticos.reportar(Severidade.ERRO, Fase.SEMANTICA, 3, 1, "segundo"));
+        assertEquals(3, diagnosticos.tamanho());
+
+        // O Scanner para no erro que atingiu o limite, deixando apenas o EOF
+        Scanner scanner = new Scanner("a @ b # c $ d");
+        scanner.setDiagnosticos(new ColetorDiagnosticos(Severidade.INFO, 2));
+        List<Token> tokens = scanner.scanTokens();
+        assertEquals(5, tokens.size());
+        assertEquals("#", tokens.get(3).getLexema());
+        assertEquals(2, scanner.getDiagnosticos().quantidadeErros());
+    }
+
+    @Test
+    public void testLimiteErrosSemantico() {
+        Scanner scanner = new Scanner("a = 1;\nb = 2;\nc = 3;");
+        List<Comando> ast = new Parser(scanner.scanTokens()).parsePrograma();
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.setDiagnosticos(new ColetorDiagnosticos(Severidade.INFO, 2));
+        semantico.setMapaLinhas(scanner.getMapaLinhas());
+
+        assertFalse(semantico.analisar(ast));
+        assertEquals(2, semantico.getErros().size());
+    }
+}
@@ -0,0 +1,958 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+
+import analisadorsemantico.AnalisadorSemantico;
+import analisadorsemantico.ErroSemantico;
+import analisadorsintatico.ArenaAst;
+import analisadorsintatico.ComandoSelado;
+import analisadorsintatico.ConversaoSelada;
+import analisadorsintatico.ExpressaoSelada;
+import analisadorsintatico.AstPrinter;
+import analisadorsintatico.CursorAst;
+import analisadorsintatico.EscritorAst;
+import analisadorsintatico.LeitorAst;
+import analisadorsintatico.FabricaExpressoes;
+import analisadorsintatico.TabelaPosicoes;
+import analisadorsintatico.Expressao;
+import analisadorsintatico.Comando;
+import benchmark.CascataExpressoes;
+import benchmark.ProgramaGerado;
+import bnf.GeradorLL1;
+import codigointermediario.TACGerador;
+import codigointermediario.TACInstrucoes;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Fase;
+import parser.CacheAst;
+import parser.Parser;
+import parser.ParserIncremental;
+import parser.ParserLL1;
+import parser.ParserParalelo;
+import parser.ResultadoIncremental;
+import parser.ResultadoSintatico;
+import scanner.JanelaTokens;
+import scanner.MapaLinhas;
+import scanner.Scanner;
+import scanner.ScannerIncremental;
+import scanner.StreamingScanner;
+import scanner.Token;
+import scanner.TokenBuffer;
+import scanner.TokenType;
+import scanner.Trecho;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para o Parser (Analisador Sintático).
+ */
+public class ParserTest {
+
+    private final AstPrinter printer = new AstPrinter();
+
+    private String expressao(String codigo) {
+        return printer.print(new Parser(new Scanner(codigo).scanTokens()).parseExpressao());
+    }
+
+    // ============== TESTES DE PRECEDÊNCIA (SHUNTING-YARD) ==============
+
+    @Test
+    public void testPrecedenciaEAssociatividade() {
+        assertEquals("(+ a (* b c))", expressao("a + b * c"));
+        assertEquals("(- (- a b) c)", expressao("a - b - c"));
+        assertEquals("(* (/ a b) c)", expressao("a / b * c"));
+        assertEquals("(== (< a b) (>= c d))", expressao("a < b == c >= d"));
+        assertEquals("(|| (&& a b) (&& c d))", expressao("a && b || c && d"));
+        assertEquals("(* (- a) (! b))", expressao("-a * !b"));
+    }
+
+    @Test
+    public void testLogicaEBinaria() {
+        Expressao expr = new Parser(new Scanner("a || b && c == d").scanTokens()).parseExpressao();
+        Expressao.Logica ou = assertInstanceOf(Expressao.Logica.class, expr);
+        Expressao.Logica e = assertInstanceOf(Expressao.Logica.class, ou.direita);
+        assertInstanceOf(Expressao.Binaria.class, e.direita);
+    }
+
+    @Test
+    public void testTabelaIgualACascata() {
+        int quantidade = 500;
+        String codigo = ProgramaGerado.gerarExpressoes(quantidade, 6, true, 7);
+        TokenBuffer tokens = new Scanner(codigo).scanTokenBuffer();
+
+        Parser tabela = new Parser(tokens);
+        CascataExpressoes cascata = new CascataExpressoes(tokens);
+        for (int i = 0; i < quantidade; i++) {
+            assertEquals(printer.print(cascata.expressao()), printer.print(tabela.parseExpressao()));
+        }
+    }
+
+    // ============== TESTES DO PARSER LL(1) ==============
+
+    private String programa(List<Comando> comandos) {
+        assertNotNull(comandos);
+        StringBuilder sb = new StringBuilder();
+        for (Comando comando : comandos) {
+            sb.append(printer.print(comando)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testParserLL1IgualAoParser() {
+        String[] programas = {
+            ProgramaGerado.gerar(20),
+            "para x < 10 { x = x + 1; }\npara ; ; { }\npara i = 0; i < 3; { }\npara var j real; ; j = j + 1.5 { }",
+            "imprimir();\nler();\nler(a, b, c);\nimprimir(\"a\", 1 + 2, -(-x));",
+            "se !!a == b { } senao { { var t texto = \"x\"; } }\nvar r real = 1.5 * (2 - 3) / 4;",
+        };
+        for (String codigo : programas) {
+            TokenBuffer tokens = new Scanner(codigo).scanTokenBuffer();
+            assertEquals(programa(new Parser(tokens).parsePrograma()),
+                    programa(new ParserLL1(tokens).parsePrograma()));
+        }
+    }
+
+    @Test
+    public void testParserLL1SemLimiteDeProfundidade() {
+        int profundidade = 100_000;
+        String codigo = "x = " + "(".repeat(profundidade) + "1" + ")".repeat(profundidade) + ";";
+
+        List<Comando> comandos = new ParserLL1(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+
+        assertNotNull(comandos);
+        assertEquals(1, comandos.size());
+    }
+
+    @Test
+    public void testParserLL1Erro() {
+        ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos();
+        ParserLL1 parser = new ParserLL1(new Scanner("x = 1;\n}").scanTokens());
+        parser.setDiagnosticos(diagnosticos);
+
+        assertNull(parser.parsePrograma());
+        assertEquals(1, diagnosticos.tamanho());
+        assertEquals(Fase.SINTATICA, diagnosticos.getFase(0));
+        assertEquals(2, diagnosticos.getLinha(0));
+        assertEquals("Erro em '}': Esperado fim do arquivo.", diagnosticos.getMensagem(0));
+    }
+
+    @Test
+    public void testGeradorLL1() throws IOException {
+        GeradorLL1 gerador = new GeradorLL1(GeradorLL1.lerGramatica());
+
+        assertTrue(gerador.first("expressao").contains(TokenType.NEGACAO));
+        assertTrue(gerador.follow("expressao").contains(TokenType.ABRE_CHAVE));
+        assertTrue(gerador.isAnulavel("lista_comandos"));
+        assertEquals("EXCECAO", gerador.producao("comando_para", TokenType.PARA));
+        assertEquals("LISTA_COMANDOS_1", gerador.producao("lista_comandos", TokenType.FECHA_CHAVE));
+        assertNull(gerador.producao("comando", TokenType.FECHA_CHAVE));
+    }
+
+    @Test
+    public void testGeradorLL1RejeitaConflitoNaoDeclarado() throws IOException {
+        String semExcecao = GeradorLL1.lerGramatica().replace("// %excecao <comando_para>", "");
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> new GeradorLL1(semExcecao));
+        assertTrue(erro.getMessage().contains("<comando_para>"));
+    }
+
+    // ============== TESTES DE RECUPERAÇÃO DE ERROS (MODO PÂNICO) ==============
+
+    private ResultadoSintatico recuperar(String codigo) {
+        return new Parser(new Scanner(codigo).scanTokens()).parseProgramaComRecuperacao();
+    }
+
+    @Test
+    public void testRecuperacaoReportaTodosOsErros() {
+        String codigo = "var a inteiro = ;\n"
+                + "var b inteiro = 2;\n"
+                + "c = 3 +\n"
+                + "imprimir(b);\n"
+                + "var d real real;\n"
+                + "ler(d);";
+
+        ResultadoSintatico resultado = recuperar(codigo);
+
+        assertFalse(resultado.isValido());
+        assertEquals(3, resultado.getErros().size());
+        assertEquals(1, resultado.getErros().get(0).getToken().getLinha());
+        assertEquals(4, resultado.getErros().get(1).getToken().getLinha());
+        assertEquals(5, resultado.getErros().get(2).getToken().getLinha());
+        assertEquals("(var b 2)\n(imprimir b)\n(ler d)\n", programa(resultado.getComandos()));
+    }
+
+    @Test
+    public void testRecuperacaoDentroDeBloco() {
+        ResultadoSintatico resultado = recuperar("se x > 1 {\n  y = ;\n  z = 2;\n  w = 3\n}\nimprimir(z);");
+
+        assertEquals(2, resultado.getErros().size());
+        assertEquals(2, resultado.getComandos().size());
+        assertEquals("(se (> x 1) (bloco (atrib z 2)))", printer.print(resultado.getComandos().get(0)));
+    }
+
+    @Test
+    public void testRecuperacaoChaveSobrando() {
+        ResultadoSintatico resultado = recuperar("x = 1;\n}\n} y = 2;");
+
+        assertEquals(2, resultado.getErros().size());
+        assertEquals(2, resultado.getComandos().size());
+    }
+
+    @Test
+    public void testRecuperacaoSemErros() {
+        String codigo = ProgramaGerado.gerar(3);
+        ResultadoSintatico resultado = recuperar(codigo);
+
+        assertTrue(resultado.isValido());
+        assertEquals(programa(new Parser(new Scanner(codigo).scanTokens()).parsePrograma()),
+                programa(resultado.getComandos()));
+        // O modo padrão continua parando no primeiro erro
+        assertNull(new Parser(new Scanner("x = ;\ny = ;").scanTokens()).parsePrograma());
+    }
+
+    // ============== TESTES DO MODO EM PIPELINE ==============
+
+    private Parser pipeline(Reader reader) {
+        return new Parser(new JanelaTokens(new StreamingScanner(reader, 64)));
+    }
+
+    @Test
+    public void testPipelineIgualAoLote() {
+        String codigo = ProgramaGerado.gerar(20)
+                + "\npara var i inteiro = 0; i < 3; i = i + 1 { imprimir(i); }\npara ; ; { }";
+
+        List<Comando> lote = new Parser(new Scanner(codigo).scanTokens()).parsePrograma();
+        AnalisadorSemantico semanticoLote = new AnalisadorSemantico();
+        semanticoLote.analisar(lote);
+        List<TACInstrucoes> tacLote = new TACGerador().gerar(lote);
+
+        List<Comando> comandos = new ArrayList<>();
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        TACGerador gerador = new TACGerador();
+        List<TACInstrucoes> tac = new ArrayList<>();
+        assertTrue(pipeline(new StringReader(codigo)).parsePrograma(comando -> {
+            comandos.add(comando);
+            semantico.analisarComando(comando);
+            tac.addAll(gerador.gerarComando(comando));
+        }));
+
+        assertEquals(programa(lote), programa(comandos));
+        assertEquals(semanticoLote.getErros().toString(), semantico.getErros().toString());
+        assertEquals(tacLote.toString(), tac.toString());
+    }
+
+    @Test
+    public void testPipelineEntregaAntesDeLerTudo() {
+        String codigo = "var x inteiro = 1;\n" + "x = x + 1;\n".repeat(10_000);
+        int[] lidos = new int[1];
+        Reader contador = new FilterReader(new StringReader(codigo)) {
+            @Override
+            public int read(char[] destino, int inicio, int quantidade) throws IOException {
+                int n = super.read(destino, inicio, quantidade);
+                lidos[0] += Math.max(n, 0);
+                return n;
+            }
+        };
+
+        int[] lidosNoPrimeiro = {-1};
+        int[] quantidade = new int[1];
+        assertTrue(pipeline(contador).parsePrograma(comando -> {
+            if (quantidade[0]++ == 0) {
+                lidosNoPrimeiro[0] = lidos[0];
+            }
+        }));
+
+        assertEquals(10_001, quantidade[0]);
+        assertTrue(lidosNoPrimeiro[0] < 1024, "lidos antes do primeiro comando: " + lidosNoPrimeiro[0]);
+        assertEquals(codigo.length(), lidos[0]);
+    }
+
+    @Test
+    public void testPipelineParaNoPrimeiroErro() {
+        List<Comando> comandos = new ArrayList<>();
+        assertFalse(pipeline(new StringReader("x = 1;\ny = ;\nz = 3;")).parsePrograma(comandos::add));
+        assertEquals(1, comandos.size());
+    }
+
+    @Test
+    public void testJanelaTokens() {
+        JanelaTokens janela = new JanelaTokens(new StreamingScanner(new StringReader("a = 1;")));
+
+        assertEquals(TokenType.ATRIBUICAO, janela.tipo(1));
+        assertEquals(TokenType.EOF, janela.tipo(4));
+        assertEquals(TokenType.EOF, janela.tipo(100));
+        assertEquals(TokenType.LITERAL_INTEIRO, janela.tipo(2));
+        // Só os últimos CAPACIDADE tokens continuam disponíveis
+        assertThrows(IllegalStateException.class, () -> janela.token(0));
+    }
+
+    // ============== TESTES DO PARSER INCREMENTAL ==============
+
+    private void assertIgualAoCompleto(ScannerIncremental scanner, ParserIncremental parser) {
+        List<Comando> completo = new Parser(new Scanner(scanner.getSource()).scanTokens()).parsePrograma();
+        assertEquals(programa(completo), programa(parser.getComandos()));
+    }
+
+    @Test
+    public void testIncrementalIgualAoParserCompleto() {
+        ScannerIncremental scanner = new ScannerIncremental(ProgramaGerado.gerar(10));
+        ParserIncremental parser = new ParserIncremental(scanner);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 300; i++) {
+            String source = scanner.getSource();
+            if (random.nextBoolean()) {
+                // Troca um dígito qualquer (sempre continua válido)
+                int posicao = random.nextInt(source.length());
+                while (!Character.isDigit(source.charAt(posicao))) {
+                    posicao = (posicao + 1) % source.length();
+                }
+                assertTrue(parser.editar(posicao, 1, String.valueOf(random.nextInt(10))).isValido());
+            } else {
+                // Insere um comando no início de uma linha (dentro ou fora de blocos)
+                int posicao = source.lastIndexOf('\n', random.nextInt(source.length())) + 1;
+                assertTrue(parser.editar(posicao, 0, "imprimir(" + i + ");\n").isValido());
+            }
+            assertIgualAoCompleto(scanner, parser);
+        }
+    }
+
+    @Test
+    public void testIncrementalReanalisaMenorComando() {
+        String codigo = "var x inteiro = 1;\n"
+                + "se x > 0 {\n    x = 2;\n    para x < 10 {\n        x = x + 1;\n    }\n    imprimir(x);\n}\n"
+                + "imprimir(x);";
+        ScannerIncremental scanner = new ScannerIncremental(codigo);
+        ParserIncremental parser = new ParserIncremental(scanner);
+        List<Comando> antes = parser.getComandos();
+        Comando.Se se = (Comando.Se) antes.get(1);
+        List<Comando> blocoAntes = ((Comando.Bloco) se.ramoThen).comandos;
+
+        ResultadoIncremental resultado = parser.editar(codigo.indexOf("x + 1"), 5, "x * 2 + 1");
+
+        assertTrue(resultado.isValido());
+        assertEquals(1, resultado.getInicio());
+        assertEquals(1, resultado.getRemovidos());
+        assertEquals(1, resultado.getNovos().size());
+        assertEquals(8, resultado.getTokensReanalisados()); // Só "x = x * 2 + 1;"
+        List<Comando> depois = parser.getComandos();
+        assertSame(antes.get(0), depois.get(0));
+        assertSame(antes.get(2), depois.get(2));
+        // Dentro do 'se' novo, os irmãos do 'para' alterado são os mesmos objetos
+        List<Comando> blocoDepois = ((Comando.Bloco) ((Comando.Se) depois.get(1)).ramoThen).comandos;
+        assertSame(blocoAntes.get(0), blocoDepois.get(0));
+        assertNotSame(blocoAntes.get(1), blocoDepois.get(1));
+        assertSame(blocoAntes.get(2), blocoDepois.get(2));
+        assertSame(se.condicao, ((Comando.Se) depois.get(1)).condicao);
+        assertEquals(parser.getFim(1), parser.getInicio(2));
+        assertIgualAoCompleto(scanner, parser);
+
+        // Uma segunda edição no mesmo comando usa os trechos já deslocados
+        resultado = parser.editar(scanner.getSource().indexOf("imprimir(x);\n}"), 0, "ler(x);\n");
+        assertEquals(30, resultado.getTokensReanalisados()); // Comando novo no bloco: reanalisa o bloco do se
+        assertIgualAoCompleto(scanner, parser);
+    }
+
+    @Test
+    public void testIncrementalMudancaEstrutural() {
+        String codigo = "se a > 1 { x = 1; }\ny = 2;\nz = 3;";
+        ScannerIncremental scanner = new ScannerIncremental(codigo);
+        ParserIncremental parser = new ParserIncremental(scanner);
+        List<Comando> antes = parser.getComandos();
+
+        // O 'se' anterior ganha um 'senao': reanalisa a partir dele e sincroniza em 'y'
+        ResultadoIncremental resultado = parser.editar(codigo.indexOf('\n'), 0, " senao { x = 0; }");
+        assertEquals(0, resultado.getInicio());
+        assertEquals(1, resultado.getRemovidos());
+        assertNotNull(((Comando.Se) resultado.getNovos().get(0)).ramoElse);
+        assertSame(antes.get(1), parser.getComandos().get(1));
+        assertSame(antes.get(2), parser.getComandos().get(2));
+        assertIgualAoCompleto(scanner, parser);
+
+        // Apagar o '}' é erro: o AST válido anterior é mantido
+        int chave = scanner.getSource().indexOf('}');
+        resultado = parser.editar(chave, 1, "");
+        assertFalse(resultado.isValido());
+        assertEquals(3, parser.getComandos().size());
+
+        // Depois do erro, a próxima edição reanalisa tudo
+        resultado = parser.editar(chave, 0, "}");
+        assertTrue(resultado.isValido());
+        assertEquals(3, resultado.getRemovidos());
+        assertEquals(3, resultado.getNovos().size());
+        assertIgualAoCompleto(scanner, parser);
+    }
+
+    @Test
+    public void testIncrementalDiagnosticosDaAnaliseInicial() {
+        // O erro da primeira análise vai para os diagnósticos passados no construtor
+        ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos();
+        ScannerIncremental scanner = new ScannerIncremental("x = 1;\ny = ;");
+        ParserIncremental parser = new ParserIncremental(scanner, diagnosticos);
+        assertSame(diagnosticos, parser.getDiagnosticos());
+        assertTrue(diagnosticos.quantidadeErros() > 0);
+        assertEquals(2, diagnosticos.getLinha(0));
+
+        // Corrigido o erro, a edição reanalisa tudo
+        assertTrue(parser.editar(scanner.getSource().lastIndexOf(';'), 0, "2").isValido());
+        assertEquals(2, parser.getComandos().size());
+    }
+
+    @Test
+    public void testIncrementalSemLimiteDeProfundidade() throws InterruptedException {
+        // Blocos muito aninhados, numa pilha pequena: importar, deslocar e descartar os trechos
+        int profundidade = 200_000;
+        String aninhados = "{".repeat(profundidade) + "}".repeat(profundidade);
+        String codigo = "{ x = 1; " + aninhados + " }\n" + aninhados + "\n";
+        Throwable[] erro = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                ScannerIncremental scanner = new ScannerIncremental(codigo);
+                ParserIncremental parser = new ParserIncremental(scanner);
+
+                // O bloco aninhado depois da edição é deslocado
+                ResultadoIncremental resultado = parser.editar(codigo.indexOf("1;"), 1, "1 + 1");
+                assertTrue(resultado.isValido());
+                assertEquals(1, resultado.getRemovidos());
+
+                // O segundo comando é reanalisado inteiro: os trechos do antigo são descartados
+                Comando antigo = parser.getComandos().get(1);
+                resultado = parser.editar(scanner.getSource().indexOf("\n{") + 2, 0, "y = 2; ");
+                assertTrue(resultado.isValido());
+                assertEquals(2, parser.getComandos().size());
+                assertNotSame(antigo, parser.getComandos().get(1));
+            } catch (Throwable e) {
+                erro[0] = e;
+            }
+        }, "incremental", 512 * 1024);
+        thread.start();
+        thread.join();
+        assertNull(erro[0]);
+    }
+
+    private List<ErroSemantico> analisarIncremental(ScannerIncremental scanner, ParserIncremental parser) {
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.setMapaLinhas(scanner.getTokens().getMapaLinhas());
+        semantico.setDeslocamentos(parser.getDeslocamentos());
+        semantico.analisar(parser.getComandos());
+        return semantico.getErros();
+    }
+
+    /**
+     * Erros (com linha e coluna) e TAC do AST incremental iguais aos do
+     * programa analisado do zero.
+     */
+    private void assertAnaliseIgualACompleta(ScannerIncremental scanner, ParserIncremental parser) {
+        TokenBuffer tokens = new Scanner(scanner.getSource()).scanTokenBuffer();
+        List<Comando> completo = new Parser(tokens).parsePrograma();
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.setMapaLinhas(tokens.getMapaLinhas());
+        semantico.analisar(completo);
+        assertEquals(semantico.getErros().toString(), analisarIncremental(scanner, parser).toString());
+
+        TACGerador gerador = new TACGerador();
+        gerador.setDeslocamentos(parser.getDeslocamentos());
+        assertEquals(new TACGerador().gerar(completo).toString(), gerador.gerar(parser.getComandos()).toString());
+    }
+
+    @Test
+    public void testIncrementalErrosNasPosicoesAtuais() {
+        String codigo = "var a inteiro = 1;\nimprimir(a);\nb = 2;\n";
+        ScannerIncremental scanner = new ScannerIncremental(codigo);
+        ParserIncremental parser = new ParserIncremental(scanner);
+        Comando atribuicao = parser.getComandos().get(2);
+
+        // Linhas em branco no início: os comandos seguintes são reaproveitados, mas descem três linhas
+        assertTrue(parser.editar(0, 0, "\n\n\n").isValido());
+        assertSame(atribuicao, parser.getComandos().get(2));
+        List<ErroSemantico> erros = analisarIncremental(scanner, parser);
+        assertEquals(1, erros.size());
+        assertEquals(6, erros.get(0).getLinha());
+        assertEquals(1, erros.get(0).getColuna());
+        assertAnaliseIgualACompleta(scanner, parser);
+
+        // Dentro de um bloco: o irmão depois do comando alterado é deslocado, o de antes não
+        codigo = "se 1 > 0 {\n    var x inteiro = 1;\n    imprimir(x);\n    y = x;\n}\nz = 1;\n";
+        scanner = new ScannerIncremental(codigo);
+        parser = new ParserIncremental(scanner);
+        assertTrue(parser.editar(codigo.indexOf("imprimir(x)") + 9, 1, "x +\n        x").isValido());
+        erros = analisarIncremental(scanner, parser);
+        assertEquals(2, erros.size());
+        assertEquals(5, erros.get(0).getLinha());
+        assertEquals(7, erros.get(1).getLinha());
+        assertAnaliseIgualACompleta(scanner, parser);
+    }
+
+    @Test
+    public void testIncrementalAnaliseIgualACompleta() {
+        // Sombras e variáveis não declaradas: erros e nomes do TAC dependem das posições
+        String codigo = "var x inteiro = 0;\n"
+                + "se x > 0 {\n    var y inteiro = x;\n    {\n        var x real = 1.5;\n        imprimir(x, y);\n    }\n    y = z;\n}\n"
+                + "imprimir(x);\n";
+        String[] linhas = {
+            "var x inteiro = 1;\n", "{ var x texto = \"s\"; imprimir(x); }\n", "w = x;\n", "\n", "imprimir(x + 1);\n",
+        };
+        ScannerIncremental scanner = new ScannerIncremental(codigo);
+        ParserIncremental parser = new ParserIncremental(scanner);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200; i++) {
+            String source = scanner.getSource();
+            int posicao = source.lastIndexOf('\n', random.nextInt(source.length())) + 1;
+            assertTrue(parser.editar(posicao, 0, linhas[random.nextInt(linhas.length)]).isValido());
+            assertAnaliseIgualACompleta(scanner, parser);
+        }
+    }
+
+    // ============== TESTES DO PARSER PARALELO ==============
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    private void assertParaleloIgualAoSequencial(String codigo) {
+        TokenBuffer tokens = new Scanner(codigo).scanTokenBuffer();
+        ColetorDiagnosticos sequencial = new ColetorDiagnosticos();
+        Parser parser = new Parser(tokens);
+        parser.setDiagnosticos(sequencial);
+        List<Comando> esperado = parser.parsePrograma();
+
+        ColetorDiagnosticos paralelo = new ColetorDiagnosticos();
+        ParserParalelo parserParalelo = new ParserParalelo(tokens, pool, 16);
+        parserParalelo.setDiagnosticos(paralelo);
+        List<Comando> obtido = parserParalelo.parsePrograma();
+
+        if (esperado == null) {
+            assertNull(obtido);
+        } else {
+            assertEquals(programa(esperado), programa(obtido));
+        }
+        assertEquals(sequencial.tamanho(), paralelo.tamanho());
+        for (int i = 0; i < sequencial.tamanho(); i++) {
+            assertEquals(sequencial.formatar(i), paralelo.formatar(i));
+        }
+    }
+
+    @Test
+    public void testParaleloIgualAoSequencial() {
+        assertParaleloIgualAoSequencial(ProgramaGerado.gerar(200));
+        assertParaleloIgualAoSequencial("");
+        assertParaleloIgualAoSequencial("x = 1;");
+        // ';' no cabeçalho do 'para' e 'senao' depois de '}' não terminam o comando
+        assertParaleloIgualAoSequencial(("para i = 0; i < 3; i = i + 1 { x = 1; }\n"
+                + "se x { y = 1; }\nsenao { y = 2; }\n{ { z = 3; } }\n").repeat(50));
+    }
+
+    @Test
+    public void testParaleloMesmoPrimeiroErro() {
+        String programa = ProgramaGerado.gerar(100);
+        int meio = programa.indexOf("// bloco 50");
+        // Erro simples, chave sobrando e chave faltando no meio do programa
+        assertParaleloIgualAoSequencial(programa.substring(0, meio) + "x = ;\n" + programa.substring(meio));
+        assertParaleloIgualAoSequencial(programa.substring(0, meio) + "}\n" + programa.substring(meio));
+        assertParaleloIgualAoSequencial(programa.substring(0, meio) + "se x {\n" + programa.substring(meio));
+        assertParaleloIgualAoSequencial(programa + "x = 1");
+    }
+
+    // ============== TESTES DE ANINHAMENTO PROFUNDO ==============
+
+    private static final int PROFUNDIDADE = 100_000; // Estouraria a pilha com recursão
+
+    /**
+     * Passa o programa pelo parser, impressão, análise semântica e TAC.
+     */
+    private List<TACInstrucoes> compilar(String codigo) {
+        List<Comando> comandos = new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+        assertNotNull(comandos);
+        for (Comando comando : comandos) {
+            assertFalse(printer.print(comando).isEmpty());
+        }
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        assertTrue(semantico.analisar(comandos), semantico.getErros().toString());
+        return new TACGerador().gerar(comandos);
+    }
+
+    @Test
+    public void testExpressoesProfundas() {
+        String parenteses = "(".repeat(PROFUNDIDADE) + "x" + ")".repeat(PROFUNDIDADE);
+        String unarios = "-".repeat(PROFUNDIDADE) + "x";
+        List<TACInstrucoes> tac = compilar("var x inteiro = 1;\nx = " + parenteses + ";\nx = " + unarios + ";");
+
+        // Um temporário por '-' e a atribuição final; os parênteses não geram código
+        assertEquals(1 + 1 + PROFUNDIDADE + 1, tac.size());
+        assertEquals("(- (- (- x)))", expressao("- - -x"));
+        assertEquals("(group (group x))", expressao("((x))"));
+    }
+
+    @Test
+    public void testComandosProfundos() {
+        StringBuilder sb = new StringBuilder("var x inteiro = 0;\n");
+        for (int i = 0; i < PROFUNDIDADE; i++) {
+            // Condições sem variáveis: a busca na tabela de símbolos percorre os escopos abertos
+            sb.append(i % 2 == 0 ? "se 0 < 1 { " : "para 1 < 0 { ");
+        }
+        sb.append("x = x + 1;");
+        sb.append(" }".repeat(PROFUNDIDADE));
+        List<TACInstrucoes> tac = compilar(sb.toString());
+
+        // Cada 'se' e cada 'para' geram o teste da condição e os rótulos
+        assertTrue(tac.size() > 3 * PROFUNDIDADE);
+        // E com erro no fundo do aninhamento, o parser para nele sem estourar a pilha
+        assertNull(new Parser(new Scanner("{ ".repeat(PROFUNDIDADE) + "x = ;").scanTokens()).parsePrograma());
+    }
+
+    // ============== TESTES DA ARENA ==============
+
+    private ArenaAst arena(String codigo) {
+        ArenaAst arena = new Parser(new Scanner(codigo).scanTokenBuffer()).parseArena();
+        assertNotNull(arena);
+        return arena;
+    }
+
+    private List<Comando> materializar(ArenaAst arena) {
+        List<Comando> comandos = new ArrayList<>();
+        CursorAst cursor = new CursorAst(arena);
+        while (cursor.proximo()) {
+            comandos.add(cursor.comando());
+        }
+        return comandos;
+    }
+
+    @Test
+    public void testArenaIgualAoAst() {
+        String[] codigos = {
+            ProgramaGerado.gerar(50),
+            "x = " + ProgramaGerado.gerarExpressoes(200, 6, true, 11).replace("\n", ";\nx = ") + "1;",
+            "",
+            "var x inteiro;\nvar y real = -(1.5 * 2) + 3;\nler(x, y);\nimprimir();\nimprimir(\"a\", x, !x || x && y);",
+            "para ; ; { }\npara var i inteiro = 0; i < 3; i = i + 1 { se i == 1 { {} } senao { x = i; } }\npara x { }",
+        };
+        for (String codigo : codigos) {
+            List<Comando> esperado = new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+            assertEquals(programa(esperado), programa(materializar(arena(codigo))));
+        }
+        assertNull(new Parser(new Scanner("x = 1;\nse x { y = ; }").scanTokenBuffer()).parseArena());
+    }
+
+    @Test
+    public void testArenaEstrutura() {
+        ArenaAst arena = arena("x = a + -b;");
+        // Pós-ordem: a, b, -b, a + -b, atribuição
+        assertEquals(5, arena.tamanho());
+        assertEquals(1, arena.quantidadeComandos());
+        int atribuicao = arena.comandoNivelSuperior(0);
+        assertEquals(4, atribuicao);
+        assertEquals(ArenaAst.TipoNo.ATRIBUICAO, arena.tipo(atribuicao));
+        assertEquals(0, arena.primeiro(atribuicao));
+        assertEquals(ArenaAst.TipoNo.UNARIA, arena.tipo(2));
+        assertEquals(1, arena.primeiro(2));
+
+        CursorAst cursor = new CursorAst(arena);
+        cursor.posicionar(3);
+        assertEquals("(+ a (- b))", cursor.aceitarExpressao(printer));
+        assertEquals(5L * ArenaAst.BYTES_POR_NO, arena.bytesUsados());
+    }
+
+    @Test
+    public void testArenaPassesIguais() {
+        String codigo = ProgramaGerado.gerar(30);
+        List<Comando> esperado = new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+        AnalisadorSemantico semanticoAst = new AnalisadorSemantico();
+        semanticoAst.analisar(esperado);
+        List<TACInstrucoes> tacAst = new TACGerador().gerar(esperado);
+
+        // Os passes recebem os comandos um a um, materializados pelo cursor
+        AnalisadorSemantico semanticoArena = new AnalisadorSemantico();
+        TACGerador gerador = new TACGerador();
+        List<TACInstrucoes> tacArena = new ArrayList<>();
+        CursorAst cursor = new CursorAst(arena(codigo));
+        while (cursor.proximo()) {
+            semanticoArena.analisarComando(cursor.comando());
+            tacArena.addAll(gerador.gerarComando(cursor.comando()));
+        }
+        assertEquals(semanticoAst.getErros().toString(), semanticoArena.getErros().toString());
+        assertEquals(tacAst.toString(), tacArena.toString());
+    }
+
+    @Test
+    public void testArenaProfunda() {
+        String codigo = "x = " + "(".repeat(PROFUNDIDADE) + "-x" + ")".repeat(PROFUNDIDADE) + ";\n"
+                + "se 1 { ".repeat(PROFUNDIDADE) + "x = 1;" + " }".repeat(PROFUNDIDADE);
+        List<Comando> comandos = materializar(arena(codigo));
+        assertEquals(2, comandos.size());
+        assertEquals(programa(new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma()), programa(comandos));
+    }
+
+    // ============== TESTES DA FÁBRICA DE EXPRESSÕES ==============
+
+    @Test
+    public void testFabricaCompartilhaSubexpressoes() {
+        FabricaExpressoes fabrica = new FabricaExpressoes();
+        Parser parser = new Parser(new Scanner("x = (a + b) * (a + b);\ny = a + b;").scanTokens());
+        parser.setFabrica(fabrica);
+        List<Comando> comandos = parser.parsePrograma();
+
+        Comando.Atribuicao x = (Comando.Atribuicao) comandos.get(0);
+        Expressao.Binaria produto = (Expressao.Binaria) x.valor;
+        assertSame(produto.esquerda, produto.direita);
+        Expressao soma = ((Expressao.Agrupamento) produto.esquerda).expressao;
+        assertSame(soma, ((Comando.Atribuicao) comandos.get(1)).valor);
+        assertEquals("(* (group (+ a b)) (group (+ a b)))", printer.print(produto));
+
+        // a, b, a + b, (a + b) e o produto; 12 ocorrências no programa
+        assertEquals(5, fabrica.getCanonicos());
+        assertEquals(12, fabrica.getPedidos());
+
+        // As posições de cada ocorrência ficam na tabela, na ordem do programa
+        TabelaPosicoes posicoes = fabrica.getPosicoes();
+        assertEquals(3, posicoes.ocorrencias(soma));
+        assertEquals(1, posicoes.linha(soma, 0));
+        assertEquals(1, posicoes.linha(soma, 1));
+        assertEquals(2, posicoes.linha(soma, 2));
+        assertTrue(posicoes.coluna(soma, 0) < posicoes.coluna(soma, 1));
+        assertEquals(0, posicoes.ocorrencias(produto.esquerda)); // Parênteses não têm token
+
+        // O fim de cada ocorrência é a última posição dentro dela
+        Expressao b = ((Expressao.Binaria) soma).direita;
+        assertEquals(posicoes.trecho(b, 0), posicoes.fim(soma, 0));
+        assertEquals(posicoes.trecho(b, 2), posicoes.fim(soma, 2));
+        assertEquals(posicoes.trecho(b, 1), posicoes.fim(produto, 0));
+        assertEquals(posicoes.trecho(b, 1), posicoes.fim(b, 1));
+    }
+
+    @Test
+    public void testFabricaIgualAoAst() {
+        String codigo = ProgramaGerado.gerar(50);
+        TokenBuffer tokens = new Scanner(codigo).scanTokenBuffer();
+        Parser parser = new Parser(tokens);
+        FabricaExpressoes fabrica = new FabricaExpressoes();
+        parser.setFabrica(fabrica);
+        assertEquals(programa(new Parser(tokens).parsePrograma()), programa(parser.parsePrograma()));
+        assertTrue(fabrica.getCanonicos() < fabrica.getPedidos() / 2);
+
+        // Literais de tipos ou valores diferentes não se confundem
+        FabricaExpressoes outra = new FabricaExpressoes();
+        Parser literais = new Parser(new Scanner("1 + 1.0 + \"1\" + 0.0 + -0.0").scanTokens());
+        literais.setFabrica(outra);
+        assertEquals("(+ (+ (+ (+ 1 1.0) \"1\") 0.0) (- 0.0))", printer.print(literais.parseExpressao()));
+        assertEquals(5, outra.getCanonicos() - 4); // 1, 1.0, "1", 0.0 e os quatro '+' e o '-'
+    }
+
+    @Test
+    public void testFabricaSeparaAcessosPorDeclaracao() {
+        FabricaExpressoes fabrica = new FabricaExpressoes();
+        Parser parser = new Parser(new Scanner("""
+            var x inteiro = 1;
+            imprimir(x);
+            { var x inteiro = 2; imprimir(x); { imprimir(x); } }
+            imprimir(x);
+            { var x inteiro = ; imprimir(x); }
+            """).scanTokens());
+        parser.setFabrica(fabrica);
+        List<Comando> comandos = parser.parseProgramaComRecuperacao().getComandos();
+
+        Expressao externo = ((Comando.Imprimir) comandos.get(1)).expressoes.get(0);
+        Comando.Bloco bloco = (Comando.Bloco) comandos.get(2);
+        Expressao interno = ((Comando.Imprimir) bloco.comandos.get(1)).expressoes.get(0);
+        Comando.Bloco aninhado = (Comando.Bloco) bloco.comandos.get(2);
+
+        // O x sombreado é outro nó; dentro do mesmo escopo o acesso é compartilhado
+        assertNotSame(externo, interno);
+        assertSame(interno, ((Comando.Imprimir) aninhado.comandos.get(0)).expressoes.get(0));
+        assertSame(externo, ((Comando.Imprimir) comandos.get(3)).expressoes.get(0));
+
+        // A declaração descartada pelo erro não esconde o x externo
+        Comando.Bloco comErro = (Comando.Bloco) comandos.get(4);
+        assertSame(externo, ((Comando.Imprimir) comErro.comandos.get(0)).expressoes.get(0));
+        assertEquals(1, fabrica.marcaEscopo()); // Só a declaração global continua visível
+    }
+
+    // ================== TESTES DO AST SELADO ==================
+
+    private List<ComandoSelado> selado(String codigo) {
+        return new Parser(new Scanner(codigo).scanTokenBuffer()).parseSelado();
+    }
+
+    @Test
+    public void testSeladoIgualAoAst() {
+        String[] codigos = {
+            ProgramaGerado.gerar(50),
+            "",
+            "var x inteiro;\nvar y real = -(1.5 * 2) + 3;\nler(x, y);\nimprimir();\nimprimir(\"a\", x, !x || x && y);",
+            "para ; ; { }\npara var i inteiro = 0; i < 3; i = i + 1 { se i == 1 { {} } senao { x = i; } }\npara x { }",
+        };
+        for (String codigo : codigos) {
+            List<Comando> esperado = new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+            assertEquals(programa(esperado), programa(ConversaoSelada.comandos(selado(codigo))));
+        }
+        assertNull(selado("x = 1;\nse x { y = ; }"));
+
+        ComandoSelado.Atribuicao atribuicao = (ComandoSelado.Atribuicao) selado("x = a + -b;").get(0);
+        ExpressaoSelada.Binaria soma = (ExpressaoSelada.Binaria) atribuicao.valor();
+        assertEquals("a", ((ExpressaoSelada.VariavelAcesso) soma.esquerda()).nome());
+        assertTrue(soma.direita() instanceof ExpressaoSelada.Unaria);
+    }
+
+    @Test
+    public void testSeladoPassesIguais() {
+        String[] codigos = {
+            ProgramaGerado.gerar(30),
+            "var x inteiro = \"a\";\ny = 1;\nse x + 1 { var x real; var x texto; }\nimprimir(!x, -\"b\", x && 1.5);\nler(z);",
+            "var a inteiro;\npara var i inteiro = 0; i < 3 || a == 2 && !(a > 1); i = i + 1 { a = a + i; }\nimprimir(a);",
+            // Sombra: o x interno tem outro nome no TAC
+            "var x inteiro = 1;\n{ var x inteiro = 2; x = x + 1; ler(x); }\nimprimir(x);",
+        };
+        for (String codigo : codigos) {
+            List<Comando> esperado = new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+            AnalisadorSemantico semantico = new AnalisadorSemantico();
+            semantico.setMapaLinhas(new MapaLinhas(codigo));
+            semantico.analisar(esperado);
+            AnalisadorSemantico semanticoSelado = new AnalisadorSemantico();
+            semanticoSelado.setMapaLinhas(new MapaLinhas(codigo));
+            semanticoSelado.analisarSelado(selado(codigo));
+            assertEquals(semantico.getErros().toString(), semanticoSelado.getErros().toString());
+            assertEquals(new TACGerador().gerar(esperado).toString(),
+                    new TACGerador().gerarSelado(selado(codigo)).toString());
+        }
+    }
+
+    @Test
+    public void testSeladoProfundo() {
+        // Abaixo do limite de recursão, os passes convertem a subárvore e seguem pelo percurso iterativo
+        String codigo = "var x inteiro = 1;\nx = " + "(".repeat(PROFUNDIDADE) + "-x" + ")".repeat(PROFUNDIDADE) + ";\n"
+                + "se x > 0 { ".repeat(PROFUNDIDADE) + "x = 1;" + " }".repeat(PROFUNDIDADE);
+        List<Comando> esperado = new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+        List<ComandoSelado> comandos = selado(codigo);
+        assertEquals(3, comandos.size());
+        assertEquals(programa(esperado), programa(ConversaoSelada.comandos(comandos)));
+
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        assertTrue(semantico.analisarSelado(comandos));
+        assertEquals(new TACGerador().gerar(esperado).toString(), new TACGerador().gerarSelado(comandos).toString());
+    }
+
+    private List<Comando> binario(String codigo) {
+        List<Comando> comandos = new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+        return LeitorAst.ler(ByteBuffer.wrap(EscritorAst.serializar(comandos)));
+    }
+
+    @Test
+    public void testBinarioIgualAoAst() {
+        String[] codigos = {
+            ProgramaGerado.gerar(30),
+            "",
+            "var x inteiro = \"a\";\ny = 1;\nse x + 1 { var x real = 2.5; var x texto; }\nimprimir(!x, -\"b\", x && 1.5);\nler(z, x);",
+            "para ; ; { }\npara var i inteiro = 0; i < 3; i = i + 1 { se i == 1 { {} } senao { x = i; } }\npara x { }",
+            "var x inteiro = 1;\nx = " + "(".repeat(PROFUNDIDADE) + "-x" + ")".repeat(PROFUNDIDADE) + ";",
+        };
+        for (String codigo : codigos) {
+            List<Comando> esperado = new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+            List<Comando> lido = binario(codigo);
+            assertEquals(programa(esperado), programa(lido));
+
+            // Mesmos erros, nas mesmas posições, e o mesmo TAC
+            // O AST lido usa o mapa do mesmo código fonte
+            AnalisadorSemantico semantico = new AnalisadorSemantico();
+            semantico.setMapaLinhas(new MapaLinhas(codigo));
+            semantico.analisar(esperado);
+            AnalisadorSemantico semanticoLido = new AnalisadorSemantico();
+            semanticoLido.setMapaLinhas(new MapaLinhas(codigo));
+            semanticoLido.analisar(lido);
+            assertEquals(semantico.getErros().toString(), semanticoLido.getErros().toString());
+            assertEquals(new TACGerador().gerar(esperado).toString(), new TACGerador().gerar(lido).toString());
+        }
+
+        // Literais genéricos e posições explícitas
+        List<Comando> comandos = List.of(
+            new Comando.Imprimir(List.of(new Expressao.Literal(null), new Expressao.Literal(-7),
+                    new Expressao.Literal(0.5), new Expressao.Literal("t"), new Expressao.Literal(true))),
+            new Comando.Atribuicao(new Token(TokenType.IDENTIFICADOR, "w", 7, 5), new Expressao.LiteralInteiro(Long.MIN_VALUE)));
+        List<Comando> lidos = LeitorAst.ler(ByteBuffer.wrap(EscritorAst.serializar(comandos)));
+        assertEquals(programa(comandos), programa(lidos));
+        Comando.Atribuicao atribuicao = (Comando.Atribuicao) lidos.get(1);
+        assertEquals(7, Trecho.linha(atribuicao.trecho, null));
+        assertEquals(5, Trecho.coluna(atribuicao.trecho, null));
+        assertEquals(List.of(-7, 0.5, "t", true), ((Comando.Imprimir) lidos.get(0)).expressoes.stream()
+                .skip(1).map(e -> ((Expressao.Literal) e).valor).toList());
+
+        byte[] bytes = EscritorAst.serializar(new Parser(new Scanner("var x inteiro = 1 + 2;").scanTokenBuffer()).parsePrograma());
+        assertThrows(IllegalArgumentException.class,
+                () -> LeitorAst.ler(ByteBuffer.wrap(bytes, 0, bytes.length - 3)));
+
+        // Cada bit trocado é rejeitado pelo CRC32
+        for (int i = 0; i < bytes.length * 8; i++) {
+            byte[] corrompido = bytes.clone();
+            corrompido[i / 8] ^= (byte) (1 << (i % 8));
+            assertThrows(IllegalArgumentException.class, () -> LeitorAst.ler(ByteBuffer.wrap(corrompido)));
+        }
+    }
+
+    @Test
+    public void testCacheAst() throws IOException {
+        Path diretorio = Files.createTempDirectory("cache-ast");
+        try {
+            CacheAst cache = new CacheAst(diretorio);
+            String codigo = ProgramaGerado.gerar(20) + "var a inteiro;\nler(a);\nb = a;";
+            List<Comando> esperado = new Parser(new Scanner(codigo).scanTokenBuffer()).parsePrograma();
+
+            assertEquals(programa(esperado), programa(cache.analisar(codigo)));
+            List<Comando> doCache = cache.analisar(codigo);
+            assertEquals(1, cache.getAcertos());
+            assertEquals(1, cache.getFaltas());
+            assertEquals(programa(esperado), programa(doCache));
+            AnalisadorSemantico semantico = new AnalisadorSemantico();
+            semantico.setMapaLinhas(new MapaLinhas(codigo));
+            semantico.analisar(esperado);
+            AnalisadorSemantico semanticoCache = new AnalisadorSemantico();
+            semanticoCache.setMapaLinhas(new MapaLinhas(codigo));
+            semanticoCache.analisar(doCache);
+            assertEquals(semantico.getErros().toString(), semanticoCache.getErros().toString());
+            assertEquals(new TACGerador().gerar(esperado).toString(), new TACGerador().gerar(doCache).toString());
+
+            // Programas com erro não entram no cache, e o erro é reportado toda vez
+            for (int i = 0; i < 2; i++) {
+                ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos();
+                assertNull(cache.analisar("x = ;", diagnosticos));
+                assertEquals(1, diagnosticos.quantidadeErros());
+            }
+            assertEquals(3, cache.getFaltas());
+
+            // Arquivo corrompido conta como falta e é regravado
+            Path arquivo = diretorio.resolve(CacheAst.chave(codigo) + ".ast");
+            Files.write(arquivo, new byte[] { 1, 2, 3 });
+            assertEquals(programa(esperado), programa(cache.analisar(codigo)));
+            assertEquals(4, cache.getFaltas());
+            assertEquals(programa(esperado), programa(cache.analisar(codigo)));
+            assertEquals(2, cache.getAcertos());
+
+            // Um bit trocado em qualquer posição também é falta, nunca outro AST
+            byte[] valido = Files.readAllBytes(arquivo);
+            Random aleatorio = new Random(23);
+            for (int i = 0; i < 200; i++) {
+                byte[] corrompido = valido.clone();
+                corrompido[aleatorio.nextInt(corrompido.length)] ^= (byte) (1 << aleatorio.nextInt(8));
+                Files.write(arquivo, corrompido);
+                assertEquals(programa(esperado), programa(cache.analisar(codigo)));
+                assertEquals(5 + i, cache.getFaltas());
+            }
+        } finally {
+            try (var arquivos = Files.list(diretorio)) {
+                for (Path arquivo : arquivos.toList()) {
+                    Files.delete(arquivo);
+                }
+            }
+            Files.delete(diretorio);
+        }
+    }
+}
@@ -4,11 +4,41 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 
+import analisadorsintatico.AstPrinter;
+import analisadorsintatico.Comando;
+import benchmark.ProgramaGerado;
+import diagnostico.ColetorDiagnosticos;
+import diagnostico.Diagnosticos;
+import diagnostico.Severidade;
+import parser.Parser;
+
+import scanner.AlteracaoTokens;
+import scanner.Literais;
+import scanner.MapaLinhas;
 import scanner.Token;
+import scanner.TokenBuffer;
 import scanner.TokenType;
 import scanner.Scanner;
+import scanner.ScannerDFA;
+import scanner.ScannerIncremental;
+import scanner.ScannerParalelo;
+import scanner.ScannerUtf8;
+import scanner.StreamingScanner;
+import scanner.TabelaNomes;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Testes unitários para o Scanner (Analisador Léxico).
@@ -581,4 +611,499 @@ public class ScannerTest {
         assertEquals(1, tokens.size());
         assertEquals(TokenType.EOF, tokens.get(0).getTipo());
     }
-}
\ No newline at end of file
+    
+    // ============== TESTES DO SCANNER STREAMING ==============
+    
+    /**
+     * Método auxiliar: lê todos os tokens do scanner streaming até o EOF.
+     */
+    private List<Token> getTokensStreaming(String source, int tamanhoJanela) {
+        StreamingScanner scanner = new StreamingScanner(new StringReader(source), tamanhoJanela);
+        List<Token> tokens = new ArrayList<>();
+        Token token;
+        do {
+            token = scanner.nextToken();
+            tokens.add(token);
+        } while (token.getTipo() != TokenType.EOF);
+        return tokens;
+    }
+    
+    /**
+     * Método auxiliar: compara tipo, lexema, linha e coluna com o Scanner.
+     */
+    private void assertMesmosTokens(List<Token> esperados, List<Token> obtidos) {
+        assertEquals(esperados.size(), obtidos.size(), "Número de tokens diferente do esperado");
+        for (int i = 0; i < esperados.size(); i++) {
+            assertEquals(esperados.get(i).toString(), obtidos.get(i).toString(), "Token " + i);
+        }
+    }
+    
+    @Test
+    public void testStreamingIgualAoScanner() {
+        String source = """
+            var x inteiro = 10; // comentário
+            /* bloco
+               de várias linhas */
+            var nome texto = "João \\\"Silva\\\"
+            continua";
+            se x >= 5 && x != 7 { imprimir(x / 2.5); }
+            x = 99999999999999999999; y = 9223372036854775807;
+            x = "a\\
+            b";
+            y = 1;
+            """;
+        List<Token> esperados = new Scanner(source).scanTokens();
+        
+        // Janelas pequenas forçam fronteiras dentro de comentários e strings
+        for (int janela = 2; janela <= 16; janela++) {
+            assertMesmosTokens(esperados, getTokensStreaming(source, janela));
+        }
+        assertMesmosTokens(esperados, getTokensStreaming(source, 8192));
+    }
+    
+    @Test
+    public void testStreamingSobreCanal() {
+        String source = "imprimir(\"Olá\");\nler(x);";
+        ReadableByteChannel canal = Channels.newChannel(
+            new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)));
+        StreamingScanner scanner = new StreamingScanner(canal);
+        
+        List<Token> esperados = new Scanner(source).scanTokens();
+        for (Token esperado : esperados) {
+            assertEquals(esperado.toString(), scanner.nextToken().toString());
+        }
+        assertEquals(TokenType.EOF, scanner.nextToken().getTipo());
+    }
+    
+    @Test
+    public void testStreamingComentarioNaoFechado() {
+        List<Token> tokens = getTokensStreaming("x /* sem fim\n", 4);
+        
+        assertEquals(TokenType.IDENTIFICADOR, tokens.get(0).getTipo());
+        assertEquals(TokenType.ERRO, tokens.get(1).getTipo());
+        assertEquals("/*", tokens.get(1).getLexema());
+        assertEquals(TokenType.EOF, tokens.get(2).getTipo());
+    }
+    
+    // ============== TESTES DO TOKEN BUFFER ==============
+    
+    @Test
+    public void testTokenBufferIgualAoScanner() {
+        String source = "var nome texto = \"Ana\";\nse x >= 1.5 { ler(x); } @";
+        List<Token> esperados = new Scanner(source).scanTokens();
+        TokenBuffer buffer = new Scanner(source).scanTokenBuffer();
+        
+        assertEquals(esperados.size(), buffer.tamanho());
+        for (int i = 0; i < esperados.size(); i++) {
+            assertEquals(esperados.get(i).toString(), buffer.token(i).toString(), "Token " + i);
+        }
+    }
+    
+    @Test
+    public void testTokenBufferLexemaFixoSemAlocacao() {
+        TokenBuffer buffer = new Scanner("var x inteiro;").scanTokenBuffer();
+        
+        // Palavras reservadas e delimitadores usam a constante do TokenType
+        assertSame(TokenType.VAR.getLexema(), buffer.lexema(0));
+        assertSame(TokenType.PONTO_VIRGULA.getLexema(), buffer.lexema(3));
+        assertEquals("x", buffer.lexema(1));
+        assertEquals(TokenType.EOF, buffer.tipo(99));
+    }
+    
+    @Test
+    public void testParserConsomeTokenBuffer() {
+        String source = """
+            var i inteiro = 0;
+            para var j inteiro = 0; j < 3; j = j + 1 { imprimir(-j * 2, "fim"); }
+            se !(i == 0) || i > 2 { i = 1; } senao { ler(i); }
+            """;
+        AstPrinter printer = new AstPrinter();
+        List<Comando> daLista = new Parser(new Scanner(source).scanTokens()).parsePrograma();
+        List<Comando> doBuffer = new Parser(new Scanner(source).scanTokenBuffer()).parsePrograma();
+        
+        assertEquals(daLista.size(), doBuffer.size());
+        for (int i = 0; i < daLista.size(); i++) {
+            assertEquals(printer.print(daLista.get(i)), printer.print(doBuffer.get(i)));
+        }
+    }
+    
+    // ============== TESTES DO SCANNER UTF-8 ==============
+    
+    @Test
+    public void testScannerUtf8IgualAoScanner() throws IOException {
+        String source = """
+            // comentário com acentuação: ção, ü, 😀
+            var nome texto = "João 😀 \\"ÿ\\"";
+            /* bloco com ñ
+               e 𝄞 */ var x real = 3.14; x = x * 2;
+            imprimir(nome, x);
+            ç 😀 @ 99999999999999999999 9223372036854775807
+            x = "a\\
+            b";
+            y = 1;
+            "aberta ã
+            """;
+        List<Token> esperados = new Scanner(source).scanTokens();
+        
+        Path arquivo = Files.createTempFile("mini-go", ".mgo");
+        try {
+            Files.writeString(arquivo, source, StandardCharsets.UTF_8);
+            assertMesmosTokens(esperados, ScannerUtf8.deArquivo(arquivo).scanTokens());
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+    
+    @Test
+    public void testScannerUtf8SobreByteBuffer() {
+        String source = "se a <= 10 && b != \"é\" { ler(a); }";
+        ByteBuffer bytes = ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8));
+        
+        assertMesmosTokens(new Scanner(source).scanTokens(), new ScannerUtf8(bytes).scanTokens());
+    }
+    
+    // ============== TESTES DE INTERNAÇÃO DE IDENTIFICADORES ==============
+    
+    @Test
+    public void testIdentificadoresInternados() {
+        Scanner scanner = new Scanner("x = y + x; var y inteiro;");
+        List<Token> tokens = scanner.scanTokens();
+        
+        Token x1 = tokens.get(0);
+        Token y = tokens.get(2);
+        Token x2 = tokens.get(4);
+        
+        // Mesmo identificador: mesmo id e a mesma String canônica
+        assertEquals(x1.getIdSimbolo(), x2.getIdSimbolo());
+        assertSame(x1.getLexema(), x2.getLexema());
+        assertNotEquals(x1.getIdSimbolo(), y.getIdSimbolo());
+        assertEquals(y.getIdSimbolo(), tokens.get(7).getIdSimbolo());
+        
+        // Ids densos e palavras reservadas sem id
+        assertEquals(2, scanner.getTabelaNomes().quantidade());
+        assertEquals("y", scanner.getTabelaNomes().nome(y.getIdSimbolo()));
+        assertEquals(-1, tokens.get(6).getIdSimbolo());
+    }
+    
+    @Test
+    public void testTabelaNomesCompartilhada() {
+        TabelaNomes nomes = new TabelaNomes();
+        Token a = new Scanner("contador", nomes).scanTokens().get(0);
+        Token b = new Scanner("x contador", nomes).scanTokens().get(1);
+        
+        assertEquals(a.getIdSimbolo(), b.getIdSimbolo());
+        assertEquals(nomes.internar("contador"), a.getIdSimbolo());
+    }
+    
+    // ============== TESTES DO SCANNER DFA ==============
+    
+    @Test
+    public void testScannerDFAIgualAoScanner() {
+        String source = """
+            var inteiros inteiro = 10; // 'inteiros' não é palavra reservada
+            var sen real = 1.; se senao seno imprimir imprimirx ler lerx
+            /* bloco
+               multilinha * / */ x = 3.14 * (y - 2) / z;
+            se a <= b && c >= d || e == f && g != h { ler(a); } . , !x
+            texto = "com \\"escape\\" e\nquebra"; & | @ ç
+            x = 99999999999999999999; y = 9223372036854775807;
+            """;
+        
+        assertMesmosTokens(new Scanner(source).scanTokens(), new ScannerDFA(source).scanTokens());
+    }
+    
+    @Test
+    public void testScannerDFAErrosNoFim() {
+        assertMesmosTokens(new Scanner("x /* aberto").scanTokens(), new ScannerDFA("x /* aberto").scanTokens());
+        assertMesmosTokens(new Scanner("\"aberta\\").scanTokens(), new ScannerDFA("\"aberta\\").scanTokens());
+        assertMesmosTokens(new Scanner("1. 2.5 // fim").scanTokens(), new ScannerDFA("1. 2.5 // fim").scanTokens());
+    }
+    
+    // ============== TESTES DA BUSCA EM BLOCO (VARREDOR) ==============
+    
+    @Test
+    public void testTrechosLongosAtravessamBlocos() {
+        // Trechos maiores que vários vetores, com o alvo em posições variadas
+        StringBuilder sb = new StringBuilder();
+        for (int n = 0; n < 140; n += 7) {
+            sb.append(" ".repeat(n)).append("\t\r\n".repeat(n % 5)).append("x").append(n).append('\n');
+            sb.append("// ").append("c".repeat(n)).append('\n');
+            sb.append("/*").append("linha\n*".repeat(n % 9)).append("-".repeat(n)).append("*/ y;\n");
+            sb.append("\"").append("a".repeat(n)).append("\\\"").append("b".repeat(n % 33)).append("\";\n");
+        }
+        String source = sb.toString();
+        
+        assertMesmosTokens(new ScannerDFA(source).scanTokens(), new Scanner(source).scanTokens());
+    }
+    
+    @Test
+    public void testBuscaVetorizadaIgualAEscalar() {
+        // Com o módulo da Vector API carregado, o Scanner padrão usa a busca vetorizada
+        boolean disponivel = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(disponivel, new Scanner("").isVetorizado());
+        assertFalse(new Scanner("", new TabelaNomes(), false).isVetorizado());
+        
+        // Trechos de todos os tamanhos, com o alvo antes, dentro e depois de cada vetor e janela
+        String[] pedacos = { " ", "\t", "\r\n", "\n", "x", "12", "/", "*", "\"", "\\", ";", "/*", "*/", "//" };
+        Random random = new Random(3);
+        for (int caso = 0; caso < 200; caso++) {
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < 9000) {
+                String pedaco = pedacos[random.nextInt(pedacos.length)];
+                sb.append(pedaco.repeat(random.nextInt(4) == 0 ? 1 + random.nextInt(300) : 1));
+            }
+            String source = sb.toString();
+            assertMesmosTokens(new Scanner(source, new TabelaNomes(), false).scanTokens(), new Scanner(source).scanTokens());
+        }
+    }
+    
+    @Test
+    public void testComentarioBlocoLongoNaoFechado() {
+        String source = "x\n/*" + "abc\n".repeat(50) + "*";
+        List<Token> tokens = new Scanner(source).scanTokens();
+        
+        assertMesmosTokens(new ScannerDFA(source).scanTokens(), tokens);
+        assertEquals(TokenType.ERRO, tokens.get(1).getTipo());
+        assertEquals(52, tokens.get(1).getLinha());
+    }
+    
+    // ============== TESTES DA POSIÇÃO TARDIA (MAPA DE LINHAS) ==============
+    
+    @Test
+    public void testMapaLinhas() {
+        MapaLinhas mapa = new MapaLinhas("ab\n\ncd\n");
+        
+        assertEquals(1, mapa.linha(0));
+        assertEquals(1, mapa.linha(2));   // o próprio '\n' ainda é da linha 1
+        assertEquals(2, mapa.linha(3));
+        assertEquals(3, mapa.linha(4));
+        assertEquals(2, mapa.coluna(5));
+        assertEquals(4, mapa.linha(7));   // fim do arquivo após o último '\n'
+        assertEquals(7, mapa.inicioLinha(4));
+    }
+    
+    @Test
+    public void testPosicaoTardiaIgualAoCalculoIncremental() {
+        String source = "var x inteiro = 1;\n\t/* a\n b */ y = \"s\\\"t\";\n  // fim\n @ z";
+        Scanner scanner = new Scanner(source);
+        List<Token> tokens = scanner.scanTokens();
+        TokenBuffer buffer = new Scanner(source).scanTokenBuffer();
+        
+        // O StreamingScanner ainda conta linha e coluna caractere a caractere
+        assertMesmosTokens(getTokensStreaming(source, 8), tokens);
+        for (int i = 0; i < tokens.size(); i++) {
+            assertEquals(tokens.get(i).getLinha(), buffer.getLinha(i));
+            assertEquals(tokens.get(i).getColuna(), buffer.getColuna(i));
+        }
+        assertEquals(source.indexOf('y'), tokens.get(6).getInicio());
+    }
+    
+    // ============== TESTES DO SCANNER PARALELO ==============
+    
+    @Test
+    public void testScannerParaleloIgualAoScanner() {
+        // Blocos pequenos para que comentários e strings atravessem as divisões
+        StringBuilder sb = new StringBuilder(ProgramaGerado.gerar(30));
+        sb.append("/* comentário\nlongo\n\"aspas\" dentro\n*/ x = 1;\n");
+        sb.append("texto = \"string\nde várias\n/* linhas */\n\";\n");
+        sb.append("y = 2 @ 3 & 4;\n");
+        sb.append("z = \"não fechada\n fim");
+        String source = sb.toString();
+        
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int tamanhoBloco : new int[] { 1, 7, 64, 500 }) {
+                Scanner sequencial = new Scanner(source);
+                List<Token> esperados = sequencial.scanTokens();
+                ScannerParalelo paralelo = new ScannerParalelo(source, new TabelaNomes(), pool, tamanhoBloco);
+                List<Token> obtidos = paralelo.scanTokens();
+                
+                assertMesmosTokens(esperados, obtidos);
+                for (int i = 0; i < esperados.size(); i++) {
+                    assertEquals(esperados.get(i).getIdSimbolo(), obtidos.get(i).getIdSimbolo());
+                }
+                assertMesmosDiagnosticos(sequencial.getDiagnosticos(), paralelo.getDiagnosticos());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testScannerParaleloLimiteErros() {
+        String source = "a @ b\n".repeat(40);
+        
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Scanner sequencial = new Scanner(source);
+            sequencial.setDiagnosticos(new ColetorDiagnosticos(Severidade.INFO, 5));
+            ScannerParalelo paralelo = new ScannerParalelo(source, new TabelaNomes(), pool, 16);
+            paralelo.setDiagnosticos(new ColetorDiagnosticos(Severidade.INFO, 5));
+            
+            List<Token> esperados = sequencial.scanTokens();
+            assertMesmosTokens(esperados, paralelo.scanTokens());
+            assertEquals(5, sequencial.getDiagnosticos().quantidadeErros());
+            assertMesmosDiagnosticos(sequencial.getDiagnosticos(), paralelo.getDiagnosticos());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private void assertMesmosDiagnosticos(Diagnosticos esperados, Diagnosticos obtidos) {
+        ColetorDiagnosticos a = (ColetorDiagnosticos) esperados;
+        ColetorDiagnosticos b = (ColetorDiagnosticos) obtidos;
+        assertEquals(a.tamanho(), b.tamanho());
+        for (int i = 0; i < a.tamanho(); i++) {
+            assertEquals(a.formatar(i), b.formatar(i));
+        }
+    }
+    
+    // ============== TESTES DO SCANNER INCREMENTAL ==============
+    
+    @Test
+    public void testScannerIncrementalIgualAnaliseCompleta() {
+        ScannerIncremental incremental = new ScannerIncremental(ProgramaGerado.gerar(5));
+        String[] trechos = { "", "x", "1.", "5", "/*", "*/", "//", "\n", "\"", "\\", " ", "=", "se", "@" };
+        Random aleatorio = new Random(42);
+        
+        for (int passo = 0; passo < 300; passo++) {
+            String antes = incremental.getSource();
+            int deslocamento = aleatorio.nextInt(antes.length() + 1);
+            int removidos = Math.min(aleatorio.nextInt(4), antes.length() - deslocamento);
+            String inserido = trechos[aleatorio.nextInt(trechos.length)];
+            
+            incremental.editar(deslocamento, removidos, inserido);
+            
+            String depois = antes.substring(0, deslocamento) + inserido + antes.substring(deslocamento + removidos);
+            assertEquals(depois, incremental.getSource());
+            assertMesmosTokens(new Scanner(depois).scanTokens(), materializar(incremental.getTokens()));
+        }
+    }
+    
+    @Test
+    public void testScannerIncrementalFaixaAlterada() {
+        ScannerIncremental incremental = new ScannerIncremental("var a inteiro = 1;\nb = a + 2;\nc = 3;\n");
+        TabelaNomes nomes = incremental.getTabelaNomes();
+        
+        // "a + 2" vira "a + 20": só o literal muda, a cauda é apenas deslocada
+        AlteracaoTokens alteracao = incremental.editar(28, 0, "0");
+        assertEquals(10, alteracao.getInicio());
+        assertEquals(1, alteracao.getRemovidos());
+        assertEquals(1, alteracao.getInseridos());
+        
+        TokenBuffer tokens = incremental.getTokens();
+        assertEquals("20", tokens.lexema(10));
+        assertEquals("c", tokens.lexema(12));
+        assertEquals(31, tokens.getInicio(12));
+        assertEquals(3, tokens.getLinha(12));
+        assertEquals(nomes.internar("c"), tokens.getIdSimbolo(12));
+        
+        // Abrir um comentário de bloco consome o resto do arquivo
+        alteracao = incremental.editar(19, 0, "/*");
+        assertEquals(5, alteracao.getInicio()); // reanalisa a partir do ';' anterior
+        assertEquals(tokens.tamanho(), alteracao.getFimNovo());
+        assertEquals(TokenType.PONTO_VIRGULA, tokens.tipo(5));
+        assertEquals(TokenType.ERRO, tokens.tipo(6));
+        assertEquals(TokenType.EOF, tokens.tipo(7));
+    }
+    
+    private List<Token> materializar(TokenBuffer buffer) {
+        List<Token> tokens = new ArrayList<>();
+        for (int i = 0; i < buffer.tamanho(); i++) {
+            tokens.add(buffer.token(i));
+        }
+        return tokens;
+    }
+    
+    // ============== TESTES DOS VALORES DE LITERAIS ==============
+    
+    @Test
+    public void testValoresLiteraisDecodificados() {
+        List<Token> tokens = getTokensSemEOF("42 0.1 123.456 \"a\\\"b\\\\c\\nd\" 9223372036854775807");
+        
+        assertEquals(42, tokens.get(0).getValorInteiro());
+        assertEquals(0.1, tokens.get(1).getValorReal());
+        assertEquals(123.456, tokens.get(2).getValorReal());
+        assertEquals("a\"b\\c\nd", tokens.get(3).getValorTexto());
+        assertEquals(Long.MAX_VALUE, tokens.get(4).getValorInteiro());
+        
+        // Tokens criados sem valor decodificado convertem o lexema
+        assertEquals("a\"b", new Token(TokenType.LITERAL_TEXTO, "\"a\\\"b\"").getValorTexto());
+        assertEquals(tokens.get(3), new Token(TokenType.LITERAL_TEXTO, tokens.get(3).getLexema()));
+    }
+    
+    @Test
+    public void testTokenBufferGuardaValoresDecodificados() {
+        String source = "42 0.1 \"a\\\"b\\nc\" 9223372036854775807 \"\" 3.14159265358979323846";
+        List<Token> esperados = getTokensSemEOF(source);
+        ScannerIncremental incremental = new ScannerIncremental("x " + source);
+        incremental.editar(0, 2, ""); // Os literais são deslocados; o primeiro é reanalisado
+        
+        for (TokenBuffer buffer : List.of(new Scanner(source).scanTokenBuffer(), incremental.getTokens())) {
+            for (int i = 0; i < esperados.size(); i++) {
+                Token esperado = esperados.get(i);
+                Token obtido = buffer.token(i);
+                switch (esperado.getTipo()) {
+                    case LITERAL_INTEIRO -> assertEquals(esperado.getValorInteiro(), obtido.getValorInteiro());
+                    case LITERAL_REAL -> assertEquals(esperado.getValorReal(), obtido.getValorReal());
+                    default -> assertEquals(esperado.getValorTexto(), obtido.getValorTexto());
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testEscaparIdaEVolta() {
+        // Escape desconhecido fica como no código fonte
+        assertEquals("a\\qb", Literais.escapar(getTokensSemEOF("\"a\\qb\"").get(0).getValorTexto()));
+        
+        // O valor escapado, lido de novo pelo Scanner, é o mesmo valor
+        char[] alfabeto = {'a', 'n', 't', 'q', '\\', '"', '\n', '\t'};
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder valor = new StringBuilder();
+            for (int j = random.nextInt(6); j > 0; j--) {
+                valor.append(alfabeto[random.nextInt(alfabeto.length)]);
+            }
+            String lexema = "\"" + Literais.escapar(valor.toString()) + "\"";
+            List<Token> tokens = getTokensSemEOF(lexema);
+            assertEquals(1, tokens.size(), lexema);
+            assertEquals(valor.toString(), tokens.get(0).getValorTexto(), lexema);
+        }
+    }
+    
+    @Test
+    public void testValorRealComMuitosDigitos() {
+        String source = "3.14159265358979323846 0.000000000000000000000001 12345678901234567.5";
+        List<Token> tokens = getTokensSemEOF(source);
+        String[] lexemas = source.split(" ");
+        
+        for (int i = 0; i < lexemas.length; i++) {
+            assertEquals(Double.parseDouble(lexemas[i]), tokens.get(i).getValorReal());
+        }
+    }
+    
+    @Test
+    public void testLiteralInteiroMuitoGrande() {
+        List<Token> tokens = getTokensSemEOF("9223372036854775808");
+        
+        assertEquals(1, tokens.size());
+        assertEquals(TokenType.ERRO, tokens.get(0).getTipo());
+        
+        // Todos os scanners reportam o erro em vez de entregar o literal ao Parser
+        String source = "x = 99999999999999999999;";
+        List<List<Token>> variantes = List.of(
+            new ScannerDFA(source).scanTokens(),
+            new ScannerUtf8(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8))).scanTokens(),
+            getTokensStreaming(source, 4));
+        for (List<Token> variante : variantes) {
+            assertEquals(TokenType.ERRO, variante.get(2).getTipo());
+            assertNull(new Parser(variante).parsePrograma()); // Erro de sintaxe, sem NumberFormatException
+        }
+        ColetorDiagnosticos diagnosticos = new ColetorDiagnosticos();
+        ScannerDFA dfa = new ScannerDFA(source);
+        dfa.setDiagnosticos(diagnosticos);
+        dfa.scanTokens();
+        assertEquals("Literal inteiro muito grande", diagnosticos.getMensagem(0));
+    }
+}
@@ -1,6 +1,10 @@
 package test;
 
+import analisadorsemantico.AnalisadorSemantico;
+import analisadorsemantico.Quadro;
 import analisadorsintatico.Comando;
+import analisadorsintatico.Expressao;
+import analisadorsintatico.FabricaExpressoes;
 import codigointermediario.TACGerador;
 import codigointermediario.TACInstrucoes;
 
@@ -9,7 +13,9 @@ import org.junit.jupiter.api.Test;
 import parser.Parser;
 import scanner.Scanner;
 import scanner.Token;
+import scanner.TokenType;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -522,4 +528,196 @@ public class TACGeradorTest {
         
         assertTrue(numTemps >= 2, "Expressão complexa deve usar temporários");
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testLiteraisDecodificados() {
+        List<TACInstrucoes> tac = gerarTAC("""
+            var t texto = "diz \\"oi\\" em C:\\\\dir";
+            var r real = 0.1;
+            var i inteiro = 3000000000;
+            """);
+        
+        // O texto decodificado volta a ser escapado; "\\d" e "\d" têm o mesmo valor e saem na forma curta
+        assertEquals("t = \"diz \\\"oi\\\" em C:\\dir\"", tac.get(0).toString());
+        assertEquals("r = 0.1", tac.get(1).toString());
+        assertEquals("i = 3000000000", tac.get(2).toString());
+        
+        // Escape desconhecido sai como no código fonte; quebra de linha crua sai como \n
+        tac = gerarTAC("var t texto = \"a\\qb\";\nvar u texto = \"linha\num\";");
+        assertEquals("t = \"a\\qb\"", tac.get(0).toString());
+        assertEquals("u = \"linha\\num\"", tac.get(1).toString());
+    }
+    
+    // ========================================================================
+    //                  TESTES DA MEMORIZAÇÃO POR NÓ CANÔNICO
+    // ========================================================================
+    
+    private List<String> gerarCompartilhado(String codigo) {
+        Parser parser = new Parser(new Scanner(codigo).scanTokens());
+        parser.setFabrica(new FabricaExpressoes());
+        List<Comando> ast = parser.parsePrograma();
+        assertNotNull(ast, "Parser falhou");
+        gerador.setMemorizarExpressoes(true);
+        return gerador.gerar(ast).stream().map(TACInstrucoes::toString).toList();
+    }
+    
+    @Test
+    public void testMemorizacaoReusaTemporario() {
+        List<String> tac = gerarCompartilhado("""
+            var a inteiro = 1;
+            var b inteiro = 2;
+            imprimir((a + b) * (a + b), a + b);
+            """);
+        assertEquals(List.of("a = 1", "b = 2", "t0 = a + b", "t1 = t0 * t0", "imprimir t1", "imprimir t0"),
+                tac.subList(0, 6));
+        assertEquals(6, tac.size());
+    }
+    
+    @Test
+    public void testMemorizacaoInvalidada() {
+        // Atribuição entre as ocorrências: recalcula
+        List<String> tac = gerarCompartilhado("""
+            var a inteiro = 1;
+            imprimir(a + 1);
+            a = 2;
+            imprimir(a + 1);
+            """);
+        assertEquals(2, tac.stream().filter(i -> i.endsWith("= a + 1")).count());
+        
+        // Rótulo entre as ocorrências (o 'se' pode pular o primeiro cálculo): recalcula
+        tac = gerarCompartilhado("""
+            var a inteiro = 1;
+            se a > 0 { imprimir(a * 3); }
+            imprimir(a * 3);
+            """);
+        assertEquals(2, tac.stream().filter(i -> i.endsWith("= a * 3")).count());
+        
+        // Sem memorização, a árvore compartilhada gera o mesmo código da comum
+        gerador.setMemorizarExpressoes(false);
+        String codigo = "var a inteiro = 1;\nimprimir((a + 1) * (a + 1));";
+        List<String> comum = gerarTAC(codigo).stream().map(TACInstrucoes::toString).toList();
+        Parser parser = new Parser(new Scanner(codigo).scanTokens());
+        parser.setFabrica(new FabricaExpressoes());
+        assertEquals(comum, gerador.gerar(parser.parsePrograma()).stream().map(TACInstrucoes::toString).toList());
+    }
+    
+    // ========================================================================
+    //                    TESTES DE SLOTS (RESOLUÇÃO DE NOMES)
+    // ========================================================================
+    
+    @Test
+    public void testSlotsVariaveisSombreadas() {
+        List<Comando> ast = new Parser(new Scanner("""
+            var x inteiro = 1;
+            {
+                var x inteiro = 2;
+                x = x + 1;
+                imprimir(x);
+            }
+            { var x inteiro; ler(x); }
+            x = x + 1;
+            imprimir(x);
+            """).scanTokens()).parsePrograma();
+        assertNotNull(ast, "Parser falhou");
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        assertTrue(semantico.analisar(ast));
+        
+        // Um slot por declaração, com nome próprio para cada redeclaração
+        Quadro quadro = semantico.getQuadro();
+        assertEquals(3, quadro.tamanho());
+        assertEquals(List.of("x", "x.1", "x.2"), List.of(quadro.nome(0), quadro.nome(1), quadro.nome(2)));
+        
+        Comando.Bloco interno = (Comando.Bloco) ast.get(1);
+        Comando.Atribuicao atribuicao = (Comando.Atribuicao) interno.comandos.get(1);
+        assertEquals(0, quadro.slot(((Comando.Declaracao) ast.get(0)).trecho));
+        assertEquals(1, quadro.slot(((Comando.Declaracao) interno.comandos.get(0)).trecho));
+        assertEquals(1, quadro.slot(atribuicao.trecho));
+        assertEquals(1, quadro.slot(((Expressao.VariavelAcesso) ((Expressao.Binaria) atribuicao.valor).esquerda).trecho));
+        assertEquals(2, quadro.slot(((Comando.Ler) ((Comando.Bloco) ast.get(2)).comandos.get(1)).trechos[0]));
+        assertEquals(0, quadro.slot(((Comando.Atribuicao) ast.get(3)).trecho));
+        
+        // Com o quadro, o x interno não sobrescreve o externo no TAC
+        gerador.setQuadro(quadro);
+        List<String> tac = gerador.gerar(ast).stream().map(TACInstrucoes::toString).toList();
+        assertTrue(tac.contains("x = 1"));
+        assertTrue(tac.contains("x.1 = 2"));
+        assertTrue(tac.stream().anyMatch(i -> i.endsWith("= x.1 + 1")));
+        assertTrue(tac.contains("imprimir x.1"));
+        assertTrue(tac.contains("ler x.2"));
+        assertTrue(tac.stream().anyMatch(i -> i.endsWith("= x + 1")));
+        assertTrue(tac.contains("imprimir x"));
+    }
+    
+    /**
+     * Método auxiliar: analisa o código com expressões compartilhadas e gera
+     * TAC com os nomes dos slots.
+     */
+    private List<String> gerarCompartilhadoComQuadro(String codigo, boolean memorizar) {
+        Parser parser = new Parser(new Scanner(codigo).scanTokens());
+        FabricaExpressoes fabrica = new FabricaExpressoes();
+        parser.setFabrica(fabrica);
+        List<Comando> ast = parser.parsePrograma();
+        assertNotNull(ast, "Parser falhou");
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.setFabrica(fabrica);
+        assertTrue(semantico.analisar(ast));
+        gerador.setMemorizarExpressoes(memorizar);
+        gerador.setQuadro(semantico.getQuadro());
+        return gerador.gerar(ast).stream().map(TACInstrucoes::toString).toList();
+    }
+    
+    @Test
+    public void testSlotsComExpressoesCompartilhadas() {
+        // A fábrica separa os acessos a 'x' por declaração: cada um tem o seu slot
+        String codigo = """
+            var x inteiro = 1;
+            { var x inteiro = 2; imprimir(x); }
+            imprimir(x);
+            """;
+        List<String> tac = gerarCompartilhadoComQuadro(codigo, false);
+        assertEquals(List.of("x = 1", "x.1 = 2", "imprimir x.1", "imprimir x"), tac);
+        
+        // Com memorização, 'x + 1' de dentro do bloco não é reaproveitado fora dele
+        tac = gerarCompartilhadoComQuadro("""
+            var x inteiro = 1;
+            imprimir(x + 1);
+            { var x inteiro = 5; imprimir(x + 1); }
+            imprimir(x + 1);
+            para var x inteiro = 0; x < 3; x = x + 1 { imprimir(x + 1); }
+            """, true);
+        assertEquals(2, tac.stream().filter(i -> i.endsWith("= x + 1")).count());
+        assertEquals(1, tac.stream().filter(i -> i.endsWith("= x.1 + 1")).count());
+        assertEquals(1, tac.stream().filter(i -> i.endsWith("= x.2 + 1")).count()); // O incremento reusa o do corpo
+        assertTrue(tac.contains("x.2 = 0"));
+    }
+    
+    @Test
+    public void testSlotsSemAnaliseDoChamador() {
+        // Sem setQuadro a geração resolve os nomes sozinha: o x interno não sobrescreve o externo
+        String codigo = """
+            var x inteiro = 1;
+            { var x inteiro = 2; x = x + 1; imprimir(x); }
+            imprimir(x);
+            """;
+        List<Comando> ast = new Parser(new Scanner(codigo).scanTokens()).parsePrograma();
+        List<String> tac = new TACGerador().gerar(ast).stream().map(TACInstrucoes::toString).toList();
+        assertEquals(List.of("x = 1", "x.1 = 2", "t0 = x.1 + 1", "x.1 = t0", "imprimir x.1", "imprimir x"), tac);
+        
+        // O mesmo comando a comando, e com um quadro de outra análise do mesmo AST
+        TACGerador porComando = new TACGerador();
+        List<String> tacPorComando = new ArrayList<>();
+        for (Comando comando : ast) {
+            porComando.gerarComando(comando).forEach(i -> tacPorComando.add(i.toString()));
+        }
+        assertEquals(tac, tacPorComando);
+        AnalisadorSemantico semantico = new AnalisadorSemantico();
+        semantico.analisar(ast);
+        gerador.setQuadro(semantico.getQuadro());
+        assertEquals(tac, gerador.gerar(ast).stream().map(TACInstrucoes::toString).toList());
+        
+        // Nomes não declarados continuam com o nome do código fonte
+        ast = new Parser(new Scanner("{ var y inteiro = 1; }\nimprimir(y);").scanTokens()).parsePrograma();
+        assertEquals(List.of("y = 1", "imprimir y"),
+                new TACGerador().gerar(ast).stream().map(TACInstrucoes::toString).toList());
+    }
+}